@@ -86,7 +86,10 @@ public class NGServletAdaptor extends HttpServlet {
 				}
 			}
 			else {
-				ngResponse.contentByteStream().writeTo( out );
+				ngResponse.contentBuffer().writeTo( out );
+
+				// We're done with the content, so the buffer's segments can go back to the pool
+				ngResponse.contentBuffer().reset();
 			}
 		}
 	}
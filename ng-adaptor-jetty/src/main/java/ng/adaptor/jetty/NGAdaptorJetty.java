@@ -3,7 +3,10 @@ package ng.adaptor.jetty;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.BindException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -34,19 +37,23 @@ import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.Fields;
 import org.eclipse.jetty.util.Fields.Field;
+import org.eclipse.jetty.util.IteratingCallback;
 import org.eclipse.jetty.util.component.LifeCycle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import ng.appserver.NGAdaptor;
 import ng.appserver.NGApplication;
+import ng.appserver.NGContentBuffer;
 import ng.appserver.NGCookie;
 import ng.appserver.NGRequest;
 import ng.appserver.NGResponse;
 import ng.appserver.NGResponseMultipart;
 import ng.appserver.NGResponseMultipart.ContentPart;
+import ng.appserver.NGResponseStreamer;
 import ng.appserver.NGStandardRequest;
 import ng.appserver.NGStandardRequest.UploadedFile;
+import ng.appserver.NGStreamingResponse;
 import ng.appserver.privates.NGDevelopmentInstanceStopper;
 
 public class NGAdaptorJetty extends NGAdaptor {
@@ -132,6 +139,10 @@ public class NGAdaptorJetty extends NGAdaptor {
 				ngRequest = requestToNGRequest( jettyRequest );
 			}
 
+			// Allows page responses to be written to the client while they're being rendered
+			final NGJettyResponseStreamer streamer = new NGJettyResponseStreamer( jettyResponse );
+			ngRequest._setResponseStreamer( streamer );
+
 			// This is where the application logic will perform it's actual work
 			final NGResponse ngResponse = _application.dispatchRequest( ngRequest );
 
@@ -140,15 +151,12 @@ public class NGAdaptorJetty extends NGAdaptor {
 			//				return false;
 			//			}
 
-			jettyResponse.setStatus( ngResponse.status() );
-
-			for( final NGCookie ngCookie : ngResponse.cookies() ) {
-				Response.addCookie( jettyResponse, ngCookieToJettyCookie( ngCookie ) );
+			if( streamer.isCommitted() ) {
+				completeStreamedResponse( ngResponse, streamer, callback );
+				return true;
 			}
 
-			for( final Entry<String, List<String>> entry : ngResponse.headers().entrySet() ) {
-				jettyResponse.getHeaders().add( entry.getKey(), entry.getValue() );
-			}
+			writeResponseHead( ngResponse, jettyResponse );
 
 			if( ngResponse instanceof NGResponseMultipart mp ) {
 				final ContentSource cs = new MultiPartFormData.ContentSource( NGResponseMultipart.BOUNDARY );
@@ -161,29 +169,141 @@ public class NGAdaptorJetty extends NGAdaptor {
 
 				Content.copy( cs, jettyResponse, callback );
 			}
+			else if( ngResponse.contentInputStream() != null ) {
+				final long contentLength = ngResponse.contentInputStreamLength();
+
+				if( contentLength == -1 ) {
+					throw new IllegalArgumentException( "NGResponse.contentInputStream() is set but contentInputLength has not been set. You must provide the content length when serving an InputStream" );
+				}
+
+				jettyResponse.getHeaders().put( "content-length", String.valueOf( contentLength ) );
+				Content.copy( Content.Source.from( ngResponse.contentInputStream() ), jettyResponse, callback );
+			}
 			else {
-				final Content.Source cs;
-				final long contentLength;
+				final NGContentBuffer contentBuffer = ngResponse.contentBuffer();
+				jettyResponse.getHeaders().put( "content-length", String.valueOf( contentBuffer.size() ) );
+				new SegmentWriter( jettyResponse, contentBuffer, callback ).iterate();
+			}
 
-				if( ngResponse.contentInputStream() != null ) {
-					contentLength = ngResponse.contentInputStreamLength();
+			return true;
+		}
 
-					if( contentLength == -1 ) {
-						throw new IllegalArgumentException( "NGResponse.contentInputStream() is set but contentInputLength has not been set. You must provide the content length when serving an InputStream" );
-					}
+		/**
+		 * Sets the status, cookies and headers of the given NGResponse on the Jetty Response
+		 */
+		private static void writeResponseHead( final NGResponse ngResponse, final Response jettyResponse ) {
+			jettyResponse.setStatus( ngResponse.status() );
+
+			for( final NGCookie ngCookie : ngResponse.cookies() ) {
+				Response.addCookie( jettyResponse, ngCookieToJettyCookie( ngCookie ) );
+			}
+
+			for( final Entry<String, List<String>> entry : ngResponse.headers().entrySet() ) {
+				jettyResponse.getHeaders().add( entry.getKey(), entry.getValue() );
+			}
+		}
+
+		/**
+		 * Writes out whatever's left of a response that's already been committed during rendering, and completes it.
+		 *
+		 * If the response we got back isn't the one that committed, rendering failed after part of the page had been sent and the application generated an error response in it's place.
+		 * Since the status and headers have already been sent, there's no way to send that to the client, so all we can do is abort the response.
+		 */
+		private static void completeStreamedResponse( final NGResponse ngResponse, final NGJettyResponseStreamer streamer, final Callback callback ) {
+			if( !(ngResponse instanceof NGStreamingResponse streamingResponse && streamingResponse.isCommitted()) ) {
+				logger.error( "Response generation failed after the response had been committed. Aborting response" );
+				callback.failed( new IllegalStateException( "Response generation failed after the response had been committed" ) );
+				return;
+			}
+
+			try {
+				streamingResponse.complete();
+				streamer.outputStream().close();
+				callback.succeeded();
+			}
+			catch( IOException | UncheckedIOException e ) {
+				callback.failed( e );
+			}
+		}
 
-					cs = Content.Source.from( ngResponse.contentInputStream() );
+		/**
+		 * Writes the segments of a response's content buffer to the Jetty Response as they are, without copying them first.
+		 * Once done (or failed) the buffer's segments are returned to the pool.
+		 */
+		private static class SegmentWriter extends IteratingCallback {
+
+			private final Response _jettyResponse;
+			private final NGContentBuffer _contentBuffer;
+			private final List<ByteBuffer> _segments;
+			private final Callback _callback;
+			private int _index;
+
+			private SegmentWriter( final Response jettyResponse, final NGContentBuffer contentBuffer, final Callback callback ) {
+				_jettyResponse = jettyResponse;
+				_contentBuffer = contentBuffer;
+				_segments = contentBuffer.readableSegments();
+				_callback = callback;
+			}
+
+			@Override
+			protected Action process() {
+				if( _index == _segments.size() ) {
+					return Action.SUCCEEDED;
 				}
-				else {
-					contentLength = ngResponse.contentBytesLength();
-					cs = Content.Source.from( new ByteArrayInputStream( ngResponse.contentBytes() ) );
+
+				final boolean last = _index == _segments.size() - 1;
+				_jettyResponse.write( last, _segments.get( _index++ ), this );
+				return Action.SCHEDULED;
+			}
+
+			@Override
+			protected void onCompleteSuccess() {
+				_contentBuffer.reset();
+				_callback.succeeded();
+			}
+
+			@Override
+			protected void onCompleteFailure( final Throwable cause ) {
+				_contentBuffer.reset();
+				_callback.failed( cause );
+			}
+		}
+
+		/**
+		 * Streams content to the Jetty Response. Since we don't know the content's length in advance, Jetty will send it chunked.
+		 */
+		private static class NGJettyResponseStreamer implements NGResponseStreamer {
+
+			private final Response _jettyResponse;
+
+			/**
+			 * Created when we commit
+			 */
+			private OutputStream _outputStream;
+
+			private NGJettyResponseStreamer( final Response jettyResponse ) {
+				_jettyResponse = jettyResponse;
+			}
+
+			@Override
+			public void commit( final NGResponse ngResponse ) {
+				if( _outputStream != null ) {
+					throw new IllegalStateException( "Response has already been committed" );
 				}
 
-				jettyResponse.getHeaders().put( "content-length", String.valueOf( contentLength ) );
-				Content.copy( cs, jettyResponse, callback );
+				writeResponseHead( ngResponse, _jettyResponse );
+				_outputStream = Content.Sink.asOutputStream( _jettyResponse );
 			}
 
-			return true;
+			@Override
+			public boolean isCommitted() {
+				return _outputStream != null;
+			}
+
+			@Override
+			public OutputStream outputStream() {
+				return _outputStream;
+			}
 		}
 
 		/**
@@ -36,6 +36,7 @@ import ng.appserver.routing.NGRouteTable.Route;
 import ng.appserver.templating.NGComponent;
 import ng.appserver.templating.NGElementManager;
 import ng.appserver.templating.NGElementManager.ElementProvider;
+import ng.appserver.templating.NGTemplateWarmUp;
 import ng.appserver.wointegration.NGWOIntegrationPlugin;
 import ng.kvc.NGKeyValueCoding;
 import ng.plugins.Elements;
@@ -114,6 +115,16 @@ public class NGApplication implements NGPlugin {
 	 */
 	private List<NGPlugin> _plugins;
 
+	/**
+	 * Property for enabling caching in development mode, with caches invalidated as files change (see NGDevelopmentFileWatcher)
+	 */
+	private static final String WATCH_FILES_PROPERTY = "ng.development.watchFiles";
+
+	/**
+	 * true if we're in development mode and watching files for changes
+	 */
+	private boolean _watchesFiles;
+
 	/**
 	 * Run the application
 	 */
@@ -150,6 +161,10 @@ public class NGApplication implements NGPlugin {
 			// FIXME: Eventually, adaptor startup should be explicitly performed by the user
 			application.createAdaptor().start( application );
 
+			for( final NGPlugin plugin : application._plugins ) {
+				plugin.didStart( application );
+			}
+
 			logger.info( "===== Application started in {} ms at {}", (System.currentTimeMillis() - startTime), LocalDateTime.now() );
 
 			return (E)application;
@@ -188,9 +203,13 @@ public class NGApplication implements NGPlugin {
 		// If we're in development mode, activate the development plugin for some bonus development features
 		if( isDevelopmentMode ) {
 			application._plugins.add( new NGDevelopmentPlugin() );
+			application._watchesFiles = Boolean.parseBoolean( properties.get( WATCH_FILES_PROPERTY ) );
 
-			// FIXME: Most definitely not the way we're going to use to decide if KVC caching is enabled. Under development // Hugi 2025-04-21
-			NGKeyValueCoding.DefaultImplementation.setCachingEnabled( false );
+			// If we're watching files, the development plugin invalidates cached bindings as classes change, so we can keep caching
+			if( !application._watchesFiles ) {
+				// FIXME: Most definitely not the way we're going to use to decide if KVC caching is enabled. Under development // Hugi 2025-04-21
+				NGKeyValueCoding.DefaultImplementation.setCachingEnabled( false );
+			}
 		}
 
 		// CHECKME: We probably need more extension points for plugin initialization (pre-constructor, post-constructor etc.) // Hugi 2023-07-28
@@ -215,6 +234,11 @@ public class NGApplication implements NGPlugin {
 
 		logger.info( "===== All properties =====\n" + properties._propertiesMapAsString() );
 
+		// Templates get loaded before the application starts, so it's ready to handle requests at full speed once it announces itself
+		if( NGTemplateWarmUp.isEnabled( application ) ) {
+			NGTemplateWarmUp.warmUp( application );
+		}
+
 		return application;
 	}
 
@@ -378,7 +402,14 @@ public class NGApplication implements NGPlugin {
 	 */
 	@Deprecated
 	public boolean cachingEnabled() {
-		return !isDevelopmentMode();
+		return !isDevelopmentMode() || _watchesFiles;
+	}
+
+	/**
+	 * @return true if we're in development mode and watching files for changes, in which case caches are enabled and invalidated as the files they were populated from change
+	 */
+	public boolean watchesFiles() {
+		return _watchesFiles;
 	}
 
 	/**
@@ -443,8 +474,10 @@ public class NGApplication implements NGPlugin {
 
 	/**
 	 * Add the sessionID cookie (if present in request) to the given response or, if the session is marked for termination, delete the session cookie
+	 *
+	 * Also invoked by NGStreamingResponse before committing, since it's head gets sent before we get here.
 	 */
-	private void addSessionCookieToResponse( final NGRequest request, final NGResponse response ) {
+	void addSessionCookieToResponse( final NGRequest request, final NGResponse response ) {
 		final String sessionID = request._sessionID();
 
 		if( sessionID != null ) {
@@ -0,0 +1,312 @@
+package ng.appserver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A growable byte buffer for response content, made up of fixed size ByteBuffer segments obtained from a shared pool.
+ *
+ * Unlike ByteArrayOutputStream, growing doesn't copy existing content, it just adds a segment.
+ * And adaptors can write the segments directly to the client (see readableSegments()) instead of making a copy of the entire content first.
+ *
+ * Segments are returned to the pool by reset(). Adaptors invoke that once they're done writing the response.
+ * A buffer that never gets reset just leaves it's segments for the garbage collector, which is fine, the pool will allocate new ones when needed.
+ *
+ * Not thread safe, a buffer should only be written to by a single thread.
+ */
+
+public class NGContentBuffer extends OutputStream {
+
+	/**
+	 * Property for making buffers use direct (off-heap) segments
+	 */
+	private static final String DIRECT_BUFFERS_PROPERTY = "ng.response.directBuffers";
+
+	/**
+	 * The pools buffers obtain their segments from by default. Segments are only allocated as they're needed, so an unused pool costs nothing.
+	 */
+	private static final Pool HEAP_POOL = new Pool( 16 * 1024, 1024, false );
+	private static final Pool DIRECT_POOL = new Pool( 16 * 1024, 1024, true );
+
+	private final Pool _pool;
+
+	/**
+	 * The segments holding our content, in write mode. Only the last segment can have space remaining.
+	 */
+	private final List<ByteBuffer> _segments = new ArrayList<>();
+
+	/**
+	 * Total number of bytes written
+	 */
+	private int _size;
+
+	public NGContentBuffer() {
+		this( defaultPool() );
+	}
+
+	public NGContentBuffer( final Pool pool ) {
+		Objects.requireNonNull( pool );
+		_pool = pool;
+	}
+
+	/**
+	 * @return The pool to use when none is specified. Direct segments are used if the application's property 'ng.response.directBuffers' is set to true.
+	 */
+	private static Pool defaultPool() {
+		final NGApplication application = NGApplication.application();
+
+		if( application != null && Boolean.parseBoolean( application.properties().get( DIRECT_BUFFERS_PROPERTY ) ) ) {
+			return DIRECT_POOL;
+		}
+
+		return HEAP_POOL;
+	}
+
+	@Override
+	public void write( final int b ) {
+		currentSegment().put( (byte)b );
+		_size++;
+	}
+
+	@Override
+	public void write( final byte[] bytes, int offset, int length ) {
+		Objects.checkFromIndexSize( offset, length, bytes.length );
+
+		_size += length;
+
+		while( length > 0 ) {
+			final ByteBuffer segment = currentSegment();
+			final int count = Math.min( length, segment.remaining() );
+			segment.put( bytes, offset, count );
+			offset += count;
+			length -= count;
+		}
+	}
+
+	/**
+	 * Writes the characters of [chars] from [start] (inclusive) to [end] (exclusive) encoded as UTF-8, without encoding them to a byte array first.
+	 * Unpaired surrogates are written as '?', same as String.getBytes() does.
+	 */
+	public void writeUTF8( final CharSequence chars, final int start, final int end ) {
+		Objects.checkFromToIndex( start, end, chars.length() );
+
+		int i = start;
+
+		while( i < end ) {
+			final ByteBuffer segment = currentSegment();
+			final int runStart = i;
+
+			// Most of a page is usually ASCII, which we can put directly into the segment
+			while( i < end && segment.hasRemaining() ) {
+				final char c = chars.charAt( i );
+
+				if( c >= 0x80 ) {
+					break;
+				}
+
+				segment.put( (byte)c );
+				i++;
+			}
+
+			_size += i - runStart;
+
+			if( i < end && chars.charAt( i ) >= 0x80 ) {
+				i = writeNonASCII( chars, i, end );
+			}
+		}
+	}
+
+	/**
+	 * Writes the non-ASCII character (or surrogate pair) at [index] encoded as UTF-8
+	 *
+	 * @return The index of the next character to write
+	 */
+	private int writeNonASCII( final CharSequence chars, final int index, final int end ) {
+		final char c = chars.charAt( index );
+
+		if( c < 0x800 ) {
+			write( 0xC0 | (c >> 6) );
+			write( 0x80 | (c & 0x3F) );
+			return index + 1;
+		}
+
+		if( Character.isSurrogate( c ) ) {
+			if( Character.isHighSurrogate( c ) && index + 1 < end && Character.isLowSurrogate( chars.charAt( index + 1 ) ) ) {
+				final int codePoint = Character.toCodePoint( c, chars.charAt( index + 1 ) );
+				write( 0xF0 | (codePoint >> 18) );
+				write( 0x80 | ((codePoint >> 12) & 0x3F) );
+				write( 0x80 | ((codePoint >> 6) & 0x3F) );
+				write( 0x80 | (codePoint & 0x3F) );
+				return index + 2;
+			}
+
+			write( '?' );
+			return index + 1;
+		}
+
+		write( 0xE0 | (c >> 12) );
+		write( 0x80 | ((c >> 6) & 0x3F) );
+		write( 0x80 | (c & 0x3F) );
+		return index + 1;
+	}
+
+	/**
+	 * @return The segment to write to, adding a new one if the last segment is full
+	 */
+	private ByteBuffer currentSegment() {
+		if( !_segments.isEmpty() ) {
+			final ByteBuffer last = _segments.get( _segments.size() - 1 );
+
+			if( last.hasRemaining() ) {
+				return last;
+			}
+		}
+
+		final ByteBuffer segment = _pool.acquire();
+		_segments.add( segment );
+		return segment;
+	}
+
+	/**
+	 * @return Number of bytes in the buffer
+	 */
+	public int size() {
+		return _size;
+	}
+
+	/**
+	 * @return Read only views of our segments, positioned for reading. Writing to the buffer after obtaining these leaves them unaffected (but resetting doesn't).
+	 */
+	public List<ByteBuffer> readableSegments() {
+		final List<ByteBuffer> result = new ArrayList<>( _segments.size() );
+
+		for( final ByteBuffer segment : _segments ) {
+			result.add( segment.asReadOnlyBuffer().flip() );
+		}
+
+		return result;
+	}
+
+	/**
+	 * Writes the buffer's content to the given stream
+	 */
+	public void writeTo( final OutputStream out ) throws IOException {
+		byte[] transferBuffer = null;
+
+		for( final ByteBuffer segment : _segments ) {
+			if( segment.hasArray() ) {
+				out.write( segment.array(), segment.arrayOffset(), segment.position() );
+			}
+			else {
+				// Direct buffers don't expose an array so we have to go through a heap array
+				if( transferBuffer == null ) {
+					transferBuffer = new byte[_pool.segmentSize()];
+				}
+
+				segment.get( 0, transferBuffer, 0, segment.position() );
+				out.write( transferBuffer, 0, segment.position() );
+			}
+		}
+	}
+
+	/**
+	 * @return A copy of the buffer's content
+	 */
+	public byte[] toByteArray() {
+		final byte[] bytes = new byte[_size];
+		int offset = 0;
+
+		for( final ByteBuffer segment : _segments ) {
+			segment.get( 0, bytes, offset, segment.position() );
+			offset += segment.position();
+		}
+
+		return bytes;
+	}
+
+	/**
+	 * @return The buffer's content decoded using the given charset
+	 */
+	public String toString( final Charset charset ) {
+		return new String( toByteArray(), charset );
+	}
+
+	/**
+	 * Empties the buffer, returning it's segments to the pool. Any segments previously obtained from readableSegments() must no longer be in use.
+	 */
+	public void reset() {
+		for( final ByteBuffer segment : _segments ) {
+			_pool.release( segment );
+		}
+
+		_segments.clear();
+		_size = 0;
+	}
+
+	/**
+	 * A pool of equally sized segments, shared between buffers. Keeps at most [maxPooledSegments] segments around, excess segments are left for the garbage collector.
+	 */
+	public static class Pool {
+
+		private final int _segmentSize;
+		private final int _maxPooledSegments;
+		private final boolean _direct;
+		private final ConcurrentLinkedQueue<ByteBuffer> _segments = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger _pooledCount = new AtomicInteger();
+
+		public Pool( final int segmentSize, final int maxPooledSegments, final boolean direct ) {
+			if( segmentSize < 1 ) {
+				throw new IllegalArgumentException( "segmentSize must be positive" );
+			}
+
+			_segmentSize = segmentSize;
+			_maxPooledSegments = maxPooledSegments;
+			_direct = direct;
+		}
+
+		public int segmentSize() {
+			return _segmentSize;
+		}
+
+		/**
+		 * @return Number of segments currently available in the pool
+		 */
+		public int pooledCount() {
+			return _pooledCount.get();
+		}
+
+		/**
+		 * @return An empty segment, from the pool if available
+		 */
+		ByteBuffer acquire() {
+			final ByteBuffer segment = _segments.poll();
+
+			if( segment == null ) {
+				return _direct ? ByteBuffer.allocateDirect( _segmentSize ) : ByteBuffer.allocate( _segmentSize );
+			}
+
+			_pooledCount.decrementAndGet();
+			return segment;
+		}
+
+		/**
+		 * Returns the given segment to the pool, if there's room for it
+		 */
+		void release( final ByteBuffer segment ) {
+			if( _pooledCount.incrementAndGet() > _maxPooledSegments ) {
+				_pooledCount.decrementAndGet();
+				return;
+			}
+
+			segment.clear();
+			_segments.offer( segment );
+		}
+	}
+}
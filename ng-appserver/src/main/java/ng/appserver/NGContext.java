@@ -1,11 +1,15 @@
 package ng.appserver;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import ng.appserver.templating.NGComponent;
 import ng.appserver.templating.NGElementID;
+import ng.appserver.templating.NGUpdateContainerIndex;
 
 public class NGContext {
 
@@ -23,7 +27,27 @@ public class NGContext {
 	/**
 	 * Contains the list of AjaxUpdateContainer IDs that encapsulate the element currently being rendered
 	 */
-	private List<String> _containingUpdateContainerIDs = new ArrayList<>();
+	private final List<String> _containingUpdateContainerIDs = new ArrayList<>();
+
+	/**
+	 * Number of targeted update containers that encapsulate the element currently being rendered. Maintained by enterUpdateContainer()/exitUpdateContainer()
+	 */
+	private int _targetedUpdateContainerDepth;
+
+	/**
+	 * The outermost targeted update container encapsulating the element currently being rendered. null if we're not inside a targeted container.
+	 */
+	private String _updateContainerToAppendTo;
+
+	/**
+	 * Value of the request's update container header/parameter, read once by targetedUpdateContainerIDsStringValue()
+	 */
+	private String _targetedUpdateContainerIDsStringValue;
+
+	/**
+	 * IDs of the update containers targeted by the request, parsed once from _targetedUpdateContainerIDsStringValue. null until it has been read.
+	 */
+	private Set<String> _targetedUpdateContainerIDs;
 
 	/**
 	 * Indicates that we ignore any update container headers and append every element to the response
@@ -77,6 +101,11 @@ public class NGContext {
 	 */
 	private boolean _shouldSaveInPageCache;
 
+	/**
+	 * Number of component action URLs generated by this context
+	 */
+	private int _componentActionURLCount;
+
 	public NGContext( final NGRequest request ) {
 		Objects.requireNonNull( request );
 		_request = request;
@@ -181,7 +210,7 @@ public class NGContext {
 	 * Resets the current elementID
 	 */
 	public void _resetElementID() {
-		_elementID = new NGElementID();
+		_elementID.reset();
 	}
 
 	/**
@@ -212,6 +241,14 @@ public class NGContext {
 		return senderID() != null && senderID().equals( elementID() );
 	}
 
+	/**
+	 * @return true if the current element contains the sender, is the sender or is contained by the sender. Also true if there's no sender.
+	 * If false, nothing within the current element can be the target of a component action.
+	 */
+	public boolean currentElementIsOnSenderPath() {
+		return senderID() == null || elementID().isPrefixOf( senderID() ) || senderID().isPrefixOf( elementID() );
+	}
+
 	/**
 	 * Set the ID of the context that originated the creation of this context.
 	 */
@@ -237,92 +274,112 @@ public class NGContext {
 	 * @return The URL for invoking the action in the current context
 	 */
 	public String componentActionURL() {
+		_componentActionURLCount++;
 		return NGComponentRequestHandler.DEFAULT_PATH + contextID() + "." + elementID();
 	}
 
 	/**
-	 * @return The names of updateContainers containing the element currently being rendered
+	 * @return The number of component action URLs generated by this context so far. Allows an element to check if rendering a part of the page generated any (meaning the result is specific to this context)
+	 */
+	public int componentActionURLCount() {
+		return _componentActionURLCount;
+	}
+
+	/**
+	 * @return The names of updateContainers containing the element currently being rendered, outermost first
 	 */
 	public List<String> containingUpdateContainerIDs() {
-		return _containingUpdateContainerIDs;
+		return Collections.unmodifiableList( _containingUpdateContainerIDs );
+	}
+
+	/**
+	 * Invoked by an update container before rendering it's children
+	 */
+	public void enterUpdateContainer( final String updateContainerID ) {
+		_containingUpdateContainerIDs.add( updateContainerID );
+
+		if( targetedUpdateContainerIDs().contains( updateContainerID ) ) {
+			if( _targetedUpdateContainerDepth == 0 ) {
+				_updateContainerToAppendTo = updateContainerID;
+			}
+
+			_targetedUpdateContainerDepth++;
+		}
+	}
+
+	/**
+	 * Invoked by an update container after rendering it's children. Must be balanced with a preceding invocation of enterUpdateContainer()
+	 */
+	public void exitUpdateContainer( final String updateContainerID ) {
+		_containingUpdateContainerIDs.removeLast();
+
+		if( targetedUpdateContainerIDs().contains( updateContainerID ) ) {
+			_targetedUpdateContainerDepth--;
+
+			if( _targetedUpdateContainerDepth == 0 ) {
+				_updateContainerToAppendTo = null;
+			}
+		}
 	}
 
 	/**
 	 * ID of the update containers targeted for rendering this request
 	 *
-	 * FIXME: Should be replaced with a variable, preferably set at the context's construction // Hugi 2024-10-15
 	 * FIXME: We need to decide and document what happens when both a header and parameters are present. One overrides the other? Combine values form both? // Hugi 2025-08-25
 	 */
 	public String targetedUpdateContainerIDsStringValue() {
+		targetedUpdateContainerIDs();
+		return _targetedUpdateContainerIDsStringValue;
+	}
+
+	/**
+	 * @return IDs of the update containers targeted for rendering this request. Empty if we're doing a full page render.
+	 *
+	 * The request is only consulted on the first invocation, since this gets checked for every update container on the page.
+	 */
+	public Set<String> targetedUpdateContainerIDs() {
+		if( _targetedUpdateContainerIDs == null ) {
+
+			// Start by checking for targeted containers from the request parameters
+			String stringValue = request().formValueForKey( TARGETED_CONTAINER_ID_PARAM );
 
-		// Start by checking for targeted containers from the request parameters
-		final String fromRequestParameters = request().formValueForKey( TARGETED_CONTAINER_ID_PARAM );
+			if( stringValue == null ) {
+				stringValue = request().headerForKey( TARGETED_CONTAINER_ID_PARAM );
+			}
 
-		if( fromRequestParameters != null ) {
-			return fromRequestParameters;
+			_targetedUpdateContainerIDsStringValue = stringValue;
+			_targetedUpdateContainerIDs = stringValue == null ? Set.of() : Set.copyOf( Arrays.asList( stringValue.split( MULTIPLE_CONTAINER_SEPARATOR ) ) );
 		}
 
-		return request().headerForKey( TARGETED_CONTAINER_ID_PARAM );
+		return _targetedUpdateContainerIDs;
 	}
 
 	/**
 	 * @return true if we're targeting multiple containers
 	 */
 	public boolean targetsMultipleUpdateContainers() {
-		return targetedUpdateContainerIDsStringValue() != null && targetedUpdateContainerIDsStringValue().contains( MULTIPLE_CONTAINER_SEPARATOR );
+		return targetedUpdateContainerIDs().size() > 1;
 	}
 
 	/**
 	 * @return The name of the updateContainer to target with the current appendToResponse. In the case of multiple currently matching containers, the first one (the "outermost one") is specified
 	 */
 	public String updateContainerToAppendTo() {
-		if( targetsMultipleUpdateContainers() ) {
-			// The list of containers to update is passed in to the request as a header
-			final String containerIDToUpdate = targetedUpdateContainerIDsStringValue();
-
-			final String[] updateContainerIDs = containerIDToUpdate.split( MULTIPLE_CONTAINER_SEPARATOR );
-
-			// We return the first matching container, since that should be the outermost container
-			for( final String containingContainerID : containingUpdateContainerIDs() ) {
-				for( final String targetedContainerID : updateContainerIDs ) {
-					if( containingContainerID.equals( targetedContainerID ) ) {
-						return containingContainerID;
-					}
-				}
-			}
-		}
-
-		return null;
+		return _updateContainerToAppendTo;
 	}
 
 	/**
 	 * @return true if the context is currently working inside an updateContainer meant to be updated.
-	 *
-	 * FIXME: We should probably be caching some of this operation. Even if this isn't heavy, it's going to get invoked for every element on the page // Hugi 20224-07-15
 	 */
 	public boolean shouldAppendToResponse() {
+		return _forceFullRender || _targetedUpdateContainerDepth > 0 || targetedUpdateContainerIDsStringValue() == null;
+	}
 
-		if( _forceFullRender ) {
-			return true;
-		}
-
-		// The list of containers to update is passed in to the request as a header
-		final String containerIDToUpdate = targetedUpdateContainerIDsStringValue();
-
-		// If no containers are specified, we're doing a full page render, so always perform appendToResponse()
-		if( containerIDToUpdate == null ) {
-			return true;
-		}
-
-		final String[] updateContainerIDs = containerIDToUpdate.split( MULTIPLE_CONTAINER_SEPARATOR );
-
-		for( String updateContainerID : updateContainerIDs ) {
-			if( containingUpdateContainerIDs().contains( updateContainerID ) ) {
-				return true;
-			}
-		}
-
-		return false;
+	/**
+	 * @return true if an element with the given index may contain an update container targeted by this request, meaning it must be traversed.
+	 */
+	public boolean mayContainTargetedUpdateContainer( final NGUpdateContainerIndex index ) {
+		return _forceFullRender || index.mayContainAnyOf( targetedUpdateContainerIDs() );
 	}
 
 	/**
@@ -1,6 +1,5 @@
 package ng.appserver;
 
-import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -21,11 +20,6 @@ public interface NGMessage {
 	 */
 	public void setHeaders( final Map<String, List<String>> newHeaders );
 
-	/**
-	 * @return The response's content stream
-	 */
-	public ByteArrayOutputStream contentByteStream();
-
 	public Map<String, List<String>> headers();
 
 	/**
@@ -100,7 +94,8 @@ public interface NGMessage {
 		return new String( contentBytes(), StandardCharsets.UTF_8 );
 	}
 
-	public default byte[] contentBytes() {
-		return contentByteStream().toByteArray();
-	}
+	/**
+	 * @return A copy of the message's content
+	 */
+	public byte[] contentBytes();
 }
\ No newline at end of file
@@ -56,4 +56,11 @@ public interface NGRequest extends NGMessage {
 	public NGParsedURI parsedURI();
 
 	public Map<String, UploadedFile> _uploadedFiles();
+
+	/**
+	 * @return The adaptor's streamer for writing the response to this request while it's being generated. null if the adaptor doesn't support streaming.
+	 */
+	public NGResponseStreamer _responseStreamer();
+
+	public void _setResponseStreamer( NGResponseStreamer responseStreamer );
 }
\ No newline at end of file
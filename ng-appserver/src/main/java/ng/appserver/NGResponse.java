@@ -28,9 +28,26 @@ public interface NGResponse extends NGMessage, NGActionResults {
 
 	public void appendContentString( final String stringToAppend );
 
+	/**
+	 * Appends the characters of [chars] from [start] (inclusive) to [end] (exclusive) to the response's content. Allows writing part of a string without constructing the substring first.
+	 */
+	public default void appendContentCharacters( final CharSequence chars, final int start, final int end ) {
+		appendContentString( chars.subSequence( start, end ).toString() );
+	}
+
+	/**
+	 * Appends the given bytes to the response's content. For content that's been encoded in advance, such as the static parts of templates.
+	 */
+	public void appendContentBytes( final byte[] bytesToAppend );
+
 	public void setContentBytes( final byte[] contentBytes );
 
 	public void setContentString( final String contentString );
 
 	public long contentBytesLength();
+
+	/**
+	 * @return The buffer holding the response's content, for adaptors to write out
+	 */
+	public NGContentBuffer contentBuffer();
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package ng.appserver;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -42,6 +43,11 @@ public class NGResponseMultipart extends NGStandardResponse {
 
 	@Override
 	public void appendContentString( final String stringToAppend ) {
+		appendContentCharacters( stringToAppend, 0, stringToAppend.length() );
+	}
+
+	@Override
+	public void appendContentCharacters( final CharSequence chars, final int start, final int end ) {
 
 		// FIXME: Check added for safety, can probably be removed // Hugi 2026-05-20
 		if( !_context.targetsMultipleUpdateContainers() ) {
@@ -55,10 +61,19 @@ public class NGResponseMultipart extends NGStandardResponse {
 		// rendering pipeline — an element is calling appendContentString() when it
 		// should have been skipped by appendOrTraverse().
 		if( targetContainer == null ) {
-			throw new IllegalStateException( "appendContentString() invoked outside of any targeted update container. Content: '%s'".formatted( stringToAppend.length() > 100 ? stringToAppend.substring( 0, 100 ) + "..." : stringToAppend ) );
+			final String content = chars.subSequence( start, end ).toString();
+			throw new IllegalStateException( "appendContentString() invoked outside of any targeted update container. Content: '%s'".formatted( content.length() > 100 ? content.substring( 0, 100 ) + "..." : content ) );
 		}
 
-		getContentPart( targetContainer ).content().append( stringToAppend );
+		getContentPart( targetContainer ).content().append( chars, start, end );
+	}
+
+	/**
+	 * Content parts are stored as strings, so bytes get decoded and appended as a string
+	 */
+	@Override
+	public void appendContentBytes( final byte[] bytesToAppend ) {
+		appendContentString( new String( bytesToAppend, StandardCharsets.UTF_8 ) );
 	}
 
 	/**
@@ -0,0 +1,25 @@
+package ng.appserver;
+
+import java.io.OutputStream;
+
+/**
+ * Provided by adaptors capable of writing a response to the client while it's still being generated (see NGStreamingResponse)
+ */
+
+public interface NGResponseStreamer {
+
+	/**
+	 * Sends the given response's status, headers and cookies to the client. Invoked once, before any content is written.
+	 */
+	public void commit( final NGResponse response );
+
+	/**
+	 * @return true if commit() has been invoked, meaning the response's head has been sent and can no longer be changed
+	 */
+	public boolean isCommitted();
+
+	/**
+	 * @return The stream content gets written to once we've committed
+	 */
+	public OutputStream outputStream();
+}
@@ -326,6 +326,21 @@ public class NGStandardRequest implements NGRequest {
 		return _uploadedFiles;
 	}
 
+	/**
+	 * Set by adaptors capable of streaming responses
+	 */
+	private NGResponseStreamer _responseStreamer;
+
+	@Override
+	public NGResponseStreamer _responseStreamer() {
+		return _responseStreamer;
+	}
+
+	@Override
+	public void _setResponseStreamer( final NGResponseStreamer responseStreamer ) {
+		_responseStreamer = responseStreamer;
+	}
+
 	@Override
 	public String toString() {
 		return "NGRequest [_method=" + _method + ", _uri=" + _uri + ", _headers=" + headers() + ", _formValues=" + _formValues + ", _cookieValues=" + _cookieValues + ", _session=" + _session + "]";
@@ -369,10 +384,14 @@ public class NGStandardRequest implements NGRequest {
 	}
 
 	/**
-	 * @return The response's content stream
+	 * @return The request's content stream
 	 */
-	@Override
 	public ByteArrayOutputStream contentByteStream() {
 		return _contentByteStream;
 	}
+
+	@Override
+	public byte[] contentBytes() {
+		return _contentByteStream.toByteArray();
+	}
 }
\ No newline at end of file
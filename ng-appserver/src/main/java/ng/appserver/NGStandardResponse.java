@@ -1,9 +1,6 @@
 package ng.appserver;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.io.InputStream;
-import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -114,10 +111,10 @@ public class NGStandardResponse implements NGResponse {
 	 *
 	 * FIXME:
 	 * Currently this stores all types of content. We're going to want to use more efficient types for different response types (string/data/streaming)
-	 * For example, it's clear that using a StringBuilder for string responses is significantly more efficient than using the ByteArrayOutputStream
+	 * For example, it's clear that using a StringBuilder for string responses is significantly more efficient than using a byte buffer
 	 * // Hugi 2023-02-08
 	 */
-	private ByteArrayOutputStream _contentByteStream = new ByteArrayOutputStream( NGMessage.DEFAULT_CONTENT_DATA_LENGTH );
+	private final NGContentBuffer _contentBuffer = new NGContentBuffer();
 
 	/**
 	 * @return The HTTP headers of this message
@@ -140,35 +137,44 @@ public class NGStandardResponse implements NGResponse {
 	}
 
 	/**
-	 * @return The response's content stream
+	 * @return The buffer holding the response's content
 	 */
 	@Override
-	public ByteArrayOutputStream contentByteStream() {
-		return _contentByteStream;
+	public NGContentBuffer contentBuffer() {
+		return _contentBuffer;
 	}
 
-	public void _setContentByteStream( ByteArrayOutputStream value ) {
-		_contentByteStream = value;
+	@Override
+	public byte[] contentBytes() {
+		return _contentBuffer.toByteArray();
 	}
 
 	@Override
 	public void appendContentString( final String stringToAppend ) {
-		appendContentBytes( stringToAppend.getBytes( StandardCharsets.UTF_8 ) );
+		writeContentBytes( stringToAppend.getBytes( StandardCharsets.UTF_8 ) );
+	}
+
+	/**
+	 * Encodes the characters directly into the content buffer
+	 */
+	@Override
+	public void appendContentCharacters( final CharSequence chars, final int start, final int end ) {
+		_contentBuffer.writeUTF8( chars, start, end );
+	}
+
+	@Override
+	public void appendContentBytes( final byte[] bytesToAppend ) {
+		writeContentBytes( bytesToAppend );
 	}
 
 	@Override
 	public void setContentBytes( final byte[] contentBytes ) {
-		_setContentByteStream( new ByteArrayOutputStream( DEFAULT_CONTENT_DATA_LENGTH ) );
-		appendContentBytes( contentBytes );
+		_contentBuffer.reset();
+		writeContentBytes( contentBytes );
 	}
 
-	private void appendContentBytes( final byte[] contentBytes ) {
-		try {
-			contentByteStream().write( contentBytes );
-		}
-		catch( IOException e ) {
-			throw new UncheckedIOException( e );
-		}
+	private void writeContentBytes( final byte[] contentBytes ) {
+		_contentBuffer.write( contentBytes, 0, contentBytes.length );
 	}
 
 	@Override
@@ -181,6 +187,6 @@ public class NGStandardResponse implements NGResponse {
 	 */
 	@Override
 	public long contentBytesLength() {
-		return contentByteStream().size();
+		return _contentBuffer.size();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,213 @@
+package ng.appserver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * A response that writes it's content to the client while it's being generated, through an NGResponseStreamer provided by the adaptor.
+ *
+ * Content is buffered and flushed to the client whenever the buffer exceeds FLUSH_THRESHOLD, or once the document's <head> has been rendered (so the browser can start fetching stylesheets and scripts while we render the rest of the page).
+ *
+ * The first flush commits the response, i.e. sends it's status, headers and cookies. Since those can't be changed afterwards, we only commit once the response's head is known to be final.
+ * Until then (for example if there's no session yet, since generating the page might create one requiring a session cookie) we just keep buffering, same as a regular response.
+ *
+ * We also stop flushing once the page being rendered has generated a stateful (component action) URL, since the page only gets stored in the page cache once it's been fully rendered.
+ * Sending such a URL before that would let the client invoke an action on a page that isn't cached yet. The rest of the page then gets buffered and sent by complete().
+ *
+ * Once committed, contentBytes() only contains content that hasn't been flushed yet.
+ */
+
+public class NGStreamingResponse extends NGStandardResponse {
+
+	/**
+	 * Property for enabling streaming of page responses
+	 */
+	private static final String STREAMING_PROPERTY = "ng.response.streaming";
+
+	/**
+	 * Number of buffered bytes that triggers a flush to the client, once we're allowed to commit
+	 */
+	static final int FLUSH_THRESHOLD = 16 * 1024;
+
+	/**
+	 * Flushing after the closing tag of the head element lets the browser start loading resources early
+	 */
+	private static final String HEAD_END = "</head>";
+	private static final byte[] HEAD_END_BYTES = HEAD_END.getBytes( StandardCharsets.UTF_8 );
+
+	private final NGResponseStreamer _streamer;
+
+	/**
+	 * Checks if we're currently allowed to send content to the client (see class documentation)
+	 */
+	private final BooleanSupplier _canFlush;
+
+	/**
+	 * Invoked with the response right before it's committed, allowing last minute additions to it's head
+	 */
+	private final Consumer<NGResponse> _beforeCommit;
+
+	/**
+	 * true once this response has committed the streamer
+	 */
+	private boolean _committed;
+
+	/**
+	 * true once we've flushed after the end of the head element, so we can stop looking for it
+	 */
+	private boolean _headEnded;
+
+	/**
+	 * Constructs a response for the page rendered in the given context, streamed to the client through the context's request's streamer
+	 */
+	public NGStreamingResponse( final NGContext context ) {
+		this( context.request()._responseStreamer(), () -> canFlush( context ), response -> NGApplication.application().addSessionCookieToResponse( context.request(), response ) );
+	}
+
+	NGStreamingResponse( final NGResponseStreamer streamer, final BooleanSupplier canFlush, final Consumer<NGResponse> beforeCommit ) {
+		Objects.requireNonNull( streamer );
+		Objects.requireNonNull( canFlush );
+		Objects.requireNonNull( beforeCommit );
+		_streamer = streamer;
+		_canFlush = canFlush;
+		_beforeCommit = beforeCommit;
+	}
+
+	/**
+	 * @return true if page responses to the given request should be streamed
+	 */
+	public static boolean shouldStream( final NGRequest request ) {
+		return request._responseStreamer() != null && !request._responseStreamer().isCommitted() && Boolean.parseBoolean( NGApplication.application().properties().get( STREAMING_PROPERTY ) );
+	}
+
+	/**
+	 * We can commit once the request has a live session, since the session cookie is then known.
+	 * Without a session, rendering might still create one (for example by generating a stateful action URL), in which case it's cookie must be part of the response.
+	 *
+	 * Content can be sent as long as the page hasn't generated a contextID, i.e. it doesn't contain URLs referencing the page in the page cache.
+	 */
+	private static boolean canFlush( final NGContext context ) {
+		if( context._shouldSaveInPageCache() ) {
+			return false;
+		}
+
+		final NGSession session = context.request().existingSession();
+		return session != null && !session.shouldReap();
+	}
+
+	/**
+	 * @return true if this response has been committed, meaning at least part of it has been sent to the client
+	 */
+	public boolean isCommitted() {
+		return _committed;
+	}
+
+	@Override
+	public void appendContentString( final String stringToAppend ) {
+		super.appendContentString( stringToAppend );
+		afterAppend( !_headEnded && stringToAppend.contains( HEAD_END ) );
+	}
+
+	@Override
+	public void appendContentCharacters( final CharSequence chars, final int start, final int end ) {
+		super.appendContentCharacters( chars, start, end );
+		afterAppend( !_headEnded && contains( chars, start, end, HEAD_END ) );
+	}
+
+	@Override
+	public void appendContentBytes( final byte[] bytesToAppend ) {
+		super.appendContentBytes( bytesToAppend );
+		afterAppend( !_headEnded && contains( bytesToAppend, HEAD_END_BYTES ) );
+	}
+
+	private void afterAppend( final boolean headEnded ) {
+		if( headEnded ) {
+			_headEnded = true;
+			flush();
+		}
+		else if( contentBytesLength() >= FLUSH_THRESHOLD ) {
+			flush();
+		}
+	}
+
+	/**
+	 * Writes buffered content to the client, committing the response first if it hasn't been. Does nothing if we're not currently allowed to send content, in which case it just keeps buffering.
+	 */
+	public void flush() {
+		if( !_canFlush.getAsBoolean() ) {
+			return;
+		}
+
+		if( !_committed ) {
+			_beforeCommit.accept( this );
+			_streamer.commit( this );
+			_committed = true;
+		}
+
+		writeBufferedContent();
+	}
+
+	/**
+	 * Writes whatever content is still buffered to the client. Invoked by the adaptor once the response has been fully generated (and the page stored in the page cache, if required), so unlike flush() it doesn't wait for permission.
+	 */
+	public void complete() {
+		if( !_committed ) {
+			throw new IllegalStateException( "Only a response that has been committed can be completed" );
+		}
+
+		writeBufferedContent();
+	}
+
+	private void writeBufferedContent() {
+		if( contentBytesLength() > 0 ) {
+			try {
+				final OutputStream outputStream = _streamer.outputStream();
+				contentBuffer().writeTo( outputStream );
+				outputStream.flush();
+				contentBuffer().reset();
+			}
+			catch( IOException e ) {
+				throw new UncheckedIOException( e );
+			}
+		}
+	}
+
+	/**
+	 * @return true if the characters of [chars] from [start] (inclusive) to [end] (exclusive) contain [part]
+	 */
+	private static boolean contains( final CharSequence chars, final int start, final int end, final String part ) {
+		outer: for( int i = start; i <= end - part.length(); i++ ) {
+			for( int j = 0; j < part.length(); j++ ) {
+				if( chars.charAt( i + j ) != part.charAt( j ) ) {
+					continue outer;
+				}
+			}
+
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * @return true if [bytes] contains [part]
+	 */
+	private static boolean contains( final byte[] bytes, final byte[] part ) {
+		outer: for( int i = 0; i <= bytes.length - part.length; i++ ) {
+			for( int j = 0; j < part.length; j++ ) {
+				if( bytes[i + j] != part[j] ) {
+					continue outer;
+				}
+			}
+
+			return true;
+		}
+
+		return false;
+	}
+}
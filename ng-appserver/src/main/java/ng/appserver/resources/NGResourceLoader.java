@@ -2,17 +2,25 @@ package ng.appserver.resources;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -79,6 +87,50 @@ public class NGResourceLoader {
 		return Optional.empty();
 	}
 
+	/**
+	 * @return Paths of every resource of the given type in the given namespace, as far as it's sources are able to list their contents
+	 */
+	public Set<String> resourcePaths( final String namespace, final ResourceType resourceType ) {
+		Objects.requireNonNull( namespace );
+		Objects.requireNonNull( resourceType );
+
+		final Map<ResourceType, List<ResourceSource>> sourceMapForNamespace = _allResourceSources.get( namespace );
+
+		if( sourceMapForNamespace == null ) {
+			return Set.of();
+		}
+
+		final List<ResourceSource> sourceListForType = sourceMapForNamespace.get( resourceType );
+
+		if( sourceListForType == null ) {
+			return Set.of();
+		}
+
+		final Set<String> resourcePaths = new TreeSet<>();
+
+		for( ResourceSource source : sourceListForType ) {
+			resourcePaths.addAll( source.resourcePaths() );
+		}
+
+		return resourcePaths;
+	}
+
+	/**
+	 * @return The sources of resources of the given type in the given namespace, in the order they're searched
+	 */
+	public List<ResourceSource> resourceSources( final String namespace, final ResourceType resourceType ) {
+		Objects.requireNonNull( namespace );
+		Objects.requireNonNull( resourceType );
+
+		final Map<ResourceType, List<ResourceSource>> sourceMapForNamespace = _allResourceSources.get( namespace );
+
+		if( sourceMapForNamespace == null ) {
+			return List.of();
+		}
+
+		return List.copyOf( sourceMapForNamespace.getOrDefault( resourceType, List.of() ) );
+	}
+
 	/**
 	 * @return Every namespace registered with the loader
 	 */
@@ -92,6 +144,20 @@ public class NGResourceLoader {
 	public interface ResourceSource {
 
 		public Optional<NGResource> resourceWithPath( String resourcePath );
+
+		/**
+		 * @return Paths of every resource in the source. Sources that can't list their contents return an empty set.
+		 */
+		public default Set<String> resourcePaths() {
+			return Set.of();
+		}
+
+		/**
+		 * @return Directories on the file system that the source reads it's resources from (with resource paths relative to the directory), for watching for changes. Empty if the source doesn't read from directories.
+		 */
+		public default List<Path> directories() {
+			return List.of();
+		}
 	}
 
 	/**
@@ -153,6 +219,73 @@ public class NGResourceLoader {
 			return Optional.of( NGResource.of( resourceURL ) );
 		}
 
+		/**
+		 * Lists resources located in directories or jar files on the classpath. Resources located elsewhere can't be listed, so they're not included.
+		 */
+		@Override
+		public Set<String> resourcePaths() {
+			final Set<String> resourcePaths = new TreeSet<>();
+
+			try {
+				final Enumeration<URL> resources = JavaClasspathResourceSource.class.getClassLoader().getResources( _basePath );
+
+				while( resources.hasMoreElements() ) {
+					final URL url = resources.nextElement();
+
+					switch( url.getProtocol() ) {
+						case "file" -> resourcePaths.addAll( FileSystemDirectoryResourceSource.resourcePaths( Path.of( url.toURI() ) ) );
+						case "jar" -> {
+							final JarURLConnection connection = (JarURLConnection)url.openConnection();
+							connection.setUseCaches( false );
+
+							try( final JarFile jarFile = connection.getJarFile()) {
+								final Iterator<JarEntry> entries = jarFile.entries().asIterator();
+
+								while( entries.hasNext() ) {
+									final JarEntry entry = entries.next();
+
+									if( !entry.isDirectory() && entry.getName().startsWith( _basePath + "/" ) ) {
+										resourcePaths.add( entry.getName().substring( _basePath.length() + 1 ) );
+									}
+								}
+							}
+						}
+						default -> logger.warn( "Can't list resources at '{}'", url );
+					}
+				}
+			}
+			catch( IOException | URISyntaxException e ) {
+				logger.warn( "Failed to list resources in '{}'", _basePath, e );
+			}
+
+			return resourcePaths;
+		}
+
+		/**
+		 * Resources on the classpath located in directories, i.e. not in jar files
+		 */
+		@Override
+		public List<Path> directories() {
+			final List<Path> directories = new ArrayList<>();
+
+			try {
+				final Enumeration<URL> resources = JavaClasspathResourceSource.class.getClassLoader().getResources( _basePath );
+
+				while( resources.hasMoreElements() ) {
+					final URL url = resources.nextElement();
+
+					if( url.getProtocol().equals( "file" ) ) {
+						directories.add( Path.of( url.toURI() ) );
+					}
+				}
+			}
+			catch( IOException | URISyntaxException e ) {
+				logger.warn( "Failed to locate directories of '{}'", _basePath, e );
+			}
+
+			return directories;
+		}
+
 		/**
 		 * @return The path to the named resource
 		 */
@@ -184,5 +317,35 @@ public class NGResourceLoader {
 			final Path filePath = _basePath.resolve( resourcePath );
 			return Optional.of( NGResource.of( () -> Files.newInputStream( filePath ) ) );
 		}
+
+		@Override
+		public Set<String> resourcePaths() {
+			return resourcePaths( _basePath );
+		}
+
+		@Override
+		public List<Path> directories() {
+			return List.of( _basePath );
+		}
+
+		/**
+		 * @return Paths of every file in the given directory (and it's subdirectories), relative to the directory
+		 */
+		private static Set<String> resourcePaths( final Path directory ) {
+
+			if( !Files.isDirectory( directory ) ) {
+				return Set.of();
+			}
+
+			try( final Stream<Path> stream = Files.walk( directory )) {
+				return stream
+						.filter( Files::isRegularFile )
+						.map( path -> directory.relativize( path ).toString().replace( '\\', '/' ) )
+						.collect( Collectors.toCollection( TreeSet::new ) );
+			}
+			catch( IOException e ) {
+				throw new UncheckedIOException( e );
+			}
+		}
 	}
 }
\ No newline at end of file
@@ -90,6 +90,35 @@ public class NGResourceManager {
 		return resourceLoader().obtainResource( namespace, resourceType, resourcePath );
 	}
 
+	/**
+	 * Discards the cached copy of the specified resource (if any), so it gets loaded again on next use
+	 */
+	public void invalidate( final String namespace, final ResourceType resourceType, final String resourcePath ) {
+		Objects.requireNonNull( namespace );
+		Objects.requireNonNull( resourceType );
+		Objects.requireNonNull( resourcePath );
+
+		final Map<ResourceType, Map<String, Optional<NGResource>>> cacheForNamespace = resourceCache.get( namespace );
+
+		if( cacheForNamespace != null ) {
+			final Map<String, Optional<NGResource>> cacheForType = cacheForNamespace.get( resourceType );
+
+			if( cacheForType != null ) {
+				// Resources can be requested with or without a preceding slash (see NGResourceLoader.obtainResource()) so they might be cached under either
+				final String path = resourcePath.startsWith( "/" ) ? resourcePath.substring( 1 ) : resourcePath;
+				cacheForType.remove( path );
+				cacheForType.remove( "/" + path );
+			}
+		}
+	}
+
+	/**
+	 * Discards all cached resources
+	 */
+	public void invalidateAll() {
+		resourceCache.clear();
+	}
+
 	/**
 	 * @return the specified resource by searching all namespaces
 	 */
@@ -0,0 +1,49 @@
+package ng.appserver.templating;
+
+import ng.appserver.NGContext;
+import ng.appserver.NGResponse;
+import ng.kvc.NGKeyValueCoding.UnknownKeyException;
+import ng.xperimental.NGErrorMessageElement;
+
+/**
+ * Superclass of the template classes generated by NGTemplateCompiler
+ */
+
+abstract class NGCompiledTemplate implements NGStructuralElement {
+
+	/**
+	 * The interpreted template this template was compiled from. It consists of the same elements, so it's what we consult for our update container index.
+	 */
+	NGElement _interpretedTemplate;
+
+	/**
+	 * The generated appendStructureToResponse() checks shouldAppendToResponse() and handles unknown keys for each element it renders, so we go straight to it (unless it's a partial render we can skip).
+	 */
+	@Override
+	public void appendOrTraverse( NGResponse response, NGContext context ) {
+		if( context.shouldAppendToResponse() || context.mayContainTargetedUpdateContainer( updateContainerIndex() ) ) {
+			appendStructureToResponse( response, context );
+		}
+	}
+
+	@Override
+	public NGUpdateContainerIndex updateContainerIndex() {
+		if( _interpretedTemplate == null ) {
+			return NGUpdateContainerIndex.ANY;
+		}
+
+		return _interpretedTemplate.updateContainerIndex();
+	}
+
+	/**
+	 * Renders an error message for an unknown key encountered by a compiled element, the same way NGElement.appendOrTraverse() does for interpreted elements
+	 */
+	static void appendUnknownKeyError( final NGResponse response, final NGContext context, final String elementName, final UnknownKeyException unknownKeyException ) {
+		new NGErrorMessageElement( "VOFF! VOFF! Unknown key", elementName, unknownKeyException.getMessage() ).appendToResponse( response, context );
+	}
+
+	@Override
+	public String toString() {
+		return "NGCompiledTemplate [" + getClass().getName() + "]";
+	}
+}
@@ -1,6 +1,5 @@
 package ng.appserver.templating;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -13,8 +12,10 @@ import ng.appserver.NGRespBuilder;
 import ng.appserver.NGResponse;
 import ng.appserver.NGResponseMultipart;
 import ng.appserver.NGSession;
+import ng.appserver.NGStreamingResponse;
 import ng.appserver.templating.associations.NGAssociation;
 import ng.kvc.NGKeyValueCoding;
+import ng.kvc.NGKeyValueCodingPlan;
 
 /**
  * A component, for use in templates. Basically a user friendly NGElement with an assigned template files(s)
@@ -41,13 +42,18 @@ public class NGComponent implements NGElement, NGActionResults {
 	/**
 	 * Map of this component's children, with their elementID in the template as key
 	 */
-	private final Map<String, NGComponent> _children;
+	private final NGElementID.KeyMap<NGComponent> _children;
 
 	/**
 	 * Associations bound to this component from it's parent component
 	 */
 	private Map<String, NGAssociation> _associations;
 
+	/**
+	 * Plan for synchronizing the associations with this component, resolved in advance by the component reference. null if none was provided.
+	 */
+	private BindingPlan _bindingPlan;
+
 	/**
 	 * Template wrapped by this component (i.e. subcomponent(s) or dynamic element(s))
 	 *
@@ -68,7 +74,7 @@ public class NGComponent implements NGElement, NGActionResults {
 	public NGComponent( final NGContext context ) {
 		Objects.requireNonNull( context );
 		_context = context;
-		_children = new HashMap<>();
+		_children = new NGElementID.KeyMap<>();
 	}
 
 	/**
@@ -102,7 +108,7 @@ public class NGComponent implements NGElement, NGActionResults {
 	/**
 	 * Add the given child component with the given elementID
 	 */
-	public void addChild( String elementID, NGComponent child ) {
+	public void addChild( NGElementID elementID, NGComponent child ) {
 		Objects.requireNonNull( elementID );
 		Objects.requireNonNull( child );
 		_children.put( elementID, child );
@@ -111,8 +117,10 @@ public class NGComponent implements NGElement, NGActionResults {
 	/**
 	 * @return The child with the given elementID. Null if none
 	 */
-	public NGComponent getChild( String elementID ) {
+	public NGComponent getChild( NGElementID elementID ) {
 		Objects.requireNonNull( elementID );
+
+		// The KeyMap looks up the child using the elementID as it is, without making a key
 		return _children.get( elementID );
 	}
 
@@ -123,6 +131,20 @@ public class NGComponent implements NGElement, NGActionResults {
 	public void pullBindingValuesFromParent() {
 		if( parent() != null ) {
 			if( synchronizesVariablesWithBindings() ) {
+				final BindingPlan bindingPlan = bindingPlan();
+
+				if( bindingPlan != null ) {
+					final NGAssociation[] associations = bindingPlan.associations();
+					final Object[] values = new Object[associations.length];
+
+					for( int i = 0; i < associations.length; i++ ) {
+						values[i] = associations[i].valueInComponent( parent() );
+					}
+
+					NGKeyValueCoding.Utility.takeValuesForKeys( this, values, bindingPlan.kvcPlan() );
+					return;
+				}
+
 				for( final Entry<String, NGAssociation> binding : _associations.entrySet() ) {
 					final String bindingName = binding.getKey();
 					final NGAssociation association = binding.getValue();
@@ -140,6 +162,21 @@ public class NGComponent implements NGElement, NGActionResults {
 	public void pushBindingValuesToParent() {
 		if( parent() != null ) {
 			if( synchronizesVariablesWithBindings() ) {
+				final BindingPlan bindingPlan = bindingPlan();
+
+				if( bindingPlan != null ) {
+					final NGAssociation[] associations = bindingPlan.associations();
+					final Object[] values = new Object[associations.length];
+
+					NGKeyValueCoding.Utility.valuesForKeys( this, values, bindingPlan.kvcPlan() );
+
+					for( int i = 0; i < associations.length; i++ ) {
+						associations[i].setValue( values[i], parent() );
+					}
+
+					return;
+				}
+
 				for( final Entry<String, NGAssociation> binding : _associations.entrySet() ) {
 					final String bindingName = binding.getKey();
 					final NGAssociation association = binding.getValue();
@@ -150,6 +187,17 @@ public class NGComponent implements NGElement, NGActionResults {
 		}
 	}
 
+	/**
+	 * @return The binding plan passed in by our component reference, if it was resolved against this component's class. null if not.
+	 */
+	private BindingPlan bindingPlan() {
+		if( _bindingPlan != null && _bindingPlan.kvcPlan().objectClass() == getClass() ) {
+			return _bindingPlan;
+		}
+
+		return null;
+	}
+
 	/**
 	 * @return The component's context
 	 */
@@ -245,9 +293,17 @@ public class NGComponent implements NGElement, NGActionResults {
 	 * CHECKME: Kind of feel like this should be private, since it's something only the framework does
 	 */
 	public void setParent( final NGComponent parent, final Map<String, NGAssociation> associations, final NGElement contentElement ) {
+		setParent( parent, associations, contentElement, null );
+	}
+
+	/**
+	 * Same as setParent( parent, associations, contentElement ), but additionally takes a plan for synchronizing the associations with this component
+	 */
+	public void setParent( final NGComponent parent, final Map<String, NGAssociation> associations, final NGElement contentElement, final BindingPlan bindingPlan ) {
 		_parent = parent;
 		_associations = associations;
 		_contentElement = contentElement;
+		_bindingPlan = bindingPlan;
 	}
 
 	/**
@@ -283,6 +339,11 @@ public class NGComponent implements NGElement, NGActionResults {
 			response = new NGResponseMultipart( context() );
 			response.setHeader( "content-type", "multipart/form-data; boundary=" + NGResponseMultipart.BOUNDARY );
 		}
+		else if( context().targetedUpdateContainerIDsStringValue() == null && NGStreamingResponse.shouldStream( context().request() ) ) {
+			// Full page renders get streamed to the client if the adaptor supports it. Partial updates are small enough to not bother.
+			response = new NGStreamingResponse( context() );
+			response.setHeader( "content-type", "text/html;charset=utf-8" );
+		}
 		else {
 			response = NGRespBuilder.of();
 			response.setHeader( "content-type", "text/html;charset=utf-8" ); // FIXME: This is most definitely not the place to set the encoding // Hugi 2023-03-12
@@ -336,4 +397,20 @@ public class NGComponent implements NGElement, NGActionResults {
 		Objects.requireNonNull( componentDefinition );
 		_componentDefinition = componentDefinition;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * The associations bound to a component, along with a KVC plan for their binding names resolved against the component's class.
+	 * Allows pulling/pushing binding values without looking up the KVC bindings for each key. The associations are aligned with the plan's keys.
+	 */
+	public record BindingPlan( NGAssociation[] associations, NGKeyValueCodingPlan kvcPlan ) {
+
+		public BindingPlan {
+			Objects.requireNonNull( associations );
+			Objects.requireNonNull( kvcPlan );
+
+			if( associations.length != kvcPlan.size() ) {
+				throw new IllegalArgumentException( "The number of associations must match the number of keys in the plan" );
+			}
+		}
+	}
+}
@@ -1,11 +1,16 @@
 package ng.appserver.templating;
 
-import java.lang.reflect.InvocationTargetException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +20,7 @@ import ng.appserver.NGContext;
 import ng.appserver.resources.NGResource;
 import ng.appserver.templating.parser.NGDeclarationFormatException;
 import ng.appserver.templating.parser.NGHTMLFormatException;
+import ng.appserver.templating.parser.NGPrecompiledTemplate;
 
 /**
  * Stores information about the structure of the component.
@@ -29,6 +35,11 @@ public class NGComponentDefinition {
 	 */
 	private final Class<? extends NGComponent> _componentClass;
 
+	/**
+	 * Handle for the component class' (NGContext) constructor, typed (NGContext)NGComponent. Looked up on first instantiation.
+	 */
+	private volatile MethodHandle _constructor;
+
 	/**
 	 * FIXME: This is a temporary component definition cache, just to get us started // Hugi 2022-10-19
 	 */
@@ -37,7 +48,18 @@ public class NGComponentDefinition {
 	/**
 	 * Stores the parsed template if caching is enabled
 	 */
-	private NGElement _cachedTemplate;
+	private volatile NGElement _cachedTemplate;
+
+	/**
+	 * Held while loading the template, so concurrent requests for the template wait for a single load rather than each parsing the template.
+	 * A lock rather than synchronization, since loading involves I/O, which we don't want to pin a virtual thread's carrier thread while waiting for.
+	 */
+	private final ReentrantLock _templateLock = new ReentrantLock();
+
+	/**
+	 * Index of the update containers in the component's template, computed on first use
+	 */
+	private NGUpdateContainerIndex _updateContainerIndex;
 
 	/**
 	 * The canonical name of the component definition.
@@ -131,15 +153,23 @@ public class NGComponentDefinition {
 
 		final NGComponentDefinition newComponentDefinition = new NGComponentDefinition( componentName, componentClass );
 
+		if( _cachingEnabled() ) {
+			// We cache the definition before checking it's template, so concurrent requests for the same component end up using (and loading the template of) a single definition.
+			// If another thread got there first, we go with it's definition (and leave the checking to that thread)
+			final NGComponentDefinition existingComponentDefinition = _componentDefinitionCache.putIfAbsent( componentName, newComponentDefinition );
+
+			if( existingComponentDefinition != null ) {
+				return existingComponentDefinition;
+			}
+		}
+
 		if( newComponentDefinition.isClassless() && !newComponentDefinition.hasTemplate() ) {
+			_componentDefinitionCache.remove( componentName, newComponentDefinition );
+
 			// FIXME: I'm not sure we really want to throw this particular exception here - or if we want to throw at all, and allow the construction of an "empty" component definition. Decicisions, decisions... // Hugi 2024-10-19
 			throw new NGElementNotFoundException( "Component '%s' does not exist (a component must have either a class or a template, usually both)".formatted( componentName ), componentName );
 		}
 
-		if( _cachingEnabled() ) {
-			_componentDefinitionCache.put( componentName, newComponentDefinition );
-		}
-
 		return newComponentDefinition;
 	}
 
@@ -158,14 +188,42 @@ public class NGComponentDefinition {
 	public NGComponent componentInstanceInContext( final NGContext context ) {
 		Objects.requireNonNull( context );
 
+		final NGComponent newComponentInstance;
+
 		try {
-			final NGComponent newComponentInstance = _componentClass.getConstructor( NGContext.class ).newInstance( context );
-			newComponentInstance._setComponentDefinition( this ); // FIXME: Feel like this is ugly as all hell, the _componentDefinition variable should not be exposed
-			return newComponentInstance;
+			newComponentInstance = (NGComponent)constructor().invokeExact( context );
+		}
+		catch( RuntimeException | Error e ) {
+			throw e;
 		}
-		catch( InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e ) {
+		catch( Throwable e ) {
 			throw new RuntimeException( e );
 		}
+
+		newComponentInstance._setComponentDefinition( this ); // FIXME: Feel like this is ugly as all hell, the _componentDefinition variable should not be exposed
+		return newComponentInstance;
+	}
+
+	/**
+	 * @return Handle for constructing instances of the component class. Looking up the constructor is a lot more expensive than invoking it, so we only do it once.
+	 */
+	private MethodHandle constructor() {
+		MethodHandle constructor = _constructor;
+
+		if( constructor == null ) {
+			try {
+				constructor = MethodHandles.publicLookup()
+						.findConstructor( _componentClass, MethodType.methodType( void.class, NGContext.class ) )
+						.asType( MethodType.methodType( NGComponent.class, NGContext.class ) );
+			}
+			catch( NoSuchMethodException | IllegalAccessException e ) {
+				throw new RuntimeException( "Component class '%s' must have a public constructor taking an NGContext".formatted( _componentClass.getName() ), e );
+			}
+
+			_constructor = constructor;
+		}
+
+		return constructor;
 	}
 
 	/**
@@ -173,16 +231,112 @@ public class NGComponentDefinition {
 	 */
 	public NGElement template() {
 		if( _cachingEnabled() ) {
-			if( _cachedTemplate == null ) {
-				_cachedTemplate = _loadTemplate();
+			NGElement template = _cachedTemplate;
+
+			if( template == null ) {
+				_templateLock.lock();
+
+				try {
+					template = _cachedTemplate;
+
+					if( template == null ) {
+						template = _loadTemplate();
+						_cachedTemplate = template;
+					}
+				}
+				finally {
+					_templateLock.unlock();
+				}
 			}
 
-			return _cachedTemplate;
+			return template;
 		}
 
 		return _loadTemplate();
 	}
 
+	/**
+	 * Discards the cached definition of the named component (along with it's loaded template), so it gets loaded again on next use. For use when the component's template or class has changed.
+	 */
+	public static void invalidate( final String componentName ) {
+		Objects.requireNonNull( componentName );
+
+		final NGComponentDefinition definition = _componentDefinitionCache.remove( componentName );
+
+		// Templates that reference the component might still hold on to the definition itself, so we make sure it doesn't hold on to anything outdated
+		if( definition != null ) {
+			definition.invalidateCachedState();
+		}
+	}
+
+	/**
+	 * Discards all cached component definitions
+	 */
+	public static void invalidateAll() {
+		for( final String componentName : _componentDefinitionCache.keySet() ) {
+			invalidate( componentName );
+		}
+	}
+
+	private void invalidateCachedState() {
+		_templateLock.lock();
+
+		try {
+			_cachedTemplate = null;
+			_updateContainerIndex = null;
+			_constructor = null;
+		}
+		finally {
+			_templateLock.unlock();
+		}
+	}
+
+	/**
+	 * Performs the work involved in first use of the component up front, i.e. loading the template (which resolves the classes of the elements it references) and looking up the component class' constructor
+	 */
+	void warmUp() {
+		template();
+		constructor();
+	}
+
+	/**
+	 * @return Index of the update containers in the component's template
+	 *
+	 * If templates aren't cached, the template might change before we render it, so we can't know what it contains.
+	 * Same goes in development mode, since the template might get modified (and the index we gave out is cached by the templates using the component).
+	 * And if the component class provides it's own template by overriding NGComponent.template()
+	 */
+	public NGUpdateContainerIndex updateContainerIndex() {
+		NGUpdateContainerIndex index = _updateContainerIndex;
+
+		if( index == null ) {
+			if( !_cachingEnabled() || NGApplication.application().isDevelopmentMode() || overridesTemplate() ) {
+				index = NGUpdateContainerIndex.ANY;
+			}
+			else {
+				// A component might (indirectly) contain itself. We mark the index as "anything" while computing it, so such a reference can't recurse back in here.
+				_updateContainerIndex = NGUpdateContainerIndex.ANY;
+				index = template().updateContainerIndex();
+			}
+
+			_updateContainerIndex = index;
+		}
+
+		return index;
+	}
+
+	/**
+	 * @return true if the component class overrides NGComponent.template()
+	 */
+	private boolean overridesTemplate() {
+		try {
+			return _componentClass.getMethod( "template" ).getDeclaringClass() != NGComponent.class;
+		}
+		catch( NoSuchMethodException e ) {
+			throw new RuntimeException( e );
+		}
+	}
+
 	/**
 	 * @return A component template by loading the component's template files and parsing them
 	 */
@@ -201,6 +355,30 @@ public class NGComponentDefinition {
 				}
 			}
 
+			// In production we use the precompiled template if the build created one, skipping the parsing entirely.
+			// In development the template files might have been modified since the build, so we always parse them (even if we're caching)
+			if( !NGApplication.application().isDevelopmentMode() ) {
+				final Optional<NGResource> precompiledTemplate = NGApplication.application().resourceManager().obtainComponentTemplateResourceSearchingAllNamespaces( name() + "." + NGPrecompiledTemplate.FILE_EXTENSION );
+
+				if( precompiledTemplate.isPresent() ) {
+					final byte[] precompiledBytes = precompiledTemplate.get().bytes();
+
+					// Without the template's source there's nothing to check the precompiled template against, so we just have to trust it
+					if( htmlTemplateStringOptional.isEmpty() ) {
+						logger.info( "Using precompiled template for component '%s' (template source not found, so it can't be checked for changes)".formatted( name() ) );
+						return NGTemplateParserProxy.fromParsedTemplate( NGPrecompiledTemplate.fromBytes( precompiledBytes ) );
+					}
+
+					// The precompiled template might be left over from a build made before the template was modified
+					if( NGPrecompiledTemplate.matchesSource( precompiledBytes, htmlTemplateStringOptional.get(), wodStringOptional.orElse( "" ) ) ) {
+						logger.debug( "Using precompiled template for component '%s'".formatted( name() ) );
+						return NGTemplateParserProxy.fromParsedTemplate( NGPrecompiledTemplate.fromBytes( precompiledBytes ) );
+					}
+
+					logger.warn( "Precompiled template for component '%s' doesn't match the template's source, so it's outdated. Parsing the template instead".formatted( name() ) );
+				}
+			}
+
 			// If no html template string has been loaded, no template exists.
 			// CHECKME: We might want to fail here since a non-existent template at load time is almost definitely an error // Hugi 2023-08-27
 			if( htmlTemplateStringOptional.isEmpty() ) {
@@ -213,6 +391,9 @@ public class NGComponentDefinition {
 		catch( NGDeclarationFormatException | NGHTMLFormatException e ) {
 			throw new RuntimeException( e );
 		}
+		catch( IOException e ) {
+			throw new UncheckedIOException( "Failed to read precompiled template for component '%s'".formatted( name() ), e );
+		}
 	}
 
 	/**
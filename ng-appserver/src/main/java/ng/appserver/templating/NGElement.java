@@ -17,6 +17,15 @@ public interface NGElement {
 
 	public default void appendToResponse( NGResponse response, NGContext context ) {}
 
+	/**
+	 * @return The update containers this element may contain, used to skip the element when it can't contain a container targeted by a partial render.
+	 *
+	 * An element that isn't an NGStructuralElement doesn't get traversed unless it's appending to the response, so by default it's considered to contain none.
+	 */
+	public default NGUpdateContainerIndex updateContainerIndex() {
+		return NGUpdateContainerIndex.EMPTY;
+	}
+
 	public default void appendOrTraverse( NGResponse response, NGContext context ) {
 		if( context.shouldAppendToResponse() ) {
 			try {
@@ -27,7 +36,7 @@ public interface NGElement {
 				new NGErrorMessageElement( "VOFF! VOFF! Unknown key", getClass().getSimpleName(), unknownKeyException.getMessage() ).appendToResponse( response, context );
 			}
 		}
-		else if( this instanceof NGStructuralElement se ) {
+		else if( this instanceof NGStructuralElement se && context.mayContainTargetedUpdateContainer( se.updateContainerIndex() ) ) {
 			se.appendStructureToResponse( response, context );
 		}
 	}
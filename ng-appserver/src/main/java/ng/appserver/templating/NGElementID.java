@@ -1,10 +1,15 @@
 package ng.appserver.templating;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 /**
  * Represents an elementID.
+ *
+ * The elementID gets modified constantly during the request-response loop, while it's string form is needed far less often (mostly when generating names and URLs).
+ * So we maintain the string form incrementally as the ID is modified, rather than building it from scratch every time it's requested.
  */
 
 public class NGElementID {
@@ -15,88 +20,362 @@ public class NGElementID {
 	private static final char COMPONENT_SEPARATOR = '.';
 
 	/**
-	 * The index of the component we're currently manipulating in components[].
-	 * This is effectively the length of the elementID -1
+	 * Initial capacity of the components array. Grows as required.
 	 */
-	private int index = -1;
+	private static final int INITIAL_CAPACITY = 16;
 
 	/**
-	 * The components of the elementID.
-	 *
-	 * FIXME: This array needs to be dynamically resized // Hugi 2023-02-09
+	 * Number of components in the elementID
+	 */
+	private int _depth;
+
+	/**
+	 * The components of the elementID. Only the first _depth entries are in use.
+	 */
+	private int[] _components = new int[INITIAL_CAPACITY];
+
+	/**
+	 * The elementID's string form, maintained as the elementID is modified
+	 */
+	private final StringBuilder _string = new StringBuilder( INITIAL_CAPACITY * 3 );
+
+	/**
+	 * Position of each component's first digit in _string
+	 */
+	private int[] _offsets = new int[INITIAL_CAPACITY];
+
+	/**
+	 * toString() cached. Cleared when the elementID is modified.
 	 */
-	private final int[] components = new int[100];
+	private String _stringValue = "";
 
 	public void addBranch() {
-		index++;
+		addBranchAndSet( 0 );
 	}
 
 	public void removeBranch() {
-		if( index > -1 ) {
-			components[index] = 0;
-			index--;
+		if( _depth > 0 ) {
+			_depth--;
+			_string.setLength( _depth == 0 ? 0 : _offsets[_depth] - 1 );
+			_stringValue = null;
 		}
 	}
 
 	public void increment() {
-		if( index > -1 ) {
-			components[index]++;
+		if( _depth > 0 ) {
+			final int index = _depth - 1;
+			_components[index]++;
+			_string.setLength( _offsets[index] );
+			_string.append( _components[index] );
+			_stringValue = null;
 		}
 	}
 
 	public void addBranchAndSet( int value ) {
-		addBranch();
-		components[index] = value;
+		if( _depth == _components.length ) {
+			_components = Arrays.copyOf( _components, _depth * 2 );
+			_offsets = Arrays.copyOf( _offsets, _depth * 2 );
+		}
+
+		if( _depth > 0 ) {
+			_string.append( COMPONENT_SEPARATOR );
+		}
+
+		_components[_depth] = value;
+		_offsets[_depth] = _string.length();
+		_string.append( value );
+		_depth++;
+		_stringValue = null;
 	}
 
-	public static NGElementID fromString( final String elementIDString ) {
-		final NGElementID id = new NGElementID();
-		final String[] split = elementIDString.split( "\\." );
+	/**
+	 * Empties the elementID, allowing it to be reused
+	 */
+	public void reset() {
+		_depth = 0;
+		_string.setLength( 0 );
+		_stringValue = "";
+	}
+
+	/**
+	 * @return Number of components in the elementID
+	 */
+	public int depth() {
+		return _depth;
+	}
 
-		for( int i = 0; i < split.length; i++ ) {
-			id.components[i] = Integer.parseInt( split[i] );
+	/**
+	 * @return true if this elementID's components are the first components of [other] (or the same as other's). An empty elementID is a prefix of every elementID.
+	 */
+	public boolean isPrefixOf( final NGElementID other ) {
+		if( other == null || _depth > other._depth ) {
+			return false;
 		}
 
-		id.index = split.length - 1;
+		return Arrays.equals( _components, 0, _depth, other._components, 0, _depth );
+	}
 
-		return id;
+	/**
+	 * @return An immutable copy of the elementID's current value, for use as a map key
+	 */
+	public Key key() {
+		return new Key( Arrays.copyOf( _components, _depth ) );
 	}
 
-	@Override
-	public String toString() {
+	public static NGElementID fromString( final String elementIDString ) {
+		final NGElementID id = new NGElementID();
 
-		// An empty elementID is just an empty string.
-		// ...Sigh. This is really just here satisfy the unit test, since this should never happen during actual execution.
-		if( index == -1 ) {
-			return "";
-		}
+		int value = 0;
+		boolean hasDigits = false;
 
-		final int stringLengthGuess = index * 3; // We're venturing a guess that the max length of the elementID is three letter pr. component (two digits+period)
-		final StringBuilder b = new StringBuilder( stringLengthGuess );
+		for( int i = 0; i < elementIDString.length(); i++ ) {
+			final char c = elementIDString.charAt( i );
 
-		for( int i = 0; i <= index; i++ ) {
-			b.append( components[i] );
+			if( c == COMPONENT_SEPARATOR ) {
+				if( !hasDigits ) {
+					throw new NumberFormatException( "Invalid elementID '%s'".formatted( elementIDString ) );
+				}
 
-			if( i < index ) {
-				b.append( COMPONENT_SEPARATOR );
+				id.addBranchAndSet( value );
+				value = 0;
+				hasDigits = false;
+			}
+			else if( c >= '0' && c <= '9' ) {
+				value = Math.addExact( Math.multiplyExact( value, 10 ), c - '0' );
+				hasDigits = true;
 			}
+			else {
+				throw new NumberFormatException( "Invalid elementID '%s'".formatted( elementIDString ) );
+			}
+		}
+
+		if( hasDigits ) {
+			id.addBranchAndSet( value );
+		}
+		else if( !elementIDString.isEmpty() ) {
+			throw new NumberFormatException( "Invalid elementID '%s'".formatted( elementIDString ) );
+		}
+
+		return id;
+	}
+
+	@Override
+	public String toString() {
+		if( _stringValue == null ) {
+			_stringValue = _string.toString();
 		}
 
-		return b.toString();
+		return _stringValue;
 	}
 
+	/**
+	 * An elementID is equal to another elementID with the same components. To look up values stored under a Key using a live elementID, see KeyMap.
+	 */
 	@Override
 	public boolean equals( Object obj ) {
 
 		if( obj instanceof NGElementID ng ) {
-			return Arrays.equals( components, ng.components ) && index == ng.index;
+			return Arrays.equals( _components, 0, _depth, ng._components, 0, ng._depth );
 		}
 
 		return false;
 	}
 
+	/**
+	 * Same as the hashCode of a Key with the same components
+	 */
 	@Override
 	public int hashCode() {
-		return Objects.hash( components, index );
+		return hash( _components, _depth );
+	}
+
+	/**
+	 * Same as Arrays.hashCode(), for the first [length] entries of [components]
+	 */
+	private static int hash( final int[] components, final int length ) {
+		int result = 1;
+
+		for( int i = 0; i < length; i++ ) {
+			result = 31 * result + components[i];
+		}
+
+		return result;
+	}
+
+	/**
+	 * An immutable elementID value, for keying maps by elementID
+	 */
+	public static final class Key {
+
+		private final int[] _components;
+		private final int _hashCode;
+
+		private Key( final int[] components ) {
+			_components = components;
+			_hashCode = hash( components, components.length );
+		}
+
+		/**
+		 * @return true if the given elementID currently has the same components as this key
+		 */
+		public boolean matches( final NGElementID elementID ) {
+			return Arrays.equals( _components, 0, _components.length, elementID._components, 0, elementID._depth );
+		}
+
+		@Override
+		public boolean equals( Object obj ) {
+
+			if( obj instanceof Key key ) {
+				return Arrays.equals( _components, key._components );
+			}
+
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return _hashCode;
+		}
+
+		@Override
+		public String toString() {
+			final StringBuilder b = new StringBuilder();
+
+			for( int i = 0; i < _components.length; i++ ) {
+				if( i > 0 ) {
+					b.append( COMPONENT_SEPARATOR );
+				}
+
+				b.append( _components[i] );
+			}
+
+			return b.toString();
+		}
+	}
+
+	/**
+	 * A hash table of values stored under elementID keys, that can be looked up using a live elementID without making a Key first.
+	 *
+	 * Entries are matched using the elementID's hashCode() (which is the same as the Key's) and Key.matches(). Not thread safe.
+	 */
+	public static final class KeyMap<V> {
+
+		private static final int INITIAL_CAPACITY = 8;
+
+		private Entry<V>[] _table;
+		private int _size;
+
+		private static final class Entry<V> {
+			private final Key _key;
+			private V _value;
+			private Entry<V> _next;
+
+			private Entry( final Key key, final V value, final Entry<V> next ) {
+				_key = key;
+				_value = value;
+				_next = next;
+			}
+		}
+
+		/**
+		 * Stores [value] under the elementID's current value, replacing any value already stored for it
+		 */
+		public void put( final NGElementID elementID, final V value ) {
+			Objects.requireNonNull( elementID );
+
+			if( _table == null ) {
+				_table = newTable( INITIAL_CAPACITY );
+			}
+
+			final int hash = elementID.hashCode();
+			final int index = index( hash, _table.length );
+
+			for( Entry<V> e = _table[index]; e != null; e = e._next ) {
+				if( e._key._hashCode == hash && e._key.matches( elementID ) ) {
+					e._value = value;
+					return;
+				}
+			}
+
+			_table[index] = new Entry<>( elementID.key(), value, _table[index] );
+			_size++;
+
+			if( _size > _table.length * 3 / 4 ) {
+				resize();
+			}
+		}
+
+		/**
+		 * @return The value stored for the elementID's current value, null if none
+		 */
+		public V get( final NGElementID elementID ) {
+			Objects.requireNonNull( elementID );
+
+			if( _table == null ) {
+				return null;
+			}
+
+			final int hash = elementID.hashCode();
+
+			for( Entry<V> e = _table[index( hash, _table.length )]; e != null; e = e._next ) {
+				if( e._key._hashCode == hash && e._key.matches( elementID ) ) {
+					return e._value;
+				}
+			}
+
+			return null;
+		}
+
+		/**
+		 * @return The number of stored values
+		 */
+		public int size() {
+			return _size;
+		}
+
+		/**
+		 * @return The stored values, in no particular order
+		 */
+		public List<V> values() {
+			final List<V> values = new ArrayList<>( _size );
+
+			if( _table != null ) {
+				for( Entry<V> e : _table ) {
+					for( ; e != null; e = e._next ) {
+						values.add( e._value );
+					}
+				}
+			}
+
+			return values;
+		}
+
+		private void resize() {
+			final Entry<V>[] table = newTable( _table.length * 2 );
+
+			for( Entry<V> e : _table ) {
+				while( e != null ) {
+					final Entry<V> next = e._next;
+					final int index = index( e._key._hashCode, table.length );
+					e._next = table[index];
+					table[index] = e;
+					e = next;
+				}
+			}
+
+			_table = table;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <V> Entry<V>[] newTable( final int capacity ) {
+			return new Entry[capacity];
+		}
+
+		/**
+		 * @return The bucket for the given hash in a table of the given capacity (a power of two). High bits are mixed in, same as HashMap does.
+		 */
+		private static int index( final int hash, final int capacity ) {
+			return (hash ^ (hash >>> 16)) & (capacity - 1);
+		}
 	}
-}
\ No newline at end of file
+}
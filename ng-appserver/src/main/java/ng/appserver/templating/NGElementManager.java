@@ -1,13 +1,33 @@
 package ng.appserver.templating;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ng.appserver.NGApplication;
 import ng.appserver.NGContext;
 import ng.appserver.templating.associations.NGAssociation;
 import ng.appserver.templating.elements.NGComponentReference;
@@ -18,6 +38,8 @@ import ng.appserver.templating.elements.NGComponentReference;
 
 public class NGElementManager {
 
+	private static final Logger logger = LoggerFactory.getLogger( NGElementManager.class );
+
 	/**
 	 * To ease the porting of older templates to this system we allow unnamespaced elements. This is done
 	 * by designating the namespace "wo" a "magic namespace" which when used for locating elements means "search every namespace".
@@ -83,7 +105,6 @@ public class NGElementManager {
 	 * @return An instance of the named dynamic element. This can be a classless component (in which case it's the template name), a simple class name or a full class name
 	 *
 	 * FIXME: "Tag lookup" is a separate (cacheable) task from "Tag construction". Separate the two // Hugi 2025-04-19
-	 * FIXME: We're missing a cache for dynamic element name resolution // Hugi 2025-03-05
 	 * FIXME: We are going to have to support namespace aliases // Hugi 2025-03-20
 	 * FIXME: We are going to have to support recursion when looking for "tag aliases". I.e. you should be able to look up "teh alias of an alias" // Hugi 2025-03-20
 	 * FIXME: Tag aliasing needs to be namespace aware in general // Hugi 2025-03-20
@@ -121,17 +142,33 @@ public class NGElementManager {
 	}
 
 	/**
-	 * @return A new NGDynamicElement constructed using the given parameters. Really just a shortcut for invoking a dynamic element class' constructor via reflection.
+	 * Handles for dynamic element class' (String, Map, NGElement) constructors, typed (String, Map, NGElement)NGDynamicElement.
 	 */
-	private static <E extends NGDynamicElement> E createDynamicElementInstance( final Class<E> elementClass, final String name, final Map<String, NGAssociation> associations, final NGElement contentTemplate ) {
-		final Class<?>[] parameterTypes = { String.class, Map.class, NGElement.class };
-		final Object[] parameters = { name, associations, contentTemplate };
+	private static final ClassValue<MethodHandle> _elementConstructors = new ClassValue<>() {
+		@Override
+		protected MethodHandle computeValue( final Class<?> elementClass ) {
+			try {
+				return MethodHandles.publicLookup()
+						.findConstructor( elementClass, MethodType.methodType( void.class, String.class, Map.class, NGElement.class ) )
+						.asType( MethodType.methodType( NGDynamicElement.class, String.class, Map.class, NGElement.class ) );
+			}
+			catch( NoSuchMethodException | IllegalAccessException e ) {
+				throw new RuntimeException( "Dynamic element class '%s' must have a public constructor taking (String, Map, NGElement)".formatted( elementClass.getName() ), e );
+			}
+		}
+	};
 
+	/**
+	 * @return A new NGDynamicElement constructed using the given parameters. Really just a shortcut for invoking a dynamic element class' constructor.
+	 */
+	private static NGDynamicElement createDynamicElementInstance( final Class<? extends NGDynamicElement> elementClass, final String name, final Map<String, NGAssociation> associations, final NGElement contentTemplate ) {
 		try {
-			final Constructor<E> constructor = elementClass.getDeclaredConstructor( parameterTypes );
-			return constructor.newInstance( parameters );
+			return (NGDynamicElement)_elementConstructors.get( elementClass ).invokeExact( name, associations, contentTemplate );
 		}
-		catch( NoSuchMethodException | InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e ) {
+		catch( RuntimeException | Error e ) {
+			throw e;
+		}
+		catch( Throwable e ) {
 			throw new RuntimeException( e );
 		}
 	}
@@ -144,9 +181,9 @@ public class NGElementManager {
 	}
 
 	/**
-	 * Packages that we look for element classes in
+	 * Packages that we look for element classes in, in the order they were registered
 	 */
-	private final List<String> _elementPackages = new ArrayList<>();
+	private final List<ElementPackage> _elementPackages = new ArrayList<>();
 
 	/**
 	 * Explicitly registered element classes
@@ -158,6 +195,16 @@ public class NGElementManager {
 	 */
 	private final Map<String, String> _elementTagNames = new HashMap<>();
 
+	/**
+	 * Results of classWithSimpleNameNullIfNotFound(), including names that didn't resolve to a class. Cleared when elements are registered.
+	 */
+	private final Map<String, Optional<Class<?>>> _resolvedClasses = new ConcurrentHashMap<>();
+
+	/**
+	 * A registered element package, along with the simple names of the classes it contains. The names are null if we couldn't list the package's contents.
+	 */
+	private record ElementPackage( String packageName, Set<String> classNames ) {}
+
 	/**
 	 * Register a provider of element(s)
 	 */
@@ -167,6 +214,8 @@ public class NGElementManager {
 			case ElementsByPackage o -> registerElementPackage( o.namespace(), o.packageName() );
 			case ElementAliases o -> throw new IllegalArgumentException( "Not implemented" );
 		}
+
+		_resolvedClasses.clear();
 	}
 
 	/**
@@ -181,10 +230,10 @@ public class NGElementManager {
 	}
 
 	/**
-	 * Registers an element class for use in the application
+	 * Registers an element package for use in the application. The package's contents get listed right away, so we don't have to go looking for classes that aren't there.
 	 */
 	private void registerElementPackage( final String namespace, final String packageName ) {
-		_elementPackages.add( packageName );
+		_elementPackages.add( new ElementPackage( packageName, classNamesInPackage( packageName, NGElementManager.class.getClassLoader() ) ) );
 	}
 
 	/**
@@ -194,15 +243,41 @@ public class NGElementManager {
 
 		Objects.requireNonNull( simpleClassName );
 
+		Optional<Class<?>> elementClass = _resolvedClasses.get( simpleClassName );
+
+		// Not using computeIfAbsent() since loading a class might run code that resolves element classes (i.e. recursively updates the map)
+		if( elementClass == null ) {
+			elementClass = Optional.ofNullable( resolveClass( simpleClassName ) );
+
+			// In development, classes might get added while we're running, so we don't remember what we didn't find
+			if( elementClass.isPresent() || !isDevelopmentMode() ) {
+				_resolvedClasses.put( simpleClassName, elementClass );
+			}
+		}
+
+		return elementClass.orElse( null );
+	}
+
+	/**
+	 * @return The class with the given simple name, looking first at registered classes, then in registered packages. null if not found.
+	 */
+	private Class<?> resolveClass( final String simpleClassName ) {
+
 		final Class<?> elementClass = _elementClasses.get( simpleClassName );
 
 		if( elementClass != null ) {
 			return elementClass;
 		}
 
-		for( final String packageName : _elementPackages ) {
+		for( final ElementPackage elementPackage : _elementPackages ) {
+
+			// If we've listed the package, we know if the class is there, and if it isn't, we don't have to go looking (unless it might have been added after we listed the package)
+			if( elementPackage.classNames() != null && !elementPackage.classNames().contains( simpleClassName ) && !isDevelopmentMode() ) {
+				continue;
+			}
+
 			try {
-				final String className = packageName + "." + simpleClassName;
+				final String className = elementPackage.packageName() + "." + simpleClassName;
 				return Class.forName( className );
 			}
 			catch( ClassNotFoundException e ) {}
@@ -211,6 +286,87 @@ public class NGElementManager {
 		return null;
 	}
 
+	/**
+	 * Discards the results of previous element class lookups, so they get looked up again. For use when classes have been added, removed or modified.
+	 */
+	public void invalidateResolvedClasses() {
+		_resolvedClasses.clear();
+	}
+
+	/**
+	 * @return true if we're running an application in development mode
+	 */
+	private static boolean isDevelopmentMode() {
+		final NGApplication application = NGApplication.application();
+		return application != null && application.isDevelopmentMode();
+	}
+
+	/**
+	 * @return Simple names of the top level classes in the given package, as found on the given classloader's classpath. null if the package's contents can't be listed
+	 * (i.e. it's located somewhere other than in a directory or a jar file), in which case we'll have to go looking for classes by name.
+	 */
+	static Set<String> classNamesInPackage( final String packageName, final ClassLoader classLoader ) {
+		final String packagePath = packageName.replace( '.', '/' );
+		final Set<String> classNames = new HashSet<>();
+
+		try {
+			final Enumeration<URL> resources = classLoader.getResources( packagePath );
+
+			// Jar files don't necessarily contain entries for directories, in which case the package isn't found even if it's there
+			if( !resources.hasMoreElements() ) {
+				return null;
+			}
+
+			while( resources.hasMoreElements() ) {
+				final URL url = resources.nextElement();
+
+				switch( url.getProtocol() ) {
+					case "file" -> {
+						try( final DirectoryStream<Path> directory = Files.newDirectoryStream( Path.of( url.toURI() ), "*.class" )) {
+							for( final Path file : directory ) {
+								addClassName( classNames, file.getFileName().toString() );
+							}
+						}
+					}
+					case "jar" -> {
+						final JarURLConnection connection = (JarURLConnection)url.openConnection();
+						connection.setUseCaches( false );
+
+						try( final JarFile jarFile = connection.getJarFile()) {
+							final Iterator<JarEntry> entries = jarFile.entries().asIterator();
+
+							while( entries.hasNext() ) {
+								final String entryName = entries.next().getName();
+
+								if( entryName.startsWith( packagePath + "/" ) && entryName.indexOf( '/', packagePath.length() + 1 ) == -1 ) {
+									addClassName( classNames, entryName.substring( packagePath.length() + 1 ) );
+								}
+							}
+						}
+					}
+					default -> {
+						return null;
+					}
+				}
+			}
+		}
+		catch( IOException | URISyntaxException e ) {
+			logger.warn( "Failed to list the contents of element package '{}'. Classes will be looked up by name.", packageName, e );
+			return null;
+		}
+
+		return classNames;
+	}
+
+	/**
+	 * Adds the simple name of the class in the given class file, if it's a top level class
+	 */
+	private static void addClassName( final Set<String> classNames, final String fileName ) {
+		if( fileName.endsWith( ".class" ) && fileName.indexOf( '$' ) == -1 ) {
+			classNames.add( fileName.substring( 0, fileName.length() - ".class".length() ) );
+		}
+	}
+
 	/**
 	 * Maps tag names to their dynamic element names
 	 *
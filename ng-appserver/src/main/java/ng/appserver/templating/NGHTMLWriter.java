@@ -0,0 +1,339 @@
+package ng.appserver.templating;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+import ng.appserver.NGResponse;
+import ng.appserver.templating.associations.NGAssociation;
+
+/**
+ * Writes HTML to a response, for use by dynamic elements generating tags.
+ *
+ * Everything is written directly to the response's content as it's added (see NGResponse.appendContentCharacters()), there's no intermediate buffering of the tag.
+ * Attribute values and text get escaped.
+ *
+ * Attributes bound in the template (the associations passed to openTag()) are written when the tag is ended, after the element's own attributes (added using attr()).
+ * If the element adds an attribute that's also bound, the bound value overrides the element's, unless it's null. Such attributes are held back until the tag ends, so they're only written once.
+ *
+ * 	final NGHTMLWriter writer = new NGHTMLWriter( response );
+ * 	writer.openTag( "a", _additionalAssociations, context.component() );
+ * 	writer.attr( "href", href );
+ * 	writer.endOpenTag();
+ * 	appendChildrenToResponse( response, context );
+ * 	writer.closeTag( "a" );
+ *
+ * A writer constructed without a response just collects the HTML, which can then be obtained using toString().
+ */
+
+public class NGHTMLWriter {
+
+	/**
+	 * The response we're writing to. null if we're just collecting the HTML.
+	 */
+	private final NGResponse _response;
+
+	/**
+	 * Holds the written HTML if we're not writing to a response, otherwise null
+	 */
+	private final StringBuilder _collected;
+
+	/**
+	 * true between openTag() and endOpenTag()/endEmptyTag(), i.e. while attributes can be added
+	 */
+	private boolean _tagOpen;
+
+	/**
+	 * Attributes bound in the template for the currently open tag, null if none
+	 */
+	private Map<String, NGAssociation> _boundAssociations;
+
+	/**
+	 * The component the bound associations get resolved against
+	 */
+	private NGComponent _component;
+
+	/**
+	 * Values of attributes added by the element that are also bound, held back until the tag ends. Only allocated if that happens.
+	 */
+	private Map<String, Object> _heldBackAttributes;
+
+	/**
+	 * Constructs a writer that just collects the written HTML
+	 */
+	public NGHTMLWriter() {
+		_response = null;
+		_collected = new StringBuilder();
+	}
+
+	/**
+	 * Constructs a writer appending to the given response
+	 */
+	public NGHTMLWriter( final NGResponse response ) {
+		Objects.requireNonNull( response );
+		_response = response;
+		_collected = null;
+	}
+
+	/**
+	 * Starts a tag with the given name. Attributes can then be added until the tag is ended using endOpenTag() or endEmptyTag()
+	 */
+	public NGHTMLWriter openTag( final String elementName ) {
+		return openTag( elementName, null, null );
+	}
+
+	/**
+	 * Starts a tag with the given name, which will get an attribute for each of the given associations (bound in the template) with it's value resolved against the given component.
+	 * Associations with null values are skipped.
+	 */
+	public NGHTMLWriter openTag( final String elementName, final Map<String, NGAssociation> boundAssociations, final NGComponent component ) {
+		Objects.requireNonNull( elementName );
+
+		if( _tagOpen ) {
+			throw new IllegalStateException( "Can't open tag '%s' before ending the current tag".formatted( elementName ) );
+		}
+
+		write( "<" );
+		write( elementName );
+		_tagOpen = true;
+		_boundAssociations = boundAssociations == null || boundAssociations.isEmpty() ? null : boundAssociations;
+		_component = component;
+		return this;
+	}
+
+	/**
+	 * Adds an attribute to the currently open tag. Does nothing if [value] is null.
+	 */
+	public NGHTMLWriter attr( final String name, final Object value ) {
+		Objects.requireNonNull( name );
+
+		if( !_tagOpen ) {
+			throw new IllegalStateException( "Can't add attribute '%s' when no tag is open".formatted( name ) );
+		}
+
+		if( value != null ) {
+			if( _boundAssociations != null && _boundAssociations.containsKey( name ) ) {
+				if( _heldBackAttributes == null ) {
+					_heldBackAttributes = new HashMap<>();
+				}
+
+				_heldBackAttributes.put( name, value );
+			}
+			else {
+				writeAttribute( name, value );
+			}
+		}
+
+		return this;
+	}
+
+	/**
+	 * Ends the currently open tag, leaving the element open for content
+	 */
+	public NGHTMLWriter endOpenTag() {
+		return endTag( ">" );
+	}
+
+	/**
+	 * Ends the currently open tag, closing the element (i.e. a tag like <input ... />)
+	 */
+	public NGHTMLWriter endEmptyTag() {
+		return endTag( " />" );
+	}
+
+	private NGHTMLWriter endTag( final String end ) {
+		if( !_tagOpen ) {
+			throw new IllegalStateException( "No tag is open" );
+		}
+
+		if( _boundAssociations != null ) {
+			for( final Entry<String, NGAssociation> entry : _boundAssociations.entrySet() ) {
+				Object value = entry.getValue().valueInComponent( _component );
+
+				if( value == null && _heldBackAttributes != null ) {
+					value = _heldBackAttributes.get( entry.getKey() );
+				}
+
+				if( value != null ) {
+					writeAttribute( entry.getKey(), value );
+				}
+			}
+
+			_boundAssociations = null;
+			_component = null;
+
+			if( _heldBackAttributes != null ) {
+				_heldBackAttributes.clear();
+			}
+		}
+
+		write( end );
+		_tagOpen = false;
+		return this;
+	}
+
+	private void writeAttribute( final String name, final Object value ) {
+		write( " " );
+		write( name );
+		write( "=\"" );
+		writeEscaped( value.toString() );
+		write( "\"" );
+	}
+
+	/**
+	 * Writes the closing tag for the given element
+	 */
+	public NGHTMLWriter closeTag( final String elementName ) {
+		Objects.requireNonNull( elementName );
+		ensureNoTagOpen();
+		write( "</" );
+		write( elementName );
+		write( ">" );
+		return this;
+	}
+
+	/**
+	 * Writes the given text with HTML escaped. Does nothing if [text] is null.
+	 */
+	public NGHTMLWriter escapedText( final String text ) {
+		ensureNoTagOpen();
+
+		if( text != null ) {
+			writeEscaped( text );
+		}
+
+		return this;
+	}
+
+	/**
+	 * Writes the given text as it is, without escaping. Does nothing if [text] is null.
+	 */
+	public NGHTMLWriter text( final String text ) {
+		ensureNoTagOpen();
+
+		if( text != null ) {
+			write( text );
+		}
+
+		return this;
+	}
+
+	private void ensureNoTagOpen() {
+		if( _tagOpen ) {
+			throw new IllegalStateException( "A tag is open. End it using endOpenTag() or endEmptyTag() first" );
+		}
+	}
+
+	private void write( final String string ) {
+		write( string, 0, string.length() );
+	}
+
+	/**
+	 * Writes the characters of [string] from [start] (inclusive) to [end] (exclusive)
+	 */
+	private void write( final String string, final int start, final int end ) {
+		if( start == end ) {
+			return;
+		}
+
+		if( _response != null ) {
+			_response.appendContentCharacters( string, start, end );
+		}
+		else {
+			_collected.append( string, start, end );
+		}
+	}
+
+	/**
+	 * Writes [string] with HTML escaped, in runs of characters that don't need escaping so we don't have to construct the escaped string
+	 */
+	private void writeEscaped( final String string ) {
+		int last = 0;
+
+		for( int i = 0; i < string.length(); i++ ) {
+			final String replacement = replacement( string.charAt( i ) );
+
+			if( replacement != null ) {
+				write( string, last, i );
+				write( replacement );
+				last = i + 1;
+			}
+		}
+
+		write( string, last, string.length() );
+	}
+
+	/**
+	 * @return The HTML collected by a writer that isn't writing to a response
+	 */
+	@Override
+	public String toString() {
+		return _collected == null ? super.toString() : _collected.toString();
+	}
+
+	/**
+	 * @return The string with HTML escaped. The same string is returned if there's nothing to escape.
+	 */
+	public static String escapeHTML( final String string ) {
+		Objects.requireNonNull( string );
+
+		final int index = indexOfCharacterToEscape( string );
+
+		if( index == -1 ) {
+			return string;
+		}
+
+		final StringBuilder b = new StringBuilder( string.length() + 16 );
+		appendEscaped( b, string, index );
+		return b.toString();
+	}
+
+	/**
+	 * Appends [string] to [b] with HTML escaped, given that [string] has nothing to escape before [start]
+	 */
+	private static void appendEscaped( final StringBuilder b, final String string, final int start ) {
+		b.append( string, 0, start );
+
+		int last = start;
+
+		for( int i = start; i < string.length(); i++ ) {
+			final String replacement = replacement( string.charAt( i ) );
+
+			if( replacement != null ) {
+				b.append( string, last, i );
+				b.append( replacement );
+				last = i + 1;
+			}
+		}
+
+		b.append( string, last, string.length() );
+	}
+
+	/**
+	 * @return Index of the first character in [string] that must be escaped, -1 if none
+	 */
+	private static int indexOfCharacterToEscape( final String string ) {
+		for( int i = 0; i < string.length(); i++ ) {
+			if( replacement( string.charAt( i ) ) != null ) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * @return The entity to replace [c] with, null if [c] doesn't need escaping
+	 */
+	private static String replacement( final char c ) {
+		return switch( c ) {
+			case '&' -> "&amp;";
+			case '<' -> "&lt;";
+			case '>' -> "&gt;";
+			case '"' -> "&quot;";
+			case '\'' -> "&#39;";
+			default -> null;
+		};
+	}
+}
@@ -16,4 +16,12 @@ public interface NGStructuralElement extends NGElement {
 	}
 
 	public void appendStructureToResponse( NGResponse response, NGContext context );
+
+	/**
+	 * We know nothing about the structure of the element, so we must assume it may contain any update container. Implementations should narrow this down if they can.
+	 */
+	@Override
+	public default NGUpdateContainerIndex updateContainerIndex() {
+		return NGUpdateContainerIndex.ANY;
+	}
 }
@@ -0,0 +1,826 @@
+package ng.appserver.templating;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ng.appserver.NGApplication;
+import ng.appserver.templating.associations.NGAssociation;
+import ng.appserver.templating.associations.NGAssociationUtils;
+import ng.appserver.templating.associations.NGConstantValueAssociation;
+import ng.appserver.templating.associations.NGKeyValueAssociation;
+import ng.appserver.templating.elements.NGConditional;
+import ng.appserver.templating.elements.NGDynamicGroup;
+import ng.appserver.templating.elements.NGHTMLBareString;
+import ng.appserver.templating.elements.NGString;
+import ng.appserver.templating.parser.model.PBasicNode;
+import ng.appserver.templating.parser.model.PCommentNode;
+import ng.appserver.templating.parser.model.PHTMLNode;
+import ng.appserver.templating.parser.model.PNode;
+import ng.appserver.templating.parser.model.PRawNode;
+import ng.appserver.templating.parser.model.PRootNode;
+import ng.kvc.NGKeyPath;
+
+/**
+ * Compiles a parsed template into a generated class, rather than an element tree that gets interpreted by walking it.
+ *
+ * The generated class has straight-line appendToResponse(), takeValuesFromRequest() and invokeAction() methods for the elements the compiler understands
+ * (static HTML, NGString and NGConditional). Static HTML gets appended as pre-encoded bytes, keyValue bindings are resolved directly through their parsed keyPaths
+ * and constant bindings get folded at compile time. Any other element is kept in the interpreted form and invoked from the generated code,
+ * so the element tree is really only "compiled" down to the first element the compiler doesn't understand.
+ *
+ * The generated code mirrors what the interpreted elements do, elementIDs and handling of unknown keys included, so the output of a compiled template is identical to the interpreted one.
+ *
+ * Since we don't have a bytecode library at hand, the class is generated as java source and compiled using the system java compiler (javax.tools).
+ * The resulting class is defined as a hidden class, receiving the template's strings, associations and elements as class data.
+ * If the compiler isn't available (i.e. we're running on a JRE) or compilation fails, we just use the interpreted template.
+ *
+ * Compilation is off by default and enabled by setting the property 'ng.templating.compile' to true. Since compiling isn't exactly free,
+ * templates are only compiled when caching is enabled, i.e. not in development mode where we reload templates on every request.
+ *
+ * FIXME: Compile the elements of NGComponentReference's content templates and repetitions as well
+ */
+
+public class NGTemplateCompiler {
+
+	private static final Logger logger = LoggerFactory.getLogger( NGTemplateCompiler.class );
+
+	/**
+	 * Property that enables template compilation
+	 */
+	private static final String COMPILE_PROPERTY = "ng.templating.compile";
+
+	/**
+	 * Package of the generated classes. They need to live with the lookup class we define them through.
+	 */
+	private static final String PACKAGE_NAME = NGTemplateCompiler.class.getPackageName();
+
+	/**
+	 * For generating unique names for the generated classes
+	 */
+	private static final AtomicInteger _classCounter = new AtomicInteger();
+
+	/**
+	 * Set if we've found that the system java compiler is unavailable, so we don't keep on trying (and logging)
+	 */
+	private static volatile boolean _compilerUnavailable;
+
+	/**
+	 * The proxy we use to construct the template's elements
+	 */
+	private final NGTemplateParserProxy _proxy;
+
+	/**
+	 * Values referenced by the generated class, passed to the class as class data
+	 */
+	private final List<Object> _constants = new ArrayList<>();
+
+	/**
+	 * Names of the generated class' constant fields, by value
+	 */
+	private final Map<Object, String> _constantNames = new IdentityHashMap<>();
+
+	/**
+	 * Declarations of the generated class' constant fields
+	 */
+	private final StringBuilder _constantDeclarations = new StringBuilder();
+
+	/**
+	 * For generating unique labels and variable names in the generated code
+	 */
+	private int _labelCounter;
+
+	NGTemplateCompiler( final NGTemplateParserProxy proxy ) {
+		_proxy = proxy;
+	}
+
+	/**
+	 * @return true if template compilation has been enabled
+	 */
+	static boolean isEnabled() {
+		final NGApplication application = NGApplication.application();
+		return application.cachingEnabled() && Boolean.parseBoolean( application.properties().get( COMPILE_PROPERTY ) );
+	}
+
+	/**
+	 * A node in the compiler's representation of the template
+	 */
+	private sealed interface Node permits StaticNode, StringNode, ConditionalNode, FallbackNode {}
+
+	/**
+	 * Static HTML
+	 */
+	private record StaticNode( String string ) implements Node {}
+
+	/**
+	 * An NGString
+	 */
+	private record StringNode( NGAssociation value, NGAssociation valueWhenEmpty, NGAssociation escapeHTML, NGAssociation formatter ) implements Node {}
+
+	/**
+	 * An NGConditional and it's children, along with the interpreted conditional (for it's update container index)
+	 */
+	private record ConditionalNode( NGAssociation condition, NGAssociation negate, List<Node> children, NGElement element ) implements Node {}
+
+	/**
+	 * An element we don't compile, invoked as an interpreted element
+	 */
+	private record FallbackNode( NGElement element ) implements Node {}
+
+	/**
+	 * A node along with the interpreted element constructed for it
+	 */
+	private record CompiledNode( Node node, NGElement element ) {}
+
+	/**
+	 * @return The template for the given node. A compiled template if possible, otherwise the interpreted element tree.
+	 */
+	NGElement compile( final PNode rootNode ) {
+
+		final List<CompiledNode> children;
+
+		if( rootNode instanceof PRootNode r ) {
+			children = compileNodes( r.children() );
+		}
+		else {
+			children = List.of( compileNode( rootNode ) );
+		}
+
+		final NGElement template = NGTemplateParserProxy.toTemplateFromElements( elements( children ) );
+
+		// A template consisting of a single element we don't understand gains nothing from compilation
+		if( children.size() == 1 && children.getFirst().node() instanceof FallbackNode ) {
+			return template;
+		}
+
+		if( _compilerUnavailable ) {
+			return template;
+		}
+
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+		if( compiler == null ) {
+			logger.warn( "Template compilation is enabled but no java compiler is available (are we running on a JRE?). Templates will be interpreted." );
+			_compilerUnavailable = true;
+			return template;
+		}
+
+		try {
+			final String className = "NGCompiledTemplate_" + _classCounter.incrementAndGet();
+			final String source = generateSource( className, nodes( children ), children.size() != 1 );
+			final NGCompiledTemplate compiledTemplate = defineTemplate( compiler, className, source );
+			compiledTemplate._interpretedTemplate = template;
+			return compiledTemplate;
+		}
+		catch( Exception e ) {
+			logger.warn( "Failed to compile template, falling back to the interpreted template", e );
+			return template;
+		}
+	}
+
+	/**
+	 * @return The given nodes compiled. Adjacent static nodes are merged, the same way NGTemplateParserProxy merges adjacent bare strings.
+	 */
+	private List<CompiledNode> compileNodes( final List<PNode> nodes ) {
+		final List<CompiledNode> compiledNodes = new ArrayList<>( nodes.size() );
+
+		for( final PNode node : nodes ) {
+			final CompiledNode compiledNode = compileNode( node );
+
+			if( compiledNode.node() instanceof StaticNode staticNode && !compiledNodes.isEmpty() && compiledNodes.getLast().node() instanceof StaticNode previousStaticNode ) {
+				final String string = previousStaticNode.string() + staticNode.string();
+				compiledNodes.set( compiledNodes.size() - 1, new CompiledNode( new StaticNode( string ), new NGHTMLBareString( string ) ) );
+			}
+			else {
+				compiledNodes.add( compiledNode );
+			}
+		}
+
+		return compiledNodes;
+	}
+
+	/**
+	 * @return The given node compiled. Constructs the same element as NGTemplateParserProxy.toDynamicElement() does, along with our own representation of it.
+	 */
+	private CompiledNode compileNode( final PNode node ) {
+		return switch( node ) {
+			case PBasicNode n -> compileBasicNode( n );
+			case PRootNode n -> {
+				final NGElement element = NGTemplateParserProxy.toTemplateFromElements( elements( compileNodes( n.children() ) ) );
+				yield new CompiledNode( new FallbackNode( element ), element );
+			}
+			case PHTMLNode n -> new CompiledNode( new StaticNode( n.value() ), new NGHTMLBareString( n.value() ) );
+			case PRawNode n -> new CompiledNode( new StaticNode( n.value() ), new NGHTMLBareString( n.value() ) );
+			case PCommentNode n -> new CompiledNode( new StaticNode( "" ), NGHTMLBareString.EMPTY );
+		};
+	}
+
+	private CompiledNode compileBasicNode( final PBasicNode node ) {
+		final Map<String, NGAssociation> associations = NGTemplateParserProxy.toAssociations( node.bindings(), node.isInline() );
+		final List<CompiledNode> children = compileNodes( node.children() );
+		final NGElement element = _proxy.toDynamicElement( node, associations, NGTemplateParserProxy.toTemplateFromElements( elements( children ) ) );
+
+		// Elements that always render the same content get turned into bare strings by the proxy
+		if( element instanceof NGHTMLBareString bareString ) {
+			return new CompiledNode( new StaticNode( bareString.string() ), element );
+		}
+
+		// We check for the exact classes, since subclasses might behave differently
+		if( element.getClass() == NGString.class ) {
+			return new CompiledNode( new StringNode( associations.get( "value" ), associations.get( "valueWhenEmpty" ), associations.get( "escapeHTML" ), associations.get( "formatter" ) ), element );
+		}
+
+		// A conditional with a lone NGDynamicGroup child "steals it's kids", so the conditional's children don't correspond to the node's children. We leave that one to the interpreter.
+		if( element.getClass() == NGConditional.class && !(children.size() == 1 && children.getFirst().element().getClass() == NGDynamicGroup.class) ) {
+			return new CompiledNode( new ConditionalNode( associations.get( "condition" ), associations.get( "negate" ), nodes( children ), element ), element );
+		}
+
+		return new CompiledNode( new FallbackNode( element ), element );
+	}
+
+	private static List<NGElement> elements( final List<CompiledNode> compiledNodes ) {
+		return compiledNodes.stream().map( CompiledNode::element ).toList();
+	}
+
+	private static List<Node> nodes( final List<CompiledNode> compiledNodes ) {
+		return compiledNodes.stream().map( CompiledNode::node ).toList();
+	}
+
+	/**
+	 * @return true if the node does something besides rendering, i.e. in takeValuesFromRequest() and invokeAction()
+	 */
+	private static boolean isActive( final Node node ) {
+		return node instanceof ConditionalNode || node instanceof FallbackNode;
+	}
+
+	/**
+	 * @return The index of the last node that does something besides rendering, -1 if none
+	 */
+	private static int lastActiveIndex( final List<Node> nodes ) {
+		for( int i = nodes.size() - 1; i >= 0; i-- ) {
+			if( isActive( nodes.get( i ) ) ) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * @return Java source for the template class
+	 *
+	 * @param grouped true if the nodes are contained in a group, i.e. the interpreted template is an NGDynamicGroup. If false, we've got a single node that is the template.
+	 */
+	private String generateSource( final String className, final List<Node> nodes, final boolean grouped ) {
+
+		final Source append = new Source( 2 );
+		final Source take = new Source( 2 );
+		final Source invoke = new Source( 2 );
+
+		if( grouped ) {
+			appendGroup( append, nodes );
+			takeGroup( take, nodes );
+			invokeGroup( invoke, nodes );
+		}
+		else {
+			final Node node = nodes.getFirst();
+
+			if( node instanceof StaticNode s ) {
+				appendStatic( append, s.string() );
+			}
+			else {
+				appendNode( append, node );
+				takeNode( take, node );
+				invokeNode( invoke, node );
+			}
+		}
+
+		return """
+				package %s;
+
+				import java.lang.invoke.MethodHandles;
+				import java.text.Format;
+
+				import ng.appserver.NGActionResults;
+				import ng.appserver.NGContext;
+				import ng.appserver.NGRequest;
+				import ng.appserver.NGResponse;
+				import ng.appserver.privates.NGHTMLUtilities;
+				import ng.appserver.templating.associations.NGAssociation;
+				import ng.appserver.templating.associations.NGAssociationUtils;
+				import ng.kvc.NGKeyPath;
+				import ng.kvc.NGKeyValueCoding.UnknownKeyException;
+
+				final class %s extends NGCompiledTemplate {
+
+					private static final Object[] DATA;
+
+					static {
+						try {
+							DATA = MethodHandles.classData( MethodHandles.lookup(), "_", Object[].class );
+						}
+						catch( IllegalAccessException e ) {
+							throw new ExceptionInInitializerError( e );
+						}
+					}
+
+				%s
+					@Override
+					public void appendStructureToResponse( final NGResponse response, final NGContext context ) {
+						final boolean append = context.shouldAppendToResponse();
+						final NGComponent component = context.component();
+						final NGElementID elementID = context.elementID();
+				%s	}
+
+					@Override
+					public void takeValuesFromRequest( final NGRequest request, final NGContext context ) {
+						final NGComponent component = context.component();
+						final NGElementID elementID = context.elementID();
+				%s	}
+
+					@Override
+					public NGActionResults invokeAction( final NGRequest request, final NGContext context ) {
+						final NGComponent component = context.component();
+						final NGElementID elementID = context.elementID();
+						NGActionResults actionResults = null;
+				%s		return actionResults;
+					}
+				}
+				""".formatted( PACKAGE_NAME, className, _constantDeclarations, append, take, invoke );
+	}
+
+	/**
+	 * Generates appendToResponse() code for the children of a group
+	 */
+	private void appendGroup( final Source s, final List<Node> nodes ) {
+
+		if( nodes.isEmpty() ) {
+			return;
+		}
+
+		s.line( "elementID.addBranch();" );
+
+		for( final Node node : nodes ) {
+			if( node instanceof StaticNode staticNode ) {
+				appendStatic( s, staticNode.string() );
+			}
+			else {
+				appendNode( s, node );
+			}
+
+			increment( s, 1 );
+		}
+
+		s.line( "elementID.removeBranch();" );
+	}
+
+	private void appendStatic( final Source s, final String string ) {
+		if( !string.isEmpty() ) {
+			s.open( "if( append ) {" );
+			s.line( "response.appendContentBytes( %s );".formatted( constant( string.getBytes( StandardCharsets.UTF_8 ), "byte[]" ) ) );
+			s.close( "}" );
+		}
+	}
+
+	/**
+	 * Generates appendToResponse() code for a single non-static node
+	 */
+	private void appendNode( final Source s, final Node node ) {
+		switch( node ) {
+			case StringNode n -> {
+				s.open( "if( append ) {" );
+				s.open( "try {" );
+				s.line( "Object value = %s;".formatted( valueExpression( n.value() ) ) );
+
+				if( n.valueWhenEmpty() != null ) {
+					s.open( "if( value == null || (value instanceof String s && s.isEmpty()) ) {" );
+					s.line( "value = %s;".formatted( valueExpression( n.valueWhenEmpty() ) ) );
+					s.close( "}" );
+				}
+
+				s.open( "if( value != null ) {" );
+
+				// Same order of evaluation as NGString, escapeHTML gets evaluated before the formatter
+				final Boolean escapeHTMLConstant = escapeHTMLConstant( n.escapeHTML() );
+
+				if( escapeHTMLConstant == null ) {
+					s.line( "final boolean escapeHTML = (boolean)%s;".formatted( valueExpression( n.escapeHTML() ) ) );
+				}
+
+				if( n.formatter() != null ) {
+					s.line( "String string = ((Format)%s).format( value );".formatted( valueExpression( n.formatter() ) ) );
+				}
+				else {
+					s.line( "String string = value.toString();" );
+				}
+
+				if( escapeHTMLConstant == null ) {
+					s.open( "if( escapeHTML ) {" );
+					s.line( "string = NGHTMLUtilities.escapeHTML( string );" );
+					s.close( "}" );
+				}
+				else if( escapeHTMLConstant ) {
+					s.line( "string = NGHTMLUtilities.escapeHTML( string );" );
+				}
+
+				s.line( "response.appendContentString( string );" );
+				s.close( "}" );
+				s.close( "}" );
+				s.open( "catch( UnknownKeyException unknownKeyException ) {" );
+				s.line( "appendUnknownKeyError( response, context, \"%s\", unknownKeyException );".formatted( NGString.class.getSimpleName() ) );
+				s.close( "}" );
+				s.close( "}" );
+			}
+			case ConditionalNode n -> {
+				final String condition = conditionExpression( n );
+
+				if( condition.equals( "false" ) ) {
+					return;
+				}
+
+				// Same as NGElement.appendOrTraverse(), in a partial render we skip the conditional if it can't contain a targeted update container
+				final String traverse = "append || context.mayContainTargetedUpdateContainer( %s.updateContainerIndex() )".formatted( constant( n.element(), "NGElement" ) );
+
+				if( condition.equals( "true" ) ) {
+					s.open( "if( %s ) {".formatted( traverse ) );
+				}
+				else {
+					// In append mode, NGElement.appendOrTraverse() would render an error for an unknown key. Otherwise it propagates.
+					// Conditionals can be nested, so the variable name must be unique
+					final String variableName = "condition" + _labelCounter++;
+					s.open( "if( %s ) {".formatted( traverse ) );
+					s.line( "boolean %s;".formatted( variableName ) );
+					s.open( "try {" );
+					s.line( "%s = %s;".formatted( variableName, condition ) );
+					s.close( "}" );
+					s.open( "catch( UnknownKeyException unknownKeyException ) {" );
+					s.open( "if( !append ) {" );
+					s.line( "throw unknownKeyException;" );
+					s.close( "}" );
+					s.line( "appendUnknownKeyError( response, context, \"%s\", unknownKeyException );".formatted( NGConditional.class.getSimpleName() ) );
+					s.line( "%s = false;".formatted( variableName ) );
+					s.close( "}" );
+					s.open( "if( %s ) {".formatted( variableName ) );
+				}
+
+				appendGroup( s, n.children() );
+
+				if( !condition.equals( "true" ) ) {
+					s.close( "}" );
+				}
+
+				s.close( "}" );
+			}
+			case FallbackNode n -> s.line( "%s.appendOrTraverse( response, context );".formatted( constant( n.element(), "NGElement" ) ) );
+			case StaticNode n -> throw new IllegalArgumentException( "Static nodes are appended by the group" );
+		}
+	}
+
+	/**
+	 * Generates takeValuesFromRequest() code for the children of a group.
+	 *
+	 * Entering and leaving a branch leaves the elementID as it was, so a group with no active nodes is skipped entirely, as are the increments after the last active node.
+	 */
+	private void takeGroup( final Source s, final List<Node> nodes ) {
+		final int lastActiveIndex = lastActiveIndex( nodes );
+
+		if( lastActiveIndex == -1 ) {
+			return;
+		}
+
+		s.line( "elementID.addBranch();" );
+
+		int inactiveCount = 0;
+
+		for( int i = 0; i <= lastActiveIndex; i++ ) {
+			final Node node = nodes.get( i );
+
+			if( isActive( node ) ) {
+				increment( s, inactiveCount );
+				inactiveCount = 0;
+				takeNode( s, node );
+
+				if( i < lastActiveIndex ) {
+					increment( s, 1 );
+				}
+			}
+			else {
+				inactiveCount++;
+			}
+		}
+
+		s.line( "elementID.removeBranch();" );
+	}
+
+	private void takeNode( final Source s, final Node node ) {
+		switch( node ) {
+			case ConditionalNode n -> {
+				final String condition = conditionExpression( n );
+
+				if( !condition.equals( "false" ) ) {
+					s.open( condition.equals( "true" ) ? "{" : "if( %s ) {".formatted( condition ) );
+					takeGroup( s, n.children() );
+					s.close( "}" );
+				}
+			}
+			case FallbackNode n -> s.line( "%s.takeValuesFromRequest( request, context );".formatted( constant( n.element(), "NGElement" ) ) );
+			case StaticNode n -> {}
+			case StringNode n -> {}
+		}
+	}
+
+	/**
+	 * Generates invokeAction() code for the children of a group. Like the interpreted group, we stop at the first element that returns a result.
+	 */
+	private void invokeGroup( final Source s, final List<Node> nodes ) {
+		final int lastActiveIndex = lastActiveIndex( nodes );
+
+		if( lastActiveIndex == -1 ) {
+			return;
+		}
+
+		final String label = "group" + _labelCounter++;
+
+		s.open( label + ": {" );
+		s.line( "elementID.addBranch();" );
+
+		int inactiveCount = 0;
+
+		for( int i = 0; i <= lastActiveIndex; i++ ) {
+			final Node node = nodes.get( i );
+
+			if( isActive( node ) ) {
+				increment( s, inactiveCount );
+				inactiveCount = 0;
+				invokeNode( s, node );
+
+				if( i < lastActiveIndex ) {
+					increment( s, 1 );
+					s.open( "if( actionResults != null ) {" );
+					s.line( "elementID.removeBranch();" );
+					s.line( "break %s;".formatted( label ) );
+					s.close( "}" );
+				}
+			}
+			else {
+				inactiveCount++;
+			}
+		}
+
+		s.line( "elementID.removeBranch();" );
+		s.close( "}" );
+	}
+
+	private void invokeNode( final Source s, final Node node ) {
+		switch( node ) {
+			case ConditionalNode n -> {
+				final String condition = conditionExpression( n );
+
+				if( !condition.equals( "false" ) ) {
+					s.open( condition.equals( "true" ) ? "{" : "if( %s ) {".formatted( condition ) );
+					invokeGroup( s, n.children() );
+					s.close( "}" );
+				}
+			}
+			case FallbackNode n -> s.line( "actionResults = %s.invokeAction( request, context );".formatted( constant( n.element(), "NGElement" ) ) );
+			case StaticNode n -> {}
+			case StringNode n -> {}
+		}
+	}
+
+	private static void increment( final Source s, final int count ) {
+		for( int i = 0; i < count; i++ ) {
+			s.line( "elementID.increment();" );
+		}
+	}
+
+	/**
+	 * @return An expression evaluating to the given association's value in the component
+	 */
+	private String valueExpression( final NGAssociation association ) {
+
+		if( association.getClass() == NGKeyValueAssociation.class ) {
+			return "%s.valueInObject( component )".formatted( constant( ((NGKeyValueAssociation)association).parsedKeyPath(), NGKeyPath.class.getSimpleName() ) );
+		}
+
+		if( association.getClass() == NGConstantValueAssociation.class ) {
+			final Object value = association.valueInComponent( null );
+			return value == null ? "null" : constant( value, "Object" );
+		}
+
+		return "%s.valueInComponent( component )".formatted( constant( association, NGAssociation.class.getSimpleName() ) );
+	}
+
+	/**
+	 * @return An expression evaluating to the given association's value as a boolean, as evaluated by NGAssociationUtils.isTruthy(). Constants get folded into "true" or "false".
+	 */
+	private String truthyExpression( final NGAssociation association ) {
+
+		if( association.getClass() == NGConstantValueAssociation.class ) {
+			return String.valueOf( NGAssociationUtils.isTruthy( association.valueInComponent( null ) ) );
+		}
+
+		return "NGAssociationUtils.isTruthy( %s )".formatted( valueExpression( association ) );
+	}
+
+	/**
+	 * @return An expression evaluating the given conditional's condition, with the same order of evaluation as NGConditional. "true" or "false" if it's constant.
+	 */
+	private String conditionExpression( final ConditionalNode node ) {
+		final String condition = truthyExpression( node.condition() );
+
+		if( node.negate() == null ) {
+			return condition;
+		}
+
+		final String negate = truthyExpression( node.negate() );
+
+		if( negate.equals( "false" ) ) {
+			return condition;
+		}
+
+		if( negate.equals( "true" ) ) {
+			return switch( condition ) {
+				case "true" -> "false";
+				case "false" -> "true";
+				default -> "!" + condition;
+			};
+		}
+
+		return "%s != %s".formatted( condition, negate );
+	}
+
+	/**
+	 * @return The value of a constant escapeHTML binding, null if the binding is dynamic
+	 */
+	private static Boolean escapeHTMLConstant( final NGAssociation escapeHTML ) {
+
+		if( escapeHTML == null ) {
+			return true;
+		}
+
+		if( escapeHTML.getClass() == NGConstantValueAssociation.class && escapeHTML.valueInComponent( null ) instanceof Boolean b ) {
+			return b;
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return The name of a static final field in the generated class, holding the given value
+	 */
+	private String constant( final Object value, final String typeName ) {
+		String name = _constantNames.get( value );
+
+		if( name == null ) {
+			name = "C" + _constants.size();
+			_constantDeclarations.append( "\tprivate static final %s %s = (%s)DATA[%s];\n".formatted( typeName, name, typeName, _constants.size() ) );
+			_constants.add( value );
+			_constantNames.put( value, name );
+		}
+
+		return name;
+	}
+
+	/**
+	 * @return A new instance of the template class compiled from the given source
+	 */
+	private NGCompiledTemplate defineTemplate( final JavaCompiler compiler, final String className, final String source ) throws Exception {
+		final Map<String, byte[]> classBytes = new HashMap<>();
+		final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+		try( final StandardJavaFileManager standardFileManager = compiler.getStandardFileManager( diagnostics, null, StandardCharsets.UTF_8 )) {
+			final JavaFileManager fileManager = new ForwardingJavaFileManager<>( standardFileManager ) {
+				@Override
+				public JavaFileObject getJavaFileForOutput( final Location location, final String name, final Kind kind, final FileObject sibling ) {
+					return new SimpleJavaFileObject( URI.create( "mem:///" + name.replace( '.', '/' ) + kind.extension ), kind ) {
+						@Override
+						public OutputStream openOutputStream() {
+							return new ByteArrayOutputStream() {
+								@Override
+								public void close() {
+									classBytes.put( name, toByteArray() );
+								}
+							};
+						}
+					};
+				}
+			};
+
+			final JavaFileObject sourceFile = new SimpleJavaFileObject( URI.create( "string:///" + PACKAGE_NAME.replace( '.', '/' ) + "/" + className + Kind.SOURCE.extension ), Kind.SOURCE ) {
+				@Override
+				public CharSequence getCharContent( final boolean ignoreEncodingErrors ) {
+					return source;
+				}
+			};
+
+			final List<String> options = List.of( "-classpath", classpath(), "-proc:none" );
+
+			if( !compiler.getTask( null, fileManager, diagnostics, options, null, List.of( sourceFile ) ).call() ) {
+				throw new IllegalStateException( "Compilation of generated template class failed: " + diagnostics.getDiagnostics() );
+			}
+		}
+
+		final byte[] bytes = classBytes.get( PACKAGE_NAME + "." + className );
+
+		if( bytes == null || classBytes.size() != 1 ) {
+			throw new IllegalStateException( "Expected the single class '%s' from compilation, got %s".formatted( className, classBytes.keySet() ) );
+		}
+
+		final Lookup lookup = MethodHandles.lookup().defineHiddenClassWithClassData( bytes, _constants.toArray(), true );
+
+		try {
+			return (NGCompiledTemplate)lookup.findConstructor( lookup.lookupClass(), MethodType.methodType( void.class ) ).invoke();
+		}
+		catch( Throwable e ) {
+			throw new RuntimeException( e );
+		}
+	}
+
+	/**
+	 * @return Classpath for compiling the generated classes. The locations of the framework's classes along with the JVM's classpath.
+	 */
+	private static String classpath() throws Exception {
+		final Set<String> entries = new LinkedHashSet<>();
+
+		for( final Class<?> frameworkClass : List.of( NGElement.class, NGKeyPath.class ) ) {
+			final CodeSource codeSource = frameworkClass.getProtectionDomain().getCodeSource();
+
+			if( codeSource != null && codeSource.getLocation() != null ) {
+				entries.add( Path.of( codeSource.getLocation().toURI() ).toString() );
+			}
+		}
+
+		entries.add( System.getProperty( "java.class.path" ) );
+
+		return String.join( File.pathSeparator, entries );
+	}
+
+	/**
+	 * Builds indented lines of source code
+	 */
+	private static class Source {
+
+		private final StringBuilder _b = new StringBuilder();
+
+		private int _indent;
+
+		Source( final int indent ) {
+			_indent = indent;
+		}
+
+		void line( final String line ) {
+			_b.append( "\t".repeat( _indent ) ).append( line ).append( '\n' );
+		}
+
+		/**
+		 * Adds a line opening a block
+		 */
+		void open( final String line ) {
+			line( line );
+			_indent++;
+		}
+
+		/**
+		 * Adds a line closing a block
+		 */
+		void close( final String line ) {
+			_indent--;
+			line( line );
+		}
+
+		@Override
+		public String toString() {
+			return _b.toString();
+		}
+	}
+}
@@ -1,17 +1,17 @@
 package ng.appserver.templating;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Map;
 import java.util.Objects;
 
 import ng.appserver.NGApplication;
 import ng.appserver.templating.associations.NGAssociation;
 import ng.appserver.templating.associations.NGAssociationFactory;
 import ng.appserver.templating.elements.NGDynamicGroup;
+import ng.appserver.templating.elements.NGGenericElement;
 import ng.appserver.templating.elements.NGHTMLBareString;
 import ng.appserver.templating.parser.NGDeclaration.NGBindingValue;
 import ng.appserver.templating.parser.NGDeclarationFormatException;
@@ -35,27 +35,69 @@ public class NGTemplateParserProxy {
 	private final String _htmlString;
 	private final String _wodString;
 
+	/**
+	 * The element manager used to construct the template's dynamic elements
+	 */
+	private final NGElementManager _elementManager;
+
+	/**
+	 * Indicates if we want to pass the parsed template through NGTemplateCompiler
+	 */
+	private final boolean _compile;
+
 	/**
 	 * @param htmlString The HTML to parse
 	 * @param wodString The associated wod/declarations
 	 */
 	public NGTemplateParserProxy( final String htmlString, final String wodString ) {
+		this( htmlString, wodString, NGApplication.application().elementManager(), NGTemplateCompiler.isEnabled() );
+	}
+
+	/**
+	 * @param htmlString The HTML to parse
+	 * @param wodString The associated wod/declarations
+	 * @param elementManager The element manager used to construct the template's elements
+	 * @param compile true if we want to compile the template
+	 */
+	NGTemplateParserProxy( final String htmlString, final String wodString, final NGElementManager elementManager, final boolean compile ) {
 		Objects.requireNonNull( htmlString );
 		Objects.requireNonNull( wodString );
+		Objects.requireNonNull( elementManager );
 
 		_htmlString = htmlString;
 		_wodString = wodString;
+		_elementManager = elementManager;
+		_compile = compile;
 	}
 
 	/**
 	 * @return A parsed element template
 	 */
 	public NGElement parse() throws NGDeclarationFormatException, NGHTMLFormatException {
-		final PNode rootNode = new NGTemplateParser( _htmlString, _wodString ).parse();
+		return toTemplate( new NGTemplateParser( _htmlString, _wodString ).parse() );
+	}
+
+	/**
+	 * @return An element template constructed from an already parsed template, for example one read from it's precompiled form (see NGPrecompiledTemplate)
+	 */
+	public static NGElement fromParsedTemplate( final PNode rootNode ) {
+		return new NGTemplateParserProxy( "", "" ).toTemplate( rootNode );
+	}
+
+	/**
+	 * @return An element template constructed from the given parsed template
+	 */
+	NGElement toTemplate( final PNode rootNode ) {
+		Objects.requireNonNull( rootNode );
+
+		if( _compile ) {
+			return new NGTemplateCompiler( this ).compile( rootNode );
+		}
+
 		return toDynamicElement( rootNode );
 	}
 
-	private static NGElement toDynamicElement( final PNode node ) {
+	private NGElement toDynamicElement( final PNode node ) {
 		return switch( node ) {
 			case PBasicNode n -> toDynamicElement( n );
 			case PRootNode n -> toTemplate( n.children() );
@@ -65,34 +107,41 @@ public class NGTemplateParserProxy {
 		};
 	}
 
-	private static NGElement toDynamicElement( final PBasicNode node ) {
-
-		final String type = node.type();
+	private NGElement toDynamicElement( final PBasicNode node ) {
 		final Map<String, NGAssociation> associations = toAssociations( node.bindings(), node.isInline() );
 		final NGElement childTemplate = toTemplate( node.children() );
+		return toDynamicElement( node, associations, childTemplate );
+	}
+
+	/**
+	 * @return The dynamic element for the given node, constructed from already created associations and child template
+	 */
+	NGElement toDynamicElement( final PBasicNode node, final Map<String, NGAssociation> associations, final NGElement childTemplate ) {
+
+		final String type = node.type();
 
 		try {
-			return NGApplication.application().elementManager().dynamicElementWithName( node.namespace(), type, associations, childTemplate );
+			final NGElement element = _elementManager.dynamicElementWithName( node.namespace(), type, associations, childTemplate );
+
+			// A generic element with only constant bindings always renders the same HTML, so we render it as a bare string that can be merged with it's neighbours
+			if( element instanceof NGGenericElement genericElement && genericElement.constantHTML() != null ) {
+				return new NGHTMLBareString( genericElement.constantHTML() );
+			}
+
+			return element;
 		}
 		catch( NGElementNotFoundException e ) {
 			// FIXME: Experimental functionality, probably doesn't belong with the parser part of the framework.
 			// But since it's definitely something we want, I'm keeping this here for reference until it finds it's final home. // Hugi 2024-10-19
 			return new NGElementNotFoundElement( type );
 		}
-		catch( RuntimeException e ) {
-			// FIXME: Digging this deep to get to the actual exception is crazy. We need to fix this up // Hugi 2024-11-19
-			if( e.getCause() instanceof InvocationTargetException ite ) {
-				if( ite.getCause() instanceof NGBindingConfigurationException bce ) {
-					return new NGErrorMessageElement( "Binding configuration error", "&lt;wo:" + type + "&gt;", bce.getMessage() );
-				}
-			}
-
-			throw e;
+		catch( NGBindingConfigurationException e ) {
+			return new NGErrorMessageElement( "Binding configuration error", "&lt;wo:" + type + "&gt;", e.getMessage() );
 		}
 	}
 
-	private static Map<String, NGAssociation> toAssociations( final Map<String, NGBindingValue> bindings, final boolean isInline ) {
-		final Map<String, NGAssociation> associations = new HashMap<>();
+	static Map<String, NGAssociation> toAssociations( final Map<String, NGBindingValue> bindings, final boolean isInline ) {
+		final Map<String, NGAssociation> associations = new LinkedHashMap<>();
 
 		for( Entry<String, NGBindingValue> entry : bindings.entrySet() ) {
 			final String bindingName = entry.getKey();
@@ -107,7 +156,7 @@ public class NGTemplateParserProxy {
 	/**
 	 * @return An element/template from the given list of nodes.
 	 */
-	private static NGElement toTemplate( final List<PNode> nodes ) {
+	private NGElement toTemplate( final List<PNode> nodes ) {
 
 		final List<NGElement> elements = new ArrayList<>();
 
@@ -115,10 +164,38 @@ public class NGTemplateParserProxy {
 			elements.add( toDynamicElement( pNode ) );
 		}
 
+		return toTemplateFromElements( elements );
+	}
+
+	/**
+	 * @return An element/template from the given list of elements. A single element is the template itself, otherwise the elements get wrapped in a group
+	 */
+	static NGElement toTemplateFromElements( List<NGElement> elements ) {
+
+		elements = coalesceBareStrings( elements );
+
 		if( elements.size() == 1 ) {
 			return elements.getFirst();
 		}
 
 		return new NGDynamicGroup( elements );
 	}
-}
\ No newline at end of file
+
+	/**
+	 * @return The given elements, with adjacent bare strings merged into a single bare string, so they get rendered as a single chunk of bytes
+	 */
+	static List<NGElement> coalesceBareStrings( final List<NGElement> elements ) {
+		final List<NGElement> result = new ArrayList<>( elements.size() );
+
+		for( final NGElement element : elements ) {
+			if( element instanceof NGHTMLBareString bareString && !result.isEmpty() && result.getLast() instanceof NGHTMLBareString previousBareString ) {
+				result.set( result.size() - 1, new NGHTMLBareString( previousBareString.string() + bareString.string() ) );
+			}
+			else {
+				result.add( element );
+			}
+		}
+
+		return result;
+	}
+}
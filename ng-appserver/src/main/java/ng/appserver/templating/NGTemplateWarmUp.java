@@ -0,0 +1,200 @@
+package ng.appserver.templating;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ng.appserver.NGApplication;
+import ng.appserver.resources.NGResourceLoader;
+import ng.appserver.resources.StandardResourceType;
+import ng.appserver.templating.parser.NGPrecompiledTemplate;
+
+/**
+ * Loads every component template at application startup, so the first users after a deploy don't pay for the parsing.
+ *
+ * Templates are located by listing the component template resources of every registered namespace, and then loaded in parallel (on virtual threads)
+ * through their component definitions, meaning they end up cached exactly as if they'd been loaded by a request.
+ *
+ * Enabled by setting the property 'ng.templates.warmUp' to true. Only has an effect when caching is enabled, since otherwise templates aren't kept after loading.
+ */
+
+public class NGTemplateWarmUp {
+
+	private static final Logger logger = LoggerFactory.getLogger( NGTemplateWarmUp.class );
+
+	/**
+	 * Property for enabling warm-up
+	 */
+	private static final String WARM_UP_PROPERTY = "ng.templates.warmUp";
+
+	/**
+	 * Number of the slowest templates to log at the end of warm-up
+	 */
+	private static final int SLOWEST_TEMPLATE_COUNT = 10;
+
+	/**
+	 * Result of warming up a single template
+	 *
+	 * @param templateName Name of the template
+	 * @param nanos Time spent loading the template, in nanoseconds
+	 * @param exception The exception thrown while loading the template, null if none
+	 */
+	public record Result( String templateName, long nanos, Throwable exception ) {}
+
+	/**
+	 * @return true if warm-up has been enabled
+	 */
+	public static boolean isEnabled( final NGApplication application ) {
+		return application.cachingEnabled() && Boolean.parseBoolean( application.properties().get( WARM_UP_PROPERTY ) );
+	}
+
+	/**
+	 * Loads every component template located in the application's namespaces
+	 *
+	 * @return The result for each template
+	 */
+	public static List<Result> warmUp( final NGApplication application ) {
+		Objects.requireNonNull( application );
+
+		final long startTime = System.nanoTime();
+		final Set<String> templateNames = templateNames( application.resourceManager().resourceLoader() );
+
+		logger.info( "Warming up {} component templates", templateNames.size() );
+
+		final List<Result> results = warmUp( templateNames );
+
+		final List<Result> failures = results.stream().filter( r -> r.exception() != null ).toList();
+
+		for( final Result failure : failures ) {
+			logger.error( "Failed to warm up template '{}'", failure.templateName(), failure.exception() );
+		}
+
+		if( logger.isDebugEnabled() ) {
+			for( final Result result : results ) {
+				logger.debug( "Loaded template '{}' in {} ms", result.templateName(), millis( result.nanos() ) );
+			}
+		}
+
+		final String slowest = results
+				.stream()
+				.sorted( Comparator.comparingLong( Result::nanos ).reversed() )
+				.limit( SLOWEST_TEMPLATE_COUNT )
+				.map( r -> "%s (%s ms)".formatted( r.templateName(), millis( r.nanos() ) ) )
+				.toList()
+				.toString();
+
+		logger.info( "Warmed up {} component templates in {} ms ({} failed). Slowest: {}", results.size(), millis( System.nanoTime() - startTime ), failures.size(), slowest );
+
+		return results;
+	}
+
+	/**
+	 * Loads the named templates in parallel, waiting for all of them to finish
+	 */
+	static List<Result> warmUp( final Collection<String> templateNames ) {
+		final List<Future<Result>> futures = new ArrayList<>( templateNames.size() );
+
+		try( final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for( final String templateName : templateNames ) {
+				futures.add( executor.submit( () -> warmUp( templateName ) ) );
+			}
+		}
+
+		final List<Result> results = new ArrayList<>( futures.size() );
+
+		for( final Future<Result> future : futures ) {
+			try {
+				results.add( future.get() );
+			}
+			catch( InterruptedException e ) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException( e );
+			}
+			catch( ExecutionException e ) {
+				// warmUp() catches everything it can, so this shouldn't happen
+				throw new RuntimeException( e.getCause() );
+			}
+		}
+
+		return results;
+	}
+
+	/**
+	 * Loads the named template through it's component definition
+	 */
+	private static Result warmUp( final String templateName ) {
+		final long startTime = System.nanoTime();
+
+		try {
+			NGComponentDefinition.get( templateName ).warmUp();
+			return new Result( templateName, System.nanoTime() - startTime, null );
+		}
+		catch( Exception | LinkageError e ) {
+			return new Result( templateName, System.nanoTime() - startTime, e );
+		}
+	}
+
+	/**
+	 * @return Names of the component templates found in the given loader's namespaces
+	 */
+	private static Set<String> templateNames( final NGResourceLoader resourceLoader ) {
+		final Set<String> templateNames = new TreeSet<>();
+
+		for( final String namespace : resourceLoader.namespaces() ) {
+			for( final String resourcePath : resourceLoader.resourcePaths( namespace, StandardResourceType.ComponentTemplate ) ) {
+				final String templateName = templateName( resourcePath );
+
+				if( templateName != null ) {
+					templateNames.add( templateName );
+				}
+			}
+		}
+
+		return templateNames;
+	}
+
+	/**
+	 * @return The name of the template the resource at the given path belongs to, null if it's not a template's HTML (or precompiled template)
+	 *
+	 * Templates are either a single file (X.html), a template folder (X.wo/X.html) or a precompiled template (X.ngt)
+	 */
+	public static String templateName( final String resourcePath ) {
+		final String precompiledSuffix = "." + NGPrecompiledTemplate.FILE_EXTENSION;
+
+		if( resourcePath.endsWith( precompiledSuffix ) ) {
+			return resourcePath.substring( 0, resourcePath.length() - precompiledSuffix.length() );
+		}
+
+		if( !resourcePath.endsWith( ".html" ) ) {
+			return null;
+		}
+
+		final String name = resourcePath.substring( 0, resourcePath.length() - ".html".length() );
+		final int slashIndex = name.lastIndexOf( '/' );
+
+		// Inside a template folder, only the HTML file named after the folder is a template
+		if( slashIndex != -1 && name.substring( 0, slashIndex ).endsWith( ".wo" ) ) {
+			final String folderName = name.substring( 0, slashIndex - ".wo".length() );
+			final String baseName = name.substring( slashIndex + 1 );
+			return folderName.equals( baseName ) || folderName.endsWith( "/" + baseName ) ? folderName : null;
+		}
+
+		return name;
+	}
+
+	private static long millis( final long nanos ) {
+		return TimeUnit.NANOSECONDS.toMillis( nanos );
+	}
+}
@@ -0,0 +1,169 @@
+package ng.appserver.templating;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Describes which AjaxUpdateContainers a subtree of the element tree may contain, allowing partial renders to skip subtrees that can't contain a targeted container.
+ *
+ * The index is conservative, i.e. it may claim a subtree contains a container when it doesn't, but never the other way around.
+ * Containers whose IDs are known when the template is loaded (constant id bindings) are listed in containerIDs(). Anything we can't know in advance
+ * (a dynamic id binding, a switch component, a structural element we know nothing about) marks the subtree as possibly containing any container.
+ *
+ * Content passed to a wrapper component (rendered by NGComponentContent) depends on where the component is used, so it gets tracked separately.
+ * NGComponentReference then replaces it with the index of it's own content template. See replacingComponentContent()
+ */
+
+public final class NGUpdateContainerIndex {
+
+	/**
+	 * Index of a subtree that contains no update containers
+	 */
+	public static final NGUpdateContainerIndex EMPTY = new NGUpdateContainerIndex( Set.of(), false, false );
+
+	/**
+	 * Index of a subtree that may contain any update container
+	 */
+	public static final NGUpdateContainerIndex ANY = new NGUpdateContainerIndex( Set.of(), true, false );
+
+	/**
+	 * Index of a subtree consisting of the content of the component being rendered
+	 */
+	public static final NGUpdateContainerIndex COMPONENT_CONTENT = new NGUpdateContainerIndex( Set.of(), false, true );
+
+	/**
+	 * IDs of the update containers known to be in the subtree
+	 */
+	private final Set<String> _containerIDs;
+
+	/**
+	 * true if the subtree may contain update containers whose IDs we don't know
+	 */
+	private final boolean _mayContainAny;
+
+	/**
+	 * true if the subtree renders the content of the component being rendered
+	 */
+	private final boolean _containsComponentContent;
+
+	private NGUpdateContainerIndex( final Set<String> containerIDs, final boolean mayContainAny, final boolean containsComponentContent ) {
+		_containerIDs = containerIDs;
+		_mayContainAny = mayContainAny;
+		_containsComponentContent = containsComponentContent;
+	}
+
+	/**
+	 * @return An index of a subtree containing an update container with the given ID
+	 */
+	public static NGUpdateContainerIndex of( final String containerID ) {
+		Objects.requireNonNull( containerID );
+		return new NGUpdateContainerIndex( Set.of( containerID ), false, false );
+	}
+
+	/**
+	 * @return IDs of the update containers known to be in the subtree
+	 */
+	public Set<String> containerIDs() {
+		return _containerIDs;
+	}
+
+	/**
+	 * @return true if the subtree may contain update containers whose IDs aren't known in advance
+	 */
+	public boolean mayContainAny() {
+		return _mayContainAny;
+	}
+
+	/**
+	 * @return true if the subtree renders the content of the component being rendered
+	 */
+	public boolean containsComponentContent() {
+		return _containsComponentContent;
+	}
+
+	/**
+	 * @return true if the subtree may contain any of the given update containers
+	 */
+	public boolean mayContainAnyOf( final Set<String> containerIDs ) {
+
+		// Without knowing the component we're rendering, we can't know what it's content contains
+		if( _mayContainAny || _containsComponentContent ) {
+			return true;
+		}
+
+		if( _containerIDs.isEmpty() ) {
+			return false;
+		}
+
+		for( final String containerID : containerIDs ) {
+			if( _containerIDs.contains( containerID ) ) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * @return An index covering both this subtree and [other]
+	 */
+	public NGUpdateContainerIndex union( final NGUpdateContainerIndex other ) {
+		Objects.requireNonNull( other );
+
+		if( other == EMPTY || this == other ) {
+			return this;
+		}
+
+		if( this == EMPTY ) {
+			return other;
+		}
+
+		final Set<String> containerIDs;
+
+		if( other._containerIDs.isEmpty() ) {
+			containerIDs = _containerIDs;
+		}
+		else if( _containerIDs.isEmpty() ) {
+			containerIDs = other._containerIDs;
+		}
+		else {
+			final Set<String> union = new HashSet<>( _containerIDs );
+			union.addAll( other._containerIDs );
+			containerIDs = Set.copyOf( union );
+		}
+
+		return new NGUpdateContainerIndex( containerIDs, _mayContainAny || other._mayContainAny, _containsComponentContent || other._containsComponentContent );
+	}
+
+	/**
+	 * @return The index with the component content replaced by [contentIndex], i.e. the index of a component's template when it's rendered with the given content
+	 */
+	public NGUpdateContainerIndex replacingComponentContent( final NGUpdateContainerIndex contentIndex ) {
+		Objects.requireNonNull( contentIndex );
+
+		if( !_containsComponentContent ) {
+			return this;
+		}
+
+		return new NGUpdateContainerIndex( _containerIDs, _mayContainAny, false ).union( contentIndex );
+	}
+
+	/**
+	 * @return The combined index of the given elements
+	 */
+	public static NGUpdateContainerIndex of( final Iterable<? extends NGElement> elements ) {
+		NGUpdateContainerIndex result = EMPTY;
+
+		for( final NGElement element : elements ) {
+			result = result.union( element.updateContainerIndex() );
+		}
+
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return "NGUpdateContainerIndex [_containerIDs=" + _containerIDs + ", _mayContainAny=" + _mayContainAny + ", _containsComponentContent=" + _containsComponentContent + "]";
+	}
+}
@@ -11,6 +11,13 @@ public abstract class NGAssociation {
 		return null;
 	}
 
+	/**
+	 * @return true if this association always returns the same value, regardless of the component it's resolved against
+	 */
+	public boolean isValueConstant() {
+		return false;
+	}
+
 	/**
 	 * Set the value of this association in the given component
 	 */
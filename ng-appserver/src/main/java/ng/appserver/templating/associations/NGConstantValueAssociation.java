@@ -17,6 +17,11 @@ public class NGConstantValueAssociation extends NGAssociation {
 		return _value;
 	}
 
+	@Override
+	public boolean isValueConstant() {
+		return true;
+	}
+
 	@Override
 	public String toString() {
 		return "[" + getClass().getSimpleName() + ":" + _value + "]";
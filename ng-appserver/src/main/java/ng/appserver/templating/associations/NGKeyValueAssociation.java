@@ -3,15 +3,18 @@ package ng.appserver.templating.associations;
 import java.util.Objects;
 
 import ng.appserver.templating.NGComponent;
-import ng.kvc.NGKeyValueCodingAdditions;
+import ng.kvc.NGKeyPath;
 
 public class NGKeyValueAssociation extends NGAssociation {
 
-	private final String _keyPath;
+	/**
+	 * The association's keyPath, parsed once at construction since it gets resolved on every evaluation
+	 */
+	private final NGKeyPath _keyPath;
 
 	public NGKeyValueAssociation( final String keyPath ) {
 		validateKeyPath( keyPath );
-		_keyPath = keyPath;
+		_keyPath = NGKeyPath.of( keyPath );
 	}
 
 	/**
@@ -36,10 +39,6 @@ public class NGKeyValueAssociation extends NGAssociation {
 			throw new NGAssociationConstructionException( "[keyPath] can't end with a period." );
 		}
 
-		if( keyPath.contains( ".@" ) ) {
-			throw new NGAssociationConstructionException( "[keyPath] doesn't support operators (keys prefixed with '@')" );
-		}
-
 		if( keyPath.contains( ". " ) ) {
 			throw new NGAssociationConstructionException( "[keyPath] has an element that starts with a space" );
 		}
@@ -64,16 +63,29 @@ public class NGKeyValueAssociation extends NGAssociation {
 	@Override
 	public Object valueInComponent( final NGComponent component ) {
 		Objects.requireNonNull( component );
-		return NGKeyValueCodingAdditions.Utility.valueForKeyPath( component, keyPath() );
+		return _keyPath.valueInObject( component );
 	}
 
 	@Override
 	public void setValue( final Object value, final NGComponent component ) {
 		Objects.requireNonNull( component );
-		NGKeyValueCodingAdditions.Utility.takeValueForKeyPath( component, value, _keyPath );
+
+		// The result of an operator (for example "items.@count") can't be set. Same as for constant associations, we just ignore it when a synchronized component pushes the value back.
+		if( _keyPath.hasOperator() ) {
+			return;
+		}
+
+		_keyPath.takeValueInObject( value, component );
 	}
 
 	public String keyPath() {
+		return _keyPath.keyPath();
+	}
+
+	/**
+	 * @return The parsed keyPath this association resolves
+	 */
+	public NGKeyPath parsedKeyPath() {
 		return _keyPath;
 	}
 
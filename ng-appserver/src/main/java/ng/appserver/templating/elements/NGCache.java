@@ -0,0 +1,370 @@
+package ng.appserver.templating.elements;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import ng.appserver.NGApplication;
+import ng.appserver.NGContext;
+import ng.appserver.NGResponse;
+import ng.appserver.NGStandardResponse;
+import ng.appserver.templating.NGElement;
+import ng.appserver.templating.associations.NGAssociation;
+import ng.appserver.templating.associations.NGAssociationUtils;
+
+/**
+ * Caches the rendered content of it's children, so subsequent renders can skip rendering them entirely.
+ *
+ * Content is cached under the value of [key] (so rendering the element with a different key gives different content), for [duration] seconds if bound (otherwise until evicted or invalidated).
+ * Cached content can be tagged using [tags] (a collection of strings, or a string of tags separated by commas/whitespace) and invalidated by tag using NGCache.invalidateTag().
+ * All cached content shares a single store, with a byte budget set by the property 'ng.cache.maxBytes' (32MB by default). Once exceeded, the least recently used content is evicted.
+ *
+ * 	<wo:cache key="$currentCategory.id" duration="300" tags="products">
+ * 		...
+ * 	</wo:cache>
+ *
+ * Only the content gets cached, so children must not depend on anything but what's in the key (for example, the current user).
+ * And since the page cache must be able to find the component a component action URL points to, content that generated component action URLs (forms, links with actions etc.)
+ * doesn't get cached, unless [allowActionURLs] is true (which is only OK if the action URLs don't have to work).
+ *
+ * Bind [enabled] to false to render the content without caching.
+ *
+ * In a partial page update, the element only uses the cache when it's inside a targeted update container, since all of it's content is then going to end up in the same part of the response.
+ * Otherwise it just gets traversed like any other group.
+ */
+
+public class NGCache extends NGDynamicGroup {
+
+	/**
+	 * Property for setting the store's budget, in bytes
+	 */
+	private static final String MAX_BYTES_PROPERTY = "ng.cache.maxBytes";
+
+	/**
+	 * The store's budget if not set using the property
+	 */
+	private static final long DEFAULT_MAX_BYTES = 32 * 1024 * 1024;
+
+	/**
+	 * The store used by all cache elements. Created on first use, once the application's properties are known.
+	 */
+	private static volatile Store _defaultStore;
+
+	/**
+	 * For generating unique IDs for cache elements, so two elements never share content, even if bound to the same key
+	 */
+	private static final AtomicLong _elementIDCounter = new AtomicLong();
+
+	/**
+	 * Uniquely identifies this element's content in the store
+	 */
+	private final long _elementID = _elementIDCounter.incrementAndGet();
+
+	/**
+	 * The value identifying the content, i.e. if the content renders differently depending on something, that something must be in the key
+	 */
+	private final NGAssociation _keyAssociation;
+
+	/**
+	 * Number of seconds to cache the content. If unbound, content is cached until evicted or invalidated.
+	 */
+	private final NGAssociation _durationAssociation;
+
+	/**
+	 * Tags for invalidating the content
+	 */
+	private final NGAssociation _tagsAssociation;
+
+	/**
+	 * If bound and false, the content gets rendered without caching
+	 */
+	private final NGAssociation _enabledAssociation;
+
+	/**
+	 * If true, content gets cached even if it generated component action URLs
+	 */
+	private final NGAssociation _allowActionURLsAssociation;
+
+	public NGCache( final String name, final Map<String, NGAssociation> associations, final NGElement template ) {
+		super( name, associations, template );
+		_keyAssociation = associations.get( "key" );
+		_durationAssociation = associations.get( "duration" );
+		_tagsAssociation = associations.get( "tags" );
+		_enabledAssociation = associations.get( "enabled" );
+		_allowActionURLsAssociation = associations.get( "allowActionURLs" );
+	}
+
+	/**
+	 * @return The store used by cache elements
+	 */
+	public static Store store() {
+		Store store = _defaultStore;
+
+		if( store == null ) {
+			synchronized( NGCache.class ) {
+				store = _defaultStore;
+
+				if( store == null ) {
+					store = new Store( maxBytes(), System::nanoTime );
+					_defaultStore = store;
+				}
+			}
+		}
+
+		return store;
+	}
+
+	/**
+	 * @return The store's budget, as set by the application's properties
+	 */
+	private static long maxBytes() {
+		final NGApplication application = NGApplication.application();
+		final String value = application != null ? application.properties().get( MAX_BYTES_PROPERTY ) : null;
+		return value != null ? Long.parseLong( value ) : DEFAULT_MAX_BYTES;
+	}
+
+	/**
+	 * Removes all cached content tagged with the given tag
+	 */
+	public static void invalidateTag( final String tag ) {
+		store().invalidateTag( tag );
+	}
+
+	/**
+	 * Removes all cached content
+	 */
+	public static void invalidateAll() {
+		store().invalidateAll();
+	}
+
+	@Override
+	public void appendToResponse( final NGResponse response, final NGContext context ) {
+
+		if( _enabledAssociation != null && !NGAssociationUtils.isTruthy( _enabledAssociation.valueInComponent( context.component() ) ) ) {
+			appendChildrenToResponse( response, context );
+			return;
+		}
+
+		final Key key = new Key( _elementID, _keyAssociation != null ? _keyAssociation.valueInComponent( context.component() ) : null );
+		final byte[] cachedContent = store().get( key );
+
+		if( cachedContent != null ) {
+			response.appendContentBytes( cachedContent );
+			return;
+		}
+
+		// Render the content into a separate response, so we can get hold of it
+		final int actionURLCountBefore = context.componentActionURLCount();
+		final NGStandardResponse contentResponse = new NGStandardResponse();
+		final byte[] content;
+
+		try {
+			appendChildrenToResponse( contentResponse, context );
+			content = contentResponse.contentBytes();
+		}
+		finally {
+			contentResponse.contentBuffer().reset();
+		}
+
+		response.appendContentBytes( content );
+
+		final boolean generatedActionURLs = context.componentActionURLCount() != actionURLCountBefore;
+
+		if( !generatedActionURLs || allowActionURLs( context ) ) {
+			store().put( key, content, durationNanos( context ), tags( context ) );
+		}
+	}
+
+	private boolean allowActionURLs( final NGContext context ) {
+		return _allowActionURLsAssociation != null && NGAssociationUtils.isTruthy( _allowActionURLsAssociation.valueInComponent( context.component() ) );
+	}
+
+	/**
+	 * @return Number of nanoseconds to cache the content, 0 for no limit
+	 */
+	private long durationNanos( final NGContext context ) {
+		if( _durationAssociation == null ) {
+			return 0;
+		}
+
+		final Object value = _durationAssociation.valueInComponent( context.component() );
+
+		final double seconds = switch( value ) {
+			case null -> 0;
+			case Number n -> n.doubleValue();
+			case String s -> Double.parseDouble( s );
+			default -> throw new IllegalArgumentException( "[duration] must be a number of seconds. Got '%s' (%s)".formatted( value, value.getClass().getName() ) );
+		};
+
+		return (long)(seconds * TimeUnit.SECONDS.toNanos( 1 ));
+	}
+
+	/**
+	 * @return The tags to store the content with
+	 */
+	private Set<String> tags( final NGContext context ) {
+		if( _tagsAssociation == null ) {
+			return Set.of();
+		}
+
+		final Object value = _tagsAssociation.valueInComponent( context.component() );
+
+		return switch( value ) {
+			case null -> Set.of();
+			case String s -> Stream.of( s.split( "[,\\s]+" ) ).filter( tag -> !tag.isEmpty() ).collect( Collectors.toUnmodifiableSet() );
+			case Collection<?> c -> c.stream().map( String::valueOf ).collect( Collectors.toUnmodifiableSet() );
+			default -> throw new IllegalArgumentException( "[tags] must be a string or a collection of strings. Got '%s' (%s)".formatted( value, value.getClass().getName() ) );
+		};
+	}
+
+	/**
+	 * Identifies content in the store
+	 */
+	private record Key( long elementID, Object key ) {}
+
+	/**
+	 * A single piece of cached content
+	 */
+	private record Entry( byte[] content, long expiresAtNanos, Set<String> tags ) {}
+
+	/**
+	 * Stores cached content, evicting the least recently used content once the total size of the content exceeds the store's byte budget
+	 */
+	public static class Store {
+
+		/**
+		 * Entries in order of access, least recently used first
+		 */
+		private final LinkedHashMap<Object, Entry> _entries = new LinkedHashMap<>( 16, 0.75f, true );
+
+		/**
+		 * Maximum total size of cached content, in bytes
+		 */
+		private final long _maxBytes;
+
+		/**
+		 * Current total size of cached content, in bytes
+		 */
+		private long _size;
+
+		/**
+		 * Source of the current time, in nanoseconds
+		 */
+		private final LongSupplier _nanoClock;
+
+		public Store( final long maxBytes, final LongSupplier nanoClock ) {
+			Objects.requireNonNull( nanoClock );
+			_maxBytes = maxBytes;
+			_nanoClock = nanoClock;
+		}
+
+		/**
+		 * @return The content stored under the given key, null if none (or if it has expired)
+		 */
+		public synchronized byte[] get( final Object key ) {
+			final Entry entry = _entries.get( key );
+
+			if( entry == null ) {
+				return null;
+			}
+
+			if( entry.expiresAtNanos() != 0 && _nanoClock.getAsLong() - entry.expiresAtNanos() >= 0 ) {
+				remove( key );
+				return null;
+			}
+
+			return entry.content();
+		}
+
+		/**
+		 * Stores content under the given key, for the given number of nanoseconds (0 for no limit). Content larger than the store's budget doesn't get stored.
+		 */
+		public synchronized void put( final Object key, final byte[] content, final long durationNanos, final Set<String> tags ) {
+			Objects.requireNonNull( content );
+			Objects.requireNonNull( tags );
+
+			remove( key );
+
+			if( content.length > _maxBytes ) {
+				return;
+			}
+
+			// 0 means "never expires", so we nudge an expiration time that happens to hit 0
+			long expiresAtNanos = 0;
+
+			if( durationNanos > 0 ) {
+				expiresAtNanos = _nanoClock.getAsLong() + durationNanos;
+
+				if( expiresAtNanos == 0 ) {
+					expiresAtNanos = 1;
+				}
+			}
+
+			_entries.put( key, new Entry( content, expiresAtNanos, tags ) );
+			_size += content.length;
+
+			final Iterator<Map.Entry<Object, Entry>> iterator = _entries.entrySet().iterator();
+
+			while( _size > _maxBytes ) {
+				_size -= iterator.next().getValue().content().length;
+				iterator.remove();
+			}
+		}
+
+		/**
+		 * Removes all content tagged with the given tag
+		 */
+		public synchronized void invalidateTag( final String tag ) {
+			Objects.requireNonNull( tag );
+
+			final Iterator<Entry> iterator = _entries.values().iterator();
+
+			while( iterator.hasNext() ) {
+				final Entry entry = iterator.next();
+
+				if( entry.tags().contains( tag ) ) {
+					_size -= entry.content().length;
+					iterator.remove();
+				}
+			}
+		}
+
+		/**
+		 * Removes all content
+		 */
+		public synchronized void invalidateAll() {
+			_entries.clear();
+			_size = 0;
+		}
+
+		/**
+		 * @return Total size of cached content, in bytes
+		 */
+		public synchronized long size() {
+			return _size;
+		}
+
+		/**
+		 * @return Number of cached pieces of content
+		 */
+		public synchronized int count() {
+			return _entries.size();
+		}
+
+		private void remove( final Object key ) {
+			final Entry entry = _entries.remove( key );
+
+			if( entry != null ) {
+				_size -= entry.content().length;
+			}
+		}
+	}
+}
@@ -1,15 +1,15 @@
 package ng.appserver.templating.elements;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import ng.appserver.NGContext;
 import ng.appserver.NGRequest;
 import ng.appserver.NGResponse;
-import ng.appserver.privates.NGHTMLUtilities;
 import ng.appserver.templating.NGDynamicElement;
 import ng.appserver.templating.NGElement;
+import ng.appserver.templating.NGHTMLWriter;
 import ng.appserver.templating.associations.NGAssociation;
 import ng.appserver.templating.associations.NGAssociationUtils;
 
@@ -37,7 +37,7 @@ public class NGCheckbox extends NGDynamicElement {
 
 	public NGCheckbox( String name, Map<String, NGAssociation> associations, NGElement template ) {
 		super( null, null, null );
-		_additionalAssociations = new HashMap<>( associations );
+		_additionalAssociations = new LinkedHashMap<>( associations );
 		_nameAssociation = _additionalAssociations.remove( "name" );
 		_checkedAssociation = _additionalAssociations.remove( "checked" );
 		_disabledAssociation = _additionalAssociations.remove( "disabled" );
@@ -59,25 +59,24 @@ public class NGCheckbox extends NGDynamicElement {
 	@Override
 	public void appendToResponse( final NGResponse response, final NGContext context ) {
 
-		final Map<String, String> attributes = new HashMap<>();
+		final NGHTMLWriter writer = new NGHTMLWriter( response );
 
-		attributes.put( "type", "checkbox" );
-		attributes.put( "name", name( context ) );
+		writer.openTag( "input", _additionalAssociations, context.component() );
+		writer.attr( "type", "checkbox" );
+		writer.attr( "name", name( context ) );
 
 		final Object checkedValue = _checkedAssociation.valueInComponent( context.component() );
 
 		if( NGAssociationUtils.isTruthy( checkedValue ) ) {
-			attributes.put( "checked", "checked" );
+			writer.attr( "checked", "checked" );
 		}
 
-		NGHTMLUtilities.addAssociationValuesToAttributes( attributes, _additionalAssociations, context.component() );
 
 		if( disabled( context ) ) {
-			attributes.put( "disabled", "" );
+			writer.attr( "disabled", "" );
 		}
 
-		final String tagString = NGHTMLUtilities.createElementStringWithAttributes( "input", attributes, true );
-		response.appendContentString( tagString );
+		writer.endEmptyTag();
 	}
 
 	/**
@@ -10,6 +10,7 @@ import ng.appserver.templating.NGComponent;
 import ng.appserver.templating.NGDynamicElement;
 import ng.appserver.templating.NGElement;
 import ng.appserver.templating.NGStructuralElement;
+import ng.appserver.templating.NGUpdateContainerIndex;
 import ng.appserver.templating.associations.NGAssociation;
 
 public class NGComponentContent extends NGDynamicElement implements NGStructuralElement {
@@ -18,6 +19,14 @@ public class NGComponentContent extends NGDynamicElement implements NGStructural
 		super( null, null, null );
 	}
 
+	/**
+	 * What we contain depends on the component reference that passed the content in, which accounts for it (see NGComponentReference.updateContainerIndex())
+	 */
+	@Override
+	public NGUpdateContainerIndex updateContainerIndex() {
+		return NGUpdateContainerIndex.COMPONENT_CONTENT;
+	}
+
 	@Override
 	public void appendStructureToResponse( NGResponse response, NGContext context ) {
 		final NGComponent component = context.component();
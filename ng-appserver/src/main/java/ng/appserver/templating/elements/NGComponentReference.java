@@ -11,7 +11,9 @@ import ng.appserver.templating.NGComponentDefinition;
 import ng.appserver.templating.NGDynamicElement;
 import ng.appserver.templating.NGElement;
 import ng.appserver.templating.NGStructuralElement;
+import ng.appserver.templating.NGUpdateContainerIndex;
 import ng.appserver.templating.associations.NGAssociation;
+import ng.kvc.NGKeyValueCodingPlan;
 
 /**
  * NGComponentReference holds a reference to a component being rendered in the template tree.
@@ -29,11 +31,27 @@ public class NGComponentReference extends NGDynamicElement implements NGStructur
 	 */
 	private Map<String, NGAssociation> _associations;
 
+	/**
+	 * The binding names and associations, in the same order, for constructing binding plans
+	 */
+	private final String[] _bindingNames;
+	private final NGAssociation[] _associationArray;
+
+	/**
+	 * Plan for synchronizing bindings with the component, resolved against the class of the last component instance we rendered. Rebuilt if the class changes.
+	 */
+	private volatile NGComponent.BindingPlan _bindingPlan;
+
 	/**
 	 * In the case of wrapper components, the template wrapped by component (between the component opening/closing tags). If any.
 	 */
 	private final NGElement _contentTemplate;
 
+	/**
+	 * Index of the update containers within the referenced component, computed on first use
+	 */
+	private NGUpdateContainerIndex _updateContainerIndex;
+
 	/**
 	 * @param name Unused
 	 * @param associations Associations used to initialize this component
@@ -45,6 +63,12 @@ public class NGComponentReference extends NGDynamicElement implements NGStructur
 		super( null, null, null );
 		_associations = associations;
 		_contentTemplate = contentTemplate;
+		_bindingNames = associations.keySet().toArray( String[]::new );
+		_associationArray = new NGAssociation[_bindingNames.length];
+
+		for( int i = 0; i < _bindingNames.length; i++ ) {
+			_associationArray[i] = associations.get( _bindingNames[i] );
+		}
 	}
 
 	/**
@@ -63,7 +87,7 @@ public class NGComponentReference extends NGDynamicElement implements NGStructur
 		final NGComponent previousComponent = context.component();
 
 		// If we've already rendered a component at this location in the element tree, an instance should be cached under it's elementID in parent's children map
-		NGComponent newComponentInstance = previousComponent.getChild( context.elementID().toString() );
+		NGComponent newComponentInstance = previousComponent.getChild( context.elementID() );
 
 		// CHECKME: If we actually did obtain an instance from the component's child cache, don't we need to set the child's context? // Hugi 2023-03-11
 		// Update on that: So; since we should only be getting a cached page instance if the page was served by the component request handler,
@@ -77,10 +101,10 @@ public class NGComponentReference extends NGDynamicElement implements NGStructur
 			newComponentInstance = _componentDefinition.componentInstanceInContext( context );
 
 			// Finally, we store our component instance in it's parent child map, ensuring we're reusing instances between requests
-			previousComponent.addChild( context.elementID().toString(), newComponentInstance );
+			previousComponent.addChild( context.elementID(), newComponentInstance );
 		}
 
-		newComponentInstance.setParent( previousComponent, _associations, _contentTemplate );
+		newComponentInstance.setParent( previousComponent, _associations, _contentTemplate, bindingPlan( newComponentInstance ) );
 
 		// Before we make our newly created component the "active" one, we need to pull values, if required
 		newComponentInstance.pullBindingValuesFromParent();
@@ -89,6 +113,25 @@ public class NGComponentReference extends NGDynamicElement implements NGStructur
 		context.setComponent( newComponentInstance );
 	}
 
+	/**
+	 * @return A plan for synchronizing our bindings with the given component. null if the component doesn't synchronize it's bindings.
+	 */
+	private NGComponent.BindingPlan bindingPlan( final NGComponent component ) {
+
+		if( !component.synchronizesVariablesWithBindings() ) {
+			return null;
+		}
+
+		NGComponent.BindingPlan bindingPlan = _bindingPlan;
+
+		if( bindingPlan == null || bindingPlan.kvcPlan().objectClass() != component.getClass() ) {
+			bindingPlan = new NGComponent.BindingPlan( _associationArray, NGKeyValueCodingPlan.of( component, _bindingNames ) );
+			_bindingPlan = bindingPlan;
+		}
+
+		return bindingPlan;
+	}
+
 	/**
 	 * Return control to the previous component
 	 */
@@ -97,6 +140,22 @@ public class NGComponentReference extends NGDynamicElement implements NGStructur
 		context.setComponent( context.component().parent() );
 	}
 
+	/**
+	 * The referenced component's template, with any content it renders replaced by our content template
+	 */
+	@Override
+	public NGUpdateContainerIndex updateContainerIndex() {
+		NGUpdateContainerIndex index = _updateContainerIndex;
+
+		if( index == null ) {
+			final NGUpdateContainerIndex contentIndex = _contentTemplate != null ? _contentTemplate.updateContainerIndex() : NGUpdateContainerIndex.EMPTY;
+			index = _componentDefinition.updateContainerIndex().replacingComponentContent( contentIndex );
+			_updateContainerIndex = index;
+		}
+
+		return index;
+	}
+
 	@Override
 	public void appendStructureToResponse( NGResponse response, NGContext context ) {
 		beforeComponent( context );
@@ -113,6 +172,12 @@ public class NGComponentReference extends NGDynamicElement implements NGStructur
 
 	@Override
 	public NGActionResults invokeAction( NGRequest request, NGContext context ) {
+
+		// If the sender can't be within the component there's no need to enter it
+		if( !context.currentElementIsOnSenderPath() ) {
+			return null;
+		}
+
 		beforeComponent( context );
 		NGActionResults result = context.component().invokeAction( request, context );
 		afterComponent( context );
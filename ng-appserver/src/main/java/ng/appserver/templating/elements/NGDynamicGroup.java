@@ -10,6 +10,7 @@ import ng.appserver.NGResponse;
 import ng.appserver.templating.NGDynamicElement;
 import ng.appserver.templating.NGElement;
 import ng.appserver.templating.NGStructuralElement;
+import ng.appserver.templating.NGUpdateContainerIndex;
 import ng.appserver.templating.associations.NGAssociation;
 
 /**
@@ -23,6 +24,11 @@ public class NGDynamicGroup extends NGDynamicElement implements NGStructuralElem
 	 */
 	private final List<NGElement> _children;
 
+	/**
+	 * Index of the update containers within this group, computed on first use
+	 */
+	private NGUpdateContainerIndex _updateContainerIndex;
+
 	/**
 	 * Construct a new group from a content template
 	 */
@@ -99,6 +105,22 @@ public class NGDynamicGroup extends NGDynamicElement implements NGStructuralElem
 		}
 	}
 
+	/**
+	 * The index is computed when first requested rather than at construction, since subclasses may need their own initialization done first, and components referenced by our children might not have been loaded yet.
+	 * It's immutable, so computing it more than once under concurrent access does no harm.
+	 */
+	@Override
+	public NGUpdateContainerIndex updateContainerIndex() {
+		NGUpdateContainerIndex index = _updateContainerIndex;
+
+		if( index == null ) {
+			index = NGUpdateContainerIndex.of( _children );
+			_updateContainerIndex = index;
+		}
+
+		return index;
+	}
+
 	/**
 	 * @return The child elements of this DynamicGroup
 	 */
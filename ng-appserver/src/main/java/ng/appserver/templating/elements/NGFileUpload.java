@@ -11,6 +11,7 @@ import ng.appserver.NGResponse;
 import ng.appserver.NGStandardRequest.UploadedFile;
 import ng.appserver.templating.NGDynamicElement;
 import ng.appserver.templating.NGElement;
+import ng.appserver.templating.NGHTMLWriter;
 import ng.appserver.templating.associations.NGAssociation;
 
 public class NGFileUpload extends NGDynamicElement {
@@ -28,9 +29,11 @@ public class NGFileUpload extends NGDynamicElement {
 
 	@Override
 	public void appendToResponse( final NGResponse response, final NGContext context ) {
-		response.appendContentString( """
-					<input type="file" name="%s" />
-				""".formatted( name( context ) ) );
+		new NGHTMLWriter( response )
+				.openTag( "input" )
+				.attr( "type", "file" )
+				.attr( "name", name( context ) )
+				.endEmptyTag();
 	}
 
 	/**
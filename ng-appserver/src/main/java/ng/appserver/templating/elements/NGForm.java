@@ -1,14 +1,14 @@
 package ng.appserver.templating.elements;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import ng.appserver.NGActionResults;
 import ng.appserver.NGContext;
 import ng.appserver.NGRequest;
 import ng.appserver.NGResponse;
-import ng.appserver.privates.NGHTMLUtilities;
 import ng.appserver.templating.NGElement;
+import ng.appserver.templating.NGHTMLWriter;
 import ng.appserver.templating.associations.NGAssociation;
 
 /**
@@ -34,7 +34,7 @@ public class NGForm extends NGDynamicGroup {
 
 	public NGForm( String name, Map<String, NGAssociation> associations, NGElement contentTemplate ) {
 		super( name, associations, contentTemplate );
-		_additionalAssociations = new HashMap<>( associations );
+		_additionalAssociations = new LinkedHashMap<>( associations );
 
 		_actionAssociation = _additionalAssociations.remove( "action" );
 		_methodAssociation = _additionalAssociations.remove( "method" );
@@ -43,8 +43,7 @@ public class NGForm extends NGDynamicGroup {
 	@Override
 	public void appendToResponse( NGResponse response, NGContext context ) {
 
-		// Attributes to be added to the generated HTML-tag
-		final Map<String, String> attributes = new HashMap<>();
+		final NGHTMLWriter writer = new NGHTMLWriter( response );
 
 		String method;
 
@@ -55,18 +54,17 @@ public class NGForm extends NGDynamicGroup {
 			method = "POST";
 		}
 
-		attributes.put( "method", method );
+		writer.openTag( "form", _additionalAssociations, context.component() );
+		writer.attr( "method", method );
 
 		// We append the action association, even if there's no action bound.
 		// This is due to forms with multiple submit buttons, see invokeAction() for further documentation
 		// CHECKME: We're going to have to revisit this for potential direct action submissions/route submissions // Hugi 2023-04-15
-		attributes.put( "action", context.componentActionURL() );
+		writer.attr( "action", context.componentActionURL() );
 
-		NGHTMLUtilities.addAssociationValuesToAttributes( attributes, _additionalAssociations, context.component() );
-
-		response.appendContentString( NGHTMLUtilities.createElementStringWithAttributes( "form", attributes, false ) );
+		writer.endOpenTag();
 		appendChildrenToResponse( response, context );
-		response.appendContentString( "</form>" );
+		writer.closeTag( "form" );
 	}
 
 	@Override
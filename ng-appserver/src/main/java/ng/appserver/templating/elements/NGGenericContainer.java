@@ -1,12 +1,15 @@
 package ng.appserver.templating.elements;
 
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import ng.appserver.NGContext;
 import ng.appserver.NGResponse;
 import ng.appserver.templating.NGBindingConfigurationException;
+import ng.appserver.templating.NGComponent;
 import ng.appserver.templating.NGElement;
+import ng.appserver.templating.NGHTMLWriter;
 import ng.appserver.templating.associations.NGAssociation;
 import ng.appserver.templating.associations.NGAssociationUtils;
 
@@ -21,9 +24,15 @@ public class NGGenericContainer extends NGDynamicGroup {
 	 */
 	private final Map<String, NGAssociation> _additionalAssociations;
 
+	/**
+	 * The encoded opening and closing tags, if the element name and all attributes are constant. Otherwise null.
+	 */
+	private final byte[] _constantOpeningTagBytes;
+	private final byte[] _constantClosingTagBytes;
+
 	public NGGenericContainer( String name, Map<String, NGAssociation> associations, NGElement template ) {
 		super( name, associations, template );
-		_additionalAssociations = new HashMap<>( associations );
+		_additionalAssociations = new LinkedHashMap<>( associations );
 
 		elementNameAssociation = _additionalAssociations.remove( "elementName" );
 		_omitTagsAssociation = _additionalAssociations.remove( "omitTags" );
@@ -31,6 +40,16 @@ public class NGGenericContainer extends NGDynamicGroup {
 		if( elementNameAssociation == null ) {
 			throw new NGBindingConfigurationException( "elementName is a required binding" );
 		}
+
+		if( elementNameAssociation.isValueConstant() && _additionalAssociations.values().stream().allMatch( NGAssociation::isValueConstant ) ) {
+			final String elementName = (String)elementNameAssociation.valueInComponent( null );
+			_constantOpeningTagBytes = openingTag( elementName, null ).getBytes( StandardCharsets.UTF_8 );
+			_constantClosingTagBytes = closingTag( elementName ).getBytes( StandardCharsets.UTF_8 );
+		}
+		else {
+			_constantOpeningTagBytes = null;
+			_constantClosingTagBytes = null;
+		}
 	}
 
 	@Override
@@ -39,29 +58,30 @@ public class NGGenericContainer extends NGDynamicGroup {
 		if( _omitTagsAssociation != null && NGAssociationUtils.isTruthy( _omitTagsAssociation.valueInComponent( context.component() ) ) ) {
 			appendChildrenToResponse( response, context );
 		}
+		else if( _constantOpeningTagBytes != null ) {
+			response.appendContentBytes( _constantOpeningTagBytes );
+			appendChildrenToResponse( response, context );
+			response.appendContentBytes( _constantClosingTagBytes );
+		}
 		else {
 			final String elementName = (String)elementNameAssociation.valueInComponent( context.component() );
-
-			final StringBuilder b = new StringBuilder();
-
-			b.append( "<" + elementName );
-
-			_additionalAssociations.forEach( ( name, ass ) -> {
-				final Object value = ass.valueInComponent( context.component() );
-
-				if( value != null ) {
-					b.append( " " );
-					b.append( name );
-					b.append( "=" );
-					b.append( "\"" + value + "\"" );
-				}
-			} );
-
-			b.append( ">" );
-
-			response.appendContentString( b.toString() );
+			response.appendContentString( openingTag( elementName, context.component() ) );
 			appendChildrenToResponse( response, context );
-			response.appendContentString( "</" + elementName + ">" );
+			response.appendContentString( closingTag( elementName ) );
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * @return The opening tag, with attribute values resolved against the given component
+	 */
+	private String openingTag( final String elementName, final NGComponent component ) {
+		return new NGHTMLWriter()
+				.openTag( elementName, _additionalAssociations, component )
+				.endOpenTag()
+				.toString();
+	}
+
+	private static String closingTag( final String elementName ) {
+		return "</" + elementName + ">";
+	}
+}
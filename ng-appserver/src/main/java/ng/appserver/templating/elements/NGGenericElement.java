@@ -1,13 +1,16 @@
 package ng.appserver.templating.elements;
 
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import ng.appserver.NGContext;
 import ng.appserver.NGResponse;
 import ng.appserver.templating.NGBindingConfigurationException;
+import ng.appserver.templating.NGComponent;
 import ng.appserver.templating.NGDynamicElement;
 import ng.appserver.templating.NGElement;
+import ng.appserver.templating.NGHTMLWriter;
 import ng.appserver.templating.associations.NGAssociation;
 
 /**
@@ -23,39 +26,63 @@ public class NGGenericElement extends NGDynamicElement {
 	 */
 	private final Map<String, NGAssociation> _additionalAssociations;
 
+	/**
+	 * The element's HTML, if the element name and all attributes are constant. Otherwise null.
+	 */
+	private final String _constantHTML;
+
+	/**
+	 * _constantHTML encoded, so we don't have to encode it on every render
+	 */
+	private final byte[] _constantHTMLBytes;
+
 	public NGGenericElement( String name, Map<String, NGAssociation> associations, NGElement template ) {
 		super( null, null, null );
-		_additionalAssociations = new HashMap<>( associations );
+		_additionalAssociations = new LinkedHashMap<>( associations );
 
 		elementNameAssociation = _additionalAssociations.remove( "elementName" );
 
 		if( elementNameAssociation == null ) {
 			throw new NGBindingConfigurationException( "elementName is a required binding" );
 		}
+
+		if( associations.values().stream().allMatch( NGAssociation::isValueConstant ) ) {
+			_constantHTML = html( null );
+			_constantHTMLBytes = _constantHTML.getBytes( StandardCharsets.UTF_8 );
+		}
+		else {
+			_constantHTML = null;
+			_constantHTMLBytes = null;
+		}
+	}
+
+	/**
+	 * @return The element's HTML if it's entirely constant, allowing the template to render it as a bare string. null if the element has dynamic bindings.
+	 */
+	public String constantHTML() {
+		return _constantHTML;
 	}
 
 	@Override
 	public void appendToResponse( NGResponse response, NGContext context ) {
-		final String elementName = (String)elementNameAssociation.valueInComponent( context.component() );
-
-		final StringBuilder b = new StringBuilder();
-
-		b.append( "<" + elementName );
-
-		_additionalAssociations.forEach( ( name, ass ) -> {
-			final Object value = ass.valueInComponent( context.component() );
+		if( _constantHTMLBytes != null ) {
+			response.appendContentBytes( _constantHTMLBytes );
+		}
+		else {
+			response.appendContentString( html( context.component() ) );
+		}
+	}
 
-			if( value != null ) {
-				b.append( " " );
-				b.append( name );
-				b.append( "=" );
-				b.append( "\"" + value + "\"" );
-			}
-		} );
+	/**
+	 * @return The element's HTML, with values resolved against the given component
+	 */
+	private String html( final NGComponent component ) {
+		final String elementName = (String)elementNameAssociation.valueInComponent( component );
 
 		// We might want to add a binding to specify if non-container elements are "closed" (i.e. a closing slash is added)
-		b.append( " />" );
-
-		response.appendContentString( b.toString() );
+		return new NGHTMLWriter()
+				.openTag( elementName, _additionalAssociations, component )
+				.endEmptyTag()
+				.toString();
 	}
-}
\ No newline at end of file
+}
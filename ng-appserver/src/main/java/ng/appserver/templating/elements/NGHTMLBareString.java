@@ -1,5 +1,7 @@
 package ng.appserver.templating.elements;
 
+import java.nio.charset.StandardCharsets;
+
 import ng.appserver.NGContext;
 import ng.appserver.NGResponse;
 import ng.appserver.templating.NGElement;
@@ -17,12 +19,25 @@ public class NGHTMLBareString implements NGElement {
 
 	private final String _string;
 
+	/**
+	 * The string encoded once at construction, so we don't have to encode it on every render
+	 */
+	private final byte[] _bytes;
+
 	public NGHTMLBareString( final String string ) {
 		_string = string;
+		_bytes = string.getBytes( StandardCharsets.UTF_8 );
+	}
+
+	/**
+	 * @return The string this element renders
+	 */
+	public String string() {
+		return _string;
 	}
 
 	@Override
 	public void appendToResponse( final NGResponse response, final NGContext context ) {
-		response.appendContentString( _string );
+		response.appendContentBytes( _bytes );
 	}
-}
\ No newline at end of file
+}
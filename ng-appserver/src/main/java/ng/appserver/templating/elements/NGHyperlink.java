@@ -1,6 +1,6 @@
 package ng.appserver.templating.elements;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import ng.appserver.NGActionResults;
@@ -8,10 +8,10 @@ import ng.appserver.NGApplication;
 import ng.appserver.NGContext;
 import ng.appserver.NGRequest;
 import ng.appserver.NGResponse;
-import ng.appserver.privates.NGHTMLUtilities;
 import ng.appserver.templating.NGBindingConfigurationException;
 import ng.appserver.templating.NGComponent;
 import ng.appserver.templating.NGElement;
+import ng.appserver.templating.NGHTMLWriter;
 import ng.appserver.templating.associations.NGAssociation;
 import ng.appserver.templating.associations.NGAssociationUtils;
 
@@ -36,7 +36,7 @@ public class NGHyperlink extends NGDynamicGroup {
 
 		// Clone the dictionary so additionalAssociations will contain additional associations
 		// (bindings that get passed directly to the <a> tag as attributes.
-		_additionalAssociations = new HashMap<>( associations );
+		_additionalAssociations = new LinkedHashMap<>( associations );
 		_hrefAssociation = _additionalAssociations.remove( "href" );
 		_actionAssociation = _additionalAssociations.remove( "action" );
 		_pageNameAssociation = _additionalAssociations.remove( "pageName" );
@@ -64,23 +64,12 @@ public class NGHyperlink extends NGDynamicGroup {
 				href = context.componentActionURL();
 			}
 
-			final Map<String, String> attributes = new HashMap<>();
-
-			if( href != null ) {
-				attributes.put( "href", href );
-			}
-
-			_additionalAssociations.forEach( ( name, ass ) -> {
-				final Object value = ass.valueInComponent( context.component() );
-
-				if( value != null ) {
-					attributes.put( name, value.toString() );
-				}
-			} );
-
-			response.appendContentString( NGHTMLUtilities.createElementStringWithAttributes( "a", attributes, false ) );
+			final NGHTMLWriter writer = new NGHTMLWriter( response );
+			writer.openTag( "a", _additionalAssociations, context.component() );
+			writer.attr( "href", href );
+			writer.endOpenTag();
 			appendChildrenToResponse( response, context );
-			response.appendContentString( "</a>" );
+			writer.closeTag( "a" );
 		}
 	}
 
@@ -2,7 +2,7 @@ package ng.appserver.templating.elements;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -19,6 +19,7 @@ import ng.appserver.templating.NGBindingConfigurationException;
 import ng.appserver.templating.NGComponent;
 import ng.appserver.templating.NGDynamicElement;
 import ng.appserver.templating.NGElement;
+import ng.appserver.templating.NGHTMLWriter;
 import ng.appserver.templating.associations.NGAssociation;
 
 /**
@@ -69,7 +70,7 @@ public class NGImage extends NGDynamicElement {
 
 	public NGImage( final String name, final Map<String, NGAssociation> associations, final NGElement template ) {
 		super( null, null, null );
-		_additionalAssociations = new HashMap<>( associations );
+		_additionalAssociations = new LinkedHashMap<>( associations );
 		_filenameAssociation = _additionalAssociations.remove( "filename" );
 		_namespaceAssociation = NGHTMLUtilities.namespaceAssociation( associations, true );
 		_srcAssociation = _additionalAssociations.remove( "src" );
@@ -146,12 +147,9 @@ public class NGImage extends NGDynamicElement {
 			src = (String)_srcAssociation.valueInComponent( context.component() );
 		}
 
-		final Map<String, String> properties = new HashMap<>();
-		properties.put( "src", src );
-		NGHTMLUtilities.addAssociationValuesToAttributes( properties, _additionalAssociations, component );
-
-		final String tagString = NGHTMLUtilities.createElementStringWithAttributes( "img", properties, true );
-
-		response.appendContentString( tagString );
+		new NGHTMLWriter( response )
+				.openTag( "img", _additionalAssociations, component )
+				.attr( "src", src )
+				.endEmptyTag();
 	}
 }
\ No newline at end of file
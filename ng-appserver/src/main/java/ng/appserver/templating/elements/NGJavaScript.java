@@ -1,5 +1,6 @@
 package ng.appserver.templating.elements;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -19,6 +20,12 @@ import ng.appserver.templating.associations.NGAssociation;
 
 public class NGJavaScript extends NGDynamicElement {
 
+	/**
+	 * The constant parts of the rendered tag, surrounding the URL
+	 */
+	private static final byte[] TAG_START = "<script src=\"".getBytes( StandardCharsets.UTF_8 );
+	private static final byte[] TAG_END = "\"></script>".getBytes( StandardCharsets.UTF_8 );
+
 	private final NGAssociation _filenameAssociation;
 
 	private final NGAssociation _namespaceAssociation;
@@ -51,6 +58,8 @@ public class NGJavaScript extends NGDynamicElement {
 			urlString = "ERROR_NOT_FOUND_" + filename;
 		}
 
-		response.appendContentString( String.format( "<script src=\"%s\"></script>", urlString ) );
+		response.appendContentBytes( TAG_START );
+		response.appendContentString( urlString );
+		response.appendContentBytes( TAG_END );
 	}
 }
\ No newline at end of file
@@ -1,13 +1,13 @@
 package ng.appserver.templating.elements;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import ng.appserver.NGContext;
 import ng.appserver.NGResponse;
-import ng.appserver.privates.NGHTMLUtilities;
 import ng.appserver.templating.NGDynamicElement;
 import ng.appserver.templating.NGElement;
+import ng.appserver.templating.NGHTMLWriter;
 import ng.appserver.templating.associations.NGAssociation;
 import ng.appserver.templating.associations.NGAssociationUtils;
 
@@ -24,7 +24,7 @@ public class NGPasswordField extends NGDynamicElement {
 
 	public NGPasswordField( String name, Map<String, NGAssociation> associations, NGElement template ) {
 		super( null, null, null );
-		_additionalAssociations = new HashMap<>( associations );
+		_additionalAssociations = new LinkedHashMap<>( associations );
 		_nameAssociation = _additionalAssociations.remove( "name" );
 		_valueAssociation = _additionalAssociations.remove( "value" );
 		_disabledAssociation = _additionalAssociations.remove( "disabled" );
@@ -49,19 +49,17 @@ public class NGPasswordField extends NGDynamicElement {
 
 	@Override
 	public void appendToResponse( final NGResponse response, final NGContext context ) {
-		final Map<String, String> attributes = new HashMap<>();
+		final NGHTMLWriter writer = new NGHTMLWriter( response );
 
-		attributes.put( "type", "password" );
-		attributes.put( "name", name( context ) );
-
-		NGHTMLUtilities.addAssociationValuesToAttributes( attributes, _additionalAssociations, context.component() );
+		writer.openTag( "input", _additionalAssociations, context.component() );
+		writer.attr( "type", "password" );
+		writer.attr( "name", name( context ) );
 
 		if( disabled( context ) ) {
-			attributes.put( "disabled", "" );
+			writer.attr( "disabled", "" );
 		}
 
-		final String tagString = NGHTMLUtilities.createElementStringWithAttributes( "input", attributes, true );
-		response.appendContentString( tagString );
+		writer.endEmptyTag();
 	}
 
 	private boolean disabled( final NGContext context ) {
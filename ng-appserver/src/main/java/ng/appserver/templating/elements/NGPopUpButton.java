@@ -3,7 +3,7 @@ package ng.appserver.templating.elements;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.SequencedCollection;
@@ -11,9 +11,9 @@ import java.util.SequencedCollection;
 import ng.appserver.NGContext;
 import ng.appserver.NGRequest;
 import ng.appserver.NGResponse;
-import ng.appserver.privates.NGHTMLUtilities;
 import ng.appserver.templating.NGDynamicElement;
 import ng.appserver.templating.NGElement;
+import ng.appserver.templating.NGHTMLWriter;
 import ng.appserver.templating.associations.NGAssociation;
 import ng.appserver.templating.associations.NGAssociationUtils;
 
@@ -45,7 +45,7 @@ public class NGPopUpButton extends NGDynamicElement {
 
 	public NGPopUpButton( String name, Map<String, NGAssociation> associations, NGElement template ) {
 		super( null, null, null );
-		_additionalAssociations = new HashMap<>( associations );
+		_additionalAssociations = new LinkedHashMap<>( associations );
 		_listAss = _additionalAssociations.remove( "list" );
 		_itemAss = _additionalAssociations.remove( "item" );
 		_displayStringAss = _additionalAssociations.remove( "displayString" );
@@ -120,27 +120,28 @@ public class NGPopUpButton extends NGDynamicElement {
 	@Override
 	public void appendToResponse( final NGResponse response, final NGContext context ) {
 
-		final Map<String, String> attributes = new HashMap<>();
+		final NGHTMLWriter writer = new NGHTMLWriter( response );
 
-		attributes.put( "name", name( context ) );
-
-		NGHTMLUtilities.addAssociationValuesToAttributes( attributes, _additionalAssociations, context.component() );
+		writer.openTag( "select", _additionalAssociations, context.component() );
+		writer.attr( "name", name( context ) );
 
 		if( multiple( context ) ) {
-			attributes.put( "multiple", "true" );
+			writer.attr( "multiple", "true" );
 		}
 
 		if( disabled( context ) ) {
-			attributes.put( "disabled", "" );
+			writer.attr( "disabled", "" );
 		}
 
-		final List<?> list = list( context );
+		writer.endOpenTag();
 
-		response.appendContentString( NGHTMLUtilities.createElementStringWithAttributes( "select", attributes, false ) );
+		final List<?> list = list( context );
 
 		if( _noSelectionStringAss != null ) {
 			final String noSelectionString = (String)_noSelectionStringAss.valueInComponent( context.component() );
-			response.appendContentString( "<option value=\"%s\">%s</option>".formatted( NO_SELECTION_OPTION_VALUE, noSelectionString ) );
+			writer.openTag( "option" ).attr( "value", NO_SELECTION_OPTION_VALUE ).endOpenTag();
+			writer.escapedText( noSelectionString );
+			writer.closeTag( "option" );
 		}
 
 		int index = 0;
@@ -192,13 +193,20 @@ public class NGPopUpButton extends NGDynamicElement {
 				}
 			}
 
-			final String selectedMarker = isSelected ? " selected" : "";
+			writer.openTag( "option" );
+			writer.attr( "value", index );
+
+			if( isSelected ) {
+				writer.attr( "selected", "selected" );
+			}
 
-			response.appendContentString( "<option value=\"%s\"%s>%s</option>".formatted( index, selectedMarker, displayString ) );
+			writer.endOpenTag();
+			writer.escapedText( String.valueOf( displayString ) );
+			writer.closeTag( "option" );
 			index++;
 		}
 
-		response.appendContentString( "</select>" );
+		writer.closeTag( "select" );
 	}
 
 	/**
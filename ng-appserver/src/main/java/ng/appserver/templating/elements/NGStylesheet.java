@@ -1,5 +1,6 @@
 package ng.appserver.templating.elements;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -19,6 +20,12 @@ import ng.appserver.templating.associations.NGAssociation;
 
 public class NGStylesheet extends NGDynamicElement {
 
+	/**
+	 * The constant parts of the rendered tag, surrounding the URL
+	 */
+	private static final byte[] TAG_START = "<link rel=\"stylesheet\" type=\"text/css\" href=\"".getBytes( StandardCharsets.UTF_8 );
+	private static final byte[] TAG_END = "\" />".getBytes( StandardCharsets.UTF_8 );
+
 	private final NGAssociation _filenameAssociation;
 
 	private final NGAssociation _namespaceAssociation;
@@ -52,6 +59,8 @@ public class NGStylesheet extends NGDynamicElement {
 			urlString = "ERROR_NOT_FOUND_" + filename;
 		}
 
-		response.appendContentString( String.format( "<link rel=\"stylesheet\" type=\"text/css\" href=\"%s\" />", urlString ) );
+		response.appendContentBytes( TAG_START );
+		response.appendContentString( urlString );
+		response.appendContentBytes( TAG_END );
 	}
 }
\ No newline at end of file
@@ -1,15 +1,15 @@
 package ng.appserver.templating.elements;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import ng.appserver.NGActionResults;
 import ng.appserver.NGContext;
 import ng.appserver.NGRequest;
 import ng.appserver.NGResponse;
-import ng.appserver.privates.NGHTMLUtilities;
 import ng.appserver.templating.NGDynamicElement;
 import ng.appserver.templating.NGElement;
+import ng.appserver.templating.NGHTMLWriter;
 import ng.appserver.templating.associations.NGAssociation;
 
 /**
@@ -30,7 +30,7 @@ public class NGSubmitButton extends NGDynamicElement {
 
 	public NGSubmitButton( String name, Map<String, NGAssociation> associations, NGElement template ) {
 		super( null, null, null );
-		_additionalAssociations = new HashMap<>( associations );
+		_additionalAssociations = new LinkedHashMap<>( associations );
 
 		_actionAssociation = _additionalAssociations.remove( "action" );
 
@@ -41,14 +41,11 @@ public class NGSubmitButton extends NGDynamicElement {
 
 	@Override
 	public void appendToResponse( NGResponse response, NGContext context ) {
-		final Map<String, String> attributes = new HashMap<>();
-		attributes.put( "type", "submit" );
-		attributes.put( "name", context.elementID().toString() );
-
-		NGHTMLUtilities.addAssociationValuesToAttributes( attributes, _additionalAssociations, context.component() );
-
-		final String htmlString = NGHTMLUtilities.createElementStringWithAttributes( "input", attributes, true );
-		response.appendContentString( htmlString );
+		new NGHTMLWriter( response )
+				.openTag( "input", _additionalAssociations, context.component() )
+				.attr( "type", "submit" )
+				.attr( "name", context.elementID() )
+				.endEmptyTag();
 	}
 
 	@Override
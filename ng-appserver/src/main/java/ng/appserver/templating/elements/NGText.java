@@ -1,16 +1,16 @@
 package ng.appserver.templating.elements;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import ng.appserver.NGContext;
 import ng.appserver.NGRequest;
 import ng.appserver.NGResponse;
-import ng.appserver.privates.NGHTMLUtilities;
 import ng.appserver.templating.NGBindingConfigurationException;
 import ng.appserver.templating.NGDynamicElement;
 import ng.appserver.templating.NGElement;
+import ng.appserver.templating.NGHTMLWriter;
 import ng.appserver.templating.associations.NGAssociation;
 
 /**
@@ -36,7 +36,7 @@ public class NGText extends NGDynamicElement {
 
 	public NGText( String name, Map<String, NGAssociation> associations, NGElement template ) {
 		super( null, null, null );
-		_additionalAssociations = new HashMap<>( associations );
+		_additionalAssociations = new LinkedHashMap<>( associations );
 		_nameAssociation = _additionalAssociations.remove( "name" );
 		_valueAssociation = _additionalAssociations.remove( "value" );
 
@@ -73,19 +73,16 @@ public class NGText extends NGDynamicElement {
 	public void appendToResponse( NGResponse response, NGContext context ) {
 		final Object value = _valueAssociation.valueInComponent( context.component() );
 
-		final Map<String, String> attributes = new HashMap<>();
-		attributes.put( "name", name( _nameAssociation, context ) );
-
-		NGHTMLUtilities.addAssociationValuesToAttributes( attributes, _additionalAssociations, context.component() );
-
-		response.appendContentString( NGHTMLUtilities.createElementStringWithAttributes( "textarea", attributes, false ) );
+		final NGHTMLWriter writer = new NGHTMLWriter( response );
+		writer.openTag( "textarea", _additionalAssociations, context.component() );
+		writer.attr( "name", name( _nameAssociation, context ) );
+		writer.endOpenTag();
 
 		if( value != null ) {
-			final String escapedValue = NGHTMLUtilities.escapeHTML( value.toString() );
-			response.appendContentString( escapedValue );
+			writer.escapedText( value.toString() );
 		}
 
-		response.appendContentString( "</textarea>" );
+		writer.closeTag( "textarea" );
 	}
 
 	/**
@@ -2,16 +2,16 @@ package ng.appserver.templating.elements;
 
 import java.text.Format;
 import java.text.ParseException;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import ng.appserver.NGContext;
 import ng.appserver.NGRequest;
 import ng.appserver.NGResponse;
-import ng.appserver.privates.NGHTMLUtilities;
 import ng.appserver.templating.NGDynamicElement;
 import ng.appserver.templating.NGElement;
+import ng.appserver.templating.NGHTMLWriter;
 import ng.appserver.templating.associations.NGAssociation;
 import ng.appserver.templating.associations.NGAssociationUtils;
 import ng.xperimental.NGCheckedExceptionWrapper;
@@ -54,7 +54,7 @@ public class NGTextField extends NGDynamicElement {
 
 	public NGTextField( String name, Map<String, NGAssociation> associations, NGElement template ) {
 		super( null, null, null );
-		_additionalAssociations = new HashMap<>( associations );
+		_additionalAssociations = new LinkedHashMap<>( associations );
 		_nameAssociation = _additionalAssociations.remove( "name" );
 		_valueAssociation = _additionalAssociations.remove( "value" );
 		_disabledAssociation = _additionalAssociations.remove( "disabled" );
@@ -103,10 +103,11 @@ public class NGTextField extends NGDynamicElement {
 	@Override
 	public void appendToResponse( final NGResponse response, final NGContext context ) {
 
-		final Map<String, String> attributes = new HashMap<>();
+		final NGHTMLWriter writer = new NGHTMLWriter( response );
 
-		attributes.put( "type", "text" );
-		attributes.put( "name", name( context ) );
+		writer.openTag( "input", _additionalAssociations, context.component() );
+		writer.attr( "type", "text" );
+		writer.attr( "name", name( context ) );
 
 		Object objectValue = _valueAssociation.valueInComponent( context.component() );
 
@@ -131,19 +132,14 @@ public class NGTextField extends NGDynamicElement {
 			}
 		}
 
-		if( stringValue != null ) {
-			attributes.put( "value", stringValue );
-		}
-
-		NGHTMLUtilities.addAssociationValuesToAttributes( attributes, _additionalAssociations, context.component() );
+		writer.attr( "value", stringValue );
 
 		if( disabled( context ) ) {
 			// CHECKME: 'disabled' is a "boolean attribute" and doesn't really need a value. We need a nice way to generate those // Hugi 2023-03-11
-			attributes.put( "disabled", "" );
+			writer.attr( "disabled", "" );
 		}
 
-		final String tagString = NGHTMLUtilities.createElementStringWithAttributes( "input", attributes, true );
-		response.appendContentString( tagString );
+		writer.endEmptyTag();
 	}
 
 	/**
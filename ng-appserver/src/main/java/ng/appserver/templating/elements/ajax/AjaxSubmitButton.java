@@ -1,14 +1,14 @@
 package ng.appserver.templating.elements.ajax;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import ng.appserver.NGActionResults;
 import ng.appserver.NGContext;
 import ng.appserver.NGRequest;
 import ng.appserver.NGResponse;
-import ng.appserver.privates.NGHTMLUtilities;
 import ng.appserver.templating.NGElement;
+import ng.appserver.templating.NGHTMLWriter;
 import ng.appserver.templating.associations.NGAssociation;
 import ng.appserver.templating.elements.NGDynamicGroup;
 
@@ -24,7 +24,7 @@ public class AjaxSubmitButton extends NGDynamicGroup {
 
 	public AjaxSubmitButton( String name, Map<String, NGAssociation> associations, NGElement contentTemplate ) {
 		super( name, associations, contentTemplate );
-		_additionalAssociations = new HashMap<>( associations );
+		_additionalAssociations = new LinkedHashMap<>( associations );
 		_actionAssociation = _additionalAssociations.remove( "action" );
 		_updateContainerIDAssociation = _additionalAssociations.remove( "updateContainerID" );
 	}
@@ -42,24 +42,23 @@ public class AjaxSubmitButton extends NGDynamicGroup {
 		// FIXME: We should be allowing for a form submission to be performed without an updateContainer update
 		final String onclick = "ajaxSubmitButtonClick(this,%s)".formatted( updateContainerIDParameter( context ) );
 
-		final Map<String, String> attributes = new HashMap<>();
-		attributes.put( "type", "button" );
-		attributes.put( "name", context.elementID().toString() );
-		attributes.put( "onclick", onclick );
+		final NGHTMLWriter writer = new NGHTMLWriter( response );
+		final String elementName = hasChildren() ? "button" : "input";
 
-		NGHTMLUtilities.addAssociationValuesToAttributes( attributes, _additionalAssociations, context.component() );
+		writer.openTag( elementName, _additionalAssociations, context.component() );
+		writer.attr( "type", "button" );
+		writer.attr( "name", context.elementID() );
+		writer.attr( "onclick", onclick );
 
 		if( hasChildren() ) {
 			// Render as <button>...children...</button>
-			final String openTag = NGHTMLUtilities.createElementStringWithAttributes( "button", attributes, false );
-			response.appendContentString( openTag );
+			writer.endOpenTag();
 			appendChildrenToResponse( response, context );
-			response.appendContentString( "</button>" );
+			writer.closeTag( elementName );
 		}
 		else {
 			// Render as self-closing <input />
-			final String htmlString = NGHTMLUtilities.createElementStringWithAttributes( "input", attributes, true );
-			response.appendContentString( htmlString );
+			writer.endEmptyTag();
 		}
 	}
 
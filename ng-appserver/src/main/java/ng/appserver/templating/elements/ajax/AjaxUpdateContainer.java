@@ -1,14 +1,15 @@
 package ng.appserver.templating.elements.ajax;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import ng.appserver.NGActionResults;
 import ng.appserver.NGContext;
 import ng.appserver.NGRequest;
 import ng.appserver.NGResponse;
-import ng.appserver.privates.NGHTMLUtilities;
 import ng.appserver.templating.NGElement;
+import ng.appserver.templating.NGHTMLWriter;
+import ng.appserver.templating.NGUpdateContainerIndex;
 import ng.appserver.templating.associations.NGAssociation;
 import ng.appserver.templating.elements.NGDynamicGroup;
 
@@ -22,9 +23,14 @@ public class AjaxUpdateContainer extends NGDynamicGroup {
 	 */
 	private final Map<String, NGAssociation> _additionalAssociations;
 
+	/**
+	 * Index of this container and the containers within it, computed on first use
+	 */
+	private NGUpdateContainerIndex _updateContainerIndex;
+
 	public AjaxUpdateContainer( String name, Map<String, NGAssociation> associations, NGElement template ) {
 		super( name, associations, template );
-		_additionalAssociations = new HashMap<>( associations );
+		_additionalAssociations = new LinkedHashMap<>( associations );
 
 		_elementNameAssociation = _additionalAssociations.remove( "elementName" );
 		_idAssociation = _additionalAssociations.remove( "id" );
@@ -42,23 +48,39 @@ public class AjaxUpdateContainer extends NGDynamicGroup {
 
 	@Override
 	public void appendToResponse( NGResponse response, NGContext context ) {
-		final String id = id( context );
-		final StringBuilder b = new StringBuilder();
-
 		String elementName = "div";
 
 		if( _elementNameAssociation != null ) {
 			elementName = (String)_elementNameAssociation.valueInComponent( context.component() );
 		}
 
-		final Map<String, String> attributes = new HashMap<>();
-		attributes.put( "id", id );
-		NGHTMLUtilities.addAssociationValuesToAttributes( attributes, _additionalAssociations, context.component() );
-
-		b.append( NGHTMLUtilities.createElementStringWithAttributes( elementName, attributes, false ) );
-		response.appendContentString( b.toString() );
+		final NGHTMLWriter writer = new NGHTMLWriter( response );
+		writer.openTag( elementName, _additionalAssociations, context.component() );
+		writer.attr( "id", id( context ) );
+		writer.endOpenTag();
 		appendChildrenToResponse( response, context );
-		response.appendContentString( "</" + elementName + ">" );
+		writer.closeTag( elementName );
+	}
+
+	/**
+	 * If the container's id is bound to a constant, we know it in advance. Otherwise we can't know which container we are.
+	 */
+	@Override
+	public NGUpdateContainerIndex updateContainerIndex() {
+		NGUpdateContainerIndex index = _updateContainerIndex;
+
+		if( index == null ) {
+			if( _idAssociation != null && _idAssociation.isValueConstant() && _idAssociation.valueInComponent( null ) instanceof String id ) {
+				index = NGUpdateContainerIndex.of( id ).union( super.updateContainerIndex() );
+			}
+			else {
+				index = NGUpdateContainerIndex.ANY;
+			}
+
+			_updateContainerIndex = index;
+		}
+
+		return index;
 	}
 
 	public String id( NGContext context ) {
@@ -68,8 +90,13 @@ public class AjaxUpdateContainer extends NGDynamicGroup {
 	@Override
 	protected void appendChildrenToResponse( NGResponse response, NGContext context ) {
 		final String id = id( context );
-		context.containingUpdateContainerIDs().add( id );
-		super.appendChildrenToResponse( response, context );
-		context.containingUpdateContainerIDs().remove( id );
+		context.enterUpdateContainer( id );
+
+		try {
+			super.appendChildrenToResponse( response, context );
+		}
+		finally {
+			context.exitUpdateContainer( id );
+		}
 	}
 }
\ No newline at end of file
@@ -1,15 +1,15 @@
 package ng.appserver.templating.elements.ajax;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import ng.appserver.NGActionResults;
 import ng.appserver.NGContext;
 import ng.appserver.NGRequest;
 import ng.appserver.NGResponse;
-import ng.appserver.privates.NGHTMLUtilities;
 import ng.appserver.templating.NGBindingConfigurationException;
 import ng.appserver.templating.NGElement;
+import ng.appserver.templating.NGHTMLWriter;
 import ng.appserver.templating.associations.NGAssociation;
 import ng.appserver.templating.elements.NGDynamicGroup;
 
@@ -25,7 +25,7 @@ public class AjaxUpdateLink extends NGDynamicGroup {
 
 	public AjaxUpdateLink( String name, Map<String, NGAssociation> associations, NGElement element ) {
 		super( name, associations, element );
-		_additionalAssociations = new HashMap<>( associations );
+		_additionalAssociations = new LinkedHashMap<>( associations );
 		_actionAssociation = _additionalAssociations.remove( "action" );
 		_updateContainerIDAssociation = _additionalAssociations.remove( "updateContainerID" );
 
@@ -39,16 +39,13 @@ public class AjaxUpdateLink extends NGDynamicGroup {
 
 		final String onclick = "ajaxUpdateLinkClick('%s',%s);return false;".formatted( context.componentActionURL(), updateContainerIDParameter( context ) );
 
-		final Map<String, String> attributes = new HashMap<>();
-		attributes.put( "href", "#" );
-		attributes.put( "onclick", onclick );
-
-		NGHTMLUtilities.addAssociationValuesToAttributes( attributes, _additionalAssociations, context.component() );
-
-		final String htmlString = NGHTMLUtilities.createElementStringWithAttributes( "a", attributes, false );
-		response.appendContentString( htmlString );
+		final NGHTMLWriter writer = new NGHTMLWriter( response );
+		writer.openTag( "a", _additionalAssociations, context.component() );
+		writer.attr( "href", "#" );
+		writer.attr( "onclick", onclick );
+		writer.endOpenTag();
 		appendChildrenToResponse( response, context );
-		response.appendContentString( "</a>" );
+		writer.closeTag( "a" );
 	}
 
 	/**
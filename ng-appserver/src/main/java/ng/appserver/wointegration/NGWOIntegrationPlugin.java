@@ -19,10 +19,6 @@ public class NGWOIntegrationPlugin implements NGPlugin {
 	@Override
 	public void load( NGApplication application ) {
 
-		if( application.properties().d().propWOLifebeatEnabled() ) {
-			NGLifebeatThreadRunner.start( application.properties() );
-		}
-
 		// What we're doing here is allowing for the WO URL structure, which is required for us to work with the WO Apache Adaptor.
 		// Ideally, we don't want to prefix URLs at all, instead just handling requests at root level.
 		// CHECKME: URL rewrites shouldn't really be performed in development. Add by property? // Hugi 2025-05-13
@@ -32,6 +28,17 @@ public class NGWOIntegrationPlugin implements NGPlugin {
 		// application.addURLRewritePattern( Pattern.compile( "^/(cgi-bin|Apps)/WebObjects/" + application.properties().d().propWOApplicationName() + ".woa(/[0-9])?" ) );
 	}
 
+	/**
+	 * We only let wotaskd know about us once we've started, since it will start sending us requests
+	 */
+	@Override
+	public void didStart( NGApplication application ) {
+
+		if( application.properties().d().propWOLifebeatEnabled() ) {
+			NGLifebeatThreadRunner.start( application.properties() );
+		}
+	}
+
 	@Override
 	public Routes routes() {
 		return Routes
@@ -7,6 +7,7 @@ import ng.appserver.NGResourceRequestHandlerDynamic;
 import ng.appserver.directactions.NGDirectActionRequestHandler;
 import ng.appserver.templating.elements.NGActionURL;
 import ng.appserver.templating.elements.NGBrowser;
+import ng.appserver.templating.elements.NGCache;
 import ng.appserver.templating.elements.NGComponentContent;
 import ng.appserver.templating.elements.NGConditional;
 import ng.appserver.templating.elements.NGCheckbox;
@@ -50,6 +51,7 @@ public class NGCorePlugin implements NGPlugin {
 				.elementClass( NGActionURL.class, "actionURL" )
 				.elementClass( NGCheckbox.class, "checkbox" )
 				.elementClass( NGBrowser.class, "browser" )
+				.elementClass( NGCache.class, "cache" )
 				.elementClass( NGComponentContent.class, "content" )
 				.elementClass( NGConditional.class, "if" )
 				.elementClass( NGFileUpload.class, "fileUpload" )
@@ -0,0 +1,295 @@
+package ng.plugins;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ng.appserver.NGApplication;
+import ng.appserver.resources.NGResourceLoader;
+import ng.appserver.resources.NGResourceLoader.ResourceSource;
+import ng.appserver.resources.ResourceType;
+import ng.appserver.resources.StandardResourceType;
+import ng.appserver.templating.NGComponentDefinition;
+import ng.appserver.templating.NGTemplateWarmUp;
+import ng.kvc.NGKeyValueCoding;
+
+/**
+ * Watches the directories that resources and classes get loaded from during development, invalidating the affected cached data as files change.
+ * That allows caches to stay enabled in development, so only what has actually changed needs to be loaded again.
+ *
+ * - A modified resource gets evicted from the resource cache.
+ * - A modified component template evicts the component's definition (and with it, the parsed template).
+ * - A modified class evicts the class' KVC bindings, the element manager's class lookups, and the definition of the component it represents (if any).
+ *
+ * Classes only get invalidated, not reloaded, so picking up modified classes still requires something that replaces the classes in the running JVM (for example, the debugger's hot code replace).
+ *
+ * Enabled by setting the property 'ng.development.watchFiles' to true (see NGApplication.watchesFiles()).
+ */
+
+class NGDevelopmentFileWatcher {
+
+	private static final Logger logger = LoggerFactory.getLogger( NGDevelopmentFileWatcher.class );
+
+	private final NGApplication _application;
+
+	private final WatchService _watchService;
+
+	/**
+	 * The directories we're watching, by the key they're registered with
+	 */
+	private final Map<WatchKey, Path> _watchedDirectories = new HashMap<>();
+
+	/**
+	 * A directory containing resources of a given type in a given namespace
+	 */
+	private record ResourceDirectory( Path directory, String namespace, ResourceType resourceType ) {}
+
+	/**
+	 * Directories containing resources
+	 */
+	private final List<ResourceDirectory> _resourceDirectories = new ArrayList<>();
+
+	/**
+	 * Classpath directories containing classes
+	 */
+	private final List<Path> _classDirectories = new ArrayList<>();
+
+	private NGDevelopmentFileWatcher( final NGApplication application ) throws IOException {
+		Objects.requireNonNull( application );
+		_application = application;
+		_watchService = FileSystems.getDefault().newWatchService();
+	}
+
+	/**
+	 * Starts watching the application's resource and class directories
+	 */
+	static void start( final NGApplication application ) {
+		try {
+			final NGDevelopmentFileWatcher watcher = new NGDevelopmentFileWatcher( application );
+			watcher.locateDirectories();
+
+			final Thread thread = new Thread( watcher::run, "ng-file-watcher" );
+			thread.setDaemon( true );
+			thread.start();
+		}
+		catch( IOException e ) {
+			throw new UncheckedIOException( e );
+		}
+	}
+
+	/**
+	 * Locates the directories to watch and starts watching them
+	 */
+	private void locateDirectories() throws IOException {
+		final NGResourceLoader resourceLoader = _application.resourceManager().resourceLoader();
+
+		for( final String namespace : resourceLoader.namespaces() ) {
+			for( final StandardResourceType resourceType : StandardResourceType.values() ) {
+				for( final ResourceSource resourceSource : resourceLoader.resourceSources( namespace, resourceType ) ) {
+					for( final Path directory : resourceSource.directories() ) {
+						_resourceDirectories.add( new ResourceDirectory( directory, namespace, resourceType ) );
+					}
+				}
+			}
+		}
+
+		try {
+			final Enumeration<URL> classpathRoots = _application.getClass().getClassLoader().getResources( "" );
+
+			while( classpathRoots.hasMoreElements() ) {
+				final URL url = classpathRoots.nextElement();
+
+				if( url.getProtocol().equals( "file" ) ) {
+					_classDirectories.add( Path.of( url.toURI() ) );
+				}
+			}
+		}
+		catch( URISyntaxException e ) {
+			throw new IOException( e );
+		}
+
+		for( final ResourceDirectory resourceDirectory : _resourceDirectories ) {
+			register( resourceDirectory.directory() );
+		}
+
+		for( final Path classDirectory : _classDirectories ) {
+			register( classDirectory );
+		}
+
+		logger.info( "Watching {} directories for changes", _watchedDirectories.size() );
+	}
+
+	/**
+	 * Starts watching the given directory and all of it's subdirectories
+	 */
+	private void register( final Path directory ) throws IOException {
+
+		if( !Files.isDirectory( directory ) ) {
+			return;
+		}
+
+		try( final Stream<Path> stream = Files.walk( directory )) {
+			for( final Path subdirectory : stream.filter( Files::isDirectory ).toList() ) {
+				if( !_watchedDirectories.containsValue( subdirectory ) ) {
+					_watchedDirectories.put( subdirectory.register( _watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE ), subdirectory );
+				}
+			}
+		}
+	}
+
+	private void run() {
+		while( true ) {
+			final WatchKey key;
+
+			try {
+				key = _watchService.take();
+			}
+			catch( InterruptedException | ClosedWatchServiceException e ) {
+				return;
+			}
+
+			final Path directory = _watchedDirectories.get( key );
+
+			for( final WatchEvent<?> event : key.pollEvents() ) {
+				try {
+					if( event.kind() == OVERFLOW || directory == null ) {
+						invalidateAll();
+					}
+					else {
+						final Path file = directory.resolve( (Path)event.context() );
+
+						// A new directory might already contain files by the time we start watching it, so we handle those as well
+						if( event.kind() == ENTRY_CREATE && Files.isDirectory( file ) ) {
+							register( file );
+
+							try( final Stream<Path> stream = Files.walk( file )) {
+								stream.forEach( this::fileChanged );
+							}
+						}
+						else {
+							fileChanged( file );
+						}
+					}
+				}
+				catch( Exception e ) {
+					logger.error( "Failed to handle change event '{}' in directory '{}'", event.context(), directory, e );
+				}
+			}
+
+			if( !key.reset() ) {
+				_watchedDirectories.remove( key );
+			}
+		}
+	}
+
+	/**
+	 * Invalidates whatever was cached from the given file
+	 */
+	private void fileChanged( final Path file ) {
+
+		for( final ResourceDirectory resourceDirectory : _resourceDirectories ) {
+			if( file.startsWith( resourceDirectory.directory() ) && !file.equals( resourceDirectory.directory() ) ) {
+				resourceChanged( resourceDirectory, relativePath( resourceDirectory.directory(), file ) );
+			}
+		}
+
+		for( final Path classDirectory : _classDirectories ) {
+			if( file.startsWith( classDirectory ) && file.getFileName().toString().endsWith( ".class" ) ) {
+				final String classFilePath = relativePath( classDirectory, file );
+				classChanged( classFilePath.substring( 0, classFilePath.length() - ".class".length() ).replace( '/', '.' ) );
+			}
+		}
+	}
+
+	private void resourceChanged( final ResourceDirectory resourceDirectory, final String resourcePath ) {
+		logger.info( "Resource changed: {}::{}", resourceDirectory.namespace(), resourcePath );
+		_application.resourceManager().invalidate( resourceDirectory.namespace(), resourceDirectory.resourceType(), resourcePath );
+
+		if( resourceDirectory.resourceType() == StandardResourceType.ComponentTemplate ) {
+			final String componentName = componentName( resourcePath );
+
+			if( componentName != null ) {
+				// If the change is to the template folder itself (i.e. it got deleted or renamed) we also need to get rid of it's files
+				if( resourcePath.endsWith( ".wo" ) ) {
+					_application.resourceManager().invalidate( resourceDirectory.namespace(), resourceDirectory.resourceType(), "%s/%s.html".formatted( resourcePath, componentName ) );
+					_application.resourceManager().invalidate( resourceDirectory.namespace(), resourceDirectory.resourceType(), "%s/%s.wod".formatted( resourcePath, componentName ) );
+				}
+
+				logger.info( "Invalidating component {}", componentName );
+				NGComponentDefinition.invalidate( componentName );
+			}
+		}
+	}
+
+	private void classChanged( final String className ) {
+		logger.info( "Class changed: {}", className );
+
+		try {
+			NGKeyValueCoding.DefaultImplementation.invalidateClass( Class.forName( className, false, _application.getClass().getClassLoader() ) );
+		}
+		catch( ClassNotFoundException | LinkageError e ) {
+			// The class was deleted, or it can't be loaded in it's current state. Either way, there's nothing cached for it.
+		}
+
+		// Classes might have been added or removed, so previous lookups of element classes might no longer hold
+		_application.elementManager().invalidateResolvedClasses();
+
+		if( className.indexOf( '$' ) == -1 ) {
+			NGComponentDefinition.invalidate( className.substring( className.lastIndexOf( '.' ) + 1 ) );
+		}
+	}
+
+	/**
+	 * Invalidates everything, for when we've lost track of what changed
+	 */
+	private void invalidateAll() {
+		logger.info( "Lost track of file changes. Invalidating all cached resources and components" );
+		_application.resourceManager().invalidateAll();
+		_application.elementManager().invalidateResolvedClasses();
+		NGComponentDefinition.invalidateAll();
+	}
+
+	/**
+	 * @return The name of the component the given template resource belongs to, null if it doesn't belong to a component
+	 */
+	private static String componentName( final String resourcePath ) {
+		final int templateFolderIndex = resourcePath.indexOf( ".wo/" );
+
+		if( templateFolderIndex != -1 ) {
+			return resourcePath.substring( 0, templateFolderIndex );
+		}
+
+		if( resourcePath.endsWith( ".wo" ) ) {
+			return resourcePath.substring( 0, resourcePath.length() - ".wo".length() );
+		}
+
+		return NGTemplateWarmUp.templateName( resourcePath );
+	}
+
+	private static String relativePath( final Path directory, final Path file ) {
+		return directory.relativize( file ).toString().replace( '\\', '/' );
+	}
+}
@@ -16,6 +16,13 @@ public class NGDevelopmentPlugin implements NGPlugin {
 
 	private static final Logger logger = LoggerFactory.getLogger( NGDevelopmentPlugin.class );
 
+	@Override
+	public void load( NGApplication application ) {
+		if( application.watchesFiles() ) {
+			NGDevelopmentFileWatcher.start( application );
+		}
+	}
+
 	@Override
 	public Routes routes() {
 		return Routes
@@ -16,6 +16,11 @@ public interface NGPlugin {
 	 */
 	public default void load( NGApplication application ) {}
 
+	/**
+	 * Executed once the application has started, i.e. when it's been fully initialized and is ready to handle requests.
+	 */
+	public default void didStart( NGApplication application ) {}
+
 	/**
 	 * @return The plugin's namespace. Defaults to the class's simple name.
 	 *
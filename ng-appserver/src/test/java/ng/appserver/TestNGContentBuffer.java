@@ -0,0 +1,93 @@
+package ng.appserver;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ng.appserver.NGContentBuffer.Pool;
+
+public class TestNGContentBuffer {
+
+	@Test
+	public void writesAcrossSegments() throws IOException {
+		for( final boolean direct : new boolean[] { false, true } ) {
+			final NGContentBuffer buffer = new NGContentBuffer( new Pool( 4, 10, direct ) );
+			buffer.write( "Hello".getBytes(), 0, 5 );
+			buffer.write( ' ' );
+			buffer.write( "world!".getBytes(), 0, 6 );
+
+			assertEquals( 12, buffer.size() );
+			assertArrayEquals( "Hello world!".getBytes(), buffer.toByteArray() );
+
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			buffer.writeTo( out );
+			assertArrayEquals( "Hello world!".getBytes(), out.toByteArray() );
+		}
+	}
+
+	@Test
+	public void writeUTF8() {
+		// Multi byte characters straddling segment boundaries, a surrogate pair and an unpaired surrogate
+		final String string = "a-Þór–😀\uD800b";
+
+		for( int start = 0; start < 3; start++ ) {
+			final NGContentBuffer buffer = new NGContentBuffer( new Pool( 3, 10, false ) );
+			buffer.writeUTF8( string, start, string.length() );
+
+			final byte[] expected = string.substring( start ).getBytes( StandardCharsets.UTF_8 );
+			assertEquals( expected.length, buffer.size() );
+			assertArrayEquals( expected, buffer.toByteArray() );
+		}
+	}
+
+	@Test
+	public void readableSegments() {
+		final NGContentBuffer buffer = new NGContentBuffer( new Pool( 4, 10, false ) );
+		buffer.write( "abcdefghij".getBytes(), 0, 10 );
+
+		final List<ByteBuffer> segments = buffer.readableSegments();
+		assertEquals( 3, segments.size() );
+		assertEquals( 4, segments.get( 0 ).remaining() );
+		assertEquals( 2, segments.get( 2 ).remaining() );
+
+		// Views obtained earlier don't see later writes
+		buffer.write( 'k' );
+		assertEquals( 2, segments.get( 2 ).remaining() );
+
+		final byte[] bytes = new byte[10];
+		int offset = 0;
+
+		for( final ByteBuffer segment : segments ) {
+			final int length = segment.remaining();
+			segment.get( bytes, offset, length );
+			offset += length;
+		}
+
+		assertArrayEquals( "abcdefghij".getBytes(), bytes );
+	}
+
+	@Test
+	public void resetReturnsSegmentsToPool() {
+		final Pool pool = new Pool( 4, 2, false );
+		final NGContentBuffer buffer = new NGContentBuffer( pool );
+		buffer.write( "abcdefghij".getBytes(), 0, 10 );
+		assertEquals( 0, pool.pooledCount() );
+
+		buffer.reset();
+		assertEquals( 0, buffer.size() );
+
+		// Only two of the three segments fit in the pool
+		assertEquals( 2, pool.pooledCount() );
+
+		buffer.write( "xyz".getBytes(), 0, 3 );
+		assertEquals( 1, pool.pooledCount() );
+		assertArrayEquals( "xyz".getBytes(), buffer.toByteArray() );
+	}
+}
@@ -0,0 +1,89 @@
+package ng.appserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class TestNGContext {
+
+	@Test
+	public void fullRenderAppendsEverything() {
+		final NGContext context = context( null );
+		assertNull( context.targetedUpdateContainerIDsStringValue() );
+		assertEquals( Set.of(), context.targetedUpdateContainerIDs() );
+		assertTrue( context.shouldAppendToResponse() );
+
+		context.enterUpdateContainer( "a" );
+		assertTrue( context.shouldAppendToResponse() );
+		assertNull( context.updateContainerToAppendTo() );
+		context.exitUpdateContainer( "a" );
+	}
+
+	@Test
+	public void targetedContainer() {
+		final NGContext context = context( "b" );
+		assertEquals( Set.of( "b" ), context.targetedUpdateContainerIDs() );
+		assertFalse( context.targetsMultipleUpdateContainers() );
+		assertFalse( context.shouldAppendToResponse() );
+
+		context.enterUpdateContainer( "a" );
+		assertFalse( context.shouldAppendToResponse() );
+
+		context.enterUpdateContainer( "b" );
+		assertTrue( context.shouldAppendToResponse() );
+		assertEquals( List.of( "a", "b" ), context.containingUpdateContainerIDs() );
+
+		context.exitUpdateContainer( "b" );
+		assertFalse( context.shouldAppendToResponse() );
+
+		context.exitUpdateContainer( "a" );
+		assertEquals( List.of(), context.containingUpdateContainerIDs() );
+	}
+
+	@Test
+	public void multipleTargetedContainers() {
+		final NGContext context = context( "a;c" );
+		assertEquals( "a;c", context.targetedUpdateContainerIDsStringValue() );
+		assertEquals( Set.of( "a", "c" ), context.targetedUpdateContainerIDs() );
+		assertTrue( context.targetsMultipleUpdateContainers() );
+
+		// Nested targeted containers get appended to the outermost one
+		context.enterUpdateContainer( "a" );
+		context.enterUpdateContainer( "b" );
+		context.enterUpdateContainer( "c" );
+		assertTrue( context.shouldAppendToResponse() );
+		assertEquals( "a", context.updateContainerToAppendTo() );
+
+		context.exitUpdateContainer( "c" );
+		context.exitUpdateContainer( "b" );
+		context.exitUpdateContainer( "a" );
+		assertFalse( context.shouldAppendToResponse() );
+		assertNull( context.updateContainerToAppendTo() );
+
+		context.enterUpdateContainer( "c" );
+		assertEquals( "c", context.updateContainerToAppendTo() );
+		context.exitUpdateContainer( "c" );
+	}
+
+	@Test
+	public void forceFullRender() {
+		final NGContext context = context( "a" );
+		assertFalse( context.shouldAppendToResponse() );
+		context.setForceFullRender();
+		assertTrue( context.shouldAppendToResponse() );
+	}
+
+	private static NGContext context( final String targetedContainerIDs ) {
+		final Map<String, List<String>> formValues = targetedContainerIDs == null ? Map.of() : Map.of( "ng-container-id", List.of( targetedContainerIDs ) );
+		final NGRequest request = new NGStandardRequest( "GET", "/", "HTTP/1.1", Map.of(), formValues, Map.of(), new ByteArrayInputStream( new byte[0] ) );
+		return new NGContext( request );
+	}
+}
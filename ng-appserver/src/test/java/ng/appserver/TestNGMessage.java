@@ -53,6 +53,14 @@ public class TestNGMessage {
 		assertEquals( "SomeTextMoreText", r.contentString() );
 	}
 
+	@Test
+	public void appendContentBytes() {
+		NGResponse r = NGRespBuilder.of();
+		r.appendContentString( "Hvað " );
+		r.appendContentBytes( "er að frétta".getBytes( StandardCharsets.UTF_8 ) );
+		assertEquals( "Hvað er að frétta", r.contentString() );
+	}
+
 	@Test
 	public void contentStringSmokeTest() {
 		NGResponse r = NGRespBuilder.of();
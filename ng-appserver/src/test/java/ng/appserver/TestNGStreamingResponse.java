@@ -0,0 +1,131 @@
+package ng.appserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+public class TestNGStreamingResponse {
+
+	@Test
+	public void flushesAfterHead() {
+		final TestStreamer streamer = new TestStreamer();
+		final NGStreamingResponse response = new NGStreamingResponse( streamer, () -> true, r -> r.setHeader( "x-committed", "yes" ) );
+
+		response.appendContentString( "<html><head><title>Hello</title>" );
+		assertFalse( response.isCommitted() );
+
+		response.appendContentBytes( "</head>".getBytes( StandardCharsets.UTF_8 ) );
+		assertTrue( response.isCommitted() );
+		assertEquals( "yes", streamer.committedHeader );
+		assertEquals( "<html><head><title>Hello</title></head>", streamer.written() );
+		assertEquals( 0L, response.contentBytesLength() );
+
+		// Small appends keep buffering until the threshold is reached
+		response.appendContentString( "<body>" );
+		assertEquals( "<body>", response.contentString() );
+
+		response.appendContentString( "x".repeat( NGStreamingResponse.FLUSH_THRESHOLD ) );
+		assertEquals( 0L, response.contentBytesLength() );
+
+		response.appendContentString( "</body></html>" );
+		response.flush();
+		assertEquals( "<html><head><title>Hello</title></head><body>" + "x".repeat( NGStreamingResponse.FLUSH_THRESHOLD ) + "</body></html>", streamer.written() );
+	}
+
+	@Test
+	public void flushesAfterHeadWrittenAsCharacters() {
+		final TestStreamer streamer = new TestStreamer();
+		final NGStreamingResponse response = new NGStreamingResponse( streamer, () -> true, r -> {} );
+
+		final String html = "<html><head></head><body>";
+		response.appendContentCharacters( html, 0, 6 );
+		assertFalse( response.isCommitted() );
+
+		response.appendContentCharacters( html, 6, 19 );
+		assertTrue( response.isCommitted() );
+		assertEquals( "<html><head></head>", streamer.written() );
+	}
+
+	@Test
+	public void buffersUntilAllowedToCommit() {
+		final TestStreamer streamer = new TestStreamer();
+		final boolean[] canCommit = { false };
+		final NGStreamingResponse response = new NGStreamingResponse( streamer, () -> canCommit[0], r -> {} );
+
+		response.appendContentString( "<head></head>" );
+		response.appendContentString( "x".repeat( NGStreamingResponse.FLUSH_THRESHOLD ) );
+		assertFalse( response.isCommitted() );
+		assertFalse( streamer.isCommitted() );
+		assertEquals( NGStreamingResponse.FLUSH_THRESHOLD + 13L, response.contentBytesLength() );
+
+		canCommit[0] = true;
+		response.appendContentString( "y" );
+		assertTrue( response.isCommitted() );
+		assertEquals( "<head></head>" + "x".repeat( NGStreamingResponse.FLUSH_THRESHOLD ) + "y", streamer.written() );
+	}
+
+	/**
+	 * Once a stateful page has generated an action URL, nothing more is sent until the page has been stored in the page cache and the response gets completed
+	 */
+	@Test
+	public void statefulPageBuffersUntilComplete() {
+		final TestStreamer streamer = new TestStreamer();
+		final boolean[] pageNeedsCaching = { false };
+		final NGStreamingResponse response = new NGStreamingResponse( streamer, () -> !pageNeedsCaching[0], r -> {} );
+
+		response.appendContentString( "<head></head>" );
+		assertTrue( response.isCommitted() );
+		assertEquals( "<head></head>", streamer.written() );
+
+		pageNeedsCaching[0] = true;
+		response.appendContentString( "<a href=\"/wo/1.0\">Action</a>" );
+		response.appendContentString( "x".repeat( NGStreamingResponse.FLUSH_THRESHOLD ) );
+		response.flush();
+		assertEquals( "<head></head>", streamer.written() );
+
+		response.complete();
+		assertEquals( "<head></head><a href=\"/wo/1.0\">Action</a>" + "x".repeat( NGStreamingResponse.FLUSH_THRESHOLD ), streamer.written() );
+		assertEquals( 0L, response.contentBytesLength() );
+	}
+
+	@Test
+	public void completeRequiresCommit() {
+		final NGStreamingResponse response = new NGStreamingResponse( new TestStreamer(), () -> false, r -> {} );
+		response.appendContentString( "<head></head>" );
+		assertThrows( IllegalStateException.class, () -> response.complete() );
+	}
+
+	private static class TestStreamer implements NGResponseStreamer {
+
+		private final ByteArrayOutputStream _outputStream = new ByteArrayOutputStream();
+		private boolean _committed;
+		private String committedHeader;
+
+		@Override
+		public void commit( NGResponse response ) {
+			committedHeader = response.headerForKey( "x-committed" );
+			_committed = true;
+		}
+
+		@Override
+		public boolean isCommitted() {
+			return _committed;
+		}
+
+		@Override
+		public OutputStream outputStream() {
+			return _outputStream;
+		}
+
+		private String written() {
+			return _outputStream.toString( StandardCharsets.UTF_8 );
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package ng.appserver.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import ng.appserver.resources.NGResourceLoader.FileSystemDirectoryResourceSource;
+
+public class TestNGResourceLoader {
+
+	@Test
+	public void resourcePaths() throws Exception {
+		final Path directory = Files.createTempDirectory( "ng-resources" );
+		Files.createDirectories( directory.resolve( "Main.wo" ) );
+		Files.writeString( directory.resolve( "Main.wo/Main.html" ), "<p>Main</p>" );
+		Files.writeString( directory.resolve( "Main.wo/Main.wod" ), "" );
+		Files.writeString( directory.resolve( "Header.html" ), "<h1>Header</h1>" );
+
+		final NGResourceLoader loader = new NGResourceLoader();
+		loader.addResourceSource( "app", StandardResourceType.ComponentTemplate, new FileSystemDirectoryResourceSource( directory ) );
+
+		assertEquals( Set.of( "Header.html", "Main.wo/Main.html", "Main.wo/Main.wod" ), loader.resourcePaths( "app", StandardResourceType.ComponentTemplate ) );
+		assertEquals( Set.of(), loader.resourcePaths( "app", StandardResourceType.Public ) );
+		assertEquals( Set.of(), loader.resourcePaths( "other", StandardResourceType.ComponentTemplate ) );
+	}
+}
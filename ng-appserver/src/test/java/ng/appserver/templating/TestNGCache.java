@@ -0,0 +1,132 @@
+package ng.appserver.templating;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import ng.appserver.NGContext;
+import ng.appserver.NGRequest;
+import ng.appserver.NGResponse;
+import ng.appserver.NGStandardRequest;
+import ng.appserver.NGStandardResponse;
+import ng.appserver.templating.NGElementManager.ElementByClass;
+import ng.appserver.templating.elements.NGCache;
+import ng.appserver.templating.elements.NGCache.Store;
+import ng.appserver.templating.elements.NGString;
+
+public class TestNGCache {
+
+	@Test
+	public void cachesContent() throws Exception {
+		final NGElement template = parse( "<p><wo:cache key=\"$key\" tags=\"products, footer\"><b><wo:str value=\"$value\" /></b></wo:cache></p>" );
+
+		final TestComponent first = render( template, "a" );
+		assertEquals( "<p><b>Value 1</b></p>", first.content );
+
+		// Same key, so the children don't get rendered
+		final TestComponent second = render( template, "a" );
+		assertEquals( "<p><b>Value 1</b></p>", second.content );
+		assertEquals( 0, second.valueInvocations );
+
+		// Different key
+		final TestComponent third = render( template, "b" );
+		assertEquals( 1, third.valueInvocations );
+
+		NGCache.invalidateTag( "footer" );
+		final TestComponent fourth = render( template, "a" );
+		assertEquals( 1, fourth.valueInvocations );
+	}
+
+	@Test
+	public void disabled() throws Exception {
+		final NGElement template = parse( "<wo:cache key=\"$key\" enabled=\"$false\"><wo:str value=\"$value\" /></wo:cache>" );
+		render( template, "a" );
+		assertEquals( 1, render( template, "a" ).valueInvocations );
+	}
+
+	@Test
+	public void storeEvictsLeastRecentlyUsed() {
+		final Store store = new Store( 10, () -> 0 );
+		store.put( "a", new byte[4], 0, Set.of() );
+		store.put( "b", new byte[4], 0, Set.of() );
+
+		// Accessing "a" makes "b" the least recently used
+		store.get( "a" );
+		store.put( "c", new byte[4], 0, Set.of() );
+
+		assertNull( store.get( "b" ) );
+		assertEquals( 2, store.count() );
+		assertEquals( 8L, store.size() );
+
+		// Content larger than the budget doesn't get stored
+		store.put( "d", new byte[11], 0, Set.of() );
+		assertNull( store.get( "d" ) );
+		assertEquals( 8L, store.size() );
+	}
+
+	@Test
+	public void storeExpiresAndInvalidates() {
+		final long[] now = { 100 };
+		final Store store = new Store( 100, () -> now[0] );
+		store.put( "a", new byte[] { 1 }, 50, Set.of( "x" ) );
+		store.put( "b", new byte[] { 2 }, 0, Set.of( "y" ) );
+		store.put( "c", new byte[] { 3 }, 0, Set.of( "x", "y" ) );
+
+		now[0] = 149;
+		assertArrayEquals( new byte[] { 1 }, store.get( "a" ) );
+
+		now[0] = 150;
+		assertNull( store.get( "a" ) );
+		assertArrayEquals( new byte[] { 2 }, store.get( "b" ) );
+
+		store.invalidateTag( "x" );
+		assertNull( store.get( "c" ) );
+		assertEquals( 1, store.count() );
+		assertEquals( 1L, store.size() );
+
+		store.invalidateAll();
+		assertEquals( 0L, store.size() );
+	}
+
+	public static class TestComponent extends NGComponent {
+
+		public String key;
+		public int valueInvocations;
+		public String content;
+
+		public TestComponent( NGContext context ) {
+			super( context );
+		}
+
+		public String value() {
+			valueInvocations++;
+			return "Value " + valueInvocations;
+		}
+	}
+
+	private static NGElement parse( final String template ) throws Exception {
+		final NGElementManager elementManager = new NGElementManager();
+		elementManager.registerElementProvider( new ElementByClass( null, NGCache.class, new String[] { "cache" } ) );
+		elementManager.registerElementProvider( new ElementByClass( null, NGString.class, new String[] { "str" } ) );
+		return new NGTemplateParserProxy( template, "", elementManager, false ).parse();
+	}
+
+	private static TestComponent render( final NGElement template, final String key ) {
+		final NGRequest request = new NGStandardRequest( "GET", "/", "HTTP/1.1", Map.of(), Map.of(), Map.of(), new ByteArrayInputStream( new byte[0] ) );
+		final NGContext context = new NGContext( request );
+		final TestComponent component = new TestComponent( context );
+		component.key = key;
+		context.setComponent( component );
+
+		final NGResponse response = new NGStandardResponse();
+		template.appendOrTraverse( response, context );
+		component.content = response.contentString();
+		return component;
+	}
+}
@@ -1,6 +1,13 @@
 package ng.appserver.templating;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -36,4 +43,134 @@ public class TestNGElementID {
 		assertEquals( NGElementID.fromString( "0.3.4" ).toString(), "0.3.4" );
 		//		assertEquals( NGElementID.fromString( "" ), "" );
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testFromStringInvalid() {
+		assertEquals( 0, NGElementID.fromString( "" ).depth() );
+		assertThrows( NumberFormatException.class, () -> NGElementID.fromString( "1..2" ) );
+		assertThrows( NumberFormatException.class, () -> NGElementID.fromString( "1.2." ) );
+		assertThrows( NumberFormatException.class, () -> NGElementID.fromString( "1.x" ) );
+	}
+
+	@Test
+	public void testIncrementPastSingleDigit() {
+		final NGElementID elementID = NGElementID.fromString( "3.9" );
+		elementID.increment();
+		assertEquals( "3.10", elementID.toString() );
+
+		elementID.addBranchAndSet( 99 );
+		elementID.increment();
+		assertEquals( "3.10.100", elementID.toString() );
+
+		elementID.removeBranch();
+		elementID.removeBranch();
+		assertEquals( "3", elementID.toString() );
+
+		elementID.reset();
+		assertEquals( "", elementID.toString() );
+		elementID.addBranch();
+		assertEquals( "0", elementID.toString() );
+	}
+
+	@Test
+	public void testGrowsBeyondInitialCapacity() {
+		final NGElementID elementID = new NGElementID();
+		final StringBuilder expected = new StringBuilder();
+
+		for( int i = 0; i < 150; i++ ) {
+			elementID.addBranchAndSet( i );
+			expected.append( i == 0 ? "" : "." ).append( i );
+		}
+
+		assertEquals( expected.toString(), elementID.toString() );
+		assertEquals( NGElementID.fromString( expected.toString() ), elementID );
+	}
+
+	@Test
+	public void testToStringIsCached() {
+		final NGElementID elementID = NGElementID.fromString( "1.2" );
+		assertSame( elementID.toString(), elementID.toString() );
+	}
+
+	@Test
+	public void testEqualsAndHashCode() {
+		final NGElementID a = NGElementID.fromString( "0.1.2" );
+		final NGElementID b = NGElementID.fromString( "0.1.3" );
+		assertNotEquals( a, b );
+
+		b.removeBranch();
+		b.addBranchAndSet( 2 );
+		assertEquals( a, b );
+		assertEquals( a.hashCode(), b.hashCode() );
+
+		// Stale components beyond the current depth don't count
+		b.removeBranch();
+		assertNotEquals( a, b );
+		assertEquals( NGElementID.fromString( "0.1" ), b );
+	}
+
+	@Test
+	public void testIsPrefixOf() {
+		final NGElementID sender = NGElementID.fromString( "0.3.1.4" );
+		assertTrue( NGElementID.fromString( "0.3" ).isPrefixOf( sender ) );
+		assertTrue( sender.isPrefixOf( sender ) );
+		assertTrue( new NGElementID().isPrefixOf( sender ) );
+		assertFalse( NGElementID.fromString( "0.3.2" ).isPrefixOf( sender ) );
+		assertFalse( NGElementID.fromString( "0.3.1.4.0" ).isPrefixOf( sender ) );
+		assertFalse( sender.isPrefixOf( null ) );
+	}
+
+	@Test
+	public void testKeyLookup() {
+		final NGElementID.KeyMap<String> map = new NGElementID.KeyMap<>();
+		final NGElementID elementID = NGElementID.fromString( "0.5" );
+		map.put( elementID, "five" );
+
+		// Modifying the elementID doesn't affect the key
+		elementID.increment();
+		assertEquals( 1, map.size() );
+		assertEquals( null, map.get( elementID ) );
+
+		elementID.removeBranch();
+		elementID.addBranchAndSet( 5 );
+		assertEquals( "five", map.get( elementID ) );
+
+		map.put( elementID, "still five" );
+		assertEquals( 1, map.size() );
+		assertEquals( List.of( "still five" ), map.values() );
+	}
+
+	@Test
+	public void testKeyMapGrows() {
+		final NGElementID.KeyMap<Integer> map = new NGElementID.KeyMap<>();
+		final NGElementID elementID = NGElementID.fromString( "0" );
+		elementID.addBranch();
+
+		for( int i = 0; i < 1000; i++ ) {
+			map.put( elementID, i );
+			elementID.increment();
+		}
+
+		assertEquals( 1000, map.size() );
+		assertEquals( 1000, map.values().size() );
+		assertEquals( 0, map.get( NGElementID.fromString( "0.0" ) ) );
+		assertEquals( 999, map.get( NGElementID.fromString( "0.999" ) ) );
+		assertEquals( null, map.get( NGElementID.fromString( "0.1000" ) ) );
+	}
+
+	@Test
+	public void testKeyMatches() {
+		final NGElementID elementID = NGElementID.fromString( "1.2" );
+		final NGElementID.Key key = elementID.key();
+		assertTrue( key.matches( elementID ) );
+		assertEquals( key.hashCode(), elementID.hashCode() );
+		assertEquals( key, NGElementID.fromString( "1.2" ).key() );
+
+		// Equality is same-type only, keeping equals() symmetric
+		assertNotEquals( key, elementID );
+		assertNotEquals( elementID, key );
+
+		elementID.addBranch();
+		assertFalse( key.matches( elementID ) );
+	}
+}
@@ -0,0 +1,48 @@
+package ng.appserver.templating;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import ng.appserver.templating.NGElementManager.ElementByClass;
+import ng.appserver.templating.NGElementManager.ElementsByPackage;
+import ng.appserver.templating.elements.NGString;
+
+public class TestNGElementManager {
+
+	@Test
+	public void classNamesInPackage() {
+		final Set<String> classNames = NGElementManager.classNamesInPackage( "ng.appserver.templating.elements", getClass().getClassLoader() );
+		assertTrue( classNames.contains( "NGString" ) );
+		assertTrue( classNames.contains( "NGCache" ) );
+
+		// Nested classes can't be found by their simple name
+		assertFalse( classNames.contains( "Store" ) );
+		assertFalse( classNames.stream().anyMatch( name -> name.contains( "$" ) ) );
+
+		assertNull( NGElementManager.classNamesInPackage( "ng.doesnotexist", getClass().getClassLoader() ) );
+	}
+
+	@Test
+	public void classWithSimpleName() {
+		final NGElementManager elementManager = new NGElementManager();
+		elementManager.registerElementProvider( new ElementsByPackage( null, "ng.appserver.templating.elements" ) );
+
+		assertEquals( NGString.class, elementManager.classWithSimpleNameNullIfNotFound( "NGString" ) );
+		assertEquals( NGString.class, elementManager.classWithSimpleNameNullIfNotFound( "NGString" ) );
+		assertNull( elementManager.classWithSimpleNameNullIfNotFound( "NGDoesNotExist" ) );
+		assertNull( elementManager.classWithSimpleNameNullIfNotFound( "NGDoesNotExist" ) );
+
+		// Registering elements clears previous results
+		assertNull( elementManager.classWithSimpleNameNullIfNotFound( "TestElement" ) );
+		elementManager.registerElementProvider( new ElementByClass( null, TestElement.class, new String[] {} ) );
+		assertEquals( TestElement.class, elementManager.classWithSimpleNameNullIfNotFound( "TestElement" ) );
+	}
+
+	public static class TestElement implements NGElement {}
+}
@@ -0,0 +1,91 @@
+package ng.appserver.templating;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import ng.appserver.NGResponse;
+import ng.appserver.NGStandardResponse;
+import ng.appserver.templating.associations.NGAssociation;
+import ng.appserver.templating.associations.NGConstantValueAssociation;
+
+public class TestNGHTMLWriter {
+
+	@Test
+	public void writesTagsInOrder() {
+		final NGResponse response = new NGStandardResponse();
+
+		final Map<String, NGAssociation> associations = new LinkedHashMap<>();
+		associations.put( "class", new NGConstantValueAssociation( "link" ) );
+		associations.put( "title", new NGConstantValueAssociation( null ) );
+		associations.put( "data-x", new NGConstantValueAssociation( 42 ) );
+
+		final NGHTMLWriter writer = new NGHTMLWriter( response );
+		writer.openTag( "a", associations, null );
+		writer.attr( "href", "/page?a=1&b=2" );
+		writer.attr( "skipped", null );
+		writer.endOpenTag();
+		writer.escapedText( "Tom & \"Jerry\" – Þór 😀" );
+		writer.closeTag( "a" );
+		writer.openTag( "br" ).endEmptyTag();
+
+		assertEquals( "<a href=\"/page?a=1&amp;b=2\" class=\"link\" data-x=\"42\">Tom &amp; &quot;Jerry&quot; – Þór 😀</a><br />", response.contentString() );
+	}
+
+	@Test
+	public void boundAttributesOverrideElementAttributes() {
+		final Map<String, NGAssociation> associations = new LinkedHashMap<>();
+		associations.put( "type", new NGConstantValueAssociation( "email" ) );
+		associations.put( "name", new NGConstantValueAssociation( null ) );
+		associations.put( "class", new NGConstantValueAssociation( "field" ) );
+
+		// As rendered by a text field with type="email" bound in the template. A bound null leaves the element's own value in place.
+		// Bound attributes get written last, so the overridden attributes move with them.
+		final String html = new NGHTMLWriter()
+				.openTag( "input", associations, null )
+				.attr( "type", "text" )
+				.attr( "name", "1.2" )
+				.attr( "disabled", "" )
+				.endEmptyTag()
+				.toString();
+
+		assertEquals( "<input disabled=\"\" type=\"email\" name=\"1.2\" class=\"field\" />", html );
+	}
+
+	@Test
+	public void collectsWithoutResponse() {
+		final String html = new NGHTMLWriter()
+				.openTag( "input" )
+				.attr( "value", "<'>" )
+				.endEmptyTag()
+				.text( "<b>raw</b>" )
+				.toString();
+
+		assertEquals( "<input value=\"&lt;&#39;&gt;\" /><b>raw</b>", html );
+	}
+
+	@Test
+	public void escapeHTML() {
+		final String nothingToEscape = "Nothing to see here";
+		assertSame( nothingToEscape, NGHTMLWriter.escapeHTML( nothingToEscape ) );
+		assertEquals( "", NGHTMLWriter.escapeHTML( "" ) );
+		assertEquals( "&lt;p class=&quot;x&quot;&gt;Rock &amp; roll&#39;s&lt;/p&gt;", NGHTMLWriter.escapeHTML( "<p class=\"x\">Rock & roll's</p>" ) );
+		assertEquals( "a&amp;&amp;b", NGHTMLWriter.escapeHTML( "a&&b" ) );
+	}
+
+	@Test
+	public void tagStateIsChecked() {
+		final NGHTMLWriter writer = new NGHTMLWriter();
+		assertThrows( IllegalStateException.class, () -> writer.attr( "name", "value" ) );
+		assertThrows( IllegalStateException.class, () -> writer.endOpenTag() );
+
+		writer.openTag( "div" );
+		assertThrows( IllegalStateException.class, () -> writer.escapedText( "text" ) );
+		assertThrows( IllegalStateException.class, () -> writer.openTag( "span" ) );
+	}
+}
@@ -0,0 +1,173 @@
+package ng.appserver.templating;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import ng.appserver.NGActionResults;
+import ng.appserver.NGContext;
+import ng.appserver.NGRequest;
+import ng.appserver.NGResponse;
+import ng.appserver.NGStandardRequest;
+import ng.appserver.NGStandardResponse;
+import ng.appserver.templating.NGElementManager.ElementByClass;
+import ng.appserver.templating.NGElementManager.ElementsByPackage;
+import ng.appserver.templating.associations.NGAssociation;
+import ng.appserver.templating.elements.NGConditional;
+import ng.appserver.templating.elements.NGString;
+
+public class TestNGTemplateCompiler {
+
+	private static final String TEMPLATE = """
+			<p>Hello <wo:str value="$userName" /></p>
+			<wo:if condition="$show"><wo:IDRecorder /><b><wo:str value="$userName" escapeHTML="$false" /></b></wo:if>
+			<wo:if condition="$show" negate="$true">Hidden</wo:if>
+			<wo:if condition="$hide" negate="$negate"><wo:if condition="$show"><wo:IDRecorder /></wo:if><wo:IDRecorder /></wo:if>
+			<wo:str value="$nothing" valueWhenEmpty="[empty]" />
+			<wo:if condition="$true"><wo:str value="$number" /></wo:if>
+			<wo:if condition="$false"><wo:IDRecorder /></wo:if>
+			<wo:IDRecorder />
+			""";
+
+	@Test
+	public void compiledOutputMatchesInterpreted() throws Exception {
+		final NGElement interpreted = parse( TEMPLATE, false );
+		final NGElement compiled = parse( TEMPLATE, true );
+
+		assertFalse( interpreted instanceof NGCompiledTemplate );
+		assertTrue( compiled instanceof NGCompiledTemplate );
+
+		final String expected = render( interpreted );
+		assertEquals( expected, render( compiled ) );
+
+		assertTrue( expected.contains( "Hello &lt;Hugi&gt;" ) );
+		assertTrue( expected.contains( "<b><Hugi></b>" ) );
+		assertTrue( expected.contains( "[empty]" ) );
+		assertFalse( expected.contains( "Hidden" ) );
+	}
+
+	@Test
+	public void compiledUnknownKeys() throws Exception {
+		final String template = "<p><wo:str value=\"$missing\" /></p><wo:if condition=\"$alsoMissing\">Not rendered</wo:if>";
+		final String expected = render( parse( template, false ) );
+		assertEquals( expected, render( parse( template, true ) ) );
+		assertTrue( expected.contains( "VOFF! VOFF! Unknown key" ) );
+		assertFalse( expected.contains( "Not rendered" ) );
+	}
+
+	@Test
+	public void compiledElementIDsMatchInterpreted() throws Exception {
+		final NGElement interpreted = parse( TEMPLATE, false );
+		final NGElement compiled = parse( TEMPLATE, true );
+
+		final List<String> expected = takeValues( interpreted );
+		assertEquals( List.of( "3.0", "7.0.0", "7.1", "15" ), expected );
+		assertEquals( expected, takeValues( compiled ) );
+
+		for( final String senderID : expected ) {
+			assertEquals( senderID, invokeAction( interpreted, senderID ).contentString() );
+			assertEquals( senderID, invokeAction( compiled, senderID ).contentString() );
+		}
+
+		assertNull( invokeAction( compiled, "42" ) );
+	}
+
+	@Test
+	public void singleElementTemplate() throws Exception {
+		final String template = "<wo:if condition=\"$show\">Shown <wo:str value=\"$userName\" /></wo:if>";
+		final NGElement compiled = parse( template, true );
+		assertTrue( compiled instanceof NGCompiledTemplate );
+		assertEquals( render( parse( template, false ) ), render( compiled ) );
+
+		// Nothing to gain from compiling a template consisting of a single element we don't understand
+		assertFalse( parse( "<wo:IDRecorder />", true ) instanceof NGCompiledTemplate );
+	}
+
+	public static class TestComponent extends NGComponent {
+
+		public String userName = "<Hugi>";
+		public boolean show = true;
+		public boolean hide = false;
+		public boolean negate = true;
+		public String nothing = "";
+		public int number = 42;
+
+		public TestComponent( NGContext context ) {
+			super( context );
+		}
+	}
+
+	/**
+	 * Renders it's elementID and records it in takeValuesFromRequest(). Returns a response containing the elementID from invokeAction() if it's the sender.
+	 */
+	public static class IDRecorder extends NGDynamicElement {
+
+		static final List<String> recordedIDs = new ArrayList<>();
+
+		public IDRecorder( final String name, final Map<String, NGAssociation> associations, final NGElement template ) {
+			super( null, null, null );
+		}
+
+		@Override
+		public void appendToResponse( NGResponse response, NGContext context ) {
+			response.appendContentString( "[" + context.elementID() + "]" );
+		}
+
+		@Override
+		public void takeValuesFromRequest( NGRequest request, NGContext context ) {
+			recordedIDs.add( context.elementID().toString() );
+		}
+
+		@Override
+		public NGActionResults invokeAction( NGRequest request, NGContext context ) {
+			if( context.currentElementIsSender() ) {
+				return new NGStandardResponse( context.elementID().toString(), 200 );
+			}
+
+			return null;
+		}
+	}
+
+	private static NGElement parse( final String template, final boolean compile ) throws Exception {
+		final NGElementManager elementManager = new NGElementManager();
+		elementManager.registerElementProvider( new ElementsByPackage( null, "ng.appserver.templating.elements" ) );
+		elementManager.registerElementProvider( new ElementByClass( null, NGString.class, new String[] { "str" } ) );
+		elementManager.registerElementProvider( new ElementByClass( null, NGConditional.class, new String[] { "if" } ) );
+		elementManager.registerElementProvider( new ElementByClass( null, IDRecorder.class, new String[] {} ) );
+		return new NGTemplateParserProxy( template, "", elementManager, compile ).parse();
+	}
+
+	private static NGContext context() {
+		final NGRequest request = new NGStandardRequest( "GET", "/", "HTTP/1.1", Map.of(), Map.of(), Map.of(), new ByteArrayInputStream( new byte[0] ) );
+		final NGContext context = new NGContext( request );
+		context.setComponent( new TestComponent( context ) );
+		return context;
+	}
+
+	private static String render( final NGElement template ) {
+		final NGResponse response = new NGStandardResponse();
+		template.appendOrTraverse( response, context() );
+		return response.contentString();
+	}
+
+	private static List<String> takeValues( final NGElement template ) {
+		final NGContext context = context();
+		IDRecorder.recordedIDs.clear();
+		template.takeValuesFromRequest( context.request(), context );
+		return List.copyOf( IDRecorder.recordedIDs );
+	}
+
+	private static NGResponse invokeAction( final NGElement template, final String senderID ) {
+		final NGContext context = context();
+		context._setSenderIDFromString( senderID );
+		return (NGResponse)template.invokeAction( context.request(), context );
+	}
+}
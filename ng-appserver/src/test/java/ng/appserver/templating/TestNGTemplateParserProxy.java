@@ -0,0 +1,46 @@
+package ng.appserver.templating;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import ng.appserver.NGRespBuilder;
+import ng.appserver.NGResponse;
+import ng.appserver.templating.NGElementManager.ElementsByPackage;
+import ng.appserver.templating.elements.NGDynamicGroup;
+import ng.appserver.templating.elements.NGHTMLBareString;
+import ng.xperimental.NGErrorMessageElement;
+
+public class TestNGTemplateParserProxy {
+
+	@Test
+	public void adjacentStaticContentIsCoalesced() throws Exception {
+		final NGElement template = parse( "<p>Before</p><p:comment>Stripped</p:comment><wo:NGGenericElement elementName=\"br\" /><p>After</p>" );
+		assertTrue( template instanceof NGHTMLBareString );
+		assertEquals( "<p>Before</p><br /><p>After</p>", ((NGHTMLBareString)template).string() );
+
+		final NGResponse response = NGRespBuilder.of();
+		template.appendToResponse( response, null );
+		assertEquals( "<p>Before</p><br /><p>After</p>", response.contentString() );
+	}
+
+	@Test
+	public void dynamicContentSeparatesStaticContent() throws Exception {
+		final NGElement template = parse( "<p>Before</p><wo:NGGenericElement elementName=\"$name\" /><p>After</p>" );
+		assertTrue( template instanceof NGDynamicGroup );
+		assertEquals( 3, ((NGDynamicGroup)template).children().size() );
+	}
+
+	@Test
+	public void bindingConfigurationErrorsRenderAsErrorMessages() throws Exception {
+		// NGRepetition requires [list] or [count]
+		assertTrue( parse( "<wo:NGRepetition />" ) instanceof NGErrorMessageElement );
+	}
+
+	private static NGElement parse( final String template ) throws Exception {
+		final NGElementManager elementManager = new NGElementManager();
+		elementManager.registerElementProvider( new ElementsByPackage( null, "ng.appserver.templating.elements" ) );
+		return new NGTemplateParserProxy( template, "", elementManager, false ).parse();
+	}
+}
@@ -0,0 +1,19 @@
+package ng.appserver.templating;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+public class TestNGTemplateWarmUp {
+
+	@Test
+	public void templateName() {
+		assertEquals( "Main", NGTemplateWarmUp.templateName( "Main.html" ) );
+		assertEquals( "Main", NGTemplateWarmUp.templateName( "Main.wo/Main.html" ) );
+		assertEquals( "Main", NGTemplateWarmUp.templateName( "Main.ngt" ) );
+		assertNull( NGTemplateWarmUp.templateName( "Main.wo/Main.wod" ) );
+		assertNull( NGTemplateWarmUp.templateName( "Main.wo/Other.html" ) );
+		assertNull( NGTemplateWarmUp.templateName( "styles.css" ) );
+	}
+}
@@ -0,0 +1,143 @@
+package ng.appserver.templating;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import ng.appserver.NGContext;
+import ng.appserver.NGRequest;
+import ng.appserver.NGResponse;
+import ng.appserver.NGStandardRequest;
+import ng.appserver.NGStandardResponse;
+import ng.appserver.templating.NGElementManager.ElementByClass;
+import ng.appserver.templating.NGElementManager.ElementsByPackage;
+import ng.appserver.templating.elements.NGConditional;
+import ng.appserver.templating.elements.NGRepetition;
+import ng.appserver.templating.elements.NGString;
+import ng.appserver.templating.elements.ajax.AjaxUpdateContainer;
+
+public class TestNGUpdateContainerIndex {
+
+	private static final String TEMPLATE = """
+			<ul><wo:repetition list="$items" item="$item"><li><wo:str value="$item" /></li></wo:repetition></ul>
+			<wo:AjaxUpdateContainer id="outer"><wo:str value="$userName" /><wo:AjaxUpdateContainer id="inner">Inner</wo:AjaxUpdateContainer></wo:AjaxUpdateContainer>
+			<wo:if condition="$show"><wo:AjaxUpdateContainer id="$dynamicID">Dynamic</wo:AjaxUpdateContainer></wo:if>
+			""";
+
+	@Test
+	public void union() {
+		final NGUpdateContainerIndex a = NGUpdateContainerIndex.of( "a" );
+		assertSame( a, a.union( NGUpdateContainerIndex.EMPTY ) );
+		assertSame( a, NGUpdateContainerIndex.EMPTY.union( a ) );
+
+		final NGUpdateContainerIndex ab = a.union( NGUpdateContainerIndex.of( "b" ) );
+		assertEquals( Set.of( "a", "b" ), ab.containerIDs() );
+		assertFalse( ab.mayContainAny() );
+		assertTrue( ab.mayContainAnyOf( Set.of( "c", "b" ) ) );
+		assertFalse( ab.mayContainAnyOf( Set.of( "c" ) ) );
+
+		assertTrue( ab.union( NGUpdateContainerIndex.ANY ).mayContainAnyOf( Set.of( "c" ) ) );
+		assertFalse( NGUpdateContainerIndex.EMPTY.mayContainAnyOf( Set.of( "c" ) ) );
+	}
+
+	@Test
+	public void replacingComponentContent() {
+		final NGUpdateContainerIndex template = NGUpdateContainerIndex.of( "a" ).union( NGUpdateContainerIndex.COMPONENT_CONTENT );
+		assertTrue( template.containsComponentContent() );
+		assertTrue( template.mayContainAnyOf( Set.of( "b" ) ) );
+
+		final NGUpdateContainerIndex withContent = template.replacingComponentContent( NGUpdateContainerIndex.of( "b" ) );
+		assertFalse( withContent.containsComponentContent() );
+		assertEquals( Set.of( "a", "b" ), withContent.containerIDs() );
+		assertFalse( withContent.mayContainAnyOf( Set.of( "c" ) ) );
+
+		// A template that doesn't render it's content isn't affected by it
+		final NGUpdateContainerIndex a = NGUpdateContainerIndex.of( "a" );
+		assertSame( a, a.replacingComponentContent( NGUpdateContainerIndex.ANY ) );
+	}
+
+	@Test
+	public void templateIndex() throws Exception {
+		final NGUpdateContainerIndex index = parse( "<div><wo:AjaxUpdateContainer id=\"outer\"><wo:AjaxUpdateContainer id=\"inner\" /></wo:AjaxUpdateContainer></div>", false ).updateContainerIndex();
+		assertEquals( Set.of( "outer", "inner" ), index.containerIDs() );
+		assertFalse( index.mayContainAny() );
+
+		// A container with a dynamic id could be any container
+		assertTrue( parse( TEMPLATE, false ).updateContainerIndex().mayContainAny() );
+	}
+
+	@Test
+	public void partialRenderSkipsSubtrees() throws Exception {
+		for( final boolean compile : new boolean[] { false, true } ) {
+			final NGElement template = parse( TEMPLATE, compile );
+
+			final NGContext full = context( null );
+			final String fullRender = render( template, full );
+			assertTrue( fullRender.contains( "<li>One</li><li>Two</li>" ) );
+			assertEquals( 1, component( full ).itemsInvocations );
+
+			// The repetition can't contain the targeted container, so it's list never gets evaluated
+			final NGContext partial = context( "inner" );
+			assertEquals( "Inner", render( template, partial ) );
+			assertEquals( 0, component( partial ).itemsInvocations );
+
+			final NGContext dynamic = context( "dynamic" );
+			assertEquals( "Dynamic", render( template, dynamic ) );
+			assertEquals( 0, component( dynamic ).itemsInvocations );
+		}
+	}
+
+	public static class TestComponent extends NGComponent {
+
+		public String userName = "Hugi";
+		public String item;
+		public boolean show = true;
+		public String dynamicID = "dynamic";
+		public int itemsInvocations;
+
+		public TestComponent( NGContext context ) {
+			super( context );
+		}
+
+		public List<String> items() {
+			itemsInvocations++;
+			return List.of( "One", "Two" );
+		}
+	}
+
+	private static NGElement parse( final String template, final boolean compile ) throws Exception {
+		final NGElementManager elementManager = new NGElementManager();
+		elementManager.registerElementProvider( new ElementsByPackage( null, "ng.appserver.templating.elements" ) );
+		elementManager.registerElementProvider( new ElementByClass( null, NGString.class, new String[] { "str" } ) );
+		elementManager.registerElementProvider( new ElementByClass( null, NGConditional.class, new String[] { "if" } ) );
+		elementManager.registerElementProvider( new ElementByClass( null, NGRepetition.class, new String[] { "repetition" } ) );
+		elementManager.registerElementProvider( new ElementByClass( null, AjaxUpdateContainer.class, new String[] {} ) );
+		return new NGTemplateParserProxy( template, "", elementManager, compile ).parse();
+	}
+
+	private static NGContext context( final String targetedContainerIDs ) {
+		final Map<String, List<String>> formValues = targetedContainerIDs == null ? Map.of() : Map.of( "ng-container-id", List.of( targetedContainerIDs ) );
+		final NGRequest request = new NGStandardRequest( "GET", "/", "HTTP/1.1", Map.of(), formValues, Map.of(), new ByteArrayInputStream( new byte[0] ) );
+		final NGContext context = new NGContext( request );
+		context.setComponent( new TestComponent( context ) );
+		return context;
+	}
+
+	private static TestComponent component( final NGContext context ) {
+		return (TestComponent)context.component();
+	}
+
+	private static String render( final NGElement template, final NGContext context ) {
+		final NGResponse response = new NGStandardResponse();
+		template.appendOrTraverse( response, context );
+		return response.contentString();
+	}
+}
@@ -0,0 +1,109 @@
+package ng.benchmarks.kvc;
+
+/**
+ * Classes used as KVC receivers by the benchmarks, one for each way KVC resolves a key
+ */
+
+public class BenchmarkObjects {
+
+	/**
+	 * Resolves "name" through a getter method and "street" through a bean-style getter/setter pair
+	 */
+	public static class GetterObject {
+		private String _name = "Hugi";
+		private String _street = "Laugavegur";
+
+		public String name() {
+			return _name;
+		}
+
+		public void setName( String value ) {
+			_name = value;
+		}
+
+		public String getStreet() {
+			return _street;
+		}
+
+		public void setStreet( String value ) {
+			_street = value;
+		}
+	}
+
+	/**
+	 * Resolves "name" through a public field
+	 */
+	public static class FieldObject {
+		public String name = "Hugi";
+	}
+
+	/**
+	 * Resolves "name" through a public field prefixed with an underscore
+	 */
+	public static class UnderscoreFieldObject {
+		public String _name = "Hugi";
+	}
+
+	/**
+	 * Resolves "name" through the record's component accessor
+	 */
+	public record RecordObject( String name ) {}
+
+	public interface Named {
+		public String name();
+	}
+
+	/**
+	 * The class isn't public, so "name" has to be resolved through the public interface it implements
+	 */
+	private static class InterfaceObject implements Named {
+
+		@Override
+		public String name() {
+			return "Hugi";
+		}
+	}
+
+	/**
+	 * Object with a to-one relationship, for keyPath benchmarks
+	 */
+	public static class Parent {
+		private final GetterObject _child = new GetterObject();
+
+		public GetterObject child() {
+			return _child;
+		}
+	}
+
+	/**
+	 * @return An instance of a non-public class implementing Named
+	 */
+	public static Named interfaceObject() {
+		return new InterfaceObject();
+	}
+
+	// Distinct classes, all implementing name(), used to generate polymorphic call sites
+	public static class Named1 implements Named { @Override public String name() { return "1"; } }
+	public static class Named2 implements Named { @Override public String name() { return "2"; } }
+	public static class Named3 implements Named { @Override public String name() { return "3"; } }
+	public static class Named4 implements Named { @Override public String name() { return "4"; } }
+	public static class Named5 implements Named { @Override public String name() { return "5"; } }
+	public static class Named6 implements Named { @Override public String name() { return "6"; } }
+	public static class Named7 implements Named { @Override public String name() { return "7"; } }
+	public static class Named8 implements Named { @Override public String name() { return "8"; } }
+
+	/**
+	 * @return An array of [count] receivers, each one an instance of a different class
+	 */
+	public static Object[] polymorphicReceivers( final int count ) {
+		final Object[] all = { new Named1(), new Named2(), new Named3(), new Named4(), new Named5(), new Named6(), new Named7(), new Named8() };
+
+		if( count < 1 || count > all.length ) {
+			throw new IllegalArgumentException( "Receiver count must be between 1 and " + all.length );
+		}
+
+		final Object[] result = new Object[count];
+		System.arraycopy( all, 0, result, 0, count );
+		return result;
+	}
+}
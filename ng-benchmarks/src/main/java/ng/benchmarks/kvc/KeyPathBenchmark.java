@@ -0,0 +1,78 @@
+package ng.benchmarks.kvc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ng.benchmarks.kvc.BenchmarkObjects.Parent;
+import ng.kvc.NGKeyPath;
+import ng.kvc.NGKeyValueCoding;
+import ng.kvc.NGKeyValueCodingAdditions;
+
+/**
+ * NGKeyValueCodingAdditions.Utility.valueForKeyPath() compared to evaluating a pre-parsed NGKeyPath, with binding caching on and off
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyPathBenchmark {
+
+	@Param({ "true", "false" })
+	public boolean cachingEnabled;
+
+	private final Parent _parent = new Parent();
+	private final NGKeyPath _singleKeyPath = NGKeyPath.of( "child" );
+	private final NGKeyPath _twoKeyPath = NGKeyPath.of( "child.name" );
+
+	@Setup(Level.Trial)
+	public void setup() {
+		NGKeyValueCoding.DefaultImplementation.setCachingEnabled( cachingEnabled );
+	}
+
+	@Benchmark
+	public Object valueForKeyPathSingleKey() {
+		return NGKeyValueCodingAdditions.Utility.valueForKeyPath( _parent, "child" );
+	}
+
+	@Benchmark
+	public Object valueForKeyPathTwoKeys() {
+		return NGKeyValueCodingAdditions.Utility.valueForKeyPath( _parent, "child.name" );
+	}
+
+	@Benchmark
+	public Object keyPathSingleKey() {
+		return _singleKeyPath.valueInObject( _parent );
+	}
+
+	@Benchmark
+	public Object keyPathTwoKeys() {
+		return _twoKeyPath.valueInObject( _parent );
+	}
+
+	@Benchmark
+	public Parent takeValueForKeyPath() {
+		NGKeyValueCodingAdditions.Utility.takeValueForKeyPath( _parent, "Hugi", "child.name" );
+		return _parent;
+	}
+
+	@Benchmark
+	public Parent keyPathTakeValue() {
+		_twoKeyPath.takeValueInObject( "Hugi", _parent );
+		return _parent;
+	}
+}
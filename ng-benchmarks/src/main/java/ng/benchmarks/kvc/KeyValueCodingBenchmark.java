@@ -0,0 +1,121 @@
+package ng.benchmarks.kvc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ng.benchmarks.kvc.BenchmarkObjects.FieldObject;
+import ng.benchmarks.kvc.BenchmarkObjects.GetterObject;
+import ng.benchmarks.kvc.BenchmarkObjects.RecordObject;
+import ng.benchmarks.kvc.BenchmarkObjects.UnderscoreFieldObject;
+import ng.kvc.NGKeyValueCoding;
+
+/**
+ * NGKeyValueCoding.Utility.valueForKey()/takeValueForKey() for each kind of binding, with binding caching on and off
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyValueCodingBenchmark {
+
+	@Param({ "true", "false" })
+	public boolean cachingEnabled;
+
+	private final GetterObject _getterObject = new GetterObject();
+	private final FieldObject _fieldObject = new FieldObject();
+	private final UnderscoreFieldObject _underscoreFieldObject = new UnderscoreFieldObject();
+	private final RecordObject _recordObject = new RecordObject( "Hugi" );
+	private final Object _interfaceObject = BenchmarkObjects.interfaceObject();
+
+	@Setup(Level.Trial)
+	public void setup() {
+		NGKeyValueCoding.DefaultImplementation.setCachingEnabled( cachingEnabled );
+	}
+
+	@Benchmark
+	public Object valueForKeyGetter() {
+		return NGKeyValueCoding.Utility.valueForKey( _getterObject, "name" );
+	}
+
+	@Benchmark
+	public Object valueForKeyBeanGetter() {
+		return NGKeyValueCoding.Utility.valueForKey( _getterObject, "street" );
+	}
+
+	@Benchmark
+	public Object valueForKeyField() {
+		return NGKeyValueCoding.Utility.valueForKey( _fieldObject, "name" );
+	}
+
+	@Benchmark
+	public Object valueForKeyUnderscoreField() {
+		return NGKeyValueCoding.Utility.valueForKey( _underscoreFieldObject, "name" );
+	}
+
+	@Benchmark
+	public Object valueForKeyRecordComponent() {
+		return NGKeyValueCoding.Utility.valueForKey( _recordObject, "name" );
+	}
+
+	@Benchmark
+	public Object valueForKeyInterfaceInherited() {
+		return NGKeyValueCoding.Utility.valueForKey( _interfaceObject, "name" );
+	}
+
+	/**
+	 * Measures the cost of failing to resolve a key, including construction of the exception
+	 */
+	@Benchmark
+	public Object valueForKeyMiss() {
+		try {
+			return NGKeyValueCoding.Utility.valueForKey( _getterObject, "nonExistentKey" );
+		}
+		catch( NGKeyValueCoding.UnknownKeyException e ) {
+			return e;
+		}
+	}
+
+	@Benchmark
+	public GetterObject takeValueForKeySetter() {
+		NGKeyValueCoding.Utility.takeValueForKey( _getterObject, "Hugi", "name" );
+		return _getterObject;
+	}
+
+	@Benchmark
+	public GetterObject takeValueForKeyBeanSetter() {
+		NGKeyValueCoding.Utility.takeValueForKey( _getterObject, "Laugavegur", "street" );
+		return _getterObject;
+	}
+
+	@Benchmark
+	public FieldObject takeValueForKeyField() {
+		NGKeyValueCoding.Utility.takeValueForKey( _fieldObject, "Hugi", "name" );
+		return _fieldObject;
+	}
+
+	@Benchmark
+	public Object takeValueForKeyMiss() {
+		try {
+			NGKeyValueCoding.Utility.takeValueForKey( _getterObject, "Hugi", "nonExistentKey" );
+			return _getterObject;
+		}
+		catch( NGKeyValueCoding.UnknownKeyException e ) {
+			return e;
+		}
+	}
+}
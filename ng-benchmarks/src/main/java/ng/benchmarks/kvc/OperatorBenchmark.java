@@ -0,0 +1,109 @@
+package ng.benchmarks.kvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ng.kvc.NGKeyPath;
+import ng.kvc.NGKeyValueCodingAdditions;
+
+/**
+ * Collection operators over collections of [size] elements, evaluated sequentially and in parallel (parallelThreshold of 0)
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperatorBenchmark {
+
+	@Param({ "1000", "100000" })
+	public int size;
+
+	@Param({ "false", "true" })
+	public boolean parallel;
+
+	private List<Row> _rows;
+	private final NGKeyPath _sumQuantity = NGKeyPath.of( "@sum.quantity" );
+	private final NGKeyPath _avgPrice = NGKeyPath.of( "@avg.price" );
+	private final NGKeyPath _maxName = NGKeyPath.of( "@max.name" );
+
+	@Setup(Level.Trial)
+	public void setup() {
+		NGKeyValueCodingAdditions.Operators.setParallelThreshold( parallel ? 0 : Integer.MAX_VALUE );
+
+		_rows = new ArrayList<>( size );
+
+		for( int i = 0; i < size; i++ ) {
+			_rows.add( new Row( "row" + i, i, i / 3.0 ) );
+		}
+	}
+
+	@Benchmark
+	public Object sumPrimitiveInt() {
+		return _sumQuantity.valueInObject( _rows );
+	}
+
+	@Benchmark
+	public Object avgPrimitiveDouble() {
+		return _avgPrice.valueInObject( _rows );
+	}
+
+	@Benchmark
+	public Object maxComparable() {
+		return _maxName.valueInObject( _rows );
+	}
+
+	/**
+	 * Baseline: the loop templates would otherwise be calling
+	 */
+	@Benchmark
+	public long handwrittenSum() {
+		long sum = 0;
+
+		for( final Row row : _rows ) {
+			sum += row.quantity();
+		}
+
+		return sum;
+	}
+
+	public static class Row {
+		private final String _name;
+		private final int _quantity;
+		private final double _price;
+
+		public Row( String name, int quantity, double price ) {
+			_name = name;
+			_quantity = quantity;
+			_price = price;
+		}
+
+		public String name() {
+			return _name;
+		}
+
+		public int quantity() {
+			return _quantity;
+		}
+
+		public double price() {
+			return _price;
+		}
+	}
+}
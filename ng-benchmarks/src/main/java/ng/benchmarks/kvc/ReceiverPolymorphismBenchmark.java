@@ -0,0 +1,77 @@
+package ng.benchmarks.kvc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ng.kvc.NGKeyPath;
+import ng.kvc.NGKeyValueCoding;
+
+/**
+ * Resolves the same key against receivers of [receiverClassCount] different classes, from monomorphic (1) through polymorphic to megamorphic (8).
+ * Each invocation performs one lookup per receiver in a fixed array, so results are reported per lookup.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReceiverPolymorphismBenchmark {
+
+	/**
+	 * Number of receivers in the array. Receivers are cycled through in the order they were created, so each call site sees them all
+	 */
+	private static final int RECEIVER_COUNT = 64;
+
+	@Param({ "1", "2", "4", "8" })
+	public int receiverClassCount;
+
+	@Param({ "true", "false" })
+	public boolean cachingEnabled;
+
+	private Object[] _receivers;
+	private final NGKeyPath _keyPath = NGKeyPath.of( "name" );
+
+	@Setup(Level.Trial)
+	public void setup() {
+		NGKeyValueCoding.DefaultImplementation.setCachingEnabled( cachingEnabled );
+
+		final Object[] distinctReceivers = BenchmarkObjects.polymorphicReceivers( receiverClassCount );
+		_receivers = new Object[RECEIVER_COUNT];
+
+		for( int i = 0; i < RECEIVER_COUNT; i++ ) {
+			_receivers[i] = distinctReceivers[i % distinctReceivers.length];
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RECEIVER_COUNT)
+	public void valueForKey( final Blackhole blackhole ) {
+		for( final Object receiver : _receivers ) {
+			blackhole.consume( NGKeyValueCoding.Utility.valueForKey( receiver, "name" ) );
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RECEIVER_COUNT)
+	public void keyPath( final Blackhole blackhole ) {
+		for( final Object receiver : _receivers ) {
+			blackhole.consume( _keyPath.valueInObject( receiver ) );
+		}
+	}
+}
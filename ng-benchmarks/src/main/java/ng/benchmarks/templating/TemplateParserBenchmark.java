@@ -0,0 +1,140 @@
+package ng.benchmarks.templating;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ng.appserver.templating.parser.NGTemplateParser;
+import ng.appserver.templating.parser.model.PNode;
+
+/**
+ * Parsing of a generated template of at least [sizeKB] kilobytes, made of blocks nested [depth] levels deep.
+ * The template is parsed both from a String, and from a CharSequence decoded from a memory-mapped file.
+ *
+ * Throughput in MB/s is the template size divided by the average time.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateParserBenchmark {
+
+	@Param({ "1024", "4096" })
+	public int sizeKB;
+
+	@Param({ "4", "64" })
+	public int depth;
+
+	private static final String DECLARATIONS = """
+			Greeting : String {
+				value = greeting;
+			}
+			""";
+
+	private String _template;
+	private Path _templateFile;
+	private FileChannel _templateChannel;
+	private MappedByteBuffer _mappedTemplate;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		_template = template( sizeKB * 1024, depth );
+		_templateFile = Files.createTempFile( "ng-benchmark", ".html" );
+		Files.writeString( _templateFile, _template );
+		_templateChannel = FileChannel.open( _templateFile );
+		_mappedTemplate = _templateChannel.map( MapMode.READ_ONLY, 0, _templateChannel.size() );
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		_templateChannel.close();
+		Files.deleteIfExists( _templateFile );
+	}
+
+	@Benchmark
+	public PNode parseString() throws Exception {
+		return new NGTemplateParser( _template, DECLARATIONS ).parse();
+	}
+
+	@Benchmark
+	public PNode parseMappedFile() throws Exception {
+		return new NGTemplateParser( StandardCharsets.UTF_8.decode( _mappedTemplate.duplicate() ), DECLARATIONS ).parse();
+	}
+
+	/**
+	 * @return A template of at least [minimumLength] characters, made of repeated blocks of mixed HTML and dynamic tags, nested [depth] levels deep
+	 */
+	public static String template( final int minimumLength, final int depth ) {
+		final StringBuilder b = new StringBuilder( minimumLength + 64 * 1024 );
+		b.append( "<!DOCTYPE html>\n<html>\n<head>\n\t<title>Benchmark</title>\n</head>\n<body>\n" );
+
+		int blockNumber = 0;
+
+		while( b.length() < minimumLength ) {
+			appendBlock( b, depth, blockNumber++ );
+		}
+
+		b.append( "</body>\n</html>\n" );
+		return b.toString();
+	}
+
+	private static void appendBlock( final StringBuilder b, final int depth, final int blockNumber ) {
+
+		for( int level = 0; level < depth; level++ ) {
+			indent( b, level );
+
+			switch( level % 3 ) {
+				case 0 -> b.append( "<div class=\"block-%s level-%s\" data-level=\"%s\">\n".formatted( blockNumber, level, level ) );
+				case 1 -> b.append( "<wo:if condition=\"$showLevel%s\">\n".formatted( level ) );
+				case 2 -> b.append( "<wo:repetition list=\"$items\" item=\"$item\" index=\"$index\">\n" );
+			}
+		}
+
+		indent( b, depth );
+		b.append( "<h2>Block number %s</h2>\n".formatted( blockNumber ) );
+		indent( b, depth );
+		b.append( "<p>Lorem ipsum dolor sit amet, consectetur adipiscing elit. <span class=\"name\"><wo:str value=\"$item.name\" /></span> sed do eiusmod tempor incididunt ut labore et dolore magna aliqua.</p>\n" );
+		indent( b, depth );
+		b.append( "<table class=\"data\"><tr><th>Name</th><th>Value</th></tr><tr><td><webobject name=\"Greeting\" /></td><td><wo:link href=\"/items/%s\" disabled>Details</wo:link></td></tr></table>\n".formatted( blockNumber ) );
+		indent( b, depth );
+		b.append( "<svg width=\"16\" height=\"16\"><svg:rect width=\"16\" height=\"16\" /></svg>\n" );
+		indent( b, depth );
+		b.append( "<p:comment>Nothing in here ends up in the parsed template, <wo:str value=\"$ignored\" /></p:comment>\n" );
+
+		for( int level = depth - 1; level >= 0; level-- ) {
+			indent( b, level );
+
+			switch( level % 3 ) {
+				case 0 -> b.append( "</div>\n" );
+				case 1 -> b.append( "</wo:if>\n" );
+				case 2 -> b.append( "</wo:repetition>\n" );
+			}
+		}
+	}
+
+	private static void indent( final StringBuilder b, final int level ) {
+		b.repeat( '\t', level );
+	}
+}
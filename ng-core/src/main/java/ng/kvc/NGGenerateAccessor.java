@@ -0,0 +1,19 @@
+package ng.kvc;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class for generation of a reflection-free KVC accessor at compile time, by the annotation processor in ng-kvc-processor.
+ *
+ * The generated accessor is a class named [BinaryNameOfClass]_KVCAccessor in the same package as the annotated class, implementing NGKeyValueCodingAccessor.
+ * NGKeyValueCoding.Utility will use the generated accessor for instances of the annotated class (but not it's subclasses).
+ *
+ * Annotated classes must be public, since KVC only exposes public members and we want the generated accessor to see exactly what reflective KVC sees.
+ */
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface NGGenerateAccessor {}
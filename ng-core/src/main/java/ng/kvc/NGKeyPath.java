@@ -0,0 +1,339 @@
+package ng.kvc;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import ng.kvc.NGKeyValueCoding.DefaultImplementation;
+import ng.kvc.NGKeyValueCoding.DefaultImplementation.KVCReadBinding;
+import ng.kvc.NGKeyValueCoding.UnknownKeyException;
+import ng.kvc.NGKeyValueCodingAdditions.Operators;
+import ng.kvc.NGKeyValueCodingAdditions.Operators.Operator;
+
+/**
+ * A keyPath that has been parsed into it's key segments.
+ *
+ * Intended for keyPaths that get resolved repeatedly (for example, the keyPath of a template association). The keyPath is only parsed once, and each segment keeps an inline cache of
+ * the bindings it has resolved for the classes it has been applied to, so resolving the keyPath in a steady state doesn't require string splitting, hashing or allocation.
+ *
+ * Resolution semantics are the same as for NGKeyValueCodingAdditions.Utility.valueForKeyPath()/takeValueForKeyPath(), including collection operators (see NGKeyValueCodingAdditions.Operators).
+ * The part of the keyPath following an operator is parsed into it's own NGKeyPath, which then gets applied to each element of the collection.
+ */
+
+public final class NGKeyPath {
+
+	/**
+	 * The number of receiver classes we'll cache bindings for in each segment. If a segment sees more classes than this, we consider it megamorphic and stop caching (and go directly to the binding cache)
+	 */
+	private static final int MAX_CACHED_CLASSES = 4;
+
+	/**
+	 * The original keyPath string
+	 */
+	private final String _keyPath;
+
+	/**
+	 * The segments of the keyPath
+	 */
+	private final Segment[] _segments;
+
+	/**
+	 * Index of the segment containing the keyPath's operator, -1 if the keyPath doesn't contain an operator
+	 */
+	private final int _operatorIndex;
+
+	/**
+	 * The keyPath's operator, null if none
+	 */
+	private final Operator _operator;
+
+	/**
+	 * The part of the keyPath following the operator, null if the operator is the last key in the keyPath (or there's no operator)
+	 */
+	private final NGKeyPath _operatorKeyPath;
+
+	private NGKeyPath( final String keyPath ) {
+		Objects.requireNonNull( keyPath );
+		_keyPath = keyPath;
+		_segments = parse( keyPath );
+		_operatorIndex = operatorIndex( _segments );
+
+		if( _operatorIndex == -1 ) {
+			_operator = null;
+			_operatorKeyPath = null;
+		}
+		else {
+			_operator = Operator.named( _segments[_operatorIndex]._key.substring( 1 ) );
+			_operatorKeyPath = _operatorIndex == _segments.length - 1 ? null : NGKeyPath.of( keyPath.substring( operatorKeyPathStart( keyPath, _operatorIndex ) ) );
+		}
+	}
+
+	/**
+	 * @return A parsed version of the given keyPath
+	 */
+	public static NGKeyPath of( final String keyPath ) {
+		return new NGKeyPath( keyPath );
+	}
+
+	/**
+	 * @return The keyPath split into it's segments on periods
+	 */
+	private static Segment[] parse( final String keyPath ) {
+		int segmentCount = 1;
+
+		for( int i = 0; i < keyPath.length(); i++ ) {
+			if( keyPath.charAt( i ) == '.' ) {
+				segmentCount++;
+			}
+		}
+
+		final Segment[] segments = new Segment[segmentCount];
+
+		int start = 0;
+
+		for( int i = 0; i < segmentCount; i++ ) {
+			int end = keyPath.indexOf( '.', start );
+
+			if( end == -1 ) {
+				end = keyPath.length();
+			}
+
+			segments[i] = new Segment( keyPath.substring( start, end ) );
+			start = end + 1;
+		}
+
+		return segments;
+	}
+
+	/**
+	 * @return The index of the first segment that's an operator (prefixed with '@'), -1 if none
+	 */
+	private static int operatorIndex( final Segment[] segments ) {
+		for( int i = 0; i < segments.length; i++ ) {
+			if( segments[i]._key.startsWith( "@" ) ) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * @return The index in the keyPath string where the keyPath following the operator at the given segment index starts
+	 */
+	private static int operatorKeyPathStart( final String keyPath, final int operatorIndex ) {
+		int index = -1;
+
+		for( int i = 0; i <= operatorIndex; i++ ) {
+			index = keyPath.indexOf( '.', index + 1 );
+		}
+
+		return index + 1;
+	}
+
+	/**
+	 * @return The keyPath string
+	 */
+	public String keyPath() {
+		return _keyPath;
+	}
+
+	/**
+	 * @return The number of keys in the keyPath
+	 */
+	public int length() {
+		return _segments.length;
+	}
+
+	/**
+	 * @return The key at the given index
+	 */
+	public String keyAtIndex( final int index ) {
+		return _segments[index]._key;
+	}
+
+	/**
+	 * @return true if the keyPath contains a collection operator. Such keyPaths are read-only.
+	 */
+	public boolean hasOperator() {
+		return _operator != null;
+	}
+
+	/**
+	 * @return The binding for the keyPath's key on the given object. Only valid for keyPaths consisting of a single key (without an operator), and objects that don't implement NGKeyValueCoding.
+	 */
+	KVCReadBinding readBindingForObject( final Object object ) {
+		return _segments[0].readBindingForKey( object );
+	}
+
+	/**
+	 * @return The value of the keyPath resolved against the given object
+	 */
+	public Object valueInObject( final Object object ) {
+		Objects.requireNonNull( object );
+
+		if( object instanceof NGKeyValueCodingAdditions kvcAdditionsObject ) {
+			return kvcAdditionsObject.valueForKeyPath( _keyPath );
+		}
+
+		return valueInObject( object, _segments.length );
+	}
+
+	/**
+	 * @return The value of the first [segmentCount] segments of the keyPath, resolved against the given object
+	 */
+	private Object valueInObject( final Object object, final int segmentCount ) {
+		Object result = object;
+
+		for( int i = 0; i < segmentCount; i++ ) {
+			try {
+				if( i == _operatorIndex ) {
+					// The operator consumes the rest of the keyPath
+					return Operators.valueForOperator( result, _operator, _operatorKeyPath );
+				}
+
+				result = _segments[i].valueInObject( result );
+			}
+			catch( UnknownKeyException e ) {
+				// If the key is part of a longer keyPath, we're going to add info on the actual keyPath we're resolving to the thrown exception
+				if( _segments.length > 1 ) {
+					throw new UnknownKeyException( "While resolving keypath '%s': %s".formatted( _keyPath, e.getMessage() ) );
+				}
+
+				throw e;
+			}
+
+			if( result == null ) {
+				return null;
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Sets the value for the keyPath in the given object
+	 */
+	public void takeValueInObject( final Object value, final Object object ) {
+		Objects.requireNonNull( object );
+
+		if( _operator != null ) {
+			throw new IllegalArgumentException( "Can't set a value through keyPath '%s' since it contains an operator".formatted( _keyPath ) );
+		}
+
+		if( object instanceof NGKeyValueCodingAdditions kvcAdditionsObject ) {
+			kvcAdditionsObject.takeValueForKeyPath( value, _keyPath );
+			return;
+		}
+
+		final int lastIndex = _segments.length - 1;
+
+		// The targeted object is found by resolving the keyPath up to (excluding) the last element
+		// FIXME: Our targeted object could have been resolved to null, which is currently a hard fail (same as in NGKeyValueCodingAdditions.DefaultImplementation)
+		final Object targetObject = lastIndex == 0 ? object : valueInObject( object, lastIndex );
+		NGKeyValueCoding.Utility.takeValueForKey( targetObject, value, _segments[lastIndex]._key );
+	}
+
+	@Override
+	public String toString() {
+		return _keyPath;
+	}
+
+	/**
+	 * A single key in the keyPath, along with the bindings it has resolved
+	 */
+	private static final class Segment {
+
+		private final String _key;
+
+		/**
+		 * Inline cache of the bindings resolved by this segment, one entry per receiver class.
+		 *
+		 * A segment can be resolved concurrently, for example when a collection operator's keyPath gets applied to elements on the fork-join pool (see NGKeyValueCodingAdditions.Operators).
+		 * The cache is immutable and replaced as a whole when an entry is added, so a thread always sees a complete cache. Two threads adding an entry at the same time might lose one of the
+		 * entries, which is benign: it just means the next lookup for that class misses the cache and adds it again.
+		 *
+		 * The cache also holds the KVC cache generation it was populated in. If a class gets invalidated, we start over.
+		 */
+		private volatile SegmentCache _cache = SegmentCache.empty( DefaultImplementation.cacheGeneration() );
+
+		private Segment( final String key ) {
+			_key = key;
+		}
+
+		private Object valueInObject( final Object object ) {
+
+			if( object instanceof NGKeyValueCoding kvcObject ) {
+				return kvcObject.valueForKey( _key );
+			}
+
+			if( !DefaultImplementation._cachingEnabled ) {
+				return DefaultImplementation.valueForKey( object, _key );
+			}
+
+			final int cacheGeneration = DefaultImplementation.cacheGeneration();
+			SegmentCache cache = _cache;
+
+			if( cache.generation() != cacheGeneration ) {
+				cache = SegmentCache.empty( cacheGeneration );
+				_cache = cache;
+			}
+
+			final Class<?> objectClass = object.getClass();
+
+			for( final CacheEntry entry : cache.entries() ) {
+				if( entry.objectClass() == objectClass ) {
+					return entry.binding().valueInObject( object );
+				}
+			}
+
+			final KVCReadBinding binding = readBindingForKey( object );
+
+			if( !cache.megamorphic() ) {
+				_cache = cache.adding( objectClass, binding );
+			}
+
+			return binding.valueInObject( object );
+		}
+
+		/**
+		 * @return A binding for this segment's key on the given object, using the object's generated accessor if one exists
+		 */
+		private KVCReadBinding readBindingForKey( final Object object ) {
+			final NGKeyValueCodingAccessor generatedAccessor = NGKeyValueCoding.Utility.generatedAccessor( object.getClass() );
+
+			if( generatedAccessor != null ) {
+				return o -> generatedAccessor.valueForKey( o, _key );
+			}
+
+			return DefaultImplementation.readBindingForKey( object, _key );
+		}
+	}
+
+	/**
+	 * The bindings cached by a segment, populated in the given KVC cache generation. Set to megamorphic once the segment has seen more than MAX_CACHED_CLASSES receiver classes, after which nothing more gets cached.
+	 */
+	private record SegmentCache( int generation, CacheEntry[] entries, boolean megamorphic ) {
+
+		private static final CacheEntry[] NO_ENTRIES = new CacheEntry[0];
+
+		private static SegmentCache empty( final int generation ) {
+			return new SegmentCache( generation, NO_ENTRIES, false );
+		}
+
+		/**
+		 * @return A copy of this cache with an entry for the given class added (or marked as megamorphic if it's full)
+		 */
+		private SegmentCache adding( final Class<?> objectClass, final KVCReadBinding binding ) {
+
+			if( entries.length == MAX_CACHED_CLASSES ) {
+				return new SegmentCache( generation, entries, true );
+			}
+
+			final CacheEntry[] newEntries = Arrays.copyOf( entries, entries.length + 1 );
+			newEntries[entries.length] = new CacheEntry( objectClass, binding );
+			return new SegmentCache( generation, newEntries, false );
+		}
+	}
+
+	private record CacheEntry( Class<?> objectClass, KVCReadBinding binding ) {}
+}
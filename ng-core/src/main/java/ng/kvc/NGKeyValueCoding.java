@@ -1,14 +1,27 @@
 package ng.kvc;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
 
 import ng.NGRuntimeException;
 
@@ -21,7 +34,6 @@ import ng.NGRuntimeException;
  * FIXME: Error handling is completely missing // Hugi 2023-03-18
  * FIXME: Bindings should be marked for directionality (read only/set only etc)
  * FIXME: Decide if we're going to go all the way and do validation and error handling
- * FIXME: We should be using cached MethodHandles for improved performance // https://hazelcast.com/blog/turbocharging-java-reflection-performance-with-methodhandle/ // https://dev.java/learn/introduction_to_method_handles/
  *
  * Lookup order when searching for readable binding for key 'smu':
  *
@@ -51,6 +63,16 @@ public interface NGKeyValueCoding {
 
 	public static class Utility {
 
+		/**
+		 * Generated accessors (see NGGenerateAccessor), by the class they were generated for
+		 */
+		private static final ClassValue<Optional<NGKeyValueCodingAccessor>> _generatedAccessors = new ClassValue<>() {
+			@Override
+			protected Optional<NGKeyValueCodingAccessor> computeValue( final Class<?> objectClass ) {
+				return Optional.ofNullable( locateGeneratedAccessor( objectClass ) );
+			}
+		};
+
 		public static Object valueForKey( final Object object, final String key ) {
 			Objects.requireNonNull( object );
 			Objects.requireNonNull( key );
@@ -59,6 +81,12 @@ public interface NGKeyValueCoding {
 				return kvcObject.valueForKey( key );
 			}
 
+			final NGKeyValueCodingAccessor generatedAccessor = generatedAccessor( object.getClass() );
+
+			if( generatedAccessor != null ) {
+				return generatedAccessor.valueForKey( object, key );
+			}
+
 			return DefaultImplementation.valueForKey( object, key );
 		}
 
@@ -68,50 +96,74 @@ public interface NGKeyValueCoding {
 
 			if( object instanceof NGKeyValueCoding kvcObject ) {
 				kvcObject.takeValueForKey( value, key );
+				return;
+			}
+
+			final NGKeyValueCodingAccessor generatedAccessor = generatedAccessor( object.getClass() );
+
+			if( generatedAccessor != null ) {
+				generatedAccessor.takeValueForKey( object, value, key );
 			}
 			else {
 				DefaultImplementation.takeValueForKey( object, value, key );
 			}
 		}
-	}
 
-	public static class DefaultImplementation {
+		/**
+		 * Reads the values of the plan's keys from the given object, storing them in [values] (aligned with the plan's keys)
+		 */
+		public static void valuesForKeys( final Object object, final Object[] values, final NGKeyValueCodingPlan plan ) {
+			Objects.requireNonNull( plan );
+			plan.valuesForKeys( object, values );
+		}
 
-		public static Object valueForKey( final Object object, final String key ) {
-			Objects.requireNonNull( object );
-			Objects.requireNonNull( key );
+		/**
+		 * Sets the values of the plan's keys in the given object, taking the values from [values] (aligned with the plan's keys)
+		 */
+		public static void takeValuesForKeys( final Object object, final Object[] values, final NGKeyValueCodingPlan plan ) {
+			Objects.requireNonNull( plan );
+			plan.takeValuesForKeys( object, values );
+		}
 
-			final KVCReadBinding kvcBinding = readBindingForKey( object, key );
+		/**
+		 * @return The accessor generated for the given class at compile time, null if none exists
+		 */
+		public static NGKeyValueCodingAccessor generatedAccessor( final Class<?> objectClass ) {
+			return _generatedAccessors.get( objectClass ).orElse( null );
+		}
 
-			if( kvcBinding == null ) {
-				final StringBuilder message = new StringBuilder();
-				message.append( String.format( "Unable to resolve key '%s' against class '%s'.", key, object.getClass().getName() ) );
+		private static NGKeyValueCodingAccessor locateGeneratedAccessor( final Class<?> objectClass ) {
 
-				final List<String> suggestions = NGKeyValueCodingSupport.suggestions( object, key );
+			// Only annotated classes have accessors, checking for the annotation first saves us a failed class lookup for every other class
+			if( !objectClass.isAnnotationPresent( NGGenerateAccessor.class ) ) {
+				return null;
+			}
 
-				if( suggestions.isEmpty() ) {
-					message.append( "The given object has no exposed keys" );
-				}
-				else {
-					message.append( " Did you mean '%s'?".formatted( suggestions.get( 0 ) ) );
+			try {
+				final Class<?> accessorClass = Class.forName( objectClass.getName() + "_KVCAccessor", true, objectClass.getClassLoader() );
+				return (NGKeyValueCodingAccessor)accessorClass.getConstructor().newInstance();
+			}
+			catch( ClassNotFoundException e ) {
+				// The class is annotated, but the accessor wasn't generated (most likely the annotation processor isn't configured for the build). We'll use regular KVC.
+				return null;
+			}
+			catch( ReflectiveOperationException | ClassCastException e ) {
+				throw new RuntimeException( "Failed to construct the generated KVC accessor for class '%s'".formatted( objectClass.getName() ), e );
+			}
+		}
+	}
 
-				}
+	public static class DefaultImplementation {
 
-				throw new UnknownKeyException( message.toString() );
-			}
+		public static Object valueForKey( final Object object, final String key ) {
+			Objects.requireNonNull( object );
+			Objects.requireNonNull( key );
 
-			return kvcBinding.valueInObject( object );
+			return readBindingForKey( object, key ).valueInObject( object );
 		}
 
 		public static void takeValueForKey( final Object object, final Object value, final String key ) {
-			final KVCWriteBinding kvcBinding = writeBindingForKey( object, key );
-
-			if( kvcBinding == null ) {
-				String message = String.format( "Unable to resolve key '%s' against class '%s'", key, object.getClass().getName() );
-				throw new UnknownKeyException( message );
-			}
-
-			kvcBinding.setValueInObject( value, object );
+			writeBindingForKey( object, key ).setValueInObject( value, object );
 		}
 
 		/**
@@ -127,38 +179,119 @@ public interface NGKeyValueCoding {
 		public static boolean _cachingEnabled = true;
 
 		/**
-		 * FIXME: Currently just a very primitive cache for testing // Hugi 2025-04-21
+		 * Incremented every time a class is invalidated (see invalidateClass()). Caches that hang on to bindings outside of the class tables (NGKeyPath segments, NGKeyValueCodingPlans)
+		 * note the generation they were populated in, and stop using their bindings once it changes.
+		 */
+		private static final AtomicInteger _cacheGeneration = new AtomicInteger();
+
+		/**
+		 * Discards everything cached for the given class (resolved bindings and generated accessor), so it gets resolved again on next use. For use when a class has been modified at runtime, such as during development.
+		 *
+		 * Only the given class is affected. Cached lookups on it's subclasses might still reference (or have failed to find) the class' members.
+		 */
+		public static void invalidateClass( final Class<?> objectClass ) {
+			Objects.requireNonNull( objectClass );
+			_classTables.remove( objectClass );
+			Utility._generatedAccessors.remove( objectClass );
+			_cacheGeneration.incrementAndGet();
+		}
+
+		/**
+		 * @return The current cache generation (see _cacheGeneration)
+		 */
+		static int cacheGeneration() {
+			return _cacheGeneration.get();
+		}
+
+		/**
+		 * Enables/disables compilation of cached bindings to MethodHandles/generated lambdas
+		 */
+		public static void setCompiledAccessorsEnabled( boolean value ) {
+			_compiledAccessorsEnabled = value;
+		}
+
+		/**
+		 * If enabled, a binding gets compiled (see compiledReadBinding()) when it's stored in the cache. Compilation is never performed for uncached lookups, since generating an accessor is a lot more expensive than a single reflective invocation.
 		 */
-		private static Map<CacheKey, KVCReadBinding> _readBindingCache = new ConcurrentHashMap<>();
+		public static boolean _compiledAccessorsEnabled = true;
 
-		private record CacheKey( Class<?> clazz, String key ) {}
+		/**
+		 * Per-class tables of resolved bindings.
+		 * We're using a ClassValue rather than a map keyed by Class, so looking up the table for a class doesn't require allocating a key and doesn't prevent the class from being unloaded.
+		 */
+		private static final ClassValue<KVCClassTable> _classTables = new ClassValue<>() {
+			@Override
+			protected KVCClassTable computeValue( final Class<?> objectClass ) {
+				return new KVCClassTable( objectClass );
+			}
+		};
 
-		private static KVCReadBinding readBindingForKey( final Object object, final String key ) {
+		/**
+		 * @return The (possibly cached) read binding for the given key on the given object's class. If the key can't be resolved, an UnresolvedBinding is returned (and cached), so a failed lookup costs the same as a successful one.
+		 */
+		static KVCReadBinding readBindingForKey( final Object object, final String key ) {
 
 			if( !_cachingEnabled ) {
-				return locateReadBindingForKey( object, key );
+				return readBindingOrUnresolved( object, key, null );
 			}
 
-			final CacheKey cacheKey = new CacheKey( object.getClass(), key );
-			KVCReadBinding readBinding = _readBindingCache.get( cacheKey );
+			final KVCClassTable classTable = _classTables.get( object.getClass() );
+			KVCReadBinding readBinding = classTable.readBinding( key );
 
 			if( readBinding == null ) {
-				readBinding = locateReadBindingForKey( object, key );
+				readBinding = compiledReadBinding( readBindingOrUnresolved( object, key, classTable ) );
+				classTable.putReadBinding( key, readBinding );
+			}
 
-				if( readBinding == null ) {
-					return null;
-				}
+			return readBinding;
+		}
+
+		/**
+		 * @return The (possibly cached) write binding for the given key on the given object's class. If the key can't be resolved, an UnresolvedBinding is returned (and cached).
+		 */
+		static KVCWriteBinding writeBindingForKey( final Object object, final String key ) {
+
+			if( !_cachingEnabled ) {
+				return writeBindingOrUnresolved( object, key, null );
+			}
+
+			final KVCClassTable classTable = _classTables.get( object.getClass() );
+			KVCWriteBinding writeBinding = classTable.writeBinding( key );
+
+			if( writeBinding == null ) {
+				writeBinding = compiledWriteBinding( writeBindingOrUnresolved( object, key, classTable ) );
+				classTable.putWriteBinding( key, writeBinding );
+			}
+
+			return writeBinding;
+		}
+
+		private static KVCReadBinding readBindingOrUnresolved( final Object object, final String key, final KVCClassTable classTable ) {
+			final KVCReadBinding readBinding = locateReadBindingForKey( object, key, classTable );
 
-				_readBindingCache.put( cacheKey, readBinding );
+			if( readBinding == null ) {
+				return new UnresolvedBinding( object.getClass(), key );
 			}
 
 			return readBinding;
 		}
 
+		private static KVCWriteBinding writeBindingOrUnresolved( final Object object, final String key, final KVCClassTable classTable ) {
+			final KVCWriteBinding writeBinding = locateWriteBindingForKey( object, key, classTable );
+
+			if( writeBinding == null ) {
+				return new UnresolvedBinding( object.getClass(), key );
+			}
+
+			return writeBinding;
+		}
+
 		/**
 		 * @return A KVC binding for the given class and key.
+		 *
+		 * @param classTable If given, the class table's member index is used to skip lookups of members that don't exist
 		 */
-		private static KVCReadBinding locateReadBindingForKey( final Object object, final String key ) {
+		private static KVCReadBinding locateReadBindingForKey( final Object object, final String key, final KVCClassTable classTable ) {
 			Objects.requireNonNull( object );
 			Objects.requireNonNull( key );
 
@@ -167,42 +300,49 @@ public interface NGKeyValueCoding {
 			final String keyCapitalized = key.substring( 0, 1 ).toUpperCase() + key.substring( 1 );
 
 			// Ugly old bean-style getMethod()
-			method = readMethod( object, "get" + keyCapitalized );
+			method = readMethod( object, "get" + keyCapitalized, classTable );
+
+			if( method != null ) {
+				return new MethodReadBinding( method );
+			}
+
+			// Record components map directly to their accessor methods, so we don't have to go looking for the method (as we'd do in the next step)
+			method = recordAccessor( object, key, classTable );
 
 			if( method != null ) {
 				return new MethodReadBinding( method );
 			}
 
 			// A method with the exact key name
-			method = readMethod( object, key );
+			method = readMethod( object, key, classTable );
 
 			if( method != null ) {
 				return new MethodReadBinding( method );
 			}
 
 			// Then we go for the bean-style isMethod() for booleans
-			method = readMethod( object, "is" + keyCapitalized );
+			method = readMethod( object, "is" + keyCapitalized, classTable );
 
 			if( method != null ) {
 				return new MethodReadBinding( method );
 			}
 
 			// _getMethod() (get-prefixed, prefixed with an underscore)
-			method = readMethod( object, "_get" + keyCapitalized );
+			method = readMethod( object, "_get" + keyCapitalized, classTable );
 
 			if( method != null ) {
 				return new MethodReadBinding( method );
 			}
 
 			// _method() (prefixed with an underscore)
-			method = readMethod( object, "_" + key );
+			method = readMethod( object, "_" + key, classTable );
 
 			if( method != null ) {
 				return new MethodReadBinding( method );
 			}
 
 			// _isMethod() (is-prefixed, prefixed with an underscore)
-			method = readMethod( object, "_is" + keyCapitalized );
+			method = readMethod( object, "_is" + keyCapitalized, classTable );
 
 			if( method != null ) {
 				return new MethodReadBinding( method );
@@ -211,28 +351,28 @@ public interface NGKeyValueCoding {
 			Field field;
 
 			// First we try for just the key ("key")
-			field = field( object, key );
+			field = field( object, key, classTable );
 
 			if( field != null ) {
 				return new FieldBinding( field );
 			}
 
 			// Then check for the field with an underscore in front ("_key")
-			field = field( object, "_" + key );
+			field = field( object, "_" + key, classTable );
 
 			if( field != null ) {
 				return new FieldBinding( field );
 			}
 
 			// Then check for the field prefixed with "is" and an underscore ("_isKey") // FIXME: Why check for this first, rather than just "isKey" without the underscore? // Hugi 2022-10-22
-			field = field( object, "_is" + keyCapitalized );
+			field = field( object, "_is" + keyCapitalized, classTable );
 
 			if( field != null ) {
 				return new FieldBinding( field );
 			}
 
 			// Finally check for the field prefixed with "is" ("isKey")
-			field = field( object, "is" + keyCapitalized );
+			field = field( object, "is" + keyCapitalized, classTable );
 
 			if( field != null ) {
 				return new FieldBinding( field );
@@ -244,15 +384,15 @@ public interface NGKeyValueCoding {
 		/**
 		 * FIXME: The list of methods/field names to lookup is not complete // Hugi 2022-12-27
 		 */
-		private static KVCWriteBinding writeBindingForKey( final Object object, final String key ) {
+		private static KVCWriteBinding locateWriteBindingForKey( final Object object, final String key, final KVCClassTable classTable ) {
 
 			final String keyCapitalized = key.substring( 0, 1 ).toUpperCase() + key.substring( 1 );
 
 			// Look for the setKey() method
-			Method method = writeMethod( object, "set" + keyCapitalized );
+			Method method = writeMethod( object, "set" + keyCapitalized, classTable );
 
 			if( method != null ) {
-				if( Number.class.isAssignableFrom( method.getParameterTypes()[0] ) ) {
+				if( NGNumericConversion.isConvertibleType( method.getParameterTypes()[0] ) ) {
 					return new NumericMethodWriteBinding( method );
 				}
 
@@ -260,10 +400,10 @@ public interface NGKeyValueCoding {
 			}
 
 			// First we try for just the key ("key")
-			Field field = field( object, key );
+			Field field = field( object, key, classTable );
 
 			if( field != null ) {
-				if( Number.class.isAssignableFrom( field.getType() ) ) {
+				if( NGNumericConversion.isConvertibleType( field.getType() ) ) {
 					return new NumericFieldBinding( field );
 				}
 
@@ -277,7 +417,12 @@ public interface NGKeyValueCoding {
 		 * FIXME: Getting the write method is going to require some much more complicated semantics, similar to what we're doing for readMethod // Hugi 2022-12-27
 		 * FIXME: We might want to look at the class of the value we're setting, so we can support overloading. Not sure we even want to do that though... // Hugi 2022-12-27
 		 */
-		private static Method writeMethod( final Object object, final String key ) {
+		private static Method writeMethod( final Object object, final String key, final KVCClassTable classTable ) {
+
+			if( classTable != null ) {
+				return classTable.writeMethod( key );
+			}
+
 			for( Method method : object.getClass().getMethods() ) {
 				if( method.getName().equals( key ) ) {
 					if( method.getParameterCount() == 1 ) {
@@ -296,10 +441,55 @@ public interface NGKeyValueCoding {
 		 *
 		 * // FIXME: Are we checking the method's return type? I.e. does it actually return something? If not, do so // Hugi 2022-12-27
 		 */
-		private static Method readMethod( final Object object, final String methodName ) {
+		private static Method readMethod( final Object object, final String methodName, final KVCClassTable classTable ) {
+
+			// Skip the lookup if the class has no public method with the name (saving us the cost of a thrown NoSuchMethodException)
+			if( classTable != null && !classTable.hasReadMethod( methodName ) ) {
+				return null;
+			}
+
 			return locateMethod( object, methodName );
 		}
 
+		/**
+		 * @return The accessor of the named record component, if the object is a record with such a component and the accessor is accessible to us. null if not.
+		 */
+		private static Method recordAccessor( final Object object, final String key, final KVCClassTable classTable ) {
+
+			if( !object.getClass().isRecord() ) {
+				return null;
+			}
+
+			final Method accessor;
+
+			if( classTable != null ) {
+				accessor = classTable.recordAccessor( key );
+			}
+			else {
+				accessor = locateRecordAccessor( object.getClass(), key );
+			}
+
+			// If the record class isn't accessible (for example a private record implementing a public interface), the method will be located through the regular lookup
+			if( accessor != null && accessor.canAccess( object ) ) {
+				return accessor;
+			}
+
+			return null;
+		}
+
+		/**
+		 * @return The accessor of the named component of the given record class, null if it doesn't have one
+		 */
+		private static Method locateRecordAccessor( final Class<?> recordClass, final String key ) {
+			for( final RecordComponent component : recordClass.getRecordComponents() ) {
+				if( component.getName().equals( key ) ) {
+					return component.getAccessor();
+				}
+			}
+
+			return null;
+		}
+
 		/**
 		 * @return The (exactly) named method if the class responds to it, null if not.
 		 *
@@ -315,17 +505,8 @@ public interface NGKeyValueCoding {
 				while( currentClass != null ) {
 					final Method classMethod = currentClass.getMethod( methodName, signature );
 
-					final boolean canAccess;
-
 					// FIXME: We're not entirely sure yet if we want to allow static invication. Meanwhile, this stands // Hugi 2024-06-14
-					if( Modifier.isStatic( classMethod.getModifiers() ) ) {
-						canAccess = classMethod.canAccess( null );
-					}
-					else {
-						canAccess = classMethod.canAccess( object );
-					}
-
-					if( canAccess ) {
+					if( canAccess( classMethod, object ) ) {
 						// Method exists and is accessible on the object's class
 						// This is the happy path, where we'll immediately end up in 99% of cases
 						return classMethod;
@@ -333,19 +514,11 @@ public interface NGKeyValueCoding {
 
 					// Here come the dragons...
 
-					// The class doesn't have an accessible method definition. What about the interfaces?
-					// FIXME: We're missing a check on "parent interfaces", i.e. interfaces that these interfaces inherit from // Hugi 2022-10-21
-					for( Class<?> interfaceClass : currentClass.getInterfaces() ) {
-						try {
-							final Method interfaceMethod = interfaceClass.getMethod( methodName, signature );
+					// The class doesn't have an accessible method definition. What about the interfaces (and the interfaces they extend)?
+					final Method interfaceMethod = accessibleInterfaceMethod( currentClass, object, methodName, signature );
 
-							if( interfaceMethod.canAccess( object ) ) {
-								return interfaceMethod;
-							}
-						}
-						catch( NoSuchMethodException interfaceException ) {
-							// Failure to locate methods in interfaces are to be expected. If no interfaces contain the method, we've already failed anyway.
-						}
+					if( interfaceMethod != null ) {
+						return interfaceMethod;
 					}
 
 					// Now let's try the whole thing again for the superclass
@@ -362,13 +535,59 @@ public interface NGKeyValueCoding {
 			}
 		}
 
+		/**
+		 * @return An accessible declaration of the named method in the interfaces implemented by the given type, or the interfaces those extend. null if none is found.
+		 *
+		 * An interface's getMethod() also finds methods inherited from it's parent interfaces, but returns the most specific declaration. If that one isn't accessible (for example a default method
+		 * in a non-public interface), an accessible declaration might still exist in a parent interface. Invoking that one will still dispatch to the most specific implementation.
+		 */
+		private static Method accessibleInterfaceMethod( final Class<?> type, final Object object, final String methodName, final Class<?>... signature ) {
+			for( final Class<?> interfaceClass : type.getInterfaces() ) {
+				try {
+					final Method interfaceMethod = interfaceClass.getMethod( methodName, signature );
+
+					if( canAccess( interfaceMethod, object ) ) {
+						return interfaceMethod;
+					}
+				}
+				catch( NoSuchMethodException interfaceException ) {
+					// Neither the interface nor it's parents declare the method, so there's no need to look at the parents
+					continue;
+				}
+
+				final Method parentInterfaceMethod = accessibleInterfaceMethod( interfaceClass, object, methodName, signature );
+
+				if( parentInterfaceMethod != null ) {
+					return parentInterfaceMethod;
+				}
+			}
+
+			return null;
+		}
+
+		/**
+		 * @return true if we can invoke the given method on the given object
+		 */
+		private static boolean canAccess( final Method method, final Object object ) {
+
+			if( Modifier.isStatic( method.getModifiers() ) ) {
+				return method.canAccess( null );
+			}
+
+			return method.canAccess( object );
+		}
+
 		/**
 		 * @return The (exactly) named field if the class responds to it, null if not.
 		 */
-		private static Field field( final Object object, final String fieldName ) {
+		private static Field field( final Object object, final String fieldName, final KVCClassTable classTable ) {
 			Objects.requireNonNull( object );
 			Objects.requireNonNull( fieldName );
 
+			if( classTable != null && !classTable.hasField( fieldName ) ) {
+				return null;
+			}
+
 			try {
 				return object.getClass().getField( fieldName );
 			}
@@ -377,103 +596,505 @@ public interface NGKeyValueCoding {
 			}
 		}
 
-		public static interface KVCReadBinding {
-			public Object valueInObject( final Object object );
-
-		}
+		/**
+		 * @return The given reflective binding compiled to a generated lambda or a MethodHandle, allowing the JIT to optimize the invocation. If compilation fails, the binding itself is returned.
+		 */
+		private static KVCReadBinding compiledReadBinding( final KVCReadBinding binding ) {
 
-		public static interface KVCWriteBinding {
-			public void setValueInObject( final Object value, final Object object );
-		}
+			if( !_compiledAccessorsEnabled ) {
+				return binding;
+			}
 
-		public static class MethodReadBinding implements KVCReadBinding {
+			try {
+				// Bindings of primitive numeric types additionally get an accessor returning the primitive value, allowing callers that want a number (such as the collection operators) to skip boxing
+				if( binding instanceof MethodReadBinding methodBinding ) {
+					final Method method = methodBinding._method;
+					final Function<Object, Object> getter = methodGetter( method );
 
-			private final Method _method;
+					if( isIntegralType( method.getReturnType() ) ) {
+						return new CompiledLongReadBinding( getter, methodLongGetter( method ) );
+					}
 
-			public MethodReadBinding( Method method ) {
-				_method = method;
-			}
+					if( isFloatingPointType( method.getReturnType() ) ) {
+						return new CompiledDoubleReadBinding( getter, methodDoubleGetter( method ) );
+					}
 
-			@Override
-			public Object valueInObject( final Object object ) {
-				try {
-					return _method.invoke( object );
-				}
-				catch( SecurityException | IllegalAccessException | IllegalArgumentException e ) {
-					// FIXME: Error handling is missing entirely
-					throw new RuntimeException( e );
+					return new CompiledReadBinding( getter );
 				}
-				catch( InvocationTargetException e ) {
-					// If the InvocationTargetException wraps a RuntimeException, just rethrow it. We're not adding any valuable information at the moment.
-					if( e.getTargetException() instanceof RuntimeException r ) {
-						throw r;
+
+				if( binding instanceof FieldBinding fieldBinding ) {
+					final Field field = fieldBinding._field;
+					final Function<Object, Object> getter = fieldGetter( field );
+
+					if( isIntegralType( field.getType() ) ) {
+						return new CompiledLongReadBinding( getter, longFunction( fieldGetterHandle( field, long.class ) ) );
 					}
 
-					// If it's not a RuntimeException, wrap and throw
-					throw new RuntimeException( e );
+					if( isFloatingPointType( field.getType() ) ) {
+						return new CompiledDoubleReadBinding( getter, doubleFunction( fieldGetterHandle( field, double.class ) ) );
+					}
+
+					return new CompiledReadBinding( getter );
 				}
 			}
+			catch( VirtualMachineError e ) {
+				throw e;
+			}
+			catch( Throwable e ) {
+				// Failure to generate an accessor isn't an error, it just means we're going to keep on using reflection.
+				// This will happen for example for methods declared in JDK classes, since those packages are not open to us.
+			}
 
+			return binding;
 		}
 
-		public static class MethodWriteBinding implements KVCWriteBinding {
-
-			protected final Method _method;
+		/**
+		 * @return The given reflective binding compiled to a generated lambda or a MethodHandle. If compilation fails, the binding itself is returned.
+		 */
+		private static KVCWriteBinding compiledWriteBinding( final KVCWriteBinding binding ) {
 
-			public MethodWriteBinding( Method method ) {
-				_method = method;
+			if( !_compiledAccessorsEnabled ) {
+				return binding;
 			}
 
-			@Override
-			public void setValueInObject( Object value, Object object ) {
-				try {
-					_method.invoke( object, value );
-				}
-				catch( IllegalAccessException e ) {
-					// FIXME: Error handling is missing entirely
-					throw new RuntimeException( e );
-				}
-				catch( IllegalArgumentException e ) {
-					// We end up here when the provided value doesn't match the setter's expected type,
-					// e.g. passing a String to a method that expects BigDecimal or LocalDate.
-					final Class<?> expectedType = _method.getParameterTypes()[0];
-					final String receivedType = value != null ? value.getClass().getName() : "null";
-					throw new RuntimeException( "Failed to set '%s' on %s: expected %s but received %s".formatted( _method.getName(), object.getClass().getSimpleName(), expectedType.getName(), receivedType ), e );
+			try {
+				if( binding instanceof MethodWriteBinding methodBinding ) {
+					final Class<?> valueType = methodBinding._method.getParameterTypes()[0];
+
+					if( valueType.isPrimitive() && NGNumericConversion.isConvertibleType( valueType ) ) {
+						return new CompiledPrimitiveWriteBinding( methodSetterHandle( methodBinding._method, valueType ), valueType, binding );
+					}
+
+					return new CompiledWriteBinding( methodSetter( methodBinding._method ), valueType, binding );
 				}
-				catch( InvocationTargetException e ) {
-					// FIXME: Error handling is missing entirely
-					throw new RuntimeException( e );
+
+				if( binding instanceof FieldBinding fieldBinding && !Modifier.isFinal( fieldBinding._field.getModifiers() ) ) {
+					final Class<?> valueType = fieldBinding._field.getType();
+
+					if( valueType.isPrimitive() && NGNumericConversion.isConvertibleType( valueType ) ) {
+						return new CompiledPrimitiveWriteBinding( fieldSetterHandle( fieldBinding._field, valueType ), valueType, binding );
+					}
+
+					return new CompiledWriteBinding( fieldSetter( fieldBinding._field ), valueType, binding );
 				}
 			}
+			catch( VirtualMachineError e ) {
+				throw e;
+			}
+			catch( Throwable e ) {
+				// See comment in compiledReadBinding()
+			}
 
+			return binding;
 		}
 
 		/**
-		 * FIXME: We should really implement separate read/write bindings for Fields for more fine grained control // Hugi 2022-12-27
+		 * @return A function invoking the given getter method.
+		 *
+		 * We prefer generating a lambda using LambdaMetafactory, since the generated class invokes the method directly. That only works for instance methods that don't throw checked exceptions (a generated Function would throw them undeclared) and
+		 * requires private access to the declaring class. Otherwise we fall back to a MethodHandle.
 		 */
-		public static class FieldBinding implements KVCWriteBinding, KVCReadBinding {
+		@SuppressWarnings("unchecked")
+		private static Function<Object, Object> methodGetter( final Method method ) throws Throwable {
+			final Class<?> declaringClass = method.getDeclaringClass();
 
-			protected final Field _field;
+			if( !Modifier.isStatic( method.getModifiers() ) && method.getReturnType() != void.class && !throwsCheckedExceptions( method ) ) {
+				try {
+					final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn( declaringClass, MethodHandles.lookup() );
 
-			public FieldBinding( Field field ) {
-				_field = field;
-			}
+					final CallSite callSite = LambdaMetafactory.metafactory(
+							lookup,
+							"apply",
+							MethodType.methodType( Function.class ),
+							MethodType.methodType( Object.class, Object.class ),
+							lookup.unreflect( method ),
+							MethodType.methodType( wrapperType( method.getReturnType() ), declaringClass ) );
 
-			@Override
-			public Object valueInObject( Object object ) {
-				try {
-					return _field.get( object );
+					return (Function<Object, Object>)callSite.getTarget().invoke();
 				}
-				catch( SecurityException | IllegalAccessException | IllegalArgumentException e ) {
-					// FIXME: Error handling is missing entirely
-					throw new RuntimeException( e );
+				catch( IllegalAccessException e ) {
+					// The declaring class' package isn't open to us, so we'll use a public lookup instead
 				}
 			}
 
-			@Override
-			public void setValueInObject( Object value, Object object ) {
-				try {
-					_field.set( object, value );
+			MethodHandle handle = MethodHandles.publicLookup().unreflect( method );
+
+			if( Modifier.isStatic( method.getModifiers() ) ) {
+				handle = MethodHandles.dropArguments( handle, 0, Object.class );
+			}
+
+			return getterFunction( handle.asType( MethodType.methodType( Object.class, Object.class ) ) );
+		}
+
+		/**
+		 * @return A function reading the value of the given field
+		 */
+		private static Function<Object, Object> fieldGetter( final Field field ) throws IllegalAccessException {
+			MethodHandle handle = MethodHandles.publicLookup().unreflectGetter( field );
+
+			if( Modifier.isStatic( field.getModifiers() ) ) {
+				handle = MethodHandles.dropArguments( handle, 0, Object.class );
+			}
+
+			return getterFunction( handle.asType( MethodType.methodType( Object.class, Object.class ) ) );
+		}
+
+		/**
+		 * @return A function invoking the given getter method of an integral primitive type, returning the value as a long. Uses LambdaMetafactory where possible, see methodGetter()
+		 */
+		@SuppressWarnings("unchecked")
+		private static ToLongFunction<Object> methodLongGetter( final Method method ) throws Throwable {
+			final Object lambda = primitiveGetterLambda( method, ToLongFunction.class, "applyAsLong", long.class );
+
+			if( lambda != null ) {
+				return (ToLongFunction<Object>)lambda;
+			}
+
+			return longFunction( methodGetterHandle( method, long.class ) );
+		}
+
+		/**
+		 * @return A function invoking the given getter method of a floating point primitive type, returning the value as a double. Uses LambdaMetafactory where possible, see methodGetter()
+		 */
+		@SuppressWarnings("unchecked")
+		private static ToDoubleFunction<Object> methodDoubleGetter( final Method method ) throws Throwable {
+			final Object lambda = primitiveGetterLambda( method, ToDoubleFunction.class, "applyAsDouble", double.class );
+
+			if( lambda != null ) {
+				return (ToDoubleFunction<Object>)lambda;
+			}
+
+			return doubleFunction( methodGetterHandle( method, double.class ) );
+		}
+
+		/**
+		 * @return An instance of the given functional interface generated by LambdaMetafactory, invoking the given getter method and returning the value widened to [primitiveType]. null if a lambda can't be generated (see methodGetter())
+		 */
+		private static Object primitiveGetterLambda( final Method method, final Class<?> interfaceClass, final String interfaceMethodName, final Class<?> primitiveType ) throws Throwable {
+
+			if( Modifier.isStatic( method.getModifiers() ) || throwsCheckedExceptions( method ) ) {
+				return null;
+			}
+
+			final Class<?> declaringClass = method.getDeclaringClass();
+
+			try {
+				final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn( declaringClass, MethodHandles.lookup() );
+
+				final CallSite callSite = LambdaMetafactory.metafactory(
+						lookup,
+						interfaceMethodName,
+						MethodType.methodType( interfaceClass ),
+						MethodType.methodType( primitiveType, Object.class ),
+						lookup.unreflect( method ),
+						MethodType.methodType( primitiveType, declaringClass ) );
+
+				return callSite.getTarget().invoke();
+			}
+			catch( IllegalAccessException e ) {
+				return null;
+			}
+		}
+
+		/**
+		 * @return A MethodHandle of type (Object)[valueType] invoking the given getter method
+		 */
+		private static MethodHandle methodGetterHandle( final Method method, final Class<?> valueType ) throws IllegalAccessException {
+			MethodHandle handle = MethodHandles.publicLookup().unreflect( method );
+
+			if( Modifier.isStatic( method.getModifiers() ) ) {
+				handle = MethodHandles.dropArguments( handle, 0, Object.class );
+			}
+
+			return handle.asType( MethodType.methodType( valueType, Object.class ) );
+		}
+
+		/**
+		 * @return A MethodHandle of type (Object)[valueType] reading the value of the given field
+		 */
+		private static MethodHandle fieldGetterHandle( final Field field, final Class<?> valueType ) throws IllegalAccessException {
+			MethodHandle handle = MethodHandles.publicLookup().unreflectGetter( field );
+
+			if( Modifier.isStatic( field.getModifiers() ) ) {
+				handle = MethodHandles.dropArguments( handle, 0, Object.class );
+			}
+
+			return handle.asType( MethodType.methodType( valueType, Object.class ) );
+		}
+
+		/**
+		 * @return A consumer (object, value) invoking the given setter method. Uses LambdaMetafactory where possible, see methodGetter()
+		 */
+		@SuppressWarnings("unchecked")
+		private static BiConsumer<Object, Object> methodSetter( final Method method ) throws Throwable {
+			final Class<?> declaringClass = method.getDeclaringClass();
+
+			if( !Modifier.isStatic( method.getModifiers() ) && !throwsCheckedExceptions( method ) ) {
+				try {
+					final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn( declaringClass, MethodHandles.lookup() );
+
+					final CallSite callSite = LambdaMetafactory.metafactory(
+							lookup,
+							"accept",
+							MethodType.methodType( BiConsumer.class ),
+							MethodType.methodType( void.class, Object.class, Object.class ),
+							lookup.unreflect( method ),
+							MethodType.methodType( void.class, declaringClass, wrapperType( method.getParameterTypes()[0] ) ) );
+
+					return (BiConsumer<Object, Object>)callSite.getTarget().invoke();
+				}
+				catch( IllegalAccessException e ) {
+					// The declaring class' package isn't open to us, so we'll use a public lookup instead
+				}
+			}
+
+			MethodHandle handle = MethodHandles.publicLookup().unreflect( method );
+
+			if( Modifier.isStatic( method.getModifiers() ) ) {
+				handle = MethodHandles.dropArguments( handle, 0, Object.class );
+			}
+
+			return setterConsumer( handle.asType( MethodType.methodType( void.class, Object.class, Object.class ) ) );
+		}
+
+		/**
+		 * @return A MethodHandle of type (Object,[valueType])void invoking the given setter method
+		 */
+		private static MethodHandle methodSetterHandle( final Method method, final Class<?> valueType ) throws IllegalAccessException {
+			MethodHandle handle = MethodHandles.publicLookup().unreflect( method );
+
+			if( Modifier.isStatic( method.getModifiers() ) ) {
+				handle = MethodHandles.dropArguments( handle, 0, Object.class );
+			}
+
+			return handle.asType( MethodType.methodType( void.class, Object.class, valueType ) );
+		}
+
+		/**
+		 * @return A MethodHandle of type (Object,[valueType])void setting the value of the given field
+		 */
+		private static MethodHandle fieldSetterHandle( final Field field, final Class<?> valueType ) throws IllegalAccessException {
+			MethodHandle handle = MethodHandles.publicLookup().unreflectSetter( field );
+
+			if( Modifier.isStatic( field.getModifiers() ) ) {
+				handle = MethodHandles.dropArguments( handle, 0, Object.class );
+			}
+
+			return handle.asType( MethodType.methodType( void.class, Object.class, valueType ) );
+		}
+
+		/**
+		 * @return A consumer (object, value) setting the value of the given field
+		 */
+		private static BiConsumer<Object, Object> fieldSetter( final Field field ) throws IllegalAccessException {
+			MethodHandle handle = MethodHandles.publicLookup().unreflectSetter( field );
+
+			if( Modifier.isStatic( field.getModifiers() ) ) {
+				handle = MethodHandles.dropArguments( handle, 0, Object.class );
+			}
+
+			return setterConsumer( handle.asType( MethodType.methodType( void.class, Object.class, Object.class ) ) );
+		}
+
+		/**
+		 * @return A function invoking the given MethodHandle, which must be of type (Object)Object
+		 */
+		private static Function<Object, Object> getterFunction( final MethodHandle handle ) {
+			return object -> {
+				try {
+					return (Object)handle.invokeExact( object );
+				}
+				catch( RuntimeException | Error e ) {
+					throw e;
+				}
+				catch( Throwable e ) {
+					throw new RuntimeException( e );
+				}
+			};
+		}
+
+		/**
+		 * @return A function invoking the given MethodHandle, which must be of type (Object)long
+		 */
+		private static ToLongFunction<Object> longFunction( final MethodHandle handle ) {
+			return object -> {
+				try {
+					return (long)handle.invokeExact( object );
+				}
+				catch( RuntimeException | Error e ) {
+					throw e;
+				}
+				catch( Throwable e ) {
+					throw new RuntimeException( e );
+				}
+			};
+		}
+
+		/**
+		 * @return A function invoking the given MethodHandle, which must be of type (Object)double
+		 */
+		private static ToDoubleFunction<Object> doubleFunction( final MethodHandle handle ) {
+			return object -> {
+				try {
+					return (double)handle.invokeExact( object );
+				}
+				catch( RuntimeException | Error e ) {
+					throw e;
+				}
+				catch( Throwable e ) {
+					throw new RuntimeException( e );
+				}
+			};
+		}
+
+		/**
+		 * @return A consumer invoking the given MethodHandle, which must be of type (Object,Object)void
+		 */
+		private static BiConsumer<Object, Object> setterConsumer( final MethodHandle handle ) {
+			return ( object, value ) -> {
+				try {
+					handle.invokeExact( object, value );
+				}
+				catch( RuntimeException | Error e ) {
+					throw e;
+				}
+				catch( Throwable e ) {
+					throw new RuntimeException( e );
+				}
+			};
+		}
+
+		/**
+		 * @return The wrapper class for the given type if it's primitive, otherwise the type itself
+		 */
+		private static Class<?> wrapperType( final Class<?> type ) {
+			return MethodType.methodType( type ).wrap().returnType();
+		}
+
+		/**
+		 * @return true if the given type is a primitive type whose values can be losslessly represented as a long
+		 */
+		private static boolean isIntegralType( final Class<?> type ) {
+			return type == int.class || type == long.class || type == short.class || type == byte.class;
+		}
+
+		/**
+		 * @return true if the given type is a primitive floating point type
+		 */
+		private static boolean isFloatingPointType( final Class<?> type ) {
+			return type == double.class || type == float.class;
+		}
+
+		/**
+		 * @return true if the given method declares checked exceptions
+		 */
+		private static boolean throwsCheckedExceptions( final Method method ) {
+			for( final Class<?> exceptionType : method.getExceptionTypes() ) {
+				if( !RuntimeException.class.isAssignableFrom( exceptionType ) && !Error.class.isAssignableFrom( exceptionType ) ) {
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		public static interface KVCReadBinding {
+			public Object valueInObject( final Object object );
+
+		}
+
+		public static interface KVCWriteBinding {
+			public void setValueInObject( final Object value, final Object object );
+		}
+
+		public static class MethodReadBinding implements KVCReadBinding {
+
+			protected final Method _method;
+
+			public MethodReadBinding( Method method ) {
+				_method = method;
+			}
+
+			@Override
+			public Object valueInObject( final Object object ) {
+				try {
+					return _method.invoke( object );
+				}
+				catch( SecurityException | IllegalAccessException | IllegalArgumentException e ) {
+					// FIXME: Error handling is missing entirely
+					throw new RuntimeException( e );
+				}
+				catch( InvocationTargetException e ) {
+					// If the InvocationTargetException wraps a RuntimeException, just rethrow it. We're not adding any valuable information at the moment.
+					if( e.getTargetException() instanceof RuntimeException r ) {
+						throw r;
+					}
+
+					// If it's not a RuntimeException, wrap and throw
+					throw new RuntimeException( e );
+				}
+			}
+
+		}
+
+		public static class MethodWriteBinding implements KVCWriteBinding {
+
+			protected final Method _method;
+
+			public MethodWriteBinding( Method method ) {
+				_method = method;
+			}
+
+			@Override
+			public void setValueInObject( Object value, Object object ) {
+				try {
+					_method.invoke( object, value );
+				}
+				catch( IllegalAccessException e ) {
+					// FIXME: Error handling is missing entirely
+					throw new RuntimeException( e );
+				}
+				catch( IllegalArgumentException e ) {
+					// We end up here when the provided value doesn't match the setter's expected type,
+					// e.g. passing a String to a method that expects BigDecimal or LocalDate.
+					final Class<?> expectedType = _method.getParameterTypes()[0];
+					final String receivedType = value != null ? value.getClass().getName() : "null";
+					throw new RuntimeException( "Failed to set '%s' on %s: expected %s but received %s".formatted( _method.getName(), object.getClass().getSimpleName(), expectedType.getName(), receivedType ), e );
+				}
+				catch( InvocationTargetException e ) {
+					// FIXME: Error handling is missing entirely
+					throw new RuntimeException( e );
+				}
+			}
+
+		}
+
+		/**
+		 * FIXME: We should really implement separate read/write bindings for Fields for more fine grained control // Hugi 2022-12-27
+		 */
+		public static class FieldBinding implements KVCWriteBinding, KVCReadBinding {
+
+			protected final Field _field;
+
+			public FieldBinding( Field field ) {
+				_field = field;
+			}
+
+			@Override
+			public Object valueInObject( Object object ) {
+				try {
+					return _field.get( object );
+				}
+				catch( SecurityException | IllegalAccessException | IllegalArgumentException e ) {
+					// FIXME: Error handling is missing entirely
+					throw new RuntimeException( e );
+				}
+			}
+
+			@Override
+			public void setValueInObject( Object value, Object object ) {
+				try {
+					_field.set( object, value );
 				}
 				catch( IllegalArgumentException | IllegalAccessException e ) {
 					// FIXME: Error handling is missing entirely
@@ -494,42 +1115,402 @@ public interface NGKeyValueCoding {
 				super.setValueInObject( convertedValue, object );
 			}
 
+			/**
+			 * @return The value converted to the given numeric type. See NGNumericConversion for the conversion rules.
+			 */
 			public static Object convertValueToFieldType( Object value, Class<?> targetType ) {
+				return NGNumericConversion.convert( value, targetType );
+			}
+		}
+
+		public static class NumericMethodWriteBinding extends MethodWriteBinding {
+
+			public NumericMethodWriteBinding( Method method ) {
+				super( method );
+			}
+
+			@Override
+			public void setValueInObject( Object value, Object object ) {
+				final Object converted = NumericFieldBinding.convertValueToFieldType( value, _method.getParameterTypes()[0] );
+				super.setValueInObject( converted, object );
+			}
+		}
+
+		/**
+		 * A read binding invoking a compiled accessor (a generated lambda or a MethodHandle)
+		 */
+		public static class CompiledReadBinding implements KVCReadBinding {
+
+			private final Function<Object, Object> _getter;
+
+			public CompiledReadBinding( final Function<Object, Object> getter ) {
+				Objects.requireNonNull( getter );
+				_getter = getter;
+			}
+
+			@Override
+			public Object valueInObject( final Object object ) {
+				return _getter.apply( object );
+			}
+		}
+
+		/**
+		 * A compiled read binding for a method/field of an integral primitive type, that can also read the value as a primitive long
+		 */
+		public static class CompiledLongReadBinding extends CompiledReadBinding {
+
+			private final ToLongFunction<Object> _longGetter;
 
-				if( value == null ) {
-					return null;
+			public CompiledLongReadBinding( final Function<Object, Object> getter, final ToLongFunction<Object> longGetter ) {
+				super( getter );
+				Objects.requireNonNull( longGetter );
+				_longGetter = longGetter;
+			}
+
+			public long longValueInObject( final Object object ) {
+				return _longGetter.applyAsLong( object );
+			}
+		}
+
+		/**
+		 * A compiled read binding for a method/field of a floating point primitive type, that can also read the value as a primitive double
+		 */
+		public static class CompiledDoubleReadBinding extends CompiledReadBinding {
+
+			private final ToDoubleFunction<Object> _doubleGetter;
+
+			public CompiledDoubleReadBinding( final Function<Object, Object> getter, final ToDoubleFunction<Object> doubleGetter ) {
+				super( getter );
+				Objects.requireNonNull( doubleGetter );
+				_doubleGetter = doubleGetter;
+			}
+
+			public double doubleValueInObject( final Object object ) {
+				return _doubleGetter.applyAsDouble( object );
+			}
+		}
+
+		/**
+		 * A write binding invoking a compiled accessor (a generated lambda or a MethodHandle)
+		 *
+		 * The compiled accessor only handles values that are already of the target type. Everything else (type conversion, primitive widening, nulls for primitives and the resulting error reporting)
+		 * is passed on to the reflective fallback binding, to keep the semantics identical to the reflective bindings.
+		 */
+		public static class CompiledWriteBinding implements KVCWriteBinding {
+
+			private final BiConsumer<Object, Object> _setter;
+
+			/**
+			 * The type of the values accepted by the setter. Primitive types are wrapped.
+			 */
+			private final Class<?> _valueType;
+
+			/**
+			 * true if the setter accepts a primitive value, meaning null can't be passed to it
+			 */
+			private final boolean _primitive;
+
+			/**
+			 * The reflective binding we use for values that aren't of the target type.
+			 */
+			private final KVCWriteBinding _fallbackBinding;
+
+			public CompiledWriteBinding( final BiConsumer<Object, Object> setter, final Class<?> valueType, final KVCWriteBinding fallbackBinding ) {
+				Objects.requireNonNull( setter );
+				Objects.requireNonNull( valueType );
+				Objects.requireNonNull( fallbackBinding );
+				_setter = setter;
+				_valueType = wrapperType( valueType );
+				_primitive = valueType.isPrimitive();
+				_fallbackBinding = fallbackBinding;
+			}
+
+			@Override
+			public void setValueInObject( final Object value, final Object object ) {
+				if( value == null ? _primitive : !_valueType.isInstance( value ) ) {
+					_fallbackBinding.setValueInObject( value, object );
+				}
+				else {
+					_setter.accept( object, value );
 				}
+			}
+		}
+
+		/**
+		 * A write binding for a method/field accepting a primitive numeric value.
+		 *
+		 * Numbers are converted directly to the primitive type (see NGNumericConversion) and passed to a MethodHandle typed for the primitive, so the value never gets boxed on the way.
+		 * Anything else (such as strings or nulls) is passed on to the reflective fallback binding.
+		 */
+		public static class CompiledPrimitiveWriteBinding implements KVCWriteBinding {
+
+			/**
+			 * Handle of type (Object,[primitive type])void
+			 */
+			private final MethodHandle _setter;
+
+			private final Class<?> _primitiveType;
+
+			private final KVCWriteBinding _fallbackBinding;
 
-				if( value.getClass() == targetType ) {
-					// No need to perform any conversion if the value class is already correct
-					return value;
+			public CompiledPrimitiveWriteBinding( final MethodHandle setter, final Class<?> primitiveType, final KVCWriteBinding fallbackBinding ) {
+				Objects.requireNonNull( setter );
+				Objects.requireNonNull( primitiveType );
+				Objects.requireNonNull( fallbackBinding );
+				_setter = setter;
+				_primitiveType = primitiveType;
+				_fallbackBinding = fallbackBinding;
+			}
+
+			@Override
+			public void setValueInObject( final Object value, final Object object ) {
+
+				if( !(value instanceof Number number) ) {
+					_fallbackBinding.setValueInObject( value, object );
+					return;
 				}
 
 				try {
-					// We look for a method called valueOf (which all the numeric classes should have)
-					// FIXME: BigDecimal doesn't have a valueOf( String ) method so we're currently using the string constructors instead. Those constructors are deprecated though so will at some point stop working // Hugi 2023-05-01
-					final Constructor<?> valueCreationConstructor = targetType.getConstructor( String.class );
-
-					// FIXME: We're converting the value to a string before converting. Can't we do this in a more efficient manner? // Hugi 2023-05-01
-					// FIXME: We need to consider what to do about loss of scale (and other potential features of the numeric class in question)  // Hugi 2023-05-01
-					return valueCreationConstructor.newInstance( value.toString() );
+					if( _primitiveType == int.class ) {
+						_setter.invokeExact( object, NGNumericConversion.intValue( number ) );
+					}
+					else if( _primitiveType == long.class ) {
+						_setter.invokeExact( object, NGNumericConversion.longValue( number ) );
+					}
+					else if( _primitiveType == double.class ) {
+						_setter.invokeExact( object, NGNumericConversion.doubleValue( number ) );
+					}
+					else if( _primitiveType == float.class ) {
+						_setter.invokeExact( object, NGNumericConversion.floatValue( number ) );
+					}
+					else if( _primitiveType == short.class ) {
+						_setter.invokeExact( object, NGNumericConversion.shortValue( number ) );
+					}
+					else if( _primitiveType == byte.class ) {
+						_setter.invokeExact( object, NGNumericConversion.byteValue( number ) );
+					}
+					else {
+						_fallbackBinding.setValueInObject( value, object );
+					}
 				}
-				catch( NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException | InvocationTargetException | InstantiationException e ) {
+				catch( RuntimeException | Error e ) {
+					throw e;
+				}
+				catch( Throwable e ) {
 					throw new RuntimeException( e );
 				}
 			}
 		}
 
-		public static class NumericMethodWriteBinding extends MethodWriteBinding {
+		/**
+		 * Binding stored in the cache for a key that can't be resolved against a class. Throws an UnknownKeyException when used.
+		 *
+		 * The exception message for reads includes a suggestion for what the user might have meant. That's relatively expensive to calculate so it's only done once, on first use.
+		 */
+		public static class UnresolvedBinding implements KVCReadBinding, KVCWriteBinding {
 
-			public NumericMethodWriteBinding( Method method ) {
-				super( method );
+			private final Class<?> _objectClass;
+
+			private final String _key;
+
+			/**
+			 * The message for the exception thrown on reads. Lazily initialized.
+			 */
+			private volatile String _readMessage;
+
+			public UnresolvedBinding( final Class<?> objectClass, final String key ) {
+				Objects.requireNonNull( objectClass );
+				Objects.requireNonNull( key );
+				_objectClass = objectClass;
+				_key = key;
 			}
 
 			@Override
-			public void setValueInObject( Object value, Object object ) {
-				final Object converted = NumericFieldBinding.convertValueToFieldType( value, _method.getParameterTypes()[0] );
-				super.setValueInObject( converted, object );
+			public Object valueInObject( final Object object ) {
+				String message = _readMessage;
+
+				if( message == null ) {
+					message = readMessage();
+					_readMessage = message;
+				}
+
+				throw new UnknownKeyException( message );
+			}
+
+			@Override
+			public void setValueInObject( final Object value, final Object object ) {
+				throw new UnknownKeyException( String.format( "Unable to resolve key '%s' against class '%s'", _key, _objectClass.getName() ) );
+			}
+
+			/**
+			 * @return A message reporting that the key couldn't be resolved, including a suggestion for a key the user might have meant
+			 */
+			private String readMessage() {
+				final StringBuilder message = new StringBuilder();
+				message.append( String.format( "Unable to resolve key '%s' against class '%s'.", _key, _objectClass.getName() ) );
+
+				final List<String> suggestions = NGKeyValueCodingSupport.suggestions( _objectClass, _key );
+
+				if( suggestions.isEmpty() ) {
+					message.append( "The given object has no exposed keys" );
+				}
+				else {
+					message.append( " Did you mean '%s'?".formatted( suggestions.get( 0 ) ) );
+
+				}
+
+				return message.toString();
+			}
+		}
+
+		/**
+		 * Table of resolved bindings for a single class, along with an index of the class' public members.
+		 *
+		 * The member index is built in a single pass over getMethods()/getFields() when the table is constructed. Bindings are resolved lazily per key (using the regular lookup order, consulting the index)
+		 * and stored in open-addressed hash tables. Since each class has only a handful of keys, lookups are a hash probe or two. The tables are copy-on-write, meaning reads don't lock.
+		 */
+		static final class KVCClassTable {
+
+			/**
+			 * Names of public methods taking no parameters (potential getters)
+			 */
+			private final Set<String> _readMethodNames = new HashSet<>();
+
+			/**
+			 * Public methods taking a single parameter and returning void (potential setters), first one found by name
+			 */
+			private final Map<String, Method> _writeMethods = new HashMap<>();
+
+			/**
+			 * Names of public fields
+			 */
+			private final Set<String> _fieldNames = new HashSet<>();
+
+			/**
+			 * Accessor methods of record components, by component name. Empty if the class isn't a record
+			 */
+			private final Map<String, Method> _recordAccessors = new HashMap<>();
+
+			/**
+			 * Open-addressed table of read bindings, stored as [key, binding, key, binding...]
+			 */
+			private volatile Object[] _readBindings = new Object[16];
+
+			/**
+			 * Open-addressed table of write bindings, stored as [key, binding, key, binding...]
+			 */
+			private volatile Object[] _writeBindings = new Object[16];
+
+			private KVCClassTable( final Class<?> objectClass ) {
+				for( final Method method : objectClass.getMethods() ) {
+					if( method.getParameterCount() == 0 ) {
+						_readMethodNames.add( method.getName() );
+					}
+					else if( method.getParameterCount() == 1 && method.getReturnType().equals( Void.TYPE ) ) {
+						_writeMethods.putIfAbsent( method.getName(), method );
+					}
+				}
+
+				for( final Field field : objectClass.getFields() ) {
+					_fieldNames.add( field.getName() );
+				}
+
+				if( objectClass.isRecord() ) {
+					for( final RecordComponent component : objectClass.getRecordComponents() ) {
+						_recordAccessors.put( component.getName(), component.getAccessor() );
+					}
+				}
+			}
+
+			private boolean hasReadMethod( final String methodName ) {
+				return _readMethodNames.contains( methodName );
+			}
+
+			private Method writeMethod( final String methodName ) {
+				return _writeMethods.get( methodName );
+			}
+
+			private boolean hasField( final String fieldName ) {
+				return _fieldNames.contains( fieldName );
+			}
+
+			private Method recordAccessor( final String key ) {
+				return _recordAccessors.get( key );
+			}
+
+			KVCReadBinding readBinding( final String key ) {
+				return (KVCReadBinding)get( _readBindings, key );
+			}
+
+			KVCWriteBinding writeBinding( final String key ) {
+				return (KVCWriteBinding)get( _writeBindings, key );
+			}
+
+			synchronized void putReadBinding( final String key, final KVCReadBinding binding ) {
+				_readBindings = put( _readBindings, key, binding );
+			}
+
+			synchronized void putWriteBinding( final String key, final KVCWriteBinding binding ) {
+				_writeBindings = put( _writeBindings, key, binding );
+			}
+
+			/**
+			 * @return The value stored for the given key in the given table, null if not found
+			 */
+			private static Object get( final Object[] table, final String key ) {
+				final int mask = (table.length >> 1) - 1;
+				int slot = key.hashCode() & mask;
+
+				while( true ) {
+					final Object candidate = table[slot << 1];
+
+					if( candidate == null ) {
+						return null;
+					}
+
+					if( candidate == key || candidate.equals( key ) ) {
+						return table[(slot << 1) + 1];
+					}
+
+					slot = (slot + 1) & mask;
+				}
+			}
+
+			/**
+			 * @return A copy of the given table with the given value stored for the given key. The table gets doubled in size if it's over half full.
+			 */
+			private static Object[] put( final Object[] table, final String key, final Object value ) {
+				int size = 0;
+
+				for( int i = 0; i < table.length; i += 2 ) {
+					if( table[i] != null ) {
+						size++;
+					}
+				}
+
+				final int capacity = table.length >> 1;
+				final Object[] newTable = new Object[(size + 1) * 2 > capacity ? table.length * 2 : table.length];
+
+				for( int i = 0; i < table.length; i += 2 ) {
+					if( table[i] != null ) {
+						insert( newTable, (String)table[i], table[i + 1] );
+					}
+				}
+
+				insert( newTable, key, value );
+				return newTable;
+			}
+
+			private static void insert( final Object[] table, final String key, final Object value ) {
+				final int mask = (table.length >> 1) - 1;
+				int slot = key.hashCode() & mask;
+
+				while( table[slot << 1] != null && !table[slot << 1].equals( key ) ) {
+					slot = (slot + 1) & mask;
+				}
+
+				table[slot << 1] = key;
+				table[(slot << 1) + 1] = value;
 			}
 		}
 	}
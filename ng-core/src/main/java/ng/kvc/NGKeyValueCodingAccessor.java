@@ -0,0 +1,14 @@
+package ng.kvc;
+
+/**
+ * An object performing KVC on behalf of instances of a specific class. Implemented by accessors generated for classes annotated with @NGGenerateAccessor.
+ *
+ * Keys the accessor doesn't know how to handle must be passed on to NGKeyValueCoding.DefaultImplementation
+ */
+
+public interface NGKeyValueCodingAccessor {
+
+	public Object valueForKey( Object object, String key );
+
+	public void takeValueForKey( Object object, Object value, String key );
+}
@@ -1,6 +1,16 @@
 package ng.kvc;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Objects;
+import java.util.stream.Stream;
+
+import ng.kvc.NGKeyValueCoding.DefaultImplementation.CompiledDoubleReadBinding;
+import ng.kvc.NGKeyValueCoding.DefaultImplementation.CompiledLongReadBinding;
+import ng.kvc.NGKeyValueCoding.DefaultImplementation.KVCReadBinding;
 
 public interface NGKeyValueCodingAdditions extends NGKeyValueCoding {
 
@@ -47,9 +57,16 @@ public interface NGKeyValueCodingAdditions extends NGKeyValueCoding {
 
 			Object result = object;
 
-			for( String currentKeyPathComponent : keyPathComponents ) {
+			for( int i = 0; i < keyPathComponents.length; i++ ) {
+				final String currentKeyPathComponent = keyPathComponents[i];
 
 				try {
+					if( currentKeyPathComponent.startsWith( "@" ) ) {
+						// The operator consumes the rest of the keyPath
+						final String operatorKeyPath = String.join( ".", Arrays.copyOfRange( keyPathComponents, i + 1, keyPathComponents.length ) );
+						return Operators.valueForOperator( result, currentKeyPathComponent.substring( 1 ), operatorKeyPath.isEmpty() ? null : NGKeyPath.of( operatorKeyPath ) );
+					}
+
 					result = NGKeyValueCoding.Utility.valueForKey( result, currentKeyPathComponent );
 				}
 				catch( UnknownKeyException e ) {
@@ -70,6 +87,11 @@ public interface NGKeyValueCodingAdditions extends NGKeyValueCoding {
 		}
 
 		public static void takeValueForKeyPath( Object object, Object value, String keyPath ) {
+
+			if( keyPath.startsWith( "@" ) || keyPath.contains( ".@" ) ) {
+				throw new IllegalArgumentException( "Can't set a value through keyPath '%s' since it contains an operator".formatted( keyPath ) );
+			}
+
 			int lastPeriodIndex = keyPath.lastIndexOf( '.' );
 
 			// No periods means it's just a single key, so we don't need to resolve the keyPath
@@ -84,4 +106,401 @@ public interface NGKeyValueCodingAdditions extends NGKeyValueCoding {
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Collection operators, used in keyPaths of the form [keyPath to a collection].@[operator].[keyPath applied to each element], for example "invoices.@sum.amount"
+	 *
+	 * - @count: The number of elements in the collection. If followed by a keyPath, the number of elements the keyPath resolves to a non-null value for
+	 * - @sum: The sum of the values. 0 for an empty collection
+	 * - @avg: The average of the values. null for an empty collection
+	 * - @min/@max: The smallest/largest of the values, which must be numbers or mutually Comparable. null for an empty collection
+	 * - @distinct: A list of the distinct values, in encounter order
+	 *
+	 * If no keyPath follows the operator, it's applied to the elements themselves. null values are ignored by all the operators.
+	 * Numeric results are returned as a Long, Double or BigDecimal, depending on the widest type of the values (integral primitive wrappers, floating point primitive wrappers and other Numbers, respectively).
+	 * Integral sums are exact, overflow results in an ArithmeticException.
+	 *
+	 * The element keyPath is resolved using the same compiled bindings as regular KVC. If it's a single key resolving to a method/field of a primitive numeric type, the value is read without boxing.
+	 * Collections larger than parallelThreshold() are evaluated in parallel on the common fork-join pool, so element accessors must be safe to invoke concurrently.
+	 */
+	public static class Operators {
+
+		/**
+		 * Collections with more elements than this get evaluated in parallel
+		 */
+		private static volatile int _parallelThreshold = 10_000;
+
+		/**
+		 * Set the number of elements a collection must exceed for operators to be evaluated in parallel. Integer.MAX_VALUE disables parallel evaluation.
+		 */
+		public static void setParallelThreshold( final int value ) {
+			if( value < 0 ) {
+				throw new IllegalArgumentException( "The parallel threshold can't be negative" );
+			}
+
+			_parallelThreshold = value;
+		}
+
+		/**
+		 * @return The number of elements a collection must exceed for operators to be evaluated in parallel
+		 */
+		public static int parallelThreshold() {
+			return _parallelThreshold;
+		}
+
+		/**
+		 * @return The result of applying the named operator (without the '@' prefix) to the given collection, mapping each element through the given keyPath (if any)
+		 */
+		public static Object valueForOperator( final Object collection, final String operatorName, final NGKeyPath keyPath ) {
+			return valueForOperator( collection, Operator.named( operatorName ), keyPath );
+		}
+
+		static Object valueForOperator( final Object object, final Operator operator, final NGKeyPath keyPath ) {
+			Objects.requireNonNull( object );
+			Objects.requireNonNull( operator );
+
+			if( !(object instanceof Collection<?> collection) ) {
+				throw new IllegalArgumentException( "The @%s operator can only be applied to a collection, not to an instance of '%s'".formatted( operator.operatorName(), object.getClass().getName() ) );
+			}
+
+			final boolean parallel = collection.size() > _parallelThreshold;
+
+			if( operator == Operator.COUNT && keyPath == null ) {
+				return collection.size();
+			}
+
+			if( operator == Operator.DISTINCT ) {
+				final Stream<?> stream = parallel ? collection.parallelStream() : collection.stream();
+
+				return stream
+						.filter( Objects::nonNull )
+						.map( element -> keyPath == null ? element : keyPath.valueInObject( element ) )
+						.filter( Objects::nonNull )
+						.distinct()
+						.toList();
+			}
+
+			final Accumulator accumulator;
+
+			if( parallel ) {
+				accumulator = collection.parallelStream().collect( () -> new Accumulator( operator, keyPath ), Accumulator::add, Accumulator::merge );
+			}
+			else {
+				accumulator = new Accumulator( operator, keyPath );
+
+				for( final Object element : collection ) {
+					accumulator.add( element );
+				}
+			}
+
+			return accumulator.result();
+		}
+
+		enum Operator {
+			COUNT( "count" ),
+			SUM( "sum" ),
+			AVG( "avg" ),
+			MIN( "min" ),
+			MAX( "max" ),
+			DISTINCT( "distinct" );
+
+			private final String _operatorName;
+
+			Operator( final String operatorName ) {
+				_operatorName = operatorName;
+			}
+
+			public String operatorName() {
+				return _operatorName;
+			}
+
+			/**
+			 * @return The operator with the given name (without the '@' prefix)
+			 */
+			static Operator named( final String operatorName ) {
+				for( final Operator operator : values() ) {
+					if( operator._operatorName.equals( operatorName ) ) {
+						return operator;
+					}
+				}
+
+				throw new UnknownKeyException( "Unknown operator '@%s'".formatted( operatorName ) );
+			}
+		}
+
+		/**
+		 * The widest kind of value an Accumulator has seen, determining how it stores it's result
+		 */
+		private enum ValueKind {
+			NONE,
+			LONG,
+			DOUBLE,
+			DECIMAL,
+			OBJECT
+		}
+
+		/**
+		 * Accumulates the values of a collection for a single operator. When evaluating in parallel, each thread gets it's own accumulator and the results are then combined.
+		 */
+		private static final class Accumulator {
+
+			private final Operator _operator;
+
+			/**
+			 * KeyPath applied to each element, null to use the elements themselves
+			 */
+			private final NGKeyPath _keyPath;
+
+			/**
+			 * true if the keyPath is a single key, meaning we can resolve the binding for each element class ourselves and read primitive values directly
+			 */
+			private final boolean _singleKey;
+
+			/**
+			 * The element class we last resolved a binding for, and that binding. Collections are usually homogeneous, so this means we resolve the binding once.
+			 */
+			private Class<?> _bindingClass;
+			private KVCReadBinding _binding;
+
+			/**
+			 * The number of (non-null) values accumulated
+			 */
+			private long _count;
+
+			private ValueKind _kind = ValueKind.NONE;
+			private long _long;
+			private double _double;
+			private BigDecimal _decimal;
+			private Object _object;
+
+			private Accumulator( final Operator operator, final NGKeyPath keyPath ) {
+				_operator = operator;
+				_keyPath = keyPath;
+				_singleKey = keyPath != null && keyPath.length() == 1 && !keyPath.hasOperator();
+			}
+
+			private void add( final Object element ) {
+
+				if( element == null ) {
+					return;
+				}
+
+				if( _keyPath == null ) {
+					addValue( element );
+					return;
+				}
+
+				if( _singleKey && !(element instanceof NGKeyValueCoding) ) {
+					final Class<?> elementClass = element.getClass();
+
+					if( elementClass != _bindingClass ) {
+						_binding = _keyPath.readBindingForObject( element );
+						_bindingClass = elementClass;
+					}
+
+					if( _binding instanceof CompiledLongReadBinding longBinding ) {
+						addLong( longBinding.longValueInObject( element ) );
+					}
+					else if( _binding instanceof CompiledDoubleReadBinding doubleBinding ) {
+						addDouble( doubleBinding.doubleValueInObject( element ) );
+					}
+					else {
+						addValue( _binding.valueInObject( element ) );
+					}
+
+					return;
+				}
+
+				addValue( _keyPath.valueInObject( element ) );
+			}
+
+			private void addValue( final Object value ) {
+
+				if( value == null ) {
+					return;
+				}
+
+				if( _operator == Operator.COUNT ) {
+					_count++;
+				}
+				else if( value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte ) {
+					addLong( ((Number)value).longValue() );
+				}
+				else if( value instanceof Double || value instanceof Float ) {
+					addDouble( ((Number)value).doubleValue() );
+				}
+				else if( value instanceof BigDecimal || value instanceof BigInteger ) {
+					addDecimal( (BigDecimal)NGNumericConversion.convert( value, BigDecimal.class ) );
+				}
+				else {
+					addObject( value );
+				}
+			}
+
+			private void addLong( final long value ) {
+				switch( _kind ) {
+					case NONE -> {
+						_kind = ValueKind.LONG;
+						_long = value;
+					}
+					case LONG -> _long = combine( _long, value );
+					case DOUBLE -> _double = combine( _double, value );
+					case DECIMAL -> _decimal = combine( _decimal, BigDecimal.valueOf( value ) );
+					case OBJECT -> throw mixedValuesException();
+				}
+
+				_count++;
+			}
+
+			private void addDouble( final double value ) {
+				switch( _kind ) {
+					case NONE -> {
+						_kind = ValueKind.DOUBLE;
+						_double = value;
+					}
+					case LONG -> {
+						_kind = ValueKind.DOUBLE;
+						_double = combine( (double)_long, value );
+					}
+					case DOUBLE -> _double = combine( _double, value );
+					case DECIMAL -> _decimal = combine( _decimal, BigDecimal.valueOf( value ) );
+					case OBJECT -> throw mixedValuesException();
+				}
+
+				_count++;
+			}
+
+			private void addDecimal( final BigDecimal value ) {
+				switch( _kind ) {
+					case NONE -> {
+						_kind = ValueKind.DECIMAL;
+						_decimal = value;
+					}
+					case LONG -> {
+						_kind = ValueKind.DECIMAL;
+						_decimal = combine( BigDecimal.valueOf( _long ), value );
+					}
+					case DOUBLE -> {
+						_kind = ValueKind.DECIMAL;
+						_decimal = combine( BigDecimal.valueOf( _double ), value );
+					}
+					case DECIMAL -> _decimal = combine( _decimal, value );
+					case OBJECT -> throw mixedValuesException();
+				}
+
+				_count++;
+			}
+
+			/**
+			 * Adds a non-numeric value, only applicable to @min/@max
+			 */
+			private void addObject( final Object value ) {
+
+				if( _operator != Operator.MIN && _operator != Operator.MAX ) {
+					throw new IllegalArgumentException( "The @%s operator can only be applied to numbers, not to an instance of '%s'".formatted( _operator.operatorName(), value.getClass().getName() ) );
+				}
+
+				if( !(value instanceof Comparable) ) {
+					throw new IllegalArgumentException( "The @%s operator can only be applied to Comparable values, not to an instance of '%s'".formatted( _operator.operatorName(), value.getClass().getName() ) );
+				}
+
+				switch( _kind ) {
+					case NONE -> {
+						_kind = ValueKind.OBJECT;
+						_object = value;
+					}
+					case OBJECT -> _object = combine( _object, value );
+					default -> throw mixedValuesException();
+				}
+
+				_count++;
+			}
+
+			/**
+			 * Adds the result of another accumulator (for the same operator) to this one
+			 */
+			private void merge( final Accumulator other ) {
+
+				if( _operator == Operator.COUNT ) {
+					_count += other._count;
+					return;
+				}
+
+				switch( other._kind ) {
+					case NONE -> {
+						return;
+					}
+					case LONG -> addLong( other._long );
+					case DOUBLE -> addDouble( other._double );
+					case DECIMAL -> addDecimal( other._decimal );
+					case OBJECT -> addObject( other._object );
+				}
+
+				// Adding the other accumulator's result counted as one value, so add the rest of it's count
+				_count += other._count - 1;
+			}
+
+			private Object result() {
+				return switch( _operator ) {
+					case COUNT -> Math.toIntExact( _count );
+					case SUM -> switch( _kind ) {
+						case NONE -> 0L;
+						case LONG -> _long;
+						case DOUBLE -> _double;
+						case DECIMAL -> _decimal;
+						case OBJECT -> throw new IllegalStateException();
+					};
+					case AVG -> switch( _kind ) {
+						case NONE -> null;
+						case LONG -> (double)_long / _count;
+						case DOUBLE -> _double / _count;
+						case DECIMAL -> _decimal.divide( BigDecimal.valueOf( _count ), MathContext.DECIMAL128 );
+						case OBJECT -> throw new IllegalStateException();
+					};
+					case MIN, MAX -> switch( _kind ) {
+						case NONE -> null;
+						case LONG -> _long;
+						case DOUBLE -> _double;
+						case DECIMAL -> _decimal;
+						case OBJECT -> _object;
+					};
+					case DISTINCT -> throw new IllegalStateException( "@distinct isn't evaluated using an accumulator" );
+				};
+			}
+
+			private long combine( final long a, final long b ) {
+				return switch( _operator ) {
+					case MIN -> Math.min( a, b );
+					case MAX -> Math.max( a, b );
+					default -> Math.addExact( a, b );
+				};
+			}
+
+			private double combine( final double a, final double b ) {
+				return switch( _operator ) {
+					case MIN -> Math.min( a, b );
+					case MAX -> Math.max( a, b );
+					default -> a + b;
+				};
+			}
+
+			private BigDecimal combine( final BigDecimal a, final BigDecimal b ) {
+				return switch( _operator ) {
+					case MIN -> a.min( b );
+					case MAX -> a.max( b );
+					default -> a.add( b );
+				};
+			}
+
+			@SuppressWarnings({ "unchecked", "rawtypes" })
+			private Object combine( final Object a, final Object b ) {
+				final int comparison = ((Comparable)a).compareTo( b );
+				return (_operator == Operator.MIN) == (comparison <= 0) ? a : b;
+			}
+
+			private IllegalArgumentException mixedValuesException() {
+				return new IllegalArgumentException( "The @%s operator can't be applied to a mix of numeric and non-numeric values".formatted( _operator.operatorName() ) );
+			}
+		}
+	}
+}
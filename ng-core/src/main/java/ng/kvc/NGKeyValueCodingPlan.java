@@ -0,0 +1,184 @@
+package ng.kvc;
+
+import java.util.Objects;
+
+import ng.kvc.NGKeyValueCoding.DefaultImplementation;
+import ng.kvc.NGKeyValueCoding.DefaultImplementation.KVCReadBinding;
+import ng.kvc.NGKeyValueCoding.DefaultImplementation.KVCWriteBinding;
+
+/**
+ * A set of keys resolved against a single class, for reading/writing the values of all the keys in one go using NGKeyValueCoding.Utility.valuesForKeys()/takeValuesForKeys()
+ *
+ * The bindings for the keys are resolved once, when the plan is constructed. Applying the plan is then a loop over the bindings, without the per-key dispatch and binding lookup performed by valueForKey()/takeValueForKey().
+ * Intended for sets of keys that get applied repeatedly to instances of the same class, such as the bindings of a component reference.
+ *
+ * Semantics are the same as for invoking valueForKey()/takeValueForKey() for each key, including the exceptions thrown for keys that don't resolve.
+ */
+
+public final class NGKeyValueCodingPlan {
+
+	/**
+	 * The class the plan was resolved against
+	 */
+	private final Class<?> _objectClass;
+
+	/**
+	 * The keys, in order
+	 */
+	private final String[] _keys;
+
+	/**
+	 * true if instances of the class implement NGKeyValueCoding themselves, in which case we pass the keys on to them
+	 */
+	private final boolean _kvcObject;
+
+	/**
+	 * The accessor generated for the class, if any
+	 */
+	private final NGKeyValueCodingAccessor _generatedAccessor;
+
+	/**
+	 * Read/write bindings aligned with _keys. Only resolved if the class doesn't implement NGKeyValueCoding and has no generated accessor.
+	 */
+	private final KVCReadBinding[] _readBindings;
+	private final KVCWriteBinding[] _writeBindings;
+
+	/**
+	 * The KVC cache generation the bindings were resolved in. If a class has been invalidated since, the bindings might be outdated, so we stop using them.
+	 */
+	private final int _cacheGeneration;
+
+	private NGKeyValueCodingPlan( final Object object, final String[] keys ) {
+		Objects.requireNonNull( object );
+		Objects.requireNonNull( keys );
+
+		_objectClass = object.getClass();
+		_keys = keys.clone();
+		_cacheGeneration = DefaultImplementation.cacheGeneration();
+		_kvcObject = object instanceof NGKeyValueCoding;
+		_generatedAccessor = _kvcObject ? null : NGKeyValueCoding.Utility.generatedAccessor( _objectClass );
+
+		if( _kvcObject || _generatedAccessor != null ) {
+			_readBindings = null;
+			_writeBindings = null;
+		}
+		else {
+			_readBindings = new KVCReadBinding[_keys.length];
+			_writeBindings = new KVCWriteBinding[_keys.length];
+
+			for( int i = 0; i < _keys.length; i++ ) {
+				Objects.requireNonNull( _keys[i] );
+				_readBindings[i] = DefaultImplementation.readBindingForKey( object, _keys[i] );
+				_writeBindings[i] = DefaultImplementation.writeBindingForKey( object, _keys[i] );
+			}
+		}
+	}
+
+	/**
+	 * @return A plan for the given keys, resolved against the class of the given object
+	 */
+	public static NGKeyValueCodingPlan of( final Object object, final String... keys ) {
+		return new NGKeyValueCodingPlan( object, keys );
+	}
+
+	/**
+	 * @return The class the plan was resolved against. The plan can only be applied to instances of this exact class.
+	 */
+	public Class<?> objectClass() {
+		return _objectClass;
+	}
+
+	/**
+	 * @return The number of keys in the plan
+	 */
+	public int size() {
+		return _keys.length;
+	}
+
+	/**
+	 * @return The key at the given index
+	 */
+	public String keyAtIndex( final int index ) {
+		return _keys[index];
+	}
+
+	/**
+	 * Stores the values of the plan's keys in the given object in [values]
+	 */
+	void valuesForKeys( final Object object, final Object[] values ) {
+		checkArguments( object, values );
+
+		if( _kvcObject ) {
+			final NGKeyValueCoding kvcObject = (NGKeyValueCoding)object;
+
+			for( int i = 0; i < _keys.length; i++ ) {
+				values[i] = kvcObject.valueForKey( _keys[i] );
+			}
+		}
+		else if( _generatedAccessor != null ) {
+			for( int i = 0; i < _keys.length; i++ ) {
+				values[i] = _generatedAccessor.valueForKey( object, _keys[i] );
+			}
+		}
+		else if( !DefaultImplementation._cachingEnabled || _cacheGeneration != DefaultImplementation.cacheGeneration() ) {
+			// Caching is disabled, meaning we're not supposed to hang on to bindings (for example, to allow classes to be reloaded during development). Same if classes have been invalidated since we resolved our bindings.
+			for( int i = 0; i < _keys.length; i++ ) {
+				values[i] = DefaultImplementation.valueForKey( object, _keys[i] );
+			}
+		}
+		else {
+			for( int i = 0; i < _keys.length; i++ ) {
+				values[i] = _readBindings[i].valueInObject( object );
+			}
+		}
+	}
+
+	/**
+	 * Sets the values of the plan's keys in the given object, from [values]
+	 */
+	void takeValuesForKeys( final Object object, final Object[] values ) {
+		checkArguments( object, values );
+
+		if( _kvcObject ) {
+			final NGKeyValueCoding kvcObject = (NGKeyValueCoding)object;
+
+			for( int i = 0; i < _keys.length; i++ ) {
+				kvcObject.takeValueForKey( values[i], _keys[i] );
+			}
+		}
+		else if( _generatedAccessor != null ) {
+			for( int i = 0; i < _keys.length; i++ ) {
+				_generatedAccessor.takeValueForKey( object, values[i], _keys[i] );
+			}
+		}
+		else if( !DefaultImplementation._cachingEnabled || _cacheGeneration != DefaultImplementation.cacheGeneration() ) {
+			// See comment in valuesForKeys()
+			for( int i = 0; i < _keys.length; i++ ) {
+				DefaultImplementation.takeValueForKey( object, values[i], _keys[i] );
+			}
+		}
+		else {
+			for( int i = 0; i < _keys.length; i++ ) {
+				_writeBindings[i].setValueInObject( values[i], object );
+			}
+		}
+	}
+
+	private void checkArguments( final Object object, final Object[] values ) {
+		Objects.requireNonNull( object );
+		Objects.requireNonNull( values );
+
+		if( object.getClass() != _objectClass ) {
+			throw new IllegalArgumentException( "This plan was resolved against class '%s' and can't be applied to an instance of '%s'".formatted( _objectClass.getName(), object.getClass().getName() ) );
+		}
+
+		if( values.length != _keys.length ) {
+			throw new IllegalArgumentException( "Expected %s values, got %s".formatted( _keys.length, values.length ) );
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "NGKeyValueCodingPlan [objectClass=" + _objectClass.getName() + ", keys=" + String.join( ",", _keys ) + "]";
+	}
+}
@@ -12,6 +12,17 @@ import java.util.List;
 
 public class NGKeyValueCodingSupport {
 
+	/**
+	 * Per-class cache of getter keys, used for generating suggestions for unknown keys.
+	 * We're using a ClassValue rather than a map keyed by Class, so we're not preventing classes from being unloaded
+	 */
+	private static final ClassValue<List<String>> _getterKeysCache = new ClassValue<>() {
+		@Override
+		protected List<String> computeValue( final Class<?> objectClass ) {
+			return List.copyOf( locateGetterKeysForClass( objectClass ) );
+		}
+	};
+
 	/**
 	 * @return a List of keys that can be invoked on the given object
 	 */
@@ -20,9 +31,16 @@ public class NGKeyValueCodingSupport {
 	}
 
 	/**
-	 * @return A list of available accessible keys on the given object
+	 * @return A list of available accessible keys on the given class. The list is cached per class and is immutable.
+	 */
+	public static List<String> getterKeysForClass( final Class<?> objectClass ) {
+		return _getterKeysCache.get( objectClass );
+	}
+
+	/**
+	 * @return A list of available accessible keys on the given class
 	 */
-	private static List<String> getterKeysForClass( final Class<?> objectClass ) {
+	private static List<String> locateGetterKeysForClass( final Class<?> objectClass ) {
 		final List<String> result = new ArrayList<>();
 
 		// CHECKME: Since Java records will return record components as well as regular methods, we're about to perform our regular method name munging for record component names too. We might want to give that a second though // Hugi 2025-03-27
@@ -121,10 +139,17 @@ public class NGKeyValueCodingSupport {
 	 * @return A list of suggestions for the given key when trying to apply it to the given object. Really just a list of the object's available keys, ordered by the edit distance from the proposed key
 	 */
 	public static List<String> suggestions( final Object object, final String proposedKey ) {
+		return suggestions( object.getClass(), proposedKey );
+	}
+
+	/**
+	 * @return A list of suggestions for the given key when trying to apply it to an instance of the given class. See suggestions( Object, String )
+	 */
+	public static List<String> suggestions( final Class<?> objectClass, final String proposedKey ) {
 
 		record Suggestion( int distance, String key ) {}
 
-		return getterKeysForObject( object )
+		return getterKeysForClass( objectClass )
 				.stream()
 				.map( key -> new Suggestion( distanceLevenshtein( key, proposedKey ), key ) )
 				.sorted( Comparator.comparing( Suggestion::distance ) )
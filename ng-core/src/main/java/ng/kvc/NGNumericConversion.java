@@ -0,0 +1,335 @@
+package ng.kvc;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Conversion of values to numeric types, used by KVC when setting values of numeric fields/methods.
+ *
+ * Conversions between the standard numeric classes are performed by converters looked up in a table, keyed by (source class, target class). The converters never go through strings.
+ * Widening conversions follow Java's rules, except that conversions from integral types to float/double (which Java performs even if they round) are treated like narrowing conversions.
+ * Narrowing conversions are only performed if they're exact, i.e. the value fits in the target type and has no fractional part (when converting to an integral type),
+ * and converting the result back to the value's class gives the original value (when converting to float/double). If not, an ArithmeticException is thrown.
+ * Converting back from float/double to BigDecimal/BigInteger goes through the result's decimal representation (see below), so BigDecimal 0.1 converts to 0.1d, but 0.1d doesn't convert to a float.
+ *
+ * Other values (such as strings) are converted by parsing their string representation.
+ *
+ * The primitive conversion methods (longValue(), intValue() etc.) follow the same rules, but don't allocate.
+ */
+
+public final class NGNumericConversion {
+
+	/**
+	 * Converters by source class, then target class. Primitive target types are stored under their wrapper class.
+	 */
+	private static final Map<Class<?>, Map<Class<?>, Function<Number, Object>>> _converters = createConverters();
+
+	/**
+	 * Functions parsing a string to each target class
+	 */
+	private static final Map<Class<?>, Function<String, Object>> _parsers = Map.of(
+			Byte.class, Byte::valueOf,
+			Short.class, Short::valueOf,
+			Integer.class, Integer::valueOf,
+			Long.class, Long::valueOf,
+			Float.class, Float::valueOf,
+			Double.class, Double::valueOf,
+			BigInteger.class, BigInteger::new,
+			BigDecimal.class, BigDecimal::new );
+
+	private NGNumericConversion() {}
+
+	/**
+	 * @return true if the given type is a type we can convert values to. That's the standard numeric wrapper classes, their primitive types, BigInteger and BigDecimal
+	 */
+	public static boolean isConvertibleType( final Class<?> type ) {
+		return _parsers.containsKey( wrapperType( type ) );
+	}
+
+	/**
+	 * @return The given value converted to the given target type. null values are returned as-is.
+	 *
+	 * @throws ArithmeticException If a narrowing conversion would lose information
+	 * @throws NumberFormatException If the value is not a number and can't be parsed to one
+	 * @throws IllegalArgumentException If the target type is not a numeric type we know how to convert to
+	 */
+	public static Object convert( final Object value, Class<?> targetType ) {
+
+		if( value == null ) {
+			return null;
+		}
+
+		targetType = wrapperType( targetType );
+
+		if( value.getClass() == targetType ) {
+			// No need to perform any conversion if the value class is already correct
+			return value;
+		}
+
+		final Map<Class<?>, Function<Number, Object>> convertersForSource = _converters.get( value.getClass() );
+
+		if( convertersForSource != null ) {
+			final Function<Number, Object> converter = convertersForSource.get( targetType );
+
+			if( converter != null ) {
+				return converter.apply( (Number)value );
+			}
+		}
+
+		final Function<String, Object> parser = _parsers.get( targetType );
+
+		if( parser == null ) {
+			throw new IllegalArgumentException( "Can't convert a value of class '%s' to '%s'".formatted( value.getClass().getName(), targetType.getName() ) );
+		}
+
+		return parser.apply( value.toString() );
+	}
+
+	/**
+	 * @return The given number as a long
+	 */
+	public static long longValue( final Number value ) {
+
+		if( value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte ) {
+			return value.longValue();
+		}
+
+		if( value instanceof Double || value instanceof Float ) {
+			return exactLong( value.doubleValue() );
+		}
+
+		if( value instanceof BigDecimal bigDecimal ) {
+			return bigDecimal.longValueExact();
+		}
+
+		if( value instanceof BigInteger bigInteger ) {
+			return bigInteger.longValueExact();
+		}
+
+		return new BigDecimal( value.toString() ).longValueExact();
+	}
+
+	/**
+	 * @return The given number as an int
+	 */
+	public static int intValue( final Number value ) {
+
+		if( value instanceof Integer || value instanceof Short || value instanceof Byte ) {
+			return value.intValue();
+		}
+
+		return Math.toIntExact( longValue( value ) );
+	}
+
+	/**
+	 * @return The given number as a short
+	 */
+	public static short shortValue( final Number value ) {
+		final long longValue = longValue( value );
+
+		if( longValue < Short.MIN_VALUE || longValue > Short.MAX_VALUE ) {
+			throw new ArithmeticException( "short overflow: " + value );
+		}
+
+		return (short)longValue;
+	}
+
+	/**
+	 * @return The given number as a byte
+	 */
+	public static byte byteValue( final Number value ) {
+		final long longValue = longValue( value );
+
+		if( longValue < Byte.MIN_VALUE || longValue > Byte.MAX_VALUE ) {
+			throw new ArithmeticException( "byte overflow: " + value );
+		}
+
+		return (byte)longValue;
+	}
+
+	/**
+	 * @return The given number as a double
+	 */
+	public static double doubleValue( final Number value ) {
+		final double doubleValue = value.doubleValue();
+
+		if( value instanceof Double || value instanceof Float ) {
+			return doubleValue;
+		}
+
+		if( Double.isInfinite( doubleValue ) && !isInfiniteFloatingPoint( value ) ) {
+			throw new ArithmeticException( "double overflow: " + value );
+		}
+
+		if( !roundTrips( value, doubleValue, Double.toString( doubleValue ) ) ) {
+			throw new ArithmeticException( "Can't convert %s to a double without loss of precision".formatted( value ) );
+		}
+
+		return doubleValue;
+	}
+
+	/**
+	 * @return The given number as a float
+	 */
+	public static float floatValue( final Number value ) {
+		final float floatValue = value.floatValue();
+
+		if( value instanceof Float ) {
+			return floatValue;
+		}
+
+		if( Float.isInfinite( floatValue ) && !isInfiniteFloatingPoint( value ) ) {
+			throw new ArithmeticException( "float overflow: " + value );
+		}
+
+		if( !roundTrips( value, floatValue, Float.toString( floatValue ) ) ) {
+			throw new ArithmeticException( "Can't convert %s to a float without loss of precision".formatted( value ) );
+		}
+
+		return floatValue;
+	}
+
+	/**
+	 * @return true if converting [result] (the value converted to float/double, with [resultString] being it's string representation) back to the value's class gives the original value
+	 */
+	private static boolean roundTrips( final Number value, final double result, final String resultString ) {
+
+		if( value instanceof Double d ) {
+			return d == result || Double.isNaN( d );
+		}
+
+		if( value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte ) {
+			// 2^63 is the first double that doesn't fit in a long, and casting it to one would give Long.MAX_VALUE
+			return result < 0x1p63 && (long)result == value.longValue();
+		}
+
+		if( value instanceof BigDecimal bigDecimal ) {
+			return bigDecimal.compareTo( new BigDecimal( resultString ) ) == 0;
+		}
+
+		if( value instanceof BigInteger bigInteger ) {
+			return new BigDecimal( bigInteger ).compareTo( new BigDecimal( resultString ) ) == 0;
+		}
+
+		// Some other Number subclass we don't know the precision of
+		return true;
+	}
+
+	/**
+	 * @return true if the value is a Float/Double representing infinity. Converting those to an infinite value of another type is fine, an infinite result for any other value means an overflow.
+	 */
+	private static boolean isInfiniteFloatingPoint( final Number value ) {
+		return (value instanceof Double || value instanceof Float) && Double.isInfinite( value.doubleValue() );
+	}
+
+	/**
+	 * @return The given double as a long, if the conversion is exact
+	 */
+	private static long exactLong( final double value ) {
+
+		// 2^63 is exactly representable as a double, Long.MAX_VALUE isn't
+		if( value != Math.rint( value ) || value < -0x1p63 || value >= 0x1p63 ) {
+			throw new ArithmeticException( "Can't convert %s to an integral value without loss of information".formatted( value ) );
+		}
+
+		return (long)value;
+	}
+
+	/**
+	 * @return The wrapper class for the given type if it's primitive, otherwise the type itself
+	 */
+	private static Class<?> wrapperType( final Class<?> type ) {
+
+		if( !type.isPrimitive() ) {
+			return type;
+		}
+
+		if( type == int.class ) {
+			return Integer.class;
+		}
+
+		if( type == long.class ) {
+			return Long.class;
+		}
+
+		if( type == double.class ) {
+			return Double.class;
+		}
+
+		if( type == float.class ) {
+			return Float.class;
+		}
+
+		if( type == short.class ) {
+			return Short.class;
+		}
+
+		if( type == byte.class ) {
+			return Byte.class;
+		}
+
+		return type;
+	}
+
+	/**
+	 * @return The converter table
+	 */
+	private static Map<Class<?>, Map<Class<?>, Function<Number, Object>>> createConverters() {
+		final Map<Class<?>, Map<Class<?>, Function<Number, Object>>> converters = new HashMap<>();
+
+		// Integral sources. Everything fits in a long, so we go through longValue() without any checks (but large values might not survive conversion to float/double)
+		for( final Class<?> sourceClass : new Class<?>[] { Byte.class, Short.class, Integer.class, Long.class } ) {
+			converters.put( sourceClass, Map.of(
+					Byte.class, n -> byteValue( n ),
+					Short.class, n -> shortValue( n ),
+					Integer.class, n -> Math.toIntExact( n.longValue() ),
+					Long.class, n -> n.longValue(),
+					Float.class, n -> floatValue( n ),
+					Double.class, n -> doubleValue( n ),
+					BigInteger.class, n -> BigInteger.valueOf( n.longValue() ),
+					BigDecimal.class, n -> BigDecimal.valueOf( n.longValue() ) ) );
+		}
+
+		// Floating point sources. Conversion to BigDecimal goes through the decimal representation of the value, so 50.55f becomes 50.55 rather than 50.549999237060546875
+		converters.put( Float.class, Map.of(
+				Byte.class, n -> byteValue( n ),
+				Short.class, n -> shortValue( n ),
+				Integer.class, n -> Math.toIntExact( exactLong( n.doubleValue() ) ),
+				Long.class, n -> exactLong( n.doubleValue() ),
+				Double.class, n -> n.doubleValue(),
+				BigInteger.class, n -> new BigDecimal( n.toString() ).toBigIntegerExact(),
+				BigDecimal.class, n -> new BigDecimal( n.toString() ) ) );
+
+		converters.put( Double.class, Map.of(
+				Byte.class, n -> byteValue( n ),
+				Short.class, n -> shortValue( n ),
+				Integer.class, n -> Math.toIntExact( exactLong( n.doubleValue() ) ),
+				Long.class, n -> exactLong( n.doubleValue() ),
+				Float.class, n -> floatValue( n ),
+				BigInteger.class, n -> BigDecimal.valueOf( n.doubleValue() ).toBigIntegerExact(),
+				BigDecimal.class, n -> BigDecimal.valueOf( n.doubleValue() ) ) );
+
+		converters.put( BigInteger.class, Map.of(
+				Byte.class, n -> ((BigInteger)n).byteValueExact(),
+				Short.class, n -> ((BigInteger)n).shortValueExact(),
+				Integer.class, n -> ((BigInteger)n).intValueExact(),
+				Long.class, n -> ((BigInteger)n).longValueExact(),
+				Float.class, n -> floatValue( n ),
+				Double.class, n -> doubleValue( n ),
+				BigDecimal.class, n -> new BigDecimal( (BigInteger)n ) ) );
+
+		converters.put( BigDecimal.class, Map.of(
+				Byte.class, n -> ((BigDecimal)n).byteValueExact(),
+				Short.class, n -> ((BigDecimal)n).shortValueExact(),
+				Integer.class, n -> ((BigDecimal)n).intValueExact(),
+				Long.class, n -> ((BigDecimal)n).longValueExact(),
+				Float.class, n -> floatValue( n ),
+				Double.class, n -> doubleValue( n ),
+				BigInteger.class, n -> ((BigDecimal)n).toBigIntegerExact() ) );
+
+		return Map.copyOf( converters );
+	}
+}
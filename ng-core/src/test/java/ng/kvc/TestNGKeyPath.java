@@ -0,0 +1,158 @@
+package ng.kvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import ng.kvc.NGKeyValueCoding.UnknownKeyException;
+
+public class TestNGKeyPath {
+
+	@Test
+	public void parse() {
+		final NGKeyPath keyPath = NGKeyPath.of( "address.city.length" );
+		assertEquals( 3, keyPath.length() );
+		assertEquals( "address", keyPath.keyAtIndex( 0 ) );
+		assertEquals( "city", keyPath.keyAtIndex( 1 ) );
+		assertEquals( "length", keyPath.keyAtIndex( 2 ) );
+		assertEquals( "address.city.length", keyPath.keyPath() );
+
+		assertEquals( 1, NGKeyPath.of( "name" ).length() );
+	}
+
+	@Test
+	public void valueInObject() {
+		final NGKeyPath keyPath = NGKeyPath.of( "address.city" );
+
+		// Invoke repeatedly to make sure we're hitting the inline cache
+		for( int i = 0; i < 3; i++ ) {
+			assertEquals( "Reykjavík", keyPath.valueInObject( new Person( "Hugi", new Address( "Reykjavík" ) ) ) );
+		}
+
+		assertNull( keyPath.valueInObject( new Person( "Hugi", null ) ) );
+	}
+
+	@Test
+	public void valueInObjectAfterInvalidation() {
+		final NGKeyPath keyPath = NGKeyPath.of( "address.city" );
+		final Person person = new Person( "Hugi", new Address( "Reykjavík" ) );
+		assertEquals( "Reykjavík", keyPath.valueInObject( person ) );
+
+		final int generation = NGKeyValueCoding.DefaultImplementation.cacheGeneration();
+		NGKeyValueCoding.DefaultImplementation.invalidateClass( Address.class );
+		assertTrue( NGKeyValueCoding.DefaultImplementation.cacheGeneration() != generation );
+
+		// The segments start over with fresh bindings
+		for( int i = 0; i < 3; i++ ) {
+			assertEquals( "Reykjavík", keyPath.valueInObject( person ) );
+		}
+	}
+
+	@Test
+	public void concurrentInvalidationsAllCount() throws Exception {
+		final int generation = NGKeyValueCoding.DefaultImplementation.cacheGeneration();
+		final Thread[] threads = new Thread[4];
+
+		for( int i = 0; i < threads.length; i++ ) {
+			threads[i] = new Thread( () -> {
+				for( int j = 0; j < 1000; j++ ) {
+					NGKeyValueCoding.DefaultImplementation.invalidateClass( Address.class );
+				}
+			} );
+			threads[i].start();
+		}
+
+		for( final Thread thread : threads ) {
+			thread.join();
+		}
+
+		assertEquals( generation + 4000, NGKeyValueCoding.DefaultImplementation.cacheGeneration() );
+	}
+
+	@Test
+	public void valueInObjectPolymorphic() {
+		final NGKeyPath keyPath = NGKeyPath.of( "size" );
+
+		// More receiver classes than the inline cache holds, to make sure the megamorphic path works as well
+		final List<Object> receivers = List.of( List.of(), List.of( 1 ), List.of( 1, 2, 3 ), new ArrayList<>(), new LinkedList<>(), new HashSet<>(), new TreeSet<>() );
+
+		for( int i = 0; i < 2; i++ ) {
+			for( Object receiver : receivers ) {
+				assertEquals( NGKeyValueCoding.Utility.valueForKey( receiver, "size" ), keyPath.valueInObject( receiver ) );
+			}
+		}
+	}
+
+	@Test
+	public void operators() {
+		final NGKeyPath keyPath = NGKeyPath.of( "addresses.@sum.city.length" );
+		assertTrue( keyPath.hasOperator() );
+		assertFalse( NGKeyPath.of( "address.city" ).hasOperator() );
+
+		final List<Address> addresses = List.of( new Address( "Reykjavík" ), new Address( "Vík" ) );
+		final Group group = new Group( addresses );
+
+		for( int i = 0; i < 3; i++ ) {
+			assertEquals( 12L, keyPath.valueInObject( group ) );
+		}
+
+		assertEquals( 2, NGKeyPath.of( "@count" ).valueInObject( addresses ) );
+		assertThrows( IllegalArgumentException.class, () -> keyPath.takeValueInObject( 1, group ) );
+		assertThrows( UnknownKeyException.class, () -> NGKeyPath.of( "addresses.@unknown" ) );
+	}
+
+	@Test
+	public void valueInObjectThrowsUnknownKeyException() {
+		final Person p = new Person( "Hugi", new Address( "Reykjavík" ) );
+
+		assertThrows( UnknownKeyException.class, () -> NGKeyPath.of( "address.citi" ).valueInObject( p ) );
+		assertThrows( UnknownKeyException.class, () -> NGKeyPath.of( "adres" ).valueInObject( p ) );
+	}
+
+	@Test
+	public void takeValueInObject() {
+		final Person p = new Person( "Hugi", new Address( "Reykjavík" ) );
+
+		NGKeyPath.of( "address.city" ).takeValueInObject( "Neskaupstaður", p );
+		assertEquals( "Neskaupstaður", p.address.city );
+
+		NGKeyPath.of( "name" ).takeValueInObject( "Ósk", p );
+		assertEquals( "Ósk", p.name );
+	}
+
+	public static class Person {
+		public String name;
+		public Address address;
+
+		public Person( String name, Address address ) {
+			this.name = name;
+			this.address = address;
+		}
+	}
+
+	public static class Address {
+		public String city;
+
+		public Address( String city ) {
+			this.city = city;
+		}
+	}
+
+	public static class Group {
+		public List<Address> addresses;
+
+		public Group( List<Address> addresses ) {
+			this.addresses = addresses;
+		}
+	}
+}
@@ -139,6 +139,128 @@ public class TestNGKeyValueCoding {
 		assertTrue( testProduct.price.compareTo( new BigDecimal( "50.55" ) ) == 0 );
 	}
 
+	@Test
+	public void testCompiledAccessorsMatchReflectiveAccessors() {
+		final Home home = new Home();
+		home.address1 = "Hraunteigur 23";
+
+		try {
+			for( boolean compiled : new boolean[] { false, true } ) {
+				NGKeyValueCoding.DefaultImplementation.setCompiledAccessorsEnabled( compiled );
+
+				// Invoke twice, so we're also hitting the cached (compiled) bindings
+				for( int i = 0; i < 2; i++ ) {
+					assertEquals( "Hraunteigur 23", NGKeyValueCoding.Utility.valueForKey( home, "address1" ) );
+					assertEquals( 14, NGKeyValueCoding.Utility.valueForKey( home, "addressLength" ) );
+					assertEquals( "static", NGKeyValueCoding.Utility.valueForKey( home, "staticValue" ) );
+					assertEquals( 1, NGKeyValueCoding.Utility.valueForKey( List.of( "Hello" ), "size" ) );
+					assertThrows( RuntimeException.class, () -> NGKeyValueCoding.Utility.valueForKey( home, "throwsChecked" ) );
+				}
+			}
+		}
+		finally {
+			NGKeyValueCoding.DefaultImplementation.setCompiledAccessorsEnabled( true );
+		}
+	}
+
+	@Test
+	public void testUnknownKeyThrowsRepeatedly() {
+		final PlainOldRecord person = new PlainOldRecord( "Hugi" );
+
+		// The second failed lookup hits the cached (unresolved) binding and should report the same thing
+		final String firstMessage = assertThrows( NGKeyValueCoding.UnknownKeyException.class, () -> NGKeyValueCoding.Utility.valueForKey( person, "nam" ) ).getMessage();
+		final String secondMessage = assertThrows( NGKeyValueCoding.UnknownKeyException.class, () -> NGKeyValueCoding.Utility.valueForKey( person, "nam" ) ).getMessage();
+		assertEquals( firstMessage, secondMessage );
+		assertTrue( firstMessage.contains( "Did you mean 'name'?" ) );
+
+		assertThrows( NGKeyValueCoding.UnknownKeyException.class, () -> NGKeyValueCoding.Utility.takeValueForKey( new Home(), "Hraunteigur 23", "address3" ) );
+		assertThrows( NGKeyValueCoding.UnknownKeyException.class, () -> NGKeyValueCoding.Utility.takeValueForKey( new Home(), "Hraunteigur 23", "address3" ) );
+	}
+
+	@Test
+	public void testTakeValueForKeyCachedConversions() {
+		final Counter counter = new Counter();
+
+		// Repeated, so we're also going through the cached bindings
+		for( int i = 0; i < 2; i++ ) {
+			NGKeyValueCoding.Utility.takeValueForKey( counter, 5L, "count" );
+			assertEquals( 5L, counter.count );
+
+			// Integer passed to a method taking a long, requires widening
+			NGKeyValueCoding.Utility.takeValueForKey( counter, 6, "count" );
+			assertEquals( 6L, counter.count );
+
+			NGKeyValueCoding.Utility.takeValueForKey( counter, 7, "total" );
+			assertEquals( 7L, counter.total );
+
+			assertThrows( RuntimeException.class, () -> NGKeyValueCoding.Utility.takeValueForKey( counter, null, "count" ) );
+			assertThrows( RuntimeException.class, () -> NGKeyValueCoding.Utility.takeValueForKey( counter, "Not a number", "count" ) );
+		}
+	}
+
+	@Test
+	public void testManyKeysOnSameClass() {
+		// Enough keys to force the class' binding table to grow a couple of times
+		final String[] keys = { "length", "isEmpty", "hashCode", "toString", "isBlank", "strip", "trim", "toLowerCase", "toUpperCase", "intern", "stripLeading", "stripTrailing", "getClass", "describeConstable" };
+
+		for( int i = 0; i < 2; i++ ) {
+			for( String key : keys ) {
+				NGKeyValueCoding.Utility.valueForKey( " Hello ", key );
+			}
+
+			assertEquals( 7, NGKeyValueCoding.Utility.valueForKey( " Hello ", "length" ) );
+			assertEquals( "Hello", NGKeyValueCoding.Utility.valueForKey( " Hello ", "strip" ) );
+		}
+	}
+
+	@Test
+	public void testRecordComponents() {
+		final RecordWithComponents record = new RecordWithComponents( "Hugi", 47, new PlainOldRecord( "Reykjavík" ) );
+
+		for( boolean cachingEnabled : new boolean[] { true, false } ) {
+			NGKeyValueCoding.DefaultImplementation.setCachingEnabled( cachingEnabled );
+
+			try {
+				assertEquals( "Hugi", NGKeyValueCoding.Utility.valueForKey( record, "name" ) );
+				assertEquals( 47, NGKeyValueCoding.Utility.valueForKey( record, "age" ) );
+				assertEquals( "Reykjavík", NGKeyValueCodingAdditions.Utility.valueForKeyPath( record, "home.name" ) );
+
+				// A get-prefixed method still takes precedence over the component, same as for regular classes
+				assertEquals( "Overridden", NGKeyValueCoding.Utility.valueForKey( record, "overridden" ) );
+			}
+			finally {
+				NGKeyValueCoding.DefaultImplementation.setCachingEnabled( true );
+			}
+		}
+	}
+
+	@Test
+	public void testNonPublicRecordResolvesThroughInterface() {
+		final Object record = ng.kvc.hidden.HiddenObjects.hiddenRecord( "Hugi" );
+		assertEquals( "Hugi", NGKeyValueCoding.Utility.valueForKey( record, "name" ) );
+		assertEquals( "Hugi", NGKeyValueCoding.DefaultImplementation.valueForKey( record, "name" ) );
+	}
+
+	@Test
+	public void testDefaultMethodInNonPublicParentInterface() {
+		final Object titled = ng.kvc.hidden.HiddenObjects.hiddenTitled();
+
+		for( int i = 0; i < 2; i++ ) {
+			assertEquals( "Default title", NGKeyValueCoding.Utility.valueForKey( titled, "title" ) );
+		}
+	}
+
+	public record RecordWithComponents( String name, int age, PlainOldRecord home, String overridden ) {
+
+		public RecordWithComponents( String name, int age, PlainOldRecord home ) {
+			this( name, age, home, "Component" );
+		}
+
+		public String getOverridden() {
+			return "Overridden";
+		}
+	}
+
 	public record RecordThatImplementsValueForKey( String name ) implements NGKeyValueCoding {
 
 		@Override
@@ -178,6 +300,27 @@ public class TestNGKeyValueCoding {
 		public void setAddress2Method( String value ) {
 			address2 = value;
 		}
+
+		public int addressLength() {
+			return address1.length();
+		}
+
+		public static String staticValue() {
+			return "static";
+		}
+
+		public String throwsChecked() throws Exception {
+			throw new Exception( "Checked" );
+		}
+	}
+
+	public static class Counter {
+		public long count;
+		public Long total;
+
+		public void setCount( long value ) {
+			count = value;
+		}
 	}
 
 	public static class Product {
@@ -4,6 +4,13 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
 import org.junit.jupiter.api.Test;
 
 import ng.kvc.NGKeyValueCoding.UnknownKeyException;
@@ -48,6 +55,143 @@ public class TestNGKeyValueCodingAdditions {
 		assertNull( p.address.city );
 	}
 
+	@Test
+	public void operators() {
+		final Invoice invoice = new Invoice( List.of( new Line( "a", 2, 1.5 ), new Line( "b", 3, 2.5 ), new Line( "a", 5, 0.5 ) ) );
+
+		assertEquals( 3, NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@count" ) );
+		assertEquals( 10L, NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@sum.quantity" ) );
+		assertEquals( 4.5, NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@sum.price" ) );
+		assertEquals( 1.5, NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@avg.price" ) );
+		assertEquals( 2L, NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@min.quantity" ) );
+		assertEquals( 5L, NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@max.quantity" ) );
+		assertEquals( "b", NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@max.name" ) );
+		assertEquals( List.of( "a", "b" ), NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@distinct.name" ) );
+
+		// KeyPath following the operator
+		assertEquals( 3L, NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@sum.name.length" ) );
+
+		// Operator applied directly to a collection, and to it's elements
+		assertEquals( 6L, NGKeyValueCodingAdditions.Utility.valueForKeyPath( List.of( 1, 2, 3 ), "@sum" ) );
+		assertEquals( new BigDecimal( "3.5" ), NGKeyValueCodingAdditions.Utility.valueForKeyPath( List.of( 1, new BigDecimal( "2.5" ) ), "@sum" ) );
+	}
+
+	@Test
+	public void operatorsIgnoreNulls() {
+		final List<Object> values = Arrays.asList( 1, null, 3 );
+		assertEquals( 2, NGKeyValueCodingAdditions.Utility.valueForKeyPath( values, "@count.intValue" ) );
+		assertEquals( 3, NGKeyValueCodingAdditions.Utility.valueForKeyPath( values, "@count" ) );
+		assertEquals( 2.0, NGKeyValueCodingAdditions.Utility.valueForKeyPath( values, "@avg" ) );
+	}
+
+	@Test
+	public void operatorsOnEmptyCollection() {
+		final Invoice invoice = new Invoice( List.of() );
+		assertEquals( 0, NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@count" ) );
+		assertEquals( 0L, NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@sum.quantity" ) );
+		assertNull( NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@avg.quantity" ) );
+		assertNull( NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@min.quantity" ) );
+		assertEquals( List.of(), NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@distinct.name" ) );
+	}
+
+	@Test
+	public void operatorsParallel() {
+		final List<Line> lines = new ArrayList<>();
+		IntStream.range( 0, 5000 ).forEach( i -> lines.add( new Line( "line" + (i % 7), i, i / 2.0 ) ) );
+		final Invoice invoice = new Invoice( lines );
+
+		final int originalThreshold = NGKeyValueCodingAdditions.Operators.parallelThreshold();
+
+		try {
+			for( int threshold : new int[] { Integer.MAX_VALUE, 100 } ) {
+				NGKeyValueCodingAdditions.Operators.setParallelThreshold( threshold );
+				assertEquals( 5000, NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@count.name" ) );
+				assertEquals( 12497500L, NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@sum.quantity" ) );
+				assertEquals( 6248750.0, NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@sum.price" ) );
+				assertEquals( 0L, NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@min.quantity" ) );
+				assertEquals( 4999L, NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@max.quantity" ) );
+				assertEquals( 1249.75, NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@avg.price" ) );
+				assertEquals( "line6", NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@max.name" ) );
+				assertEquals( List.of( "line0", "line1", "line2", "line3", "line4", "line5", "line6" ), NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@distinct.name" ) );
+			}
+		}
+		finally {
+			NGKeyValueCodingAdditions.Operators.setParallelThreshold( originalThreshold );
+		}
+	}
+
+	/**
+	 * The keyPath following the operator is shared by the threads evaluating the collection, including the inline binding caches of it's segments.
+	 * Elements of several classes make the threads add cache entries concurrently, and push the segment past the number of classes it caches.
+	 */
+	@Test
+	public void operatorsParallelPolymorphic() {
+		final List<Function<Integer, Line>> lineFactories = List.of(
+				i -> new Line( "a" + i, i, 0 ),
+				i -> new Line( "b" + i, i, 0 ) {},
+				i -> new Line( "c" + i, i, 0 ) {},
+				i -> new Line( "d" + i, i, 0 ) {},
+				i -> new Line( "e" + i, i, 0 ) {},
+				i -> new Line( "f" + i, i, 0 ) {} );
+
+		final List<Line> lines = new ArrayList<>();
+		IntStream.range( 0, 20_000 ).forEach( i -> lines.add( lineFactories.get( i % lineFactories.size() ).apply( i ) ) );
+		final Invoice invoice = new Invoice( lines );
+		final long expectedSum = lines.stream().mapToLong( line -> line.name.length() ).sum();
+
+		final int originalThreshold = NGKeyValueCodingAdditions.Operators.parallelThreshold();
+
+		try {
+			NGKeyValueCodingAdditions.Operators.setParallelThreshold( 100 );
+
+			for( int i = 0; i < 20; i++ ) {
+				assertEquals( expectedSum, NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@sum.name.length" ) );
+				assertEquals( 19_999L, NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@max.quantity" ) );
+			}
+		}
+		finally {
+			NGKeyValueCodingAdditions.Operators.setParallelThreshold( originalThreshold );
+		}
+	}
+
+	@Test
+	public void operatorErrors() {
+		final Invoice invoice = new Invoice( List.of( new Line( "a", 2, 1.5 ) ) );
+		assertThrows( UnknownKeyException.class, () -> NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@median.quantity" ) );
+		assertThrows( IllegalArgumentException.class, () -> NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@sum.name" ) );
+		assertThrows( IllegalArgumentException.class, () -> NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "@count" ) );
+		assertThrows( UnknownKeyException.class, () -> NGKeyValueCodingAdditions.Utility.valueForKeyPath( invoice, "lines.@sum.nonExistent" ) );
+		assertThrows( IllegalArgumentException.class, () -> NGKeyValueCodingAdditions.Utility.takeValueForKeyPath( invoice, 1, "lines.@count" ) );
+	}
+
+	public static class Invoice {
+		public final List<Line> lines;
+
+		public Invoice( List<Line> lines ) {
+			this.lines = lines;
+		}
+	}
+
+	public static class Line {
+		public final String name;
+		private final int _quantity;
+		private final double _price;
+
+		public Line( String name, int quantity, double price ) {
+			this.name = name;
+			_quantity = quantity;
+			_price = price;
+		}
+
+		public int quantity() {
+			return _quantity;
+		}
+
+		public double price() {
+			return _price;
+		}
+	}
+
 	public static class Person {
 		public String name;
 		public Address address;
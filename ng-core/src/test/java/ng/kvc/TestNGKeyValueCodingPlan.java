@@ -0,0 +1,104 @@
+package ng.kvc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import ng.kvc.NGKeyValueCoding.UnknownKeyException;
+
+public class TestNGKeyValueCodingPlan {
+
+	@Test
+	public void valuesForKeys() {
+		final Person person = new Person();
+		person.name = "Hugi";
+		person.setAge( 47 );
+
+		final NGKeyValueCodingPlan plan = NGKeyValueCodingPlan.of( person, "name", "age" );
+		assertEquals( Person.class, plan.objectClass() );
+		assertEquals( 2, plan.size() );
+		assertEquals( "age", plan.keyAtIndex( 1 ) );
+
+		final Object[] values = new Object[2];
+
+		for( boolean cachingEnabled : new boolean[] { true, false } ) {
+			NGKeyValueCoding.DefaultImplementation.setCachingEnabled( cachingEnabled );
+
+			try {
+				NGKeyValueCoding.Utility.valuesForKeys( person, values, plan );
+				assertArrayEquals( new Object[] { "Hugi", 47 }, values );
+			}
+			finally {
+				NGKeyValueCoding.DefaultImplementation.setCachingEnabled( true );
+			}
+		}
+	}
+
+	@Test
+	public void takeValuesForKeys() {
+		final Person person = new Person();
+		final NGKeyValueCodingPlan plan = NGKeyValueCodingPlan.of( person, "name", "age" );
+
+		NGKeyValueCoding.Utility.takeValuesForKeys( person, new Object[] { "Hugi", 47L }, plan );
+		assertEquals( "Hugi", person.name );
+		assertEquals( 47, person.age() );
+
+		// A plan can be reused for other instances of the same class
+		final Person other = new Person();
+		NGKeyValueCoding.Utility.takeValuesForKeys( other, new Object[] { "Gunnar", 12 }, plan );
+		assertEquals( "Gunnar", other.name );
+		assertEquals( 12, other.age() );
+	}
+
+	@Test
+	public void kvcObject() {
+		final MapLikeObject object = new MapLikeObject();
+		final NGKeyValueCodingPlan plan = NGKeyValueCodingPlan.of( object, "a", "b" );
+		NGKeyValueCoding.Utility.takeValuesForKeys( object, new Object[] { 1, 2 }, plan );
+		assertEquals( "b", object._lastKey );
+
+		final Object[] values = new Object[2];
+		NGKeyValueCoding.Utility.valuesForKeys( object, values, plan );
+		assertArrayEquals( new Object[] { "a", "b" }, values );
+	}
+
+	@Test
+	public void errors() {
+		final Person person = new Person();
+		final NGKeyValueCodingPlan plan = NGKeyValueCodingPlan.of( person, "name", "unknown" );
+
+		// Unknown keys only fail when the plan is applied, same as regular KVC
+		assertThrows( UnknownKeyException.class, () -> NGKeyValueCoding.Utility.valuesForKeys( person, new Object[2], plan ) );
+		assertThrows( IllegalArgumentException.class, () -> NGKeyValueCoding.Utility.valuesForKeys( person, new Object[1], plan ) );
+		assertThrows( IllegalArgumentException.class, () -> NGKeyValueCoding.Utility.valuesForKeys( "Not a person", new Object[2], plan ) );
+	}
+
+	public static class Person {
+		public String name;
+		private int _age;
+
+		public int age() {
+			return _age;
+		}
+
+		public void setAge( int value ) {
+			_age = value;
+		}
+	}
+
+	public static class MapLikeObject implements NGKeyValueCoding {
+		private String _lastKey;
+
+		@Override
+		public Object valueForKey( String key ) {
+			return key;
+		}
+
+		@Override
+		public void takeValueForKey( Object value, String key ) {
+			_lastKey = key;
+		}
+	}
+}
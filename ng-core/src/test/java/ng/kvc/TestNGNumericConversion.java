@@ -0,0 +1,121 @@
+package ng.kvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class TestNGNumericConversion {
+
+	@Test
+	public void isConvertibleType() {
+		assertTrue( NGNumericConversion.isConvertibleType( int.class ) );
+		assertTrue( NGNumericConversion.isConvertibleType( Long.class ) );
+		assertTrue( NGNumericConversion.isConvertibleType( BigDecimal.class ) );
+		assertFalse( NGNumericConversion.isConvertibleType( boolean.class ) );
+		assertFalse( NGNumericConversion.isConvertibleType( Number.class ) );
+		assertFalse( NGNumericConversion.isConvertibleType( String.class ) );
+	}
+
+	@Test
+	public void widening() {
+		assertEquals( 5L, NGNumericConversion.convert( 5, Long.class ) );
+		assertEquals( 5L, NGNumericConversion.convert( (byte)5, long.class ) );
+		assertEquals( 5.0d, NGNumericConversion.convert( 5, Double.class ) );
+		assertEquals( BigInteger.valueOf( 5 ), NGNumericConversion.convert( 5L, BigInteger.class ) );
+		assertEquals( new BigDecimal( "50.55" ), NGNumericConversion.convert( 50.55f, BigDecimal.class ) );
+		assertEquals( new BigDecimal( "50.55" ), NGNumericConversion.convert( 50.55d, BigDecimal.class ) );
+		assertEquals( new BigDecimal( "50" ), NGNumericConversion.convert( new BigInteger( "50" ), BigDecimal.class ) );
+	}
+
+	@Test
+	public void narrowing() {
+		assertEquals( 5, NGNumericConversion.convert( 5L, Integer.class ) );
+		assertEquals( 5, NGNumericConversion.convert( 5.0d, int.class ) );
+		assertEquals( (short)5, NGNumericConversion.convert( new BigDecimal( "5.00" ), Short.class ) );
+		assertEquals( BigInteger.valueOf( 5 ), NGNumericConversion.convert( new BigDecimal( "5" ), BigInteger.class ) );
+
+		assertThrows( ArithmeticException.class, () -> NGNumericConversion.convert( Long.MAX_VALUE, Integer.class ) );
+		assertThrows( ArithmeticException.class, () -> NGNumericConversion.convert( 5.5d, Integer.class ) );
+		assertThrows( ArithmeticException.class, () -> NGNumericConversion.convert( 1e19d, Long.class ) );
+		assertThrows( ArithmeticException.class, () -> NGNumericConversion.convert( 300, Byte.class ) );
+		assertThrows( ArithmeticException.class, () -> NGNumericConversion.convert( new BigDecimal( "5.5" ), Long.class ) );
+		assertThrows( ArithmeticException.class, () -> NGNumericConversion.convert( Double.MAX_VALUE, Float.class ) );
+		assertThrows( ArithmeticException.class, () -> NGNumericConversion.convert( Double.NaN, Long.class ) );
+	}
+
+	@Test
+	public void narrowingToFloatingPoint() {
+		assertEquals( 0.5f, NGNumericConversion.convert( 0.5d, Float.class ) );
+		assertEquals( 0.1d, NGNumericConversion.convert( new BigDecimal( "0.1" ), Double.class ) );
+		assertEquals( 0.1f, NGNumericConversion.convert( new BigDecimal( "0.1" ), Float.class ) );
+		assertEquals( 16777216f, NGNumericConversion.convert( 16777216, Float.class ) );
+		assertEquals( Float.NaN, NGNumericConversion.convert( Double.NaN, Float.class ) );
+		assertEquals( Float.POSITIVE_INFINITY, NGNumericConversion.convert( Double.POSITIVE_INFINITY, Float.class ) );
+
+		assertThrows( ArithmeticException.class, () -> NGNumericConversion.convert( 0.1d, Float.class ) );
+		assertThrows( ArithmeticException.class, () -> NGNumericConversion.convert( 16777217, Float.class ) );
+		assertThrows( ArithmeticException.class, () -> NGNumericConversion.convert( (1L << 53) + 1, Double.class ) );
+		assertThrows( ArithmeticException.class, () -> NGNumericConversion.convert( Long.MAX_VALUE, Double.class ) );
+		assertThrows( ArithmeticException.class, () -> NGNumericConversion.convert( new BigDecimal( "0.1000000000000000000001" ), Double.class ) );
+		assertThrows( ArithmeticException.class, () -> NGNumericConversion.convert( BigInteger.ONE.shiftLeft( 53 ).add( BigInteger.ONE ), Double.class ) );
+	}
+
+	@Test
+	public void parsing() {
+		assertEquals( 5, NGNumericConversion.convert( "5", Integer.class ) );
+		assertEquals( new BigDecimal( "5.5" ), NGNumericConversion.convert( "5.5", BigDecimal.class ) );
+		assertThrows( NumberFormatException.class, () -> NGNumericConversion.convert( "Not a number", Integer.class ) );
+	}
+
+	@Test
+	public void nullAndIdentity() {
+		assertNull( NGNumericConversion.convert( null, Integer.class ) );
+
+		final BigDecimal value = new BigDecimal( "5" );
+		assertTrue( value == NGNumericConversion.convert( value, BigDecimal.class ) );
+	}
+
+	@Test
+	public void takeValueForKeyPrimitiveTargets() {
+		final Primitives primitives = new Primitives();
+
+		// Repeated, so we're also going through the cached (compiled) bindings
+		for( int i = 0; i < 2; i++ ) {
+			NGKeyValueCoding.Utility.takeValueForKey( primitives, 5L, "intField" );
+			assertEquals( 5, primitives.intField );
+
+			NGKeyValueCoding.Utility.takeValueForKey( primitives, new BigDecimal( "6" ), "shortValue" );
+			assertEquals( (short)6, primitives.shortValue );
+
+			NGKeyValueCoding.Utility.takeValueForKey( primitives, 7, "doubleValue" );
+			assertEquals( 7d, primitives.doubleValue );
+
+			NGKeyValueCoding.Utility.takeValueForKey( primitives, "8", "intField" );
+			assertEquals( 8, primitives.intField );
+
+			assertThrows( ArithmeticException.class, () -> NGKeyValueCoding.Utility.takeValueForKey( primitives, Long.MAX_VALUE, "intField" ) );
+			assertThrows( RuntimeException.class, () -> NGKeyValueCoding.Utility.takeValueForKey( primitives, null, "intField" ) );
+		}
+	}
+
+	public static class Primitives {
+		public int intField;
+		public short shortValue;
+		public double doubleValue;
+
+		public void setShortValue( short value ) {
+			shortValue = value;
+		}
+
+		public void setDoubleValue( double value ) {
+			doubleValue = value;
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package ng.kvc.hidden;
+
+/**
+ * Objects whose classes aren't accessible outside of this package, but implement public interfaces. Used to test how KVC locates accessible declarations of methods.
+ */
+
+public class HiddenObjects {
+
+	public interface Named {
+		public String name();
+	}
+
+	public interface Titled {
+		public String title();
+	}
+
+	/**
+	 * A non-public interface providing a default implementation of a method declared by a public parent interface
+	 */
+	interface DefaultTitled extends Titled {
+
+		@Override
+		default String title() {
+			return "Default title";
+		}
+	}
+
+	record HiddenRecord( String name ) implements Named {}
+
+	static class HiddenTitled implements DefaultTitled {}
+
+	/**
+	 * @return An instance of a non-public record, implementing a public interface
+	 */
+	public static Object hiddenRecord( final String name ) {
+		return new HiddenRecord( name );
+	}
+
+	/**
+	 * @return An instance of a non-public class, that inherits it's title() implementation from a non-public interface extending a public interface
+	 */
+	public static Object hiddenTitled() {
+		return new HiddenTitled();
+	}
+}
@@ -0,0 +1,420 @@
+package ng.kvc.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates reflection-free KVC accessors for classes annotated with @NGGenerateAccessor.
+ *
+ * For each annotated class, we generate a class named [BinaryNameOfClass]_KVCAccessor in the same package, implementing NGKeyValueCodingAccessor with a switch on the key.
+ * Keys are resolved at compile time using the same lookup order as NGKeyValueCoding.DefaultImplementation, considering only public members (just like reflective KVC does).
+ *
+ * The generated switch only covers the cases where the resolved member can be invoked directly without changing KVC semantics. Everything else is passed on to
+ * NGKeyValueCoding.DefaultImplementation at runtime. That includes unknown keys, getters declaring checked exceptions, overloaded setters and values that require conversion before being set.
+ */
+
+@SupportedAnnotationTypes(NGKeyValueCodingProcessor.ANNOTATION_NAME)
+public class NGKeyValueCodingProcessor extends AbstractProcessor {
+
+	static final String ANNOTATION_NAME = "ng.kvc.NGGenerateAccessor";
+
+	/**
+	 * Suffix appended to the annotated class' binary name to construct the accessor's class name. Must match what NGKeyValueCoding.Utility looks up.
+	 */
+	static final String ACCESSOR_SUFFIX = "_KVCAccessor";
+
+	/**
+	 * Method name prefixes used for deriving keys from getter names
+	 */
+	private static final List<String> GETTER_PREFIXES = List.of( "_get", "_is", "get", "is", "_" );
+
+	/**
+	 * Field name prefixes used for deriving keys from field names
+	 */
+	private static final List<String> FIELD_PREFIXES = List.of( "_is", "is", "_" );
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process( final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment ) {
+		for( final TypeElement annotation : annotations ) {
+			for( final Element element : roundEnvironment.getElementsAnnotatedWith( annotation ) ) {
+				if( !isSupportedKind( element.getKind() ) ) {
+					error( element, "@NGGenerateAccessor can only be applied to classes, records and enums" );
+				}
+				else if( !isPublic( element ) ) {
+					error( element, "@NGGenerateAccessor can only be applied to public classes (including enclosing classes)" );
+				}
+				else {
+					generateAccessor( (TypeElement)element );
+				}
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean isSupportedKind( final ElementKind kind ) {
+		return kind == ElementKind.CLASS || kind == ElementKind.RECORD || kind == ElementKind.ENUM;
+	}
+
+	/**
+	 * @return true if the given type and all it's enclosing types are public
+	 */
+	private static boolean isPublic( Element element ) {
+		while( element instanceof TypeElement ) {
+			if( !element.getModifiers().contains( Modifier.PUBLIC ) ) {
+				return false;
+			}
+
+			element = element.getEnclosingElement();
+		}
+
+		return true;
+	}
+
+	private void generateAccessor( final TypeElement typeElement ) {
+		final String packageName = processingEnv.getElementUtils().getPackageOf( typeElement ).getQualifiedName().toString();
+		final String binaryName = processingEnv.getElementUtils().getBinaryName( typeElement ).toString();
+		final String accessorSimpleName = (packageName.isEmpty() ? binaryName : binaryName.substring( packageName.length() + 1 )) + ACCESSOR_SUFFIX;
+		final String accessorQualifiedName = packageName.isEmpty() ? accessorSimpleName : packageName + "." + accessorSimpleName;
+
+		final Members members = new Members( typeElement );
+		final String source = accessorSource( packageName, accessorSimpleName, typeElement.getQualifiedName().toString(), members );
+
+		try( final Writer writer = processingEnv.getFiler().createSourceFile( accessorQualifiedName, typeElement ).openWriter() ) {
+			writer.write( source );
+		}
+		catch( IOException e ) {
+			error( typeElement, "Failed to write KVC accessor: " + e.getMessage() );
+		}
+	}
+
+	/**
+	 * @return The source code for the accessor
+	 */
+	private String accessorSource( final String packageName, final String accessorSimpleName, final String typeName, final Members members ) {
+		final StringBuilder b = new StringBuilder();
+
+		if( !packageName.isEmpty() ) {
+			b.append( "package " ).append( packageName ).append( ";\n\n" );
+		}
+
+		b.append( "@javax.annotation.processing.Generated(\"" ).append( getClass().getName() ).append( "\")\n" );
+		b.append( "@SuppressWarnings({ \"rawtypes\", \"unchecked\" })\n" );
+		b.append( "public final class " ).append( accessorSimpleName ).append( " implements ng.kvc.NGKeyValueCodingAccessor {\n\n" );
+
+		b.append( "\t@Override\n" );
+		b.append( "\tpublic Object valueForKey( final Object object, final String key ) {\n" );
+		b.append( "\t\tswitch( key ) {\n" );
+
+		for( final Map.Entry<String, String> readCase : members.readCases( typeName ).entrySet() ) {
+			b.append( "\t\t\tcase \"" ).append( readCase.getKey() ).append( "\":\n" );
+			b.append( "\t\t\t\treturn " ).append( readCase.getValue() ).append( ";\n" );
+		}
+
+		b.append( "\t\t}\n\n" );
+		b.append( "\t\treturn ng.kvc.NGKeyValueCoding.DefaultImplementation.valueForKey( object, key );\n" );
+		b.append( "\t}\n\n" );
+
+		b.append( "\t@Override\n" );
+		b.append( "\tpublic void takeValueForKey( final Object object, final Object value, final String key ) {\n" );
+		b.append( "\t\tswitch( key ) {\n" );
+
+		for( final Map.Entry<String, WriteCase> writeCase : members.writeCases( typeName ).entrySet() ) {
+			b.append( "\t\t\tcase \"" ).append( writeCase.getKey() ).append( "\":\n" );
+			b.append( "\t\t\t\tif( " ).append( writeCase.getValue().condition() ).append( " ) {\n" );
+			b.append( "\t\t\t\t\t" ).append( writeCase.getValue().statement() ).append( ";\n" );
+			b.append( "\t\t\t\t\treturn;\n" );
+			b.append( "\t\t\t\t}\n" );
+			b.append( "\t\t\t\tbreak;\n" );
+		}
+
+		b.append( "\t\t}\n\n" );
+		b.append( "\t\tng.kvc.NGKeyValueCoding.DefaultImplementation.takeValueForKey( object, value, key );\n" );
+		b.append( "\t}\n" );
+		b.append( "}\n" );
+
+		return b.toString();
+	}
+
+	private void error( final Element element, final String message ) {
+		processingEnv.getMessager().printMessage( Diagnostic.Kind.ERROR, message, element );
+	}
+
+	/**
+	 * A write case in the generated switch. The statement is only executed if the condition holds, otherwise the write is passed on to reflective KVC.
+	 */
+	private record WriteCase( String condition, String statement ) {}
+
+	/**
+	 * The public members of a type, as seen by reflective KVC (i.e. what Class.getMethods()/getFields() would return)
+	 */
+	private class Members {
+
+		/**
+		 * Public methods taking no parameters, by name
+		 */
+		private final Map<String, ExecutableElement> _getters = new HashMap<>();
+
+		/**
+		 * Public methods taking a single parameter and returning void, by name
+		 */
+		private final Map<String, List<ExecutableElement>> _setters = new HashMap<>();
+
+		/**
+		 * Public fields, by name
+		 */
+		private final Map<String, VariableElement> _fields = new HashMap<>();
+
+		private Members( final TypeElement typeElement ) {
+			for( final Element member : processingEnv.getElementUtils().getAllMembers( typeElement ) ) {
+				if( !member.getModifiers().contains( Modifier.PUBLIC ) ) {
+					continue;
+				}
+
+				if( member instanceof ExecutableElement method && member.getKind() == ElementKind.METHOD ) {
+					final String name = method.getSimpleName().toString();
+
+					if( method.getParameters().isEmpty() ) {
+						_getters.putIfAbsent( name, method );
+					}
+					else if( method.getParameters().size() == 1 && method.getReturnType().getKind() == TypeKind.VOID ) {
+						_setters.computeIfAbsent( name, n -> new ArrayList<>() ).add( method );
+					}
+				}
+
+				if( member instanceof VariableElement field && member.getKind() == ElementKind.FIELD ) {
+					_fields.put( field.getSimpleName().toString(), field );
+				}
+			}
+		}
+
+		/**
+		 * @return Expressions reading the value for each key we can resolve, by key
+		 */
+		private Map<String, String> readCases( final String typeName ) {
+			final Set<String> candidateKeys = new TreeSet<>();
+
+			for( final String methodName : _getters.keySet() ) {
+				addCandidateKeys( candidateKeys, methodName, GETTER_PREFIXES );
+			}
+
+			for( final String fieldName : _fields.keySet() ) {
+				addCandidateKeys( candidateKeys, fieldName, FIELD_PREFIXES );
+			}
+
+			final Map<String, String> result = new TreeMap<>();
+
+			for( final String key : candidateKeys ) {
+				final String expression = readExpression( typeName, key );
+
+				if( expression != null ) {
+					result.put( key, expression );
+				}
+			}
+
+			return result;
+		}
+
+		/**
+		 * @return An expression reading the value for the given key, following the lookup order of NGKeyValueCoding.DefaultImplementation. null if we're leaving the key to reflective KVC.
+		 */
+		private String readExpression( final String typeName, final String key ) {
+			final String keyCapitalized = capitalize( key );
+
+			for( final String methodName : List.of( "get" + keyCapitalized, key, "is" + keyCapitalized, "_get" + keyCapitalized, "_" + key, "_is" + keyCapitalized ) ) {
+				final ExecutableElement method = _getters.get( methodName );
+
+				if( method != null ) {
+					// The first method found is the one reflective KVC would use, so if we can't invoke it directly, we can't generate the key at all
+					if( method.getReturnType().getKind() == TypeKind.VOID || throwsCheckedExceptions( method ) ) {
+						return null;
+					}
+
+					return receiver( typeName, method ) + "." + methodName + "()";
+				}
+			}
+
+			for( final String fieldName : List.of( key, "_" + key, "_is" + keyCapitalized, "is" + keyCapitalized ) ) {
+				final VariableElement field = _fields.get( fieldName );
+
+				if( field != null ) {
+					return receiver( typeName, field ) + "." + fieldName;
+				}
+			}
+
+			return null;
+		}
+
+		/**
+		 * @return Write cases for each key we can resolve, by key
+		 */
+		private Map<String, WriteCase> writeCases( final String typeName ) {
+			final Set<String> candidateKeys = new TreeSet<>();
+
+			for( final String methodName : _setters.keySet() ) {
+				if( methodName.startsWith( "set" ) && methodName.length() > 3 ) {
+					addCandidateKeys( candidateKeys, methodName.substring( 3 ) );
+				}
+			}
+
+			candidateKeys.addAll( _fields.keySet() );
+
+			final Map<String, WriteCase> result = new TreeMap<>();
+
+			for( final String key : candidateKeys ) {
+				final WriteCase writeCase = writeCase( typeName, key );
+
+				if( writeCase != null ) {
+					result.put( key, writeCase );
+				}
+			}
+
+			return result;
+		}
+
+		/**
+		 * @return A write case for the given key, following the lookup order of NGKeyValueCoding.DefaultImplementation. null if we're leaving the key to reflective KVC.
+		 */
+		private WriteCase writeCase( final String typeName, final String key ) {
+			final String methodName = "set" + capitalize( key );
+			final List<ExecutableElement> setters = _setters.get( methodName );
+
+			if( setters != null ) {
+				// With overloaded setters, the method picked by reflective KVC depends on the order returned by getMethods(), so we leave those to reflection
+				if( setters.size() > 1 || throwsCheckedExceptions( setters.get( 0 ) ) ) {
+					return null;
+				}
+
+				final ExecutableElement setter = setters.get( 0 );
+				final TypeMirror valueType = setter.getParameters().get( 0 ).asType();
+				return new WriteCase( valueCondition( valueType ), receiver( typeName, setter ) + "." + methodName + "( " + valueCast( valueType ) + "value )" );
+			}
+
+			final VariableElement field = _fields.get( key );
+
+			if( field != null ) {
+				// Final fields can't be set, reflective KVC will report the error
+				if( field.getModifiers().contains( Modifier.FINAL ) ) {
+					return null;
+				}
+
+				return new WriteCase( valueCondition( field.asType() ), receiver( typeName, field ) + "." + key + " = " + valueCast( field.asType() ) + "value" );
+			}
+
+			return null;
+		}
+
+		/**
+		 * @return A condition checking that a value can be passed directly to a member of the given type. For primitives that means the value must be an instance of the wrapper class (widening is left to reflective KVC), for objects it can also be null
+		 */
+		private String valueCondition( final TypeMirror type ) {
+			if( type.getKind().isPrimitive() ) {
+				return "value instanceof " + boxedTypeName( type );
+			}
+
+			return "value == null || value instanceof " + erasedTypeName( type );
+		}
+
+		/**
+		 * @return A cast of the value to the given type
+		 */
+		private String valueCast( final TypeMirror type ) {
+			if( type.getKind().isPrimitive() ) {
+				return "(" + boxedTypeName( type ) + ")";
+			}
+
+			return "(" + erasedTypeName( type ) + ")";
+		}
+
+		private String boxedTypeName( final TypeMirror type ) {
+			return processingEnv.getTypeUtils().boxedClass( (PrimitiveType)type ).getQualifiedName().toString();
+		}
+
+		private String erasedTypeName( final TypeMirror type ) {
+			return processingEnv.getTypeUtils().erasure( type ).toString();
+		}
+
+		/**
+		 * @return The expression to access the given member on, the class for static members and the cast object for instance members
+		 */
+		private static String receiver( final String typeName, final Element member ) {
+			if( member.getModifiers().contains( Modifier.STATIC ) ) {
+				return typeName;
+			}
+
+			return "((" + typeName + ")object)";
+		}
+
+		/**
+		 * @return true if the given method declares checked exceptions
+		 */
+		private boolean throwsCheckedExceptions( final ExecutableElement method ) {
+			final TypeMirror runtimeException = processingEnv.getElementUtils().getTypeElement( RuntimeException.class.getName() ).asType();
+			final TypeMirror error = processingEnv.getElementUtils().getTypeElement( Error.class.getName() ).asType();
+
+			for( final TypeMirror thrownType : method.getThrownTypes() ) {
+				if( !processingEnv.getTypeUtils().isSubtype( thrownType, runtimeException ) && !processingEnv.getTypeUtils().isSubtype( thrownType, error ) ) {
+					return true;
+				}
+			}
+
+			return false;
+		}
+	}
+
+	/**
+	 * Adds the keys that might resolve to the given member name. That's the name itself, and if the name starts with one of the given prefixes, the remainder of the name.
+	 * We don't have to be exact here, since every candidate key still goes through the regular lookup.
+	 */
+	private static void addCandidateKeys( final Set<String> candidateKeys, final String memberName, final List<String> prefixes ) {
+		candidateKeys.add( memberName );
+
+		for( final String prefix : prefixes ) {
+			if( memberName.startsWith( prefix ) && memberName.length() > prefix.length() ) {
+				addCandidateKeys( candidateKeys, memberName.substring( prefix.length() ) );
+			}
+		}
+	}
+
+	/**
+	 * Adds the keys that would be capitalized to the given name in a lookup, i.e. the name itself and the name with the first letter lowercased
+	 */
+	private static void addCandidateKeys( final Set<String> candidateKeys, final String capitalizedName ) {
+		candidateKeys.add( capitalizedName );
+		candidateKeys.add( capitalizedName.substring( 0, 1 ).toLowerCase() + capitalizedName.substring( 1 ) );
+	}
+
+	/**
+	 * @return The key with the first letter uppercased, the same way NGKeyValueCoding.DefaultImplementation does it
+	 */
+	private static String capitalize( final String key ) {
+		return key.substring( 0, 1 ).toUpperCase() + key.substring( 1 );
+	}
+}
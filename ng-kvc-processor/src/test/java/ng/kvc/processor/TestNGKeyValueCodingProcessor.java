@@ -0,0 +1,113 @@
+package ng.kvc.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+
+import ng.kvc.NGKeyValueCoding;
+import ng.kvc.NGKeyValueCodingAccessor;
+
+public class TestNGKeyValueCodingProcessor {
+
+	private static final String SOURCE = """
+			package test;
+
+			@ng.kvc.NGGenerateAccessor
+			public class Person {
+				public String name;
+				public int _age;
+				private String _title;
+				public static final String CONSTANT = "constant";
+
+				public String getTitle() {
+					return _title;
+				}
+
+				public void setTitle( String value ) {
+					_title = value;
+				}
+
+				public boolean isActive() {
+					return true;
+				}
+
+				public String throwsChecked() throws Exception {
+					throw new Exception( "Checked" );
+				}
+
+				@ng.kvc.NGGenerateAccessor
+				public record Address( String city ) {}
+			}
+			""";
+
+	@Test
+	public void generatedAccessor() throws Exception {
+		final Path directory = Files.createTempDirectory( "ng-kvc-processor" );
+		final Path sourceFile = directory.resolve( "test/Person.java" );
+		Files.createDirectories( sourceFile.getParent() );
+		Files.writeString( sourceFile, SOURCE );
+
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		final String classpath = classpathEntry( NGKeyValueCoding.class ) + File.pathSeparator + classpathEntry( NGKeyValueCodingProcessor.class );
+		final int result = compiler.run( null, null, null, "-classpath", classpath, "-processor", NGKeyValueCodingProcessor.class.getName(), "-d", directory.toString(), sourceFile.toString() );
+		assertEquals( 0, result );
+
+		assertTrue( Files.exists( directory.resolve( "test/Person_KVCAccessor.class" ) ) );
+		assertTrue( Files.exists( directory.resolve( "test/Person$Address_KVCAccessor.class" ) ) );
+
+		try( final URLClassLoader classLoader = new URLClassLoader( new URL[] { directory.toUri().toURL() }, getClass().getClassLoader() ) ) {
+			final Class<?> personClass = classLoader.loadClass( "test.Person" );
+			final Object person = personClass.getConstructor().newInstance();
+
+			final NGKeyValueCodingAccessor accessor = NGKeyValueCoding.Utility.generatedAccessor( personClass );
+			assertNotNull( accessor );
+
+			accessor.takeValueForKey( person, "Hugi", "name" );
+			accessor.takeValueForKey( person, 47, "_age" );
+			accessor.takeValueForKey( person, "Developer", "title" );
+
+			for( String key : List.of( "name", "_age", "age", "title", "active", "CONSTANT" ) ) {
+				assertEquals( NGKeyValueCoding.DefaultImplementation.valueForKey( person, key ), accessor.valueForKey( person, key ) );
+			}
+
+			assertEquals( "Hugi", NGKeyValueCoding.Utility.valueForKey( person, "name" ) );
+			assertEquals( 47, NGKeyValueCoding.Utility.valueForKey( person, "age" ) );
+
+			// Not handled by the accessor, so passed on to reflective KVC
+			assertEquals( personClass, accessor.valueForKey( person, "class" ) );
+			assertThrows( RuntimeException.class, () -> accessor.valueForKey( person, "throwsChecked" ) );
+			assertThrows( NGKeyValueCoding.UnknownKeyException.class, () -> accessor.valueForKey( person, "unknown" ) );
+
+			// Long passed to an int field isn't handled by the accessor, so it's passed on to reflective KVC which narrows it if it fits
+			accessor.takeValueForKey( person, 47L, "_age" );
+			assertEquals( 47, accessor.valueForKey( person, "_age" ) );
+			assertThrows( ArithmeticException.class, () -> accessor.takeValueForKey( person, Long.MAX_VALUE, "_age" ) );
+
+			final Class<?> addressClass = classLoader.loadClass( "test.Person$Address" );
+			final Object address = addressClass.getConstructor( String.class ).newInstance( "Reykjavík" );
+			assertEquals( "Reykjavík", NGKeyValueCoding.Utility.generatedAccessor( addressClass ).valueForKey( address, "city" ) );
+		}
+	}
+
+	/**
+	 * @return The classpath entry (directory or jar) the given class was loaded from
+	 */
+	private static String classpathEntry( final Class<?> clazz ) throws URISyntaxException, IOException {
+		return Path.of( clazz.getProtectionDomain().getCodeSource().getLocation().toURI() ).toString();
+	}
+}
@@ -0,0 +1,128 @@
+package ng.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import ng.maven.NGTemplatePrecompiler.Problem;
+import ng.maven.NGTemplatePrecompiler.Result;
+
+/**
+ * Parses and validates the project's component templates, and writes their precompiled form into the build output, so the application can load them without parsing in production.
+ * See NGTemplatePrecompiler for what gets validated.
+ *
+ * 	<plugin>
+ * 		<groupId>is.rebbi.ng</groupId>
+ * 		<artifactId>ng-maven-plugin</artifactId>
+ * 		<version>...</version>
+ * 		<executions>
+ * 			<execution>
+ * 				<goals>
+ * 					<goal>precompile-templates</goal>
+ * 				</goals>
+ * 			</execution>
+ * 		</executions>
+ * 	</plugin>
+ */
+
+@Mojo(name = "precompile-templates", defaultPhase = LifecyclePhase.PROCESS_CLASSES, requiresDependencyResolution = ResolutionScope.COMPILE, threadSafe = true)
+public class NGPrecompileTemplatesMojo extends AbstractMojo {
+
+	@Parameter(defaultValue = "${project}", readonly = true, required = true)
+	private MavenProject project;
+
+	/**
+	 * Directory containing the compiled classes and resources, where templates are located and precompiled templates written
+	 */
+	@Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+	private File outputDirectory;
+
+	/**
+	 * Element names to accept without checking, for elements provided by something we can't see at build time
+	 */
+	@Parameter
+	private Set<String> knownElements = Set.of();
+
+	/**
+	 * If true, unknown element names fail the build. Otherwise they're reported as warnings
+	 */
+	@Parameter(property = "ng.failOnUnknownElements", defaultValue = "false")
+	private boolean failOnUnknownElements;
+
+	@Parameter(property = "ng.precompileTemplates.skip", defaultValue = "false")
+	private boolean skip;
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException {
+
+		if( skip ) {
+			getLog().info( "Skipping template precompilation" );
+			return;
+		}
+
+		final Result result;
+
+		try( final URLClassLoader classLoader = projectClassLoader() ) {
+			result = new NGTemplatePrecompiler( outputDirectory.toPath(), classLoader, knownElements ).precompile();
+		}
+		catch( IOException e ) {
+			throw new MojoExecutionException( "Failed to precompile templates", e );
+		}
+
+		for( final Problem warning : result.warnings() ) {
+			getLog().warn( warning.toString() );
+		}
+
+		for( final Problem unknownElement : result.unknownElements() ) {
+			if( failOnUnknownElements ) {
+				getLog().error( unknownElement.toString() );
+			}
+			else {
+				getLog().warn( unknownElement.toString() );
+			}
+		}
+
+		for( final Problem error : result.errors() ) {
+			getLog().error( error.toString() );
+		}
+
+		if( !result.errors().isEmpty() || (failOnUnknownElements && !result.unknownElements().isEmpty()) ) {
+			throw new MojoFailureException( "Template validation failed. See above for details" );
+		}
+
+		getLog().info( "Precompiled %s templates".formatted( result.templateCount() ) );
+	}
+
+	/**
+	 * @return A class loader for the project's classes and compile dependencies, for locating element classes
+	 */
+	private URLClassLoader projectClassLoader() throws MojoExecutionException {
+		try {
+			final List<URL> urls = new ArrayList<>();
+
+			for( final String element : project.getCompileClasspathElements() ) {
+				urls.add( new File( element ).toURI().toURL() );
+			}
+
+			return new URLClassLoader( urls.toArray( URL[]::new ), getClass().getClassLoader() );
+		}
+		catch( DependencyResolutionRequiredException | MalformedURLException e ) {
+			throw new MojoExecutionException( "Failed to construct the project's classpath", e );
+		}
+	}
+}
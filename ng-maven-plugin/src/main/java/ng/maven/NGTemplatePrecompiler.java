@@ -0,0 +1,456 @@
+package ng.maven;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import ng.appserver.templating.NGBindingConfigurationException;
+import ng.appserver.templating.NGDynamicElement;
+import ng.appserver.templating.NGElement;
+import ng.appserver.templating.NGElementManager.ElementAliases;
+import ng.appserver.templating.NGElementManager.ElementByClass;
+import ng.appserver.templating.NGElementManager.ElementProvider;
+import ng.appserver.templating.NGElementManager.ElementsByPackage;
+import ng.appserver.templating.associations.NGAssociation;
+import ng.appserver.templating.associations.NGAssociationFactory;
+import ng.appserver.templating.elements.NGDynamicGroup;
+import ng.appserver.templating.parser.NGDeclaration.NGBindingValue;
+import ng.appserver.templating.parser.NGDeclarationFormatException;
+import ng.appserver.templating.parser.NGHTMLFormatException;
+import ng.appserver.templating.parser.NGPrecompiledTemplate;
+import ng.appserver.templating.parser.NGTemplateParser;
+import ng.appserver.templating.parser.model.PBasicNode;
+import ng.appserver.templating.parser.model.PNode;
+import ng.appserver.templating.parser.model.PRootNode;
+import ng.plugins.NGCorePlugin;
+import ng.plugins.NGPlugin;
+
+/**
+ * Parses and validates the component templates in a project's build output, writing each template's precompiled form (see NGPrecompiledTemplate) next to it.
+ *
+ * Templates are located the same way the application locates them on the classpath, i.e. in "components" and "ng/[namespace]/components",
+ * either as a single file (X.html) or a template folder (X.wo/X.html and X.wo/X.wod).
+ *
+ * Validation covers
+ * - Template syntax (including balanced tags), since the template gets parsed.
+ * - Binding values, which must be valid association definitions.
+ * - Element names, which must resolve to an element class (from NGCorePlugin, plugins located on the classpath, or the project's own classes) or one of the project's templates.
+ * - Required bindings of dynamic elements, by constructing the element with the template's bindings.
+ *
+ * Template errors are always reported as errors. Unknown element names are reported separately, since an element might be provided by something we can't see at build time
+ * (in which case it can be listed in [knownElements]).
+ *
+ * Kept free of dependencies on the Maven API, so it can be used from other build tools.
+ */
+
+public class NGTemplatePrecompiler {
+
+	/**
+	 * A problem found in a template
+	 *
+	 * @param template The template file the problem was found in
+	 * @param message Description of the problem
+	 */
+	public record Problem( Path template, String message ) {
+
+		@Override
+		public String toString() {
+			return "%s: %s".formatted( template, message );
+		}
+	}
+
+	/**
+	 * Result of precompiling the templates
+	 *
+	 * @param templateCount Number of templates precompiled
+	 * @param errors Problems that make templates unusable
+	 * @param warnings Problems that might make templates unusable
+	 * @param unknownElements Elements referenced by templates that we couldn't find
+	 */
+	public record Result( int templateCount, List<Problem> errors, List<Problem> warnings, List<Problem> unknownElements ) {}
+
+	/**
+	 * Directory containing the project's compiled classes and resources
+	 */
+	private final Path _classesDirectory;
+
+	/**
+	 * Class loader for the project's classes and dependencies
+	 */
+	private final ClassLoader _classLoader;
+
+	/**
+	 * Element names to accept without checking
+	 */
+	private final Set<String> _knownElements;
+
+	/**
+	 * Element classes by simple name (as registered by plugins)
+	 */
+	private final Map<String, Class<?>> _elementClasses = new HashMap<>();
+
+	/**
+	 * Mapping of tag names to element names
+	 */
+	private final Map<String, String> _elementTagNames = new HashMap<>();
+
+	/**
+	 * Packages registered by plugins for element lookup
+	 */
+	private final List<String> _elementPackages = new ArrayList<>();
+
+	/**
+	 * Fully qualified names of the project's own classes, by simple name
+	 */
+	private final Map<String, String> _projectClassNames = new HashMap<>();
+
+	/**
+	 * Names of the project's templates
+	 */
+	private final Set<String> _templateNames = new HashSet<>();
+
+	private final List<Problem> _errors = new ArrayList<>();
+	private final List<Problem> _warnings = new ArrayList<>();
+	private final List<Problem> _unknownElements = new ArrayList<>();
+
+	/**
+	 * @param classesDirectory Directory containing the project's compiled classes and resources, where templates are located and precompiled templates written
+	 * @param classLoader Class loader for the project's classes and dependencies, used to locate element classes
+	 * @param knownElements Element names to accept without checking
+	 */
+	public NGTemplatePrecompiler( final Path classesDirectory, final ClassLoader classLoader, final Set<String> knownElements ) {
+		Objects.requireNonNull( classesDirectory );
+		Objects.requireNonNull( classLoader );
+		Objects.requireNonNull( knownElements );
+
+		_classesDirectory = classesDirectory;
+		_classLoader = classLoader;
+		_knownElements = knownElements;
+	}
+
+	/**
+	 * Precompiles all templates in the classes directory
+	 */
+	public Result precompile() throws IOException {
+
+		if( !Files.isDirectory( _classesDirectory ) ) {
+			return new Result( 0, List.of(), List.of(), List.of() );
+		}
+
+		registerElements();
+
+		// We collect all templates first, since any template can be referenced as an element from another one
+		final Map<Path, Template> templates = new TreeMap<>();
+
+		for( final Path componentsDirectory : componentsDirectories() ) {
+			collectTemplates( componentsDirectory, templates );
+		}
+
+		for( final Template template : templates.values() ) {
+			_templateNames.add( template.name() );
+		}
+
+		for( final Template template : templates.values() ) {
+			precompile( template );
+		}
+
+		return new Result( templates.size(), List.copyOf( _errors ), List.copyOf( _warnings ), List.copyOf( _unknownElements ) );
+	}
+
+	/**
+	 * A template located in the classes directory
+	 *
+	 * @param name The template's name (i.e. the name used to reference it)
+	 * @param html The template's HTML file
+	 * @param wod The template's wod file, null if it doesn't have one
+	 * @param destination The file to write the precompiled template to
+	 */
+	private record Template( String name, Path html, Path wod, Path destination ) {}
+
+	/**
+	 * @return The directories that templates get located in
+	 */
+	private List<Path> componentsDirectories() throws IOException {
+		final List<Path> result = new ArrayList<>();
+
+		// The deprecated application namespace
+		final Path appComponents = _classesDirectory.resolve( "components" );
+
+		if( Files.isDirectory( appComponents ) ) {
+			result.add( appComponents );
+		}
+
+		final Path namespaces = _classesDirectory.resolve( "ng" );
+
+		if( Files.isDirectory( namespaces ) ) {
+			try( final Stream<Path> stream = Files.list( namespaces ) ) {
+				stream
+						.map( namespace -> namespace.resolve( "components" ) )
+						.filter( Files::isDirectory )
+						.sorted()
+						.forEach( result::add );
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Adds the templates found in the given directory to [templates], keyed by the precompiled template's destination
+	 */
+	private static void collectTemplates( final Path componentsDirectory, final Map<Path, Template> templates ) throws IOException {
+
+		final List<Path> htmlFiles;
+
+		try( final Stream<Path> stream = Files.walk( componentsDirectory ) ) {
+			htmlFiles = stream
+					.filter( Files::isRegularFile )
+					.filter( p -> p.getFileName().toString().endsWith( ".html" ) )
+					.sorted()
+					.toList();
+		}
+
+		final List<Template> singleFileTemplates = new ArrayList<>();
+
+		for( final Path htmlFile : htmlFiles ) {
+			final String fileName = htmlFile.getFileName().toString();
+			final String baseName = fileName.substring( 0, fileName.length() - ".html".length() );
+			final Path parent = htmlFile.getParent();
+
+			// A template folder is named after the template, and contains the template's HTML file (X.wo/X.html)
+			if( parent.getFileName().toString().equals( baseName + ".wo" ) ) {
+				final Path wod = parent.resolve( baseName + ".wod" );
+				final Path destination = parent.resolveSibling( baseName + "." + NGPrecompiledTemplate.FILE_EXTENSION );
+				templates.put( destination, new Template( templateName( componentsDirectory, destination ), htmlFile, Files.isRegularFile( wod ) ? wod : null, destination ) );
+			}
+			else {
+				final Path destination = htmlFile.resolveSibling( baseName + "." + NGPrecompiledTemplate.FILE_EXTENSION );
+				singleFileTemplates.add( new Template( templateName( componentsDirectory, destination ), htmlFile, null, destination ) );
+			}
+		}
+
+		// The application uses the template folder if both exist, so we do the same
+		for( final Template template : singleFileTemplates ) {
+			templates.putIfAbsent( template.destination(), template );
+		}
+	}
+
+	/**
+	 * @return The name of the template precompiled to the given destination
+	 */
+	private static String templateName( final Path componentsDirectory, final Path destination ) {
+		final String relativePath = componentsDirectory.relativize( destination ).toString().replace( '\\', '/' );
+		return relativePath.substring( 0, relativePath.length() - NGPrecompiledTemplate.FILE_EXTENSION.length() - 1 );
+	}
+
+	private void precompile( final Template template ) throws IOException {
+		final String html = Files.readString( template.html(), StandardCharsets.UTF_8 );
+		final String wod = template.wod() != null ? Files.readString( template.wod(), StandardCharsets.UTF_8 ) : "";
+
+		final PNode rootNode;
+
+		try {
+			rootNode = new NGTemplateParser( html, wod ).parse();
+		}
+		catch( NGDeclarationFormatException | NGHTMLFormatException e ) {
+			error( template, e.getMessage() );
+			return;
+		}
+
+		final int errorCount = _errors.size();
+		validate( template, rootNode );
+
+		// We don't want to leave a precompiled template behind that doesn't match the template's current source
+		if( _errors.size() != errorCount ) {
+			Files.deleteIfExists( template.destination() );
+			return;
+		}
+
+		Files.write( template.destination(), NGPrecompiledTemplate.toBytes( rootNode, html, wod ) );
+	}
+
+	private void validate( final Template template, final PNode node ) {
+		switch( node ) {
+			case PRootNode n -> n.children().forEach( child -> validate( template, child ) );
+			case PBasicNode n -> {
+				validate( template, n );
+				n.children().forEach( child -> validate( template, child ) );
+			}
+			default -> {}
+		}
+	}
+
+	private void validate( final Template template, final PBasicNode node ) {
+		final String elementName = _elementTagNames.getOrDefault( node.type(), node.type() );
+
+		final Map<String, NGAssociation> associations = new HashMap<>();
+
+		for( final Map.Entry<String, NGBindingValue> entry : node.bindings().entrySet() ) {
+			try {
+				associations.put( entry.getKey(), NGAssociationFactory.associationForBindingValue( entry.getValue(), node.isInline() ) );
+			}
+			catch( RuntimeException e ) {
+				error( template, "Invalid value for binding '%s' on <%s:%s>: %s".formatted( entry.getKey(), node.namespace(), node.type(), e.getMessage() ) );
+			}
+		}
+
+		if( _knownElements.contains( node.type() ) || _knownElements.contains( elementName ) ) {
+			return;
+		}
+
+		final Class<?> elementClass = elementClass( elementName );
+
+		if( elementClass == null ) {
+			if( !_templateNames.contains( elementName ) ) {
+				_unknownElements.add( new Problem( template.html(), "Unknown element <%s:%s>".formatted( node.namespace(), node.type() ) ) );
+			}
+
+			return;
+		}
+
+		if( NGDynamicElement.class.isAssignableFrom( elementClass ) && associations.size() == node.bindings().size() ) {
+			validateBindings( template, node, elementClass, associations );
+		}
+	}
+
+	/**
+	 * Checks the bindings of a dynamic element by constructing it, since dynamic elements check their bindings when constructed
+	 */
+	private void validateBindings( final Template template, final PBasicNode node, final Class<?> elementClass, final Map<String, NGAssociation> associations ) {
+		try {
+			final Constructor<?> constructor = elementClass.getConstructor( String.class, Map.class, NGElement.class );
+			constructor.newInstance( node.type(), associations, new NGDynamicGroup( List.of() ) );
+		}
+		catch( InvocationTargetException e ) {
+			if( e.getCause() instanceof NGBindingConfigurationException bce ) {
+				error( template, "Invalid bindings for <%s:%s>: %s".formatted( node.namespace(), node.type(), bce.getMessage() ) );
+			}
+
+			// Anything else is probably the element depending on a running application, which doesn't say anything about the template
+		}
+		catch( ReflectiveOperationException | LinkageError e ) {
+			warning( template, "Unable to check the bindings of <%s:%s>: %s".formatted( node.namespace(), node.type(), e ) );
+		}
+	}
+
+	/**
+	 * @return The class of the named element, null if it can't be found
+	 */
+	private Class<?> elementClass( final String elementName ) {
+		final Class<?> registeredClass = _elementClasses.get( elementName );
+
+		if( registeredClass != null ) {
+			return registeredClass;
+		}
+
+		final String projectClassName = _projectClassNames.get( elementName );
+
+		if( projectClassName != null ) {
+			return classWithName( projectClassName );
+		}
+
+		for( final String packageName : _elementPackages ) {
+			final Class<?> elementClass = classWithName( packageName + "." + elementName );
+
+			if( elementClass != null ) {
+				return elementClass;
+			}
+		}
+
+		// Elements can also be referenced by their fully qualified class name
+		if( elementName.contains( "." ) ) {
+			return classWithName( elementName );
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return The named class, null if it can't be loaded
+	 */
+	private Class<?> classWithName( final String className ) {
+		try {
+			return Class.forName( className, false, _classLoader );
+		}
+		catch( ClassNotFoundException | LinkageError e ) {
+			return null;
+		}
+	}
+
+	/**
+	 * Registers the elements provided by NGCorePlugin, plugins located on the classpath and the project's own classes
+	 */
+	private void registerElements() throws IOException {
+		final List<NGPlugin> plugins = new ArrayList<>();
+		plugins.add( new NGCorePlugin() );
+
+		ServiceLoader.load( NGPlugin.class, _classLoader ).stream().forEach( provider -> {
+			try {
+				plugins.add( provider.get() );
+			}
+			catch( RuntimeException | LinkageError e ) {
+				_warnings.add( new Problem( _classesDirectory, "Unable to load plugin %s, so elements provided by it are unknown: %s".formatted( provider.type().getName(), e ) ) );
+			}
+		} );
+
+		for( final NGPlugin plugin : plugins ) {
+			for( final ElementProvider elementProvider : plugin.elements().elementProviders() ) {
+				switch( elementProvider ) {
+					case ElementByClass o -> {
+						_elementClasses.put( o.elementClass().getSimpleName(), o.elementClass() );
+
+						for( final String tagName : o.tagNames() ) {
+							_elementTagNames.put( tagName, o.elementClass().getSimpleName() );
+						}
+					}
+					case ElementsByPackage o -> _elementPackages.add( o.packageName() );
+					case ElementAliases o -> {
+						for( final String tagAlias : o.tagAliases() ) {
+							_elementTagNames.put( tagAlias, o.tagName() );
+						}
+					}
+				}
+			}
+		}
+
+		try( final Stream<Path> stream = Files.walk( _classesDirectory ) ) {
+			stream
+					.filter( p -> p.getFileName().toString().endsWith( ".class" ) )
+					.map( p -> _classesDirectory.relativize( p ).toString().replace( '\\', '/' ) )
+					.filter( p -> !p.contains( "$" ) )
+					.map( p -> p.substring( 0, p.length() - ".class".length() ).replace( '/', '.' ) )
+					.forEach( className -> {
+						final String simpleName = className.substring( className.lastIndexOf( '.' ) + 1 );
+						_projectClassNames.putIfAbsent( simpleName, className );
+					} );
+		}
+
+		// Only concrete element classes are usable as elements
+		_projectClassNames.values().removeIf( className -> {
+			final Class<?> c = classWithName( className );
+			return c == null || Modifier.isAbstract( c.getModifiers() ) || !NGElement.class.isAssignableFrom( c );
+		} );
+	}
+
+	private void error( final Template template, final String message ) {
+		_errors.add( new Problem( template.html(), message ) );
+	}
+
+	private void warning( final Template template, final String message ) {
+		_warnings.add( new Problem( template.html(), message ) );
+	}
+}
@@ -0,0 +1,164 @@
+package ng.maven;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+
+import ng.appserver.templating.elements.NGDynamicGroup;
+import ng.appserver.templating.parser.NGPrecompiledTemplate;
+import ng.appserver.templating.parser.NGTemplateParser;
+import ng.kvc.NGKeyValueCoding;
+import ng.maven.NGTemplatePrecompiler.Problem;
+import ng.maven.NGTemplatePrecompiler.Result;
+
+public class TestNGTemplatePrecompiler {
+
+	/**
+	 * An element class in the project being built, requiring the binding [title]
+	 */
+	private static final String PROJECT_ELEMENT_SOURCE = """
+			package test;
+
+			import java.util.Map;
+
+			import ng.appserver.templating.NGBindingConfigurationException;
+			import ng.appserver.templating.NGElement;
+			import ng.appserver.templating.associations.NGAssociation;
+			import ng.appserver.templating.elements.NGDynamicGroup;
+
+			public class ProjectElement extends NGDynamicGroup {
+
+				public ProjectElement( String name, Map<String, NGAssociation> associations, NGElement template ) {
+					super( name, associations, template );
+
+					if( associations.get( "title" ) == null ) {
+						throw new NGBindingConfigurationException( "[title] is required" );
+					}
+				}
+			}
+			""";
+
+	@Test
+	public void precompile() throws Exception {
+		final Path classes = Files.createTempDirectory( "ng-maven-plugin" );
+		compileProjectElement( classes );
+
+		// References a built-in element, another template, a template in a template folder and an element class from the project
+		write( classes, "components/Main.html", "<wo:if condition=\"$show\"><wo:str value=\"$name\" /></wo:if><wo:Header /><wo:ProjectElement title=\"Hello\">Content</wo:ProjectElement>" );
+
+		// A template folder with a wod file. It takes precedence over the single file template with the same name, which is broken
+		write( classes, "components/Header.wo/Header.html", "<h1><webobject name=\"Title\" /></h1>" );
+		write( classes, "components/Header.wo/Header.wod", "Title : str { value = title; }" );
+		write( classes, "components/Header.html", "<wo:if condition=\"$unclosed\">" );
+
+		// An invalid binding value, with a precompiled template left over from a previous build
+		write( classes, "components/BrokenBinding.html", "<wo:str value=\"unknown \\q escape\" />" );
+		write( classes, "components/BrokenBinding.ngt", "stale" );
+
+		// Missing required bindings, both for a built-in element and the project's element
+		write( classes, "components/MissingBinding.html", "<wo:if>Never shown</wo:if><wo:ProjectElement />" );
+
+		write( classes, "components/Unknown.html", "<wo:NoSuchElement />" );
+
+		// Templates in a namespace
+		write( classes, "ng/myns/components/Namespaced.html", "<wo:Main />" );
+
+		final Result result;
+
+		try( final URLClassLoader classLoader = new URLClassLoader( new URL[] { classes.toUri().toURL() }, getClass().getClassLoader() ) ) {
+			result = new NGTemplatePrecompiler( classes, classLoader, Set.of() ).precompile();
+		}
+
+		assertEquals( 6, result.templateCount() );
+		assertEquals( List.of(), result.warnings() );
+
+		final Path brokenBinding = classes.resolve( "components/BrokenBinding.html" );
+		final Path missingBinding = classes.resolve( "components/MissingBinding.html" );
+
+		assertEquals( List.of( brokenBinding, missingBinding, missingBinding ), result.errors().stream().map( Problem::template ).toList() );
+		assertTrue( result.errors().get( 0 ).message().startsWith( "Invalid value for binding 'value' on <wo:str>" ) );
+		assertTrue( result.errors().get( 1 ).message().startsWith( "Invalid bindings for <wo:if>" ) );
+		assertTrue( result.errors().get( 2 ).message().startsWith( "Invalid bindings for <wo:ProjectElement>" ) );
+
+		assertEquals( List.of( new Problem( classes.resolve( "components/Unknown.html" ), "Unknown element <wo:NoSuchElement>" ) ), result.unknownElements() );
+
+		// Templates with errors don't get precompiled, and precompiled templates left over from previous builds get deleted
+		assertFalse( Files.exists( classes.resolve( "components/BrokenBinding.ngt" ) ) );
+		assertFalse( Files.exists( classes.resolve( "components/MissingBinding.ngt" ) ) );
+
+		// Unknown elements aren't errors, since the element might be provided by something we can't see at build time
+		assertTrue( Files.exists( classes.resolve( "components/Unknown.ngt" ) ) );
+
+		assertPrecompiled( classes.resolve( "components/Main.ngt" ), "<wo:if condition=\"$show\"><wo:str value=\"$name\" /></wo:if><wo:Header /><wo:ProjectElement title=\"Hello\">Content</wo:ProjectElement>", "" );
+		assertPrecompiled( classes.resolve( "components/Header.ngt" ), "<h1><webobject name=\"Title\" /></h1>", "Title : str { value = title; }" );
+		assertPrecompiled( classes.resolve( "ng/myns/components/Namespaced.ngt" ), "<wo:Main />", "" );
+	}
+
+	@Test
+	public void knownElements() throws Exception {
+		final Path classes = Files.createTempDirectory( "ng-maven-plugin" );
+		write( classes, "components/Main.html", "<wo:ProvidedElsewhere />" );
+
+		final Result result = new NGTemplatePrecompiler( classes, getClass().getClassLoader(), Set.of( "ProvidedElsewhere" ) ).precompile();
+		assertEquals( 1, result.templateCount() );
+		assertEquals( List.of(), result.errors() );
+		assertEquals( List.of(), result.unknownElements() );
+		assertTrue( Files.exists( classes.resolve( "components/Main.ngt" ) ) );
+	}
+
+	@Test
+	public void missingClassesDirectory() throws Exception {
+		final Path classes = Files.createTempDirectory( "ng-maven-plugin" ).resolve( "missing" );
+		assertEquals( new Result( 0, List.of(), List.of(), List.of() ), new NGTemplatePrecompiler( classes, getClass().getClassLoader(), Set.of() ).precompile() );
+	}
+
+	/**
+	 * Asserts that the given file contains the precompiled form of the given template, and is marked as precompiled from it's source
+	 */
+	private static void assertPrecompiled( final Path precompiledTemplate, final String html, final String wod ) throws Exception {
+		final byte[] bytes = Files.readAllBytes( precompiledTemplate );
+		assertEquals( new NGTemplateParser( html, wod ).parse(), NGPrecompiledTemplate.fromBytes( bytes ) );
+		assertTrue( NGPrecompiledTemplate.matchesSource( bytes, html, wod ) );
+	}
+
+	private static void write( final Path directory, final String path, final String content ) throws IOException {
+		final Path file = directory.resolve( path );
+		Files.createDirectories( file.getParent() );
+		Files.writeString( file, content );
+	}
+
+	/**
+	 * Compiles the project's element class into the given classes directory
+	 */
+	private static void compileProjectElement( final Path classes ) throws Exception {
+		final Path sourceFile = Files.createTempDirectory( "ng-maven-plugin-sources" ).resolve( "test/ProjectElement.java" );
+		Files.createDirectories( sourceFile.getParent() );
+		Files.writeString( sourceFile, PROJECT_ELEMENT_SOURCE );
+
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		final String classpath = String.join( File.pathSeparator, classpathEntry( NGDynamicGroup.class ), classpathEntry( NGTemplateParser.class ), classpathEntry( NGKeyValueCoding.class ) );
+		assertEquals( 0, compiler.run( null, null, null, "-classpath", classpath, "-d", classes.toString(), sourceFile.toString() ) );
+	}
+
+	/**
+	 * @return The classpath entry (directory or jar) the given class was loaded from
+	 */
+	private static String classpathEntry( final Class<?> clazz ) throws URISyntaxException {
+		return Path.of( clazz.getProtectionDomain().getCodeSource().getLocation().toURI() ).toString();
+	}
+}
@@ -1,6 +1,7 @@
 package ng.appserver.templating.parser;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.StringTokenizer;
@@ -172,7 +173,7 @@ public class NGDeclarationParser {
 		Objects.requireNonNull( declarationHeader );
 		Objects.requireNonNull( declarationBody );
 
-		final Map<String, NGBindingValue> bindings = new HashMap<>();
+		final Map<String, NGBindingValue> bindings = new LinkedHashMap<>();
 		String trimmedDeclarationBody = declarationBody.trim();
 
 		if( !trimmedDeclarationBody.startsWith( "{" ) && !trimmedDeclarationBody.endsWith( "}" ) ) {
@@ -0,0 +1,389 @@
+package ng.appserver.templating.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import ng.appserver.templating.parser.NGDeclaration.NGBindingValue;
+import ng.appserver.templating.parser.model.PBasicNode;
+import ng.appserver.templating.parser.model.PCommentNode;
+import ng.appserver.templating.parser.model.PHTMLNode;
+import ng.appserver.templating.parser.model.PNode;
+import ng.appserver.templating.parser.model.PRawNode;
+import ng.appserver.templating.parser.model.PRootNode;
+import ng.appserver.templating.parser.model.SourceRange;
+
+/**
+ * Reads and writes a compact binary form of a parsed template (a PNode tree), allowing templates to be parsed at build time and loaded without parsing at runtime.
+ *
+ * The format starts with a header (magic number, format version and a digest of the template's source), followed by a table of every string used by the template (each stored once), followed by the nodes.
+ * The source digest allows checking if the template has been modified since it was precompiled (see matchesSource()).
+ * Nodes reference strings by their index in the table. Numbers are stored as variable length integers, so small numbers (which is most of them) take a single byte.
+ *
+ * Comment nodes are kept (since they still take up a place in the element tree) but their content isn't, since it never gets rendered.
+ * So a template read back from this format is identical to the parsed template, except comment nodes have an empty value.
+ */
+
+public class NGPrecompiledTemplate {
+
+	/**
+	 * Extension used for files containing precompiled templates
+	 */
+	public static final String FILE_EXTENSION = "ngt";
+
+	/**
+	 * Identifies the content as a precompiled template ("NGT" + format version)
+	 */
+	private static final int MAGIC = 0x4E475400;
+
+	/**
+	 * Version of the format. Templates written with a different version can't be read.
+	 */
+	private static final int VERSION = 2;
+
+	/**
+	 * Algorithm used for the digest of the template's source, and the length of that digest
+	 */
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+	private static final int DIGEST_LENGTH = 32;
+
+	private static final int NODE_ROOT = 0;
+	private static final int NODE_BASIC = 1;
+	private static final int NODE_HTML = 2;
+	private static final int NODE_RAW = 3;
+	private static final int NODE_COMMENT = 4;
+
+	private static final int BINDING_UNQUOTED = 0;
+	private static final int BINDING_QUOTED = 1;
+	private static final int BINDING_BOOLEAN_PRESENCE = 2;
+
+	private static final int FLAG_INLINE = 1;
+	private static final int FLAG_SELF_CLOSING = 2;
+
+	/**
+	 * @return The given template (parsed from the given html and wod source) in precompiled form
+	 */
+	public static byte[] toBytes( final PNode node, final String html, final String wod ) {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		try {
+			write( node, html, wod, out );
+		}
+		catch( IOException e ) {
+			// ByteArrayOutputStream doesn't throw
+			throw new UncheckedIOException( e );
+		}
+
+		return out.toByteArray();
+	}
+
+	/**
+	 * @return The template in the given precompiled form
+	 */
+	public static PNode fromBytes( final byte[] bytes ) throws IOException {
+		return read( new ByteArrayInputStream( bytes ) );
+	}
+
+	/**
+	 * @return true if the given precompiled template was precompiled from the given html and wod source, i.e. the template hasn't been modified since it was precompiled
+	 */
+	public static boolean matchesSource( final byte[] bytes, final String html, final String wod ) throws IOException {
+		final byte[] sourceDigest = readHeader( new DataInputStream( new ByteArrayInputStream( bytes ) ) );
+		return MessageDigest.isEqual( sourceDigest, sourceDigest( html, wod ) );
+	}
+
+	/**
+	 * Writes the given template (parsed from the given html and wod source) in precompiled form to [out]
+	 */
+	public static void write( final PNode node, final String html, final String wod, final OutputStream out ) throws IOException {
+		Objects.requireNonNull( node );
+		Objects.requireNonNull( html );
+		Objects.requireNonNull( wod );
+		Objects.requireNonNull( out );
+
+		final StringTable strings = new StringTable();
+		final ByteArrayOutputStream nodeBytes = new ByteArrayOutputStream();
+		writeNode( node, new DataOutputStream( nodeBytes ), strings );
+
+		final DataOutputStream data = new DataOutputStream( out );
+		data.writeInt( MAGIC | VERSION );
+		data.write( sourceDigest( html, wod ) );
+		writeVarInt( data, strings._strings.size() );
+
+		for( final String string : strings._strings ) {
+			final byte[] bytes = string.getBytes( StandardCharsets.UTF_8 );
+			writeVarInt( data, bytes.length );
+			data.write( bytes );
+		}
+
+		nodeBytes.writeTo( data );
+		data.flush();
+	}
+
+	/**
+	 * @return A template read from it's precompiled form in [in]
+	 */
+	public static PNode read( final InputStream in ) throws IOException {
+		Objects.requireNonNull( in );
+
+		final DataInputStream data = new DataInputStream( in );
+		readHeader( data );
+
+		final String[] strings = new String[readVarInt( data )];
+
+		for( int i = 0; i < strings.length; i++ ) {
+			final byte[] bytes = new byte[readVarInt( data )];
+			data.readFully( bytes );
+			strings[i] = new String( bytes, StandardCharsets.UTF_8 ).intern();
+		}
+
+		return readNode( data, strings );
+	}
+
+	/**
+	 * Reads and checks the header of a precompiled template
+	 *
+	 * @return The digest of the template's source
+	 */
+	private static byte[] readHeader( final DataInputStream data ) throws IOException {
+		final int header = data.readInt();
+
+		if( (header & 0xFFFFFF00) != MAGIC ) {
+			throw new IOException( "Not a precompiled template" );
+		}
+
+		if( (header & 0xFF) != VERSION ) {
+			throw new IOException( "Precompiled template has format version %s, expected %s. The template must be precompiled again".formatted( header & 0xFF, VERSION ) );
+		}
+
+		final byte[] sourceDigest = new byte[DIGEST_LENGTH];
+		data.readFully( sourceDigest );
+		return sourceDigest;
+	}
+
+	/**
+	 * @return A digest of a template's html and wod source
+	 */
+	private static byte[] sourceDigest( final String html, final String wod ) {
+		final MessageDigest digest;
+
+		try {
+			digest = MessageDigest.getInstance( DIGEST_ALGORITHM );
+		}
+		catch( NoSuchAlgorithmException e ) {
+			// Every Java platform is required to support SHA-256
+			throw new IllegalStateException( e );
+		}
+
+		final byte[] htmlBytes = html.getBytes( StandardCharsets.UTF_8 );
+
+		// The html's length is included so moving content between the html and wod results in a different digest
+		digest.update( ByteBuffer.allocate( Integer.BYTES ).putInt( htmlBytes.length ).flip() );
+		digest.update( htmlBytes );
+		digest.update( wod.getBytes( StandardCharsets.UTF_8 ) );
+		return digest.digest();
+	}
+
+	private static void writeNode( final PNode node, final DataOutputStream out, final StringTable strings ) throws IOException {
+		switch( node ) {
+			case PRootNode n -> {
+				out.writeByte( NODE_ROOT );
+				writeChildren( n.children(), out, strings );
+			}
+			case PBasicNode n -> {
+				out.writeByte( NODE_BASIC );
+				writeVarInt( out, strings.indexOf( n.namespace() ) );
+				writeVarInt( out, strings.indexOf( n.type() ) );
+				writeVarInt( out, strings.indexOf( n.declarationName() ) );
+				out.writeByte( (n.isInline() ? FLAG_INLINE : 0) | (n.selfClosing() ? FLAG_SELF_CLOSING : 0) );
+				writeVarInt( out, n.bindings().size() );
+
+				for( final Map.Entry<String, NGBindingValue> entry : n.bindings().entrySet() ) {
+					writeVarInt( out, strings.indexOf( entry.getKey() ) );
+
+					switch( entry.getValue() ) {
+						case NGBindingValue.Value v -> {
+							out.writeByte( v.isQuoted() ? BINDING_QUOTED : BINDING_UNQUOTED );
+							writeVarInt( out, strings.indexOf( v.value() ) );
+						}
+						case NGBindingValue.BooleanPresence b -> out.writeByte( BINDING_BOOLEAN_PRESENCE );
+					}
+				}
+
+				writeChildren( n.children(), out, strings );
+			}
+			case PHTMLNode n -> {
+				out.writeByte( NODE_HTML );
+				writeVarInt( out, strings.indexOf( n.value() ) );
+			}
+			case PRawNode n -> {
+				out.writeByte( NODE_RAW );
+				writeVarInt( out, strings.indexOf( n.value() ) );
+			}
+			case PCommentNode n -> {
+				out.writeByte( NODE_COMMENT );
+			}
+		}
+
+		writeVarInt( out, node.sourceRange().start() );
+		writeVarInt( out, node.sourceRange().length() );
+	}
+
+	private static void writeChildren( final List<PNode> children, final DataOutputStream out, final StringTable strings ) throws IOException {
+		writeVarInt( out, children.size() );
+
+		for( final PNode child : children ) {
+			writeNode( child, out, strings );
+		}
+	}
+
+	private static PNode readNode( final DataInputStream in, final String[] strings ) throws IOException {
+		final int nodeType = in.readUnsignedByte();
+
+		// Source ranges are written after the node's content, so we construct the node once we've read them
+		return switch( nodeType ) {
+			case NODE_ROOT -> {
+				final List<PNode> children = readChildren( in, strings );
+				yield new PRootNode( children, readSourceRange( in ) );
+			}
+			case NODE_BASIC -> {
+				final String namespace = string( in, strings );
+				final String type = string( in, strings );
+				final String declarationName = string( in, strings );
+				final int flags = in.readUnsignedByte();
+				final int bindingCount = readVarInt( in );
+				final Map<String, NGBindingValue> bindings = new LinkedHashMap<>( bindingCount * 2 );
+
+				for( int i = 0; i < bindingCount; i++ ) {
+					final String name = string( in, strings );
+					final int bindingType = in.readUnsignedByte();
+
+					final NGBindingValue value = switch( bindingType ) {
+						case BINDING_UNQUOTED -> new NGBindingValue.Value( false, string( in, strings ) );
+						case BINDING_QUOTED -> new NGBindingValue.Value( true, string( in, strings ) );
+						case BINDING_BOOLEAN_PRESENCE -> new NGBindingValue.BooleanPresence();
+						default -> throw new IOException( "Unknown binding type %s".formatted( bindingType ) );
+					};
+
+					bindings.put( name, value );
+				}
+
+				final List<PNode> children = readChildren( in, strings );
+				yield new PBasicNode( namespace, type, bindings, children, (flags & FLAG_INLINE) != 0, (flags & FLAG_SELF_CLOSING) != 0, declarationName, readSourceRange( in ) );
+			}
+			case NODE_HTML -> {
+				final String value = string( in, strings );
+				yield new PHTMLNode( value, readSourceRange( in ) );
+			}
+			case NODE_RAW -> {
+				final String value = string( in, strings );
+				yield new PRawNode( value, readSourceRange( in ) );
+			}
+			case NODE_COMMENT -> new PCommentNode( "", readSourceRange( in ) );
+			default -> throw new IOException( "Unknown node type %s".formatted( nodeType ) );
+		};
+	}
+
+	private static List<PNode> readChildren( final DataInputStream in, final String[] strings ) throws IOException {
+		final int count = readVarInt( in );
+		final List<PNode> children = new ArrayList<>( count );
+
+		for( int i = 0; i < count; i++ ) {
+			children.add( readNode( in, strings ) );
+		}
+
+		return children;
+	}
+
+	private static SourceRange readSourceRange( final DataInputStream in ) throws IOException {
+		final int start = readVarInt( in );
+		final int length = readVarInt( in );
+
+		if( start == 0 && length == 0 ) {
+			return SourceRange.EMPTY;
+		}
+
+		return new SourceRange( start, start + length );
+	}
+
+	private static String string( final DataInputStream in, final String[] strings ) throws IOException {
+		final int index = readVarInt( in );
+
+		if( index >= strings.length ) {
+			throw new IOException( "String index %s out of range (%s strings)".formatted( index, strings.length ) );
+		}
+
+		return strings[index];
+	}
+
+	/**
+	 * Writes a non-negative int using 7 bits per byte, with the high bit set on every byte except the last
+	 */
+	private static void writeVarInt( final DataOutputStream out, int value ) throws IOException {
+		if( value < 0 ) {
+			throw new IllegalArgumentException( "Can't write negative value " + value );
+		}
+
+		while( (value & ~0x7F) != 0 ) {
+			out.writeByte( (value & 0x7F) | 0x80 );
+			value >>>= 7;
+		}
+
+		out.writeByte( value );
+	}
+
+	private static int readVarInt( final DataInputStream in ) throws IOException {
+		int value = 0;
+
+		for( int shift = 0; shift < 32; shift += 7 ) {
+			final int b = in.read();
+
+			if( b == -1 ) {
+				throw new EOFException();
+			}
+
+			value |= (b & 0x7F) << shift;
+
+			if( (b & 0x80) == 0 ) {
+				return value;
+			}
+		}
+
+		throw new IOException( "Malformed variable length integer" );
+	}
+
+	/**
+	 * Collects the strings used by a template, each stored once
+	 */
+	private static class StringTable {
+
+		private final List<String> _strings = new ArrayList<>();
+		private final Map<String, Integer> _indexes = new HashMap<>();
+
+		/**
+		 * @return The index of the given string in the table, adding it if it's not already there
+		 */
+		private int indexOf( final String string ) {
+			return _indexes.computeIfAbsent( string, s -> {
+				_strings.add( s );
+				return _strings.size() - 1;
+			} );
+		}
+	}
+}
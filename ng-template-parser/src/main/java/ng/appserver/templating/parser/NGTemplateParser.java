@@ -1,11 +1,12 @@
 package ng.appserver.templating.parser;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 import ng.appserver.templating.parser.NGDeclaration.NGBindingValue;
 import ng.appserver.templating.parser.model.PBasicNode;
@@ -20,7 +21,12 @@ import ng.appserver.templating.parser.model.SourceRange;
  * A single-pass recursive descent template parser.
  *
  * Replaces the old NGStringTokenizer → NGHTMLParser → callback → NGTemplateParser pipeline
- * with a direct character-by-character scan that produces a PNode tree.
+ * with a direct scan that produces a PNode tree.
+ *
+ * The scanner jumps from one '<' to the next (using indexOf), and decides what kind of tag it's looking at from the characters following it.
+ * Plain HTML between the tags we care about is never copied character by character, but taken from the source as a single range once the run ends.
+ *
+ * The source can be any CharSequence, for example a CharBuffer decoded from a memory-mapped file, but parsing a String is fastest.
  *
  * Source position tracking is built in from the ground up: every parse method
  * knows its start position, so SourceRange can be attached to nodes trivially.
@@ -44,9 +50,31 @@ public class NGTemplateParser {
 	private static final String DIRECTIVE_COMMENT = "comment";
 
 	/**
-	 * The template source string
+	 * Matches the "// VALID" annotation at the end of a quoted binding value
 	 */
-	private final String _source;
+	private static final Pattern VALID_ANNOTATION = Pattern.compile( "\\s*//\\s*VALID$" );
+
+	/**
+	 * The kinds of tags the parser handles, anything else is just HTML
+	 */
+	private enum TagKind {
+		HTML,
+		CLOSING_TAG,
+		RAW_DIRECTIVE,
+		COMMENT_DIRECTIVE,
+		NAMESPACED_ELEMENT,
+		LEGACY_ELEMENT
+	}
+
+	/**
+	 * The template source
+	 */
+	private final CharSequence _source;
+
+	/**
+	 * Length of the template source
+	 */
+	private final int _length;
 
 	/**
 	 * The declarations parsed from the provided wod string
@@ -64,16 +92,17 @@ public class NGTemplateParser {
 	 */
 	private int _pos;
 
-	public NGTemplateParser( final String htmlString, final String declarationString ) throws NGDeclarationFormatException {
+	public NGTemplateParser( final CharSequence htmlString, final String declarationString ) throws NGDeclarationFormatException {
 		this( htmlString, declarationString, DEFAULT_DYNAMIC_NAMESPACES );
 	}
 
-	public NGTemplateParser( final String htmlString, final String declarationString, final Set<String> dynamicNamespaces ) throws NGDeclarationFormatException {
+	public NGTemplateParser( final CharSequence htmlString, final String declarationString, final Set<String> dynamicNamespaces ) throws NGDeclarationFormatException {
 		Objects.requireNonNull( htmlString );
 		Objects.requireNonNull( declarationString );
 		Objects.requireNonNull( dynamicNamespaces );
 
 		_source = htmlString;
+		_length = htmlString.length();
 		_declarations = NGDeclarationParser.declarationsWithString( declarationString );
 		_dynamicNamespaces = dynamicNamespaces;
 		_pos = 0;
@@ -109,85 +138,55 @@ public class NGTemplateParser {
 	 */
 	private List<PNode> parseChildren( final String expectedClosingTag, final int openingTagPosition, final boolean closingTagCaseInsensitive ) throws NGHTMLFormatException, NGDeclarationFormatException {
 		final List<PNode> children = new ArrayList<>();
-		final StringBuilder htmlBuffer = new StringBuilder();
 		int htmlStart = _pos;
 
-		while( _pos < _source.length() ) {
+		while( true ) {
 
-			// Check if we're at a '<' that might be something special
-			if( current() == '<' ) {
+			// Jump to the next tag. Everything we pass on the way is HTML, which we'll pick up as a single range once the run ends.
+			final int tagStart = indexOf( '<', _pos );
 
-				// Check for closing tag first
-				if( lookingAt( "</" ) ) {
-					if( expectedClosingTag != null && lookingAtClosingTag( expectedClosingTag, closingTagCaseInsensitive ) ) {
-						// Flush any accumulated HTML
-						htmlStart = flushHTML( htmlBuffer, htmlStart, children );
-						// Consume the closing tag
-						consumeClosingTag( expectedClosingTag, closingTagCaseInsensitive );
-						return children;
-					}
-					// Catch typos like </ wo:Conditional> where a space follows </
-					if( isAtMalformedClosingTag() ) {
-						throw error( "Unexpected space after '</' in closing tag" );
-					}
-					// Catch mismatched namespaced closing tags like </wo:Repetition> inside a <wo:Conditional> block
-					if( expectedClosingTag != null && isAtNamespacedClosingTag() ) {
-						throw error( "Unexpected closing tag. Expected </%s>".formatted( expectedClosingTag ) );
-					}
-					// Not our closing tag — it's just HTML text (could be a regular HTML closing tag like </div>)
-					htmlBuffer.append( current() );
-					_pos++;
-					continue;
-				}
+			if( tagStart == -1 ) {
+				_pos = _length;
+				break;
+			}
 
-				// Check for parser directives
-				if( lookingAtIgnoreCase( "<p:raw>" ) || lookingAtIgnoreCase( "<p:raw " ) || lookingAtIgnoreCase( "<p:raw/>" ) ) {
-					htmlStart = flushHTML( htmlBuffer, htmlStart, children );
+			_pos = tagStart;
+
+			switch( tagKind( expectedClosingTag, closingTagCaseInsensitive ) ) {
+				case CLOSING_TAG -> {
+					flushHTML( htmlStart, children );
+					consumeClosingTag( expectedClosingTag, closingTagCaseInsensitive );
+					return children;
+				}
+				case RAW_DIRECTIVE -> {
+					flushHTML( htmlStart, children );
 					children.add( parseRawDirective() );
 					htmlStart = _pos;
-					continue;
 				}
-
-				if( lookingAtIgnoreCase( "<p:comment>" ) || lookingAtIgnoreCase( "<p:comment " ) || lookingAtIgnoreCase( "<p:comment/>" ) ) {
-					htmlStart = flushHTML( htmlBuffer, htmlStart, children );
+				case COMMENT_DIRECTIVE -> {
+					flushHTML( htmlStart, children );
 					children.add( parseCommentDirective() );
 					htmlStart = _pos;
-					continue;
 				}
-
-				// Check for namespaced start tag (inline dynamic element)
-				if( isAtNamespacedStartTag() ) {
-					htmlStart = flushHTML( htmlBuffer, htmlStart, children );
+				case NAMESPACED_ELEMENT -> {
+					flushHTML( htmlStart, children );
 					children.add( parseNamespacedElement() );
 					htmlStart = _pos;
-					continue;
 				}
-
-				// Catch typos like <wo: repetition> where a space follows the colon
-				if( isAtMalformedNamespacedTag() ) {
-					throw error( "Unexpected space after ':' in tag — did you mean to write a namespaced element?" );
+				case LEGACY_ELEMENT -> {
+					flushHTML( htmlStart, children );
+					children.add( parseLegacyElement() );
+					htmlStart = _pos;
 				}
-
-				// Check for legacy <webobject name="..."> or <wo name="...">
-				if( lookingAtIgnoreCase( "<webobject " ) || lookingAtIgnoreCase( "<wo " ) ) {
-					// Disambiguate: <wo name="..."> (legacy) vs <wo:Type> (inline namespace)
-					// If we got here, it's NOT a namespaced tag (that was checked above), so it's legacy
-					if( !isAtNamespacedStartTag() ) {
-						htmlStart = flushHTML( htmlBuffer, htmlStart, children );
-						children.add( parseLegacyElement() );
-						htmlStart = _pos;
-						continue;
-					}
+				case HTML -> {
+					// Just an HTML tag (or a stray '<'), so it becomes a part of the current HTML run
+					_pos++;
 				}
 			}
-
-			// Regular character — accumulate as HTML
-			htmlBuffer.append( current() );
-			_pos++;
 		}
 
 		// End of input
-		flushHTML( htmlBuffer, htmlStart, children );
+		flushHTML( htmlStart, children );
 
 		if( expectedClosingTag != null ) {
 			throw error( "Unexpected end of template. Expected closing tag </%s>".formatted( expectedClosingTag ), openingTagPosition );
@@ -196,6 +195,127 @@ public class NGTemplateParser {
 		return children;
 	}
 
+	/**
+	 * @return The kind of tag starting at the current position (which must be at a '<')
+	 *
+	 * Decided by looking at the following characters just once: a '/' means a closing tag, otherwise we read the tag's name (letters only)
+	 * and the character terminating it decides between a namespaced tag (':'), a potential legacy tag (' ') or plain HTML.
+	 *
+	 * @throws NGHTMLFormatException If the tag looks like a typo in a dynamic tag, such as {@code <wo: Repetition>} or {@code </ wo:Conditional>}
+	 */
+	private TagKind tagKind( final String expectedClosingTag, final boolean closingTagCaseInsensitive ) throws NGHTMLFormatException {
+		final int nameStart = _pos + 1;
+
+		if( nameStart >= _length ) {
+			return TagKind.HTML;
+		}
+
+		if( _source.charAt( nameStart ) == '/' ) {
+			if( expectedClosingTag != null && lookingAtClosingTag( expectedClosingTag, closingTagCaseInsensitive ) ) {
+				return TagKind.CLOSING_TAG;
+			}
+
+			// Catch typos like </ wo:Conditional> where a space follows </
+			if( isAtMalformedClosingTag() ) {
+				throw error( "Unexpected space after '</' in closing tag" );
+			}
+
+			// Catch mismatched namespaced closing tags like </wo:Repetition> inside a <wo:Conditional> block
+			if( expectedClosingTag != null && isAtNamespacedClosingTag() ) {
+				throw error( "Unexpected closing tag. Expected </%s>".formatted( expectedClosingTag ) );
+			}
+
+			// Not our closing tag — it's just HTML (could be a regular HTML closing tag like </div>)
+			return TagKind.HTML;
+		}
+
+		int nameEnd = nameStart;
+
+		while( nameEnd < _length && Character.isLetter( _source.charAt( nameEnd ) ) ) {
+			nameEnd++;
+		}
+
+		if( nameEnd == nameStart || nameEnd >= _length ) {
+			return TagKind.HTML;
+		}
+
+		return switch( _source.charAt( nameEnd ) ) {
+			case ':' -> namespacedTagKind( nameStart, nameEnd );
+			// Legacy <webobject name="..."> or <wo name="...">
+			case ' ' -> isLegacyTagName( nameStart, nameEnd ) ? TagKind.LEGACY_ELEMENT : TagKind.HTML;
+			default -> TagKind.HTML;
+		};
+	}
+
+	/**
+	 * @return The kind of the tag at the current position, given that it's name is followed by a ':' (i.e. it's namespaced)
+	 *
+	 * Tags with unrecognized namespaces (e.g. svg:rect, xsl:template) are treated as plain HTML.
+	 */
+	private TagKind namespacedTagKind( final int nameStart, final int nameEnd ) throws NGHTMLFormatException {
+		final int typeStart = nameEnd + 1;
+
+		// Parser directives take precedence over namespaces
+		if( nameEnd - nameStart == 1 && Character.toLowerCase( _source.charAt( nameStart ) ) == 'p' ) {
+			if( isAtDirectiveName( typeStart, DIRECTIVE_RAW ) ) {
+				return TagKind.RAW_DIRECTIVE;
+			}
+
+			if( isAtDirectiveName( typeStart, DIRECTIVE_COMMENT ) ) {
+				return TagKind.COMMENT_DIRECTIVE;
+			}
+		}
+
+		if( typeStart >= _length || !_dynamicNamespaces.contains( text( nameStart, nameEnd ) ) ) {
+			return TagKind.HTML;
+		}
+
+		final char ch = _source.charAt( typeStart );
+
+		if( Character.isLetterOrDigit( ch ) ) {
+			return TagKind.NAMESPACED_ELEMENT;
+		}
+
+		// Catch typos like <wo: repetition> where a space follows the colon
+		if( ch == ' ' ) {
+			throw error( "Unexpected space after ':' in tag — did you mean to write a namespaced element?" );
+		}
+
+		return TagKind.HTML;
+	}
+
+	/**
+	 * @return true if the given directive name (case-insensitive) starts at the given position, followed by '>', ' ' or '/>'
+	 */
+	private boolean isAtDirectiveName( final int position, final String directiveName ) {
+		if( !regionMatches( position, directiveName, true ) ) {
+			return false;
+		}
+
+		final int afterName = position + directiveName.length();
+
+		if( afterName >= _length ) {
+			return false;
+		}
+
+		return switch( _source.charAt( afterName ) ) {
+			case '>', ' ' -> true;
+			case '/' -> afterName + 1 < _length && _source.charAt( afterName + 1 ) == '>';
+			default -> false;
+		};
+	}
+
+	/**
+	 * @return true if the name in the given range is "webobject" or "wo" (case-insensitive)
+	 */
+	private boolean isLegacyTagName( final int nameStart, final int nameEnd ) {
+		return switch( nameEnd - nameStart ) {
+			case 2 -> regionMatches( nameStart, "wo", true );
+			case 9 -> regionMatches( nameStart, "webobject", true );
+			default -> false;
+		};
+	}
+
 	/**
 	 * Parses a namespaced element: <ns:Type binding="value">children</ns:Type> or <ns:Type binding="value" />
 	 */
@@ -304,7 +424,7 @@ public class NGTemplateParser {
 		skipWhitespace();
 
 		// Quoted or unquoted value
-		if( _pos < _source.length() && current() == '"' ) {
+		if( _pos < _length && current() == '"' ) {
 			return readQuotedString();
 		}
 		else {
@@ -325,10 +445,7 @@ public class NGTemplateParser {
 
 		// Check for self-closing: the tag we just consumed might have been <p:raw/>
 		// In that case consumeOpeningTagFully already consumed up to and including '>'
-		// We need to check what was consumed
-		final String consumed = _source.substring( startPos, _pos );
-
-		if( consumed.endsWith( "/>" ) ) {
+		if( consumedSelfClosingTag() ) {
 			return new PRawNode( "", new SourceRange( startPos, _pos ) );
 		}
 
@@ -348,9 +465,7 @@ public class NGTemplateParser {
 		// Consume the opening tag
 		consumeOpeningTagFully();
 
-		final String consumed = _source.substring( startPos, _pos );
-
-		if( consumed.endsWith( "/>" ) ) {
+		if( consumedSelfClosingTag() ) {
 			return new PCommentNode( "", new SourceRange( startPos, _pos ) );
 		}
 
@@ -372,51 +487,54 @@ public class NGTemplateParser {
 		final String openingPattern = "<p:" + directiveName;
 		final String closingPattern = "</p:" + directiveName;
 
-		while( _pos < _source.length() ) {
+		while( true ) {
+			final int tagStart = indexOf( '<', _pos );
+
+			if( tagStart == -1 ) {
+				_pos = _length;
+				break;
+			}
+
+			_pos = tagStart;
 
-			if( current() == '<' ) {
-				// Check for nested opening tag
-				if( lookingAtIgnoreCase( openingPattern ) ) {
-					// Verify it's actually a tag (followed by '>', ' ', or '/')
-					final int afterName = _pos + openingPattern.length();
+			// Check for nested opening tag
+			if( lookingAtIgnoreCase( openingPattern ) ) {
+				// Verify it's actually a tag (followed by '>', ' ', or '/')
+				final int afterName = _pos + openingPattern.length();
 
-					if( afterName < _source.length() ) {
-						final char next = _source.charAt( afterName );
+				if( afterName < _length ) {
+					final char next = _source.charAt( afterName );
 
-						if( next == '>' || next == ' ' || next == '/' || next == '\t' || next == '\n' || next == '\r' ) {
-							nestingDepth++;
-						}
+					if( next == '>' || next == ' ' || next == '/' || next == '\t' || next == '\n' || next == '\r' ) {
+						nestingDepth++;
 					}
 				}
-				// Check for closing tag
-				else if( lookingAtIgnoreCase( closingPattern ) ) {
-					final int afterName = _pos + closingPattern.length();
-					boolean isClosingTag = false;
+			}
+			// Check for closing tag
+			else if( lookingAtIgnoreCase( closingPattern ) ) {
+				final int afterName = _pos + closingPattern.length();
+				boolean isClosingTag = false;
 
-					if( afterName < _source.length() ) {
-						final char next = _source.charAt( afterName );
+				// If we're at the end, the tag is malformed, but we'll catch that
+				if( afterName < _length ) {
+					final char next = _source.charAt( afterName );
 
-						if( next == '>' || next == ' ' || next == '\t' || next == '\n' || next == '\r' ) {
-							isClosingTag = true;
-						}
-					}
-					else if( afterName == _source.length() ) {
-						// At the end — malformed, but we'll catch that
-						isClosingTag = false;
+					if( next == '>' || next == ' ' || next == '\t' || next == '\n' || next == '\r' ) {
+						isClosingTag = true;
 					}
+				}
 
-					if( isClosingTag ) {
-						if( nestingDepth > 0 ) {
-							nestingDepth--;
-						}
-						else {
-							// This is our closing tag
-							final String content = _source.substring( contentStart, _pos );
-							// Consume </p:directiveName>
-							_pos += closingPattern.length();
-							skipUntilAndConsume( '>' );
-							return content;
-						}
+				if( isClosingTag ) {
+					if( nestingDepth > 0 ) {
+						nestingDepth--;
+					}
+					else {
+						// This is our closing tag
+						final String content = text( contentStart, _pos );
+						// Consume </p:directiveName>
+						_pos += closingPattern.length();
+						skipUntilAndConsume( '>' );
+						return content;
 					}
 				}
 			}
@@ -441,12 +559,12 @@ public class NGTemplateParser {
 	 * as NGBindingValue.BooleanPresence instances — their meaning is solely their presence.
 	 */
 	private Map<String, NGBindingValue> parseBindings() throws NGHTMLFormatException {
-		final Map<String, NGBindingValue> bindings = new HashMap<>();
+		final Map<String, NGBindingValue> bindings = new LinkedHashMap<>();
 
-		while( _pos < _source.length() ) {
+		while( _pos < _length ) {
 			skipWhitespace();
 
-			if( _pos >= _source.length() ) {
+			if( _pos >= _length ) {
 				break;
 			}
 
@@ -472,7 +590,7 @@ public class NGTemplateParser {
 			}
 
 			// Check if this is a boolean attribute (no '=' follows) or a key=value binding
-			if( _pos < _source.length() && current() == '=' ) {
+			if( _pos < _length && current() == '=' ) {
 				_pos++; // consume '='
 				skipWhitespace();
 
@@ -498,12 +616,12 @@ public class NGTemplateParser {
 	 */
 	private NGBindingValue readInlineBindingValue() throws NGHTMLFormatException {
 
-		if( _pos < _source.length() && current() == '"' ) {
+		if( _pos < _length && current() == '"' ) {
 			// Quoted value — scan to the matching closing quote, respecting \" escapes
 			final int start = _pos;
 			_pos++; // skip opening quote
 
-			while( _pos < _source.length() ) {
+			while( _pos < _length ) {
 				final char ch = current();
 
 				if( ch == '\\' ) {
@@ -512,9 +630,11 @@ public class NGTemplateParser {
 				else if( ch == '"' ) {
 					_pos++; // skip closing quote
 					// Return the value between the quotes (not including the quotes themselves)
-					String value = _source.substring( start + 1, _pos - 1 );
+					String value = text( start + 1, _pos - 1 );
 					// Strip the "// VALID" annotation if present — it's an instruction to skip binding validation
-					value = value.replaceFirst( "\\s*//\\s*VALID$", "" );
+					if( value.contains( "//" ) ) {
+						value = VALID_ANNOTATION.matcher( value ).replaceFirst( "" );
+					}
 					return new NGBindingValue.Value( true, value );
 				}
 				else {
@@ -528,7 +648,7 @@ public class NGTemplateParser {
 			// Unquoted value
 			final int start = _pos;
 
-			while( _pos < _source.length() ) {
+			while( _pos < _length ) {
 				final char ch = current();
 
 				if( ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r' || ch == '>' || ch == '/' ) {
@@ -542,7 +662,7 @@ public class NGTemplateParser {
 				throw error( "Expected binding value", start );
 			}
 
-			return new NGBindingValue.Value( false, _source.substring( start, _pos ) );
+			return new NGBindingValue.Value( false, text( start, _pos ) );
 		}
 	}
 
@@ -559,7 +679,7 @@ public class NGTemplateParser {
 	 * Asserts the current character is the expected one and advances past it.
 	 */
 	private void expect( final char expected ) throws NGHTMLFormatException {
-		if( _pos >= _source.length() ) {
+		if( _pos >= _length ) {
 			throw error( "Unexpected end of template, expected '%c'".formatted( expected ) );
 		}
 
@@ -574,7 +694,7 @@ public class NGTemplateParser {
 	 * Skips whitespace characters at the current position.
 	 */
 	private void skipWhitespace() {
-		while( _pos < _source.length() ) {
+		while( _pos < _length ) {
 			final char ch = current();
 
 			if( ch != ' ' && ch != '\t' && ch != '\n' && ch != '\r' ) {
@@ -591,7 +711,7 @@ public class NGTemplateParser {
 	private String readIdentifier() {
 		final int start = _pos;
 
-		while( _pos < _source.length() ) {
+		while( _pos < _length ) {
 			final char ch = current();
 
 			if( Character.isLetterOrDigit( ch ) || ch == '_' || ch == '-' ) {
@@ -602,7 +722,7 @@ public class NGTemplateParser {
 			}
 		}
 
-		return _source.substring( start, _pos );
+		return text( start, _pos );
 	}
 
 	/**
@@ -613,15 +733,15 @@ public class NGTemplateParser {
 
 		final int start = _pos;
 
-		while( _pos < _source.length() && current() != '"' ) {
+		while( _pos < _length && current() != '"' ) {
 			_pos++;
 		}
 
-		if( _pos >= _source.length() ) {
+		if( _pos >= _length ) {
 			throw error( "Unclosed quoted string", start - 1 );
 		}
 
-		final String value = _source.substring( start, _pos );
+		final String value = text( start, _pos );
 		_pos++; // skip closing quote
 		return value;
 	}
@@ -632,7 +752,7 @@ public class NGTemplateParser {
 	private String readAttributeValue() {
 		final int start = _pos;
 
-		while( _pos < _source.length() ) {
+		while( _pos < _length ) {
 			final char ch = current();
 
 			if( ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r' || ch == '>' || ch == '/' ) {
@@ -642,26 +762,36 @@ public class NGTemplateParser {
 			_pos++;
 		}
 
-		return _source.substring( start, _pos );
+		return text( start, _pos );
 	}
 
 	/**
 	 * @return true if the source at the current position starts with the given string
 	 */
 	private boolean lookingAt( final String s ) {
-		return _source.startsWith( s, _pos );
+		return regionMatches( _pos, s, false );
 	}
 
 	/**
 	 * @return true if the source at the current position starts with the given string (case-insensitive)
 	 */
 	private boolean lookingAtIgnoreCase( final String s ) {
-		if( _pos + s.length() > _source.length() ) {
+		return regionMatches( _pos, s, true );
+	}
+
+	/**
+	 * @return true if the source at the given position starts with the given string
+	 */
+	private boolean regionMatches( final int position, final String s, final boolean ignoreCase ) {
+		if( position + s.length() > _length ) {
 			return false;
 		}
 
 		for( int i = 0; i < s.length(); i++ ) {
-			if( Character.toLowerCase( _source.charAt( _pos + i ) ) != Character.toLowerCase( s.charAt( i ) ) ) {
+			final char sourceChar = _source.charAt( position + i );
+			final char ch = s.charAt( i );
+
+			if( sourceChar != ch && (!ignoreCase || Character.toLowerCase( sourceChar ) != Character.toLowerCase( ch )) ) {
 				return false;
 			}
 		}
@@ -669,6 +799,32 @@ public class NGTemplateParser {
 		return true;
 	}
 
+	/**
+	 * @return The position of the first occurrence of the given character at or after the given position, -1 if there is none
+	 */
+	private int indexOf( final char ch, final int fromPosition ) {
+
+		// String.indexOf() is intrinsified, so we use it when we can
+		if( _source instanceof String string ) {
+			return string.indexOf( ch, fromPosition );
+		}
+
+		for( int i = fromPosition; i < _length; i++ ) {
+			if( _source.charAt( i ) == ch ) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * @return The source text in the given range
+	 */
+	private String text( final int start, final int end ) {
+		return _source.subSequence( start, end ).toString();
+	}
+
 	/**
 	 * @return true if the current position is at a closing tag matching the given name.
 	 *
@@ -685,7 +841,7 @@ public class NGTemplateParser {
 
 		final int afterName = _pos + 2 + tagName.length();
 
-		if( afterName >= _source.length() ) {
+		if( afterName >= _length ) {
 			return false;
 		}
 
@@ -701,7 +857,7 @@ public class NGTemplateParser {
 	private void consumeClosingTag( final String tagName, final boolean caseInsensitive ) throws NGHTMLFormatException {
 		_pos += 2; // "</"
 
-		final String actual = _source.substring( _pos, Math.min( _pos + tagName.length(), _source.length() ) );
+		final String actual = text( _pos, Math.min( _pos + tagName.length(), _length ) );
 
 		if( caseInsensitive ? !actual.equalsIgnoreCase( tagName ) : !actual.equals( tagName ) ) {
 			throw error( "Expected closing tag </%s> but found </%s>".formatted( tagName, actual ) );
@@ -717,131 +873,39 @@ public class NGTemplateParser {
 	 * Used for parser directives where we don't need to parse the individual attributes.
 	 */
 	private void consumeOpeningTagFully() throws NGHTMLFormatException {
-		if( _pos >= _source.length() || current() != '<' ) {
+		if( _pos >= _length || current() != '<' ) {
 			throw error( "Expected '<'" );
 		}
 
-		while( _pos < _source.length() ) {
-			if( current() == '>' ) {
-				_pos++;
-				return;
-			}
-
-			_pos++;
-		}
-
-		throw error( "Unclosed tag" );
-	}
-
-	/**
-	 * Advances past characters until the given character is found, then consumes it too.
-	 */
-	private void skipUntilAndConsume( final char target ) throws NGHTMLFormatException {
-		while( _pos < _source.length() ) {
-			if( current() == target ) {
-				_pos++;
-				return;
-			}
+		final int tagEnd = indexOf( '>', _pos );
 
-			_pos++;
+		if( tagEnd == -1 ) {
+			_pos = _length;
+			throw error( "Unclosed tag" );
 		}
 
-		throw error( "Expected '%c' but reached end of template".formatted( target ) );
+		_pos = tagEnd + 1;
 	}
 
 	/**
-	 * @return true if the current position is at the start of a namespaced opening tag (<ns:type)
-	 * where the namespace is one of the registered dynamic namespaces.
-	 *
-	 * Pattern: '<' followed by one or more letters, ':', then one or more letters/digits.
-	 * Tags with unrecognized namespaces (e.g. svg:rect, xsl:template) are treated as plain HTML.
+	 * @return true if the tag we just consumed was self-closing (ended with '/>')
 	 */
-	private boolean isAtNamespacedStartTag() {
-		if( _pos >= _source.length() || current() != '<' ) {
-			return false;
-		}
-
-		final int start = _pos + 1; // skip '<'
-
-		// Check for '/' (that would be a closing tag)
-		if( start < _source.length() && _source.charAt( start ) == '/' ) {
-			return false;
-		}
-
-		// Read potential namespace: one or more letters
-		int i = start;
-
-		while( i < _source.length() && Character.isLetter( _source.charAt( i ) ) ) {
-			i++;
-		}
-
-		// Need at least one letter before ':'
-		if( i == start ) {
-			return false;
-		}
-
-		// Expect ':'
-		if( i >= _source.length() || _source.charAt( i ) != ':' ) {
-			return false;
-		}
-
-		// Check if the namespace is registered as a dynamic namespace
-		final String namespace = _source.substring( start, i );
-
-		if( !_dynamicNamespaces.contains( namespace ) ) {
-			return false;
-		}
-
-		i++; // skip ':'
-
-		// Need at least one letter/digit after ':'
-		if( i >= _source.length() || !Character.isLetterOrDigit( _source.charAt( i ) ) ) {
-			return false;
-		}
-
-		return true;
+	private boolean consumedSelfClosingTag() {
+		return _pos >= 2 && _source.charAt( _pos - 2 ) == '/';
 	}
 
 	/**
-	 * @return true if the current position looks like a malformed namespaced tag with a space after the colon,
-	 * but only for registered dynamic namespaces.
-	 *
-	 * Matches the pattern: '<' letters ':' space — e.g. {@code <wo: Repetition>}
-	 * Only triggers for recognized namespaces to avoid false positives on XML content.
+	 * Advances past characters until the given character is found, then consumes it too.
 	 */
-	private boolean isAtMalformedNamespacedTag() {
-		if( _pos >= _source.length() || current() != '<' ) {
-			return false;
-		}
-
-		final int start = _pos + 1;
-		int i = start;
-
-		// Need at least one letter before ':'
-		while( i < _source.length() && Character.isLetter( _source.charAt( i ) ) ) {
-			i++;
-		}
-
-		if( i == start ) {
-			return false;
-		}
-
-		// Expect ':'
-		if( i >= _source.length() || _source.charAt( i ) != ':' ) {
-			return false;
-		}
-
-		// Only flag for registered dynamic namespaces
-		final String namespace = _source.substring( start, i );
+	private void skipUntilAndConsume( final char target ) throws NGHTMLFormatException {
+		final int targetPosition = indexOf( target, _pos );
 
-		if( !_dynamicNamespaces.contains( namespace ) ) {
-			return false;
+		if( targetPosition == -1 ) {
+			_pos = _length;
+			throw error( "Expected '%c' but reached end of template".formatted( target ) );
 		}
 
-		i++; // skip ':'
-
-		// The tell: a space right after the colon
-		return i < _source.length() && _source.charAt( i ) == ' ';
+		_pos = targetPosition + 1;
 	}
 
 	/**
@@ -859,14 +923,14 @@ public class NGTemplateParser {
 		int i = _pos + 3; // skip "</ "
 
 		// Skip any extra whitespace
-		while( i < _source.length() && _source.charAt( i ) == ' ' ) {
+		while( i < _length && _source.charAt( i ) == ' ' ) {
 			i++;
 		}
 
 		// Need at least one letter
 		final int nameStart = i;
 
-		while( i < _source.length() && Character.isLetter( _source.charAt( i ) ) ) {
+		while( i < _length && Character.isLetter( _source.charAt( i ) ) ) {
 			i++;
 		}
 
@@ -875,11 +939,11 @@ public class NGTemplateParser {
 		}
 
 		// Only flag it if there's a colon (namespaced tag) with a registered namespace
-		if( i >= _source.length() || _source.charAt( i ) != ':' ) {
+		if( i >= _length || _source.charAt( i ) != ':' ) {
 			return false;
 		}
 
-		final String namespace = _source.substring( nameStart, i );
+		final String namespace = text( nameStart, i );
 		return _dynamicNamespaces.contains( namespace );
 	}
 
@@ -898,7 +962,7 @@ public class NGTemplateParser {
 		int i = start;
 
 		// Need at least one letter before ':'
-		while( i < _source.length() && Character.isLetter( _source.charAt( i ) ) ) {
+		while( i < _length && Character.isLetter( _source.charAt( i ) ) ) {
 			i++;
 		}
 
@@ -907,12 +971,12 @@ public class NGTemplateParser {
 		}
 
 		// Expect ':'
-		if( i >= _source.length() || _source.charAt( i ) != ':' ) {
+		if( i >= _length || _source.charAt( i ) != ':' ) {
 			return false;
 		}
 
 		// Only match registered dynamic namespaces
-		final String namespace = _source.substring( start, i );
+		final String namespace = text( start, i );
 
 		if( !_dynamicNamespaces.contains( namespace ) ) {
 			return false;
@@ -921,22 +985,16 @@ public class NGTemplateParser {
 		i++; // skip ':'
 
 		// Need at least one letter/digit after ':'
-		return i < _source.length() && Character.isLetterOrDigit( _source.charAt( i ) );
+		return i < _length && Character.isLetterOrDigit( _source.charAt( i ) );
 	}
 
 	/**
-	 * Flushes accumulated HTML text into the children list as a PHTMLNode (if non-empty),
-	 * then resets the buffer.
-	 *
-	 * @return The current position, to be used as the start of the next HTML buffer
+	 * Adds the HTML run from the given start position up to the current position to the children list as a PHTMLNode (if non-empty)
 	 */
-	private int flushHTML( final StringBuilder buffer, final int htmlStart, final List<PNode> children ) {
-		if( buffer.length() > 0 ) {
-			children.add( new PHTMLNode( buffer.toString(), new SourceRange( htmlStart, _pos ) ) );
-			buffer.setLength( 0 );
+	private void flushHTML( final int htmlStart, final List<PNode> children ) {
+		if( _pos > htmlStart ) {
+			children.add( new PHTMLNode( text( htmlStart, _pos ), new SourceRange( htmlStart, _pos ) ) );
 		}
-
-		return _pos;
 	}
 
 	// ---- Error reporting ----
@@ -945,13 +1003,13 @@ public class NGTemplateParser {
 	 * Creates an NGHTMLFormatException with the current parser position and source context.
 	 */
 	private NGHTMLFormatException error( final String message ) {
-		return new NGHTMLFormatException( message, _pos, _source );
+		return new NGHTMLFormatException( message, _pos, _source.toString() );
 	}
 
 	/**
 	 * Creates an NGHTMLFormatException with an explicit position and source context.
 	 */
 	private NGHTMLFormatException error( final String message, final int position ) {
-		return new NGHTMLFormatException( message, position, _source );
+		return new NGHTMLFormatException( message, position, _source.toString() );
 	}
 }
@@ -1,6 +1,6 @@
 package ng.appserver.templating.parser.legacy;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.StringTokenizer;
@@ -309,7 +309,7 @@ public class NGTemplateParser {
 		final StringBuilder keyBuffer = new StringBuilder();
 		final StringBuilder valueBuffer = new StringBuilder();
 		final StringBuilder elementTypeBuffer = new StringBuilder();
-		final Map<String, NGBindingValue> bindings = new HashMap<>();
+		final Map<String, NGBindingValue> bindings = new LinkedHashMap<>();
 
 		StringBuilder currentBuffer = elementTypeBuffer;
 		boolean changeBuffers = false;
@@ -0,0 +1,91 @@
+package ng.appserver.templating.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import ng.appserver.templating.parser.model.PBasicNode;
+import ng.appserver.templating.parser.model.PCommentNode;
+import ng.appserver.templating.parser.model.PNode;
+import ng.appserver.templating.parser.model.PRootNode;
+
+public class TestNGPrecompiledTemplate {
+
+	@Test
+	public void roundTrip() throws Exception {
+		final String html = """
+				<html>
+					<wo:if condition="$showGreeting"><p>Hæ <wo:String value="$name" escapeHTML="false" /></p></wo:if>
+					<wo:repetition list="$items" item="$item"><wo:Link action="$select" disabled>$item.name</wo:Link></wo:repetition>
+					<wo:FromWod />
+					<p:raw><wo:String value="$notParsed" /></p:raw>
+				</html>
+				""";
+
+		final String wod = """
+				FromWod : String {
+					value = "some value";
+				}
+				""";
+
+		final PNode parsed = new NGTemplateParser( html, wod ).parse();
+		assertEquals( parsed, NGPrecompiledTemplate.fromBytes( NGPrecompiledTemplate.toBytes( parsed, html, wod ) ) );
+	}
+
+	@Test
+	public void commentContentIsDropped() throws Exception {
+		final String html = "<p:comment>This is hidden</p:comment><wo:String value=\"$x\" />";
+		final PNode parsed = new NGTemplateParser( html, "" ).parse();
+
+		final PRootNode root = assertInstanceOf( PRootNode.class, NGPrecompiledTemplate.fromBytes( NGPrecompiledTemplate.toBytes( parsed, html, "" ) ) );
+		assertEquals( 2, root.children().size() );
+
+		final PCommentNode comment = assertInstanceOf( PCommentNode.class, root.children().get( 0 ) );
+		assertEquals( "", comment.value() );
+		assertEquals( parsed.sourceRange(), root.sourceRange() );
+	}
+
+	@Test
+	public void stringsAreStoredOnce() throws Exception {
+		final String html = "<wo:String value=\"$name\" /><wo:String value=\"$name\" />";
+		final PNode parsed = new NGTemplateParser( html, "" ).parse();
+		final PRootNode root = assertInstanceOf( PRootNode.class, NGPrecompiledTemplate.fromBytes( NGPrecompiledTemplate.toBytes( parsed, html, "" ) ) );
+
+		final PBasicNode first = assertInstanceOf( PBasicNode.class, root.children().get( 0 ) );
+		final PBasicNode second = assertInstanceOf( PBasicNode.class, root.children().get( 1 ) );
+		assertSame( first.type(), second.type() );
+	}
+
+	@Test
+	public void rejectsOtherContent() throws Exception {
+		assertThrows( IOException.class, () -> NGPrecompiledTemplate.fromBytes( "<html></html>".getBytes() ) );
+
+		// Changing the version should make the template unreadable
+		final byte[] bytes = NGPrecompiledTemplate.toBytes( new NGTemplateParser( "<p>Hello</p>", "" ).parse(), "<p>Hello</p>", "" );
+		final byte[] otherVersion = Arrays.copyOf( bytes, bytes.length );
+		otherVersion[3]++;
+		assertThrows( IOException.class, () -> NGPrecompiledTemplate.fromBytes( otherVersion ) );
+	}
+
+	@Test
+	public void matchesSource() throws Exception {
+		final String html = "<wo:Greeting />";
+		final String wod = "Greeting : String { value = \"Hello\"; }";
+		final byte[] bytes = NGPrecompiledTemplate.toBytes( new NGTemplateParser( html, wod ).parse(), html, wod );
+
+		assertTrue( NGPrecompiledTemplate.matchesSource( bytes, html, wod ) );
+		assertFalse( NGPrecompiledTemplate.matchesSource( bytes, html + " ", wod ) );
+		assertFalse( NGPrecompiledTemplate.matchesSource( bytes, html, "" ) );
+
+		// Content moved between the html and wod is a different source
+		assertFalse( NGPrecompiledTemplate.matchesSource( bytes, html + wod, "" ) );
+	}
+}
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.CharBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -583,6 +584,23 @@ public class TestNGTemplateParser {
 		assertEquals( new SourceRange( 0, html.length() ), comment.sourceRange() );
 	}
 
+	// ---- CharSequence source ----
+
+	@Test
+	public void charSequenceSource() throws Exception {
+		final String html = "<div><wo:if condition=\"$show\"><p:raw><b>raw</b></p:raw><webobject name=\"Greeting\" /></wo:if><svg:rect /></div>";
+		final String wod = "Greeting : String { value = greeting; }";
+		assertEquals( parse( html, wod ), new NGTemplateParser( CharBuffer.wrap( html ), wod ).parse() );
+	}
+
+	@Test
+	public void charSequenceSourceErrorPosition() {
+		final String html = "<div>\n<wo:if condition=\"$show\">";
+		final NGHTMLFormatException e = assertThrows( NGHTMLFormatException.class, () -> new NGTemplateParser( new StringBuilder( html ), "" ).parse() );
+		assertEquals( html, e.source() );
+		assertEquals( 2, e.line() );
+	}
+
 	// ---- Helpers ----
 
 	private static PRootNode parse( final String html, final String wod ) throws NGDeclarationFormatException, NGHTMLFormatException {